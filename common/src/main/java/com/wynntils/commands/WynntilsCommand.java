@@ -12,14 +12,22 @@ import com.wynntils.core.components.Managers;
 import com.wynntils.core.components.Models;
 import com.wynntils.core.components.Services;
 import com.wynntils.core.consumers.commands.Command;
+import com.wynntils.core.events.EventMetrics;
 import com.wynntils.core.net.ApiResponse;
+import com.wynntils.core.net.DownloadCacheIndex;
+import com.wynntils.core.net.FileDownloader;
+import com.wynntils.core.net.RequestLimiter;
 import com.wynntils.core.net.UrlId;
+import com.wynntils.core.text.StyledTextCache;
+import com.wynntils.handlers.container.type.ContainerQueryStats;
+import com.wynntils.handlers.item.ItemAnnotationCache;
 import com.wynntils.screens.base.WynntilsMenuScreenBase;
 import com.wynntils.screens.wynntilsmenu.WynntilsMenuScreen;
 import com.wynntils.services.athena.UpdateService;
 import com.wynntils.utils.FileUtils;
 import com.wynntils.utils.mc.McUtils;
 import java.io.BufferedReader;
+import java.io.File;
 import java.io.IOException;
 import java.io.InputStreamReader;
 import java.nio.charset.StandardCharsets;
@@ -69,10 +77,21 @@ public class WynntilsCommand extends Command {
                         .then(Commands.literal("run").executes(this::doClearCaches))
                         .executes(this::clearCaches))
                 .then(Commands.literal("debug")
+                        .then(Commands.literal("events")
+                                .then(Commands.literal("disable").executes(context -> eventsSetEnabled(context, false)))
+                                .then(Commands.literal("dump").executes(this::eventsDump))
+                                .then(Commands.literal("enable").executes(context -> eventsSetEnabled(context, true)))
+                                .then(Commands.literal("reset").executes(this::eventsReset))
+                                .executes(this::eventsShow))
                         .then(Commands.literal("profile")
                                 .then(Commands.literal("reset").executes(this::profileReset))
                                 .then(Commands.literal("showAnnotations").executes(this::profileShowAnnotations))
-                                .then(Commands.literal("showOverlays").executes(this::profileShowOverlays))))
+                                .then(Commands.literal("showNet").executes(this::profileShowNet))
+                                .then(Commands.literal("showOverlays").executes(this::profileShowOverlays))
+                                .then(Commands.literal("showParticles").executes(this::profileShowParticles))
+                                .then(Commands.literal("showQueries").executes(this::profileShowQueries))
+                                .then(Commands.literal("showScheduler").executes(this::profileShowScheduler))
+                                .then(Commands.literal("showTextCache").executes(this::profileShowTextCache))))
                 .then(Commands.literal("discord").executes(this::discordLink))
                 .then(Commands.literal("donate").executes(this::donateLink))
                 .then(Commands.literal("help").executes(this::help))
@@ -87,9 +106,93 @@ public class WynntilsCommand extends Command {
                 .executes(this::help);
     }
 
+    private int eventsSetEnabled(CommandContext<CommandSourceStack> context, boolean enabled) {
+        WynntilsMod.getEventMetrics().setEnabled(enabled);
+
+        String messageKey =
+                enabled ? "command.wynntils.debug.events.enabled" : "command.wynntils.debug.events.disabled";
+        context.getSource()
+                .sendSuccess(() -> Component.translatable(messageKey).withStyle(ChatFormatting.GREEN), false);
+
+        return 1;
+    }
+
+    private int eventsShow(CommandContext<CommandSourceStack> context) {
+        EventMetrics metrics = WynntilsMod.getEventMetrics();
+        if (!metrics.isEnabled()) {
+            context.getSource()
+                    .sendFailure(Component.translatable("command.wynntils.debug.events.notEnabled")
+                            .withStyle(ChatFormatting.RED));
+            return 0;
+        }
+
+        showEventStats(context, "command.wynntils.debug.events.events", metrics.getEventStats());
+        showEventStats(context, "command.wynntils.debug.events.listeners", metrics.getListenerStats());
+
+        return 1;
+    }
+
+    private int eventsDump(CommandContext<CommandSourceStack> context) {
+        File dumpFolder = WynntilsMod.getModStorageDir("debug");
+        FileUtils.mkdir(dumpFolder);
+        File csvFile = new File(dumpFolder, "event_metrics_" + System.currentTimeMillis() + ".csv");
+
+        try {
+            WynntilsMod.getEventMetrics().writeCsv(csvFile);
+        } catch (IOException e) {
+            WynntilsMod.warn("Failed to write event metrics to " + csvFile.getAbsolutePath(), e);
+            context.getSource()
+                    .sendFailure(Component.translatable("command.wynntils.debug.events.dumpFailed")
+                            .withStyle(ChatFormatting.RED));
+            return 0;
+        }
+
+        context.getSource()
+                .sendSuccess(
+                        () -> Component.translatable(
+                                        "command.wynntils.debug.events.dumped", csvFile.getAbsolutePath())
+                                .withStyle(ChatFormatting.GREEN),
+                        false);
+
+        return 1;
+    }
+
+    private int eventsReset(CommandContext<CommandSourceStack> context) {
+        WynntilsMod.getEventMetrics().reset();
+        context.getSource()
+                .sendSuccess(
+                        () -> Component.translatable("command.wynntils.debug.events.cleared")
+                                .withStyle(ChatFormatting.GREEN),
+                        false);
+
+        return 1;
+    }
+
+    private void showEventStats(
+            CommandContext<CommandSourceStack> context, String headerKey, List<EventMetrics.DispatchStats> stats) {
+        StringBuilder resList = new StringBuilder();
+        stats.stream().limit(10).forEach(entry -> resList.append("%7.1f ms, %7d c, max: %7.3f ms, %8d kB  %s\n"
+                .formatted(
+                        entry.totalNanos() / 1_000_000d,
+                        entry.count(),
+                        entry.maxNanos() / 1_000_000d,
+                        entry.allocatedBytes() / 1024,
+                        entry.name())));
+
+        context.getSource()
+                .sendSuccess(() -> Component.translatable(headerKey).withStyle(ChatFormatting.GOLD), false);
+        context.getSource()
+                .sendSuccess(() -> Component.literal(resList.toString()).withStyle(ChatFormatting.AQUA), false);
+    }
+
     private int profileReset(CommandContext<CommandSourceStack> context) {
         Handlers.Item.resetProfiling();
         Managers.Overlay.resetProfiling();
+        StyledTextCache.SHARED.resetStatistics();
+        Managers.TickScheduler.resetStatistics();
+        Handlers.Particle.resetStatistics();
+        Handlers.ContainerQuery.resetStatistics();
+        Managers.Net.resetStatistics();
         context.getSource()
                 .sendSuccess(
                         () -> Component.translatable("command.wynntils.debug.profile.cleared")
@@ -105,6 +208,57 @@ public class WynntilsCommand extends Command {
 
         showProfilingData(context, profilingTimes, profilingCounts);
 
+        ItemAnnotationCache cache = Handlers.Item.getAnnotationCache();
+        long hits = cache.getHits();
+        long lookups = hits + cache.getMisses();
+        double hitRate = lookups == 0 ? 0 : (double) hits / lookups * 100;
+
+        context.getSource()
+                .sendSuccess(
+                        () -> Component.translatable(
+                                        "command.wynntils.debug.profile.annotationCache",
+                                        cache.size(),
+                                        hits,
+                                        cache.getMisses(),
+                                        cache.getEvictions(),
+                                        hitRate)
+                                .withStyle(ChatFormatting.AQUA),
+                        false);
+
+        return 1;
+    }
+
+    private int profileShowNet(CommandContext<CommandSourceStack> context) {
+        RequestLimiter limiter = Managers.Net.getRequestLimiter();
+        FileDownloader downloader = Managers.Net.getFileDownloader();
+        DownloadCacheIndex cacheIndex = Managers.Net.getCacheIndex();
+
+        context.getSource()
+                .sendSuccess(
+                        () -> Component.translatable(
+                                        "command.wynntils.debug.profile.netRequests",
+                                        limiter.getRunningCount(),
+                                        limiter.getMaxConcurrentRequests(),
+                                        limiter.getWaitingCount(),
+                                        limiter.getSubmittedCount(),
+                                        limiter.getQueuedCount(),
+                                        limiter.getFailedCount(),
+                                        limiter.getMaxWaiting())
+                                .withStyle(ChatFormatting.AQUA),
+                        false);
+        context.getSource()
+                .sendSuccess(
+                        () -> Component.translatable(
+                                        "command.wynntils.debug.profile.netDownloads",
+                                        downloader.getDownloadedCount(),
+                                        downloader.getNotModifiedCount(),
+                                        downloader.getCoalescedCount(),
+                                        cacheIndex.size(),
+                                        cacheIndex.getHashHits(),
+                                        cacheIndex.getHashMisses())
+                                .withStyle(ChatFormatting.AQUA),
+                        false);
+
         return 1;
     }
 
@@ -117,6 +271,84 @@ public class WynntilsCommand extends Command {
         return 1;
     }
 
+    private int profileShowParticles(CommandContext<CommandSourceStack> context) {
+        context.getSource()
+                .sendSuccess(
+                        () -> Component.translatable(
+                                        "command.wynntils.debug.profile.particles",
+                                        Handlers.Particle.getParticlesSeen(),
+                                        Handlers.Particle.getParticlesVerified(),
+                                        Handlers.Particle.getParticlesDiscarded())
+                                .withStyle(ChatFormatting.AQUA),
+                        false);
+
+        return 1;
+    }
+
+    private int profileShowQueries(CommandContext<CommandSourceStack> context) {
+        StringBuilder resList = new StringBuilder();
+        for (Map.Entry<String, ContainerQueryStats> entry : Handlers.ContainerQuery.getQueryStats().entrySet()) {
+            ContainerQueryStats stats = entry.getValue();
+            resList.append("%4d runs, %3d failed, avg: %6d ms/run, round trip avg: %4d ms, max: %4d ms  %s\n"
+                    .formatted(
+                            stats.getRuns(),
+                            stats.getFailures(),
+                            stats.getAverageDurationMillis(),
+                            stats.getAverageRoundTripMillis(),
+                            stats.getMaxRoundTripMillis(),
+                            entry.getKey()));
+        }
+
+        context.getSource()
+                .sendSuccess(() -> Component.literal(resList.toString()).withStyle(ChatFormatting.AQUA), false);
+        context.getSource()
+                .sendSuccess(
+                        () -> Component.translatable(
+                                        "command.wynntils.debug.profile.queryRoundTrip",
+                                        Handlers.ContainerQuery.getSmoothedRoundTripMillis())
+                                .withStyle(ChatFormatting.AQUA),
+                        false);
+
+        return 1;
+    }
+
+    private int profileShowScheduler(CommandContext<CommandSourceStack> context) {
+        context.getSource()
+                .sendSuccess(
+                        () -> Component.translatable(
+                                        "command.wynntils.debug.profile.scheduler",
+                                        Managers.TickScheduler.getScheduledTaskCount(),
+                                        Managers.TickScheduler.getDeferredWorkCount(),
+                                        Managers.TickScheduler.getDeferredWorkRun(),
+                                        Managers.TickScheduler.getBudgetOverruns(),
+                                        Managers.TickScheduler.getMaxDeferredWorkMicros())
+                                .withStyle(ChatFormatting.AQUA),
+                        false);
+
+        return 1;
+    }
+
+    private int profileShowTextCache(CommandContext<CommandSourceStack> context) {
+        StyledTextCache cache = StyledTextCache.SHARED;
+        long hits = cache.getHits();
+        long lookups = hits + cache.getMisses();
+        double hitRate = lookups == 0 ? 0 : (double) hits / lookups * 100;
+
+        context.getSource()
+                .sendSuccess(
+                        () -> Component.translatable(
+                                        "command.wynntils.debug.profile.textCache",
+                                        cache.size(),
+                                        hits,
+                                        cache.getMisses(),
+                                        cache.getEvictions(),
+                                        hitRate)
+                                .withStyle(ChatFormatting.AQUA),
+                        false);
+
+        return 1;
+    }
+
     private void showProfilingData(
             CommandContext<CommandSourceStack> context,
             Map<Class<?>, Integer> profilingTimes,
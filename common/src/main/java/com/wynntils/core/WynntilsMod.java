@@ -16,6 +16,7 @@ import com.wynntils.core.components.Models;
 import com.wynntils.core.components.Service;
 import com.wynntils.core.components.Services;
 import com.wynntils.core.events.EventBusWrapper;
+import com.wynntils.core.events.EventMetrics;
 import com.wynntils.core.mod.event.WynntilsCrashEvent;
 import com.wynntils.core.mod.type.CrashType;
 import com.wynntils.utils.mc.McUtils;
@@ -27,8 +28,10 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
+import java.util.function.Consumer;
 import net.minecraft.SharedConstants;
 import net.minecraftforge.eventbus.api.Event;
+import net.minecraftforge.eventbus.api.EventPriority;
 import net.minecraftforge.eventbus.api.IEventBus;
 import org.apache.commons.lang3.reflect.FieldUtils;
 import org.slf4j.Logger;
@@ -41,6 +44,7 @@ public final class WynntilsMod {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(MOD_ID);
     private static final File MOD_STORAGE_ROOT = new File(McUtils.mc().gameDirectory, MOD_ID);
+    private static final EventMetrics EVENT_METRICS = new EventMetrics();
 
     private static ModLoader modLoader;
     private static String version = "";
@@ -63,8 +67,17 @@ public final class WynntilsMod {
         eventBus.register(object);
     }
 
+    public static <T extends Event> void registerEventListener(
+            EventPriority priority, boolean receiveCanceled, Class<T> eventClass, Consumer<T> listener) {
+        eventBus.addListener(priority, receiveCanceled, eventClass, listener);
+    }
+
     public static boolean postEvent(Event event) {
         try {
+            if (EVENT_METRICS.isEnabled()) {
+                return EVENT_METRICS.post(eventBus, event);
+            }
+
             return eventBus.post(event);
         } catch (Throwable t) {
             handleExceptionInEventListener(t, event);
@@ -72,6 +85,10 @@ public final class WynntilsMod {
         }
     }
 
+    public static EventMetrics getEventMetrics() {
+        return EVENT_METRICS;
+    }
+
     public static void postEventOnMainThread(Event event) {
         Managers.TickScheduler.scheduleNextTick(() -> postEvent(event));
     }
@@ -1,5 +1,5 @@
 /*
- * Copyright © Wynntils 2022-2023.
+ * Copyright © Wynntils 2022-2024.
  * This file is released under LGPLv3. See LICENSE for full license details.
  */
 package com.wynntils.core.consumers.functions;
@@ -50,6 +50,14 @@ public abstract class Function<T> implements Translatable {
         return aliases;
     }
 
+    /**
+     * Returns what can change the value of this function, apart from its arguments.
+     * Templates only using functions with known dependencies are not re-evaluated until one of them changes.
+     */
+    public FunctionDependencies getDependencies() {
+        return FunctionDependencies.ALWAYS;
+    }
+
     public String getDescription() {
         return getTranslation("description");
     }
@@ -0,0 +1,64 @@
+/*
+ * Copyright © Wynntils 2024.
+ * This file is released under LGPLv3. See LICENSE for full license details.
+ */
+package com.wynntils.core.consumers.functions;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+import net.minecraftforge.eventbus.api.Event;
+
+/**
+ * Describes what, apart from its arguments, can change the value of a {@link Function}.
+ * Compiled templates use this to skip re-evaluation while none of their functions could have changed.
+ */
+public final class FunctionDependencies {
+    /** The value can change at any time, so it has to be recalculated every time it is used. */
+    public static final FunctionDependencies ALWAYS = new FunctionDependencies(true, Set.of());
+
+    /** The value only depends on the arguments of the function. */
+    public static final FunctionDependencies NONE = new FunctionDependencies(false, Set.of());
+
+    private final boolean alwaysInvalid;
+    private final Set<Class<? extends Event>> invalidatingEvents;
+
+    private FunctionDependencies(boolean alwaysInvalid, Set<Class<? extends Event>> invalidatingEvents) {
+        this.alwaysInvalid = alwaysInvalid;
+        this.invalidatingEvents = invalidatingEvents;
+    }
+
+    /**
+     * The value only changes when one of the given events (or a subclass of them) is posted.
+     * The events must be posted after the backing model has updated its state.
+     */
+    @SafeVarargs
+    public static FunctionDependencies onEvents(Class<? extends Event>... events) {
+        return new FunctionDependencies(false, Set.copyOf(Arrays.asList(events)));
+    }
+
+    public FunctionDependencies merge(FunctionDependencies other) {
+        if (alwaysInvalid || other.alwaysInvalid) return ALWAYS;
+        if (other.invalidatingEvents.isEmpty()) return this;
+        if (invalidatingEvents.isEmpty()) return other;
+
+        Set<Class<? extends Event>> merged = new HashSet<>(invalidatingEvents);
+        merged.addAll(other.invalidatingEvents);
+        return new FunctionDependencies(false, Set.copyOf(merged));
+    }
+
+    /**
+     * @return true if the value only depends on the arguments of the function
+     */
+    public boolean isArgumentsOnly() {
+        return !alwaysInvalid && invalidatingEvents.isEmpty();
+    }
+
+    public boolean isAlwaysInvalid() {
+        return alwaysInvalid;
+    }
+
+    public Set<Class<? extends Event>> getInvalidatingEvents() {
+        return invalidatingEvents;
+    }
+}
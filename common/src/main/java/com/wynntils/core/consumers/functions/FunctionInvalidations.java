@@ -0,0 +1,76 @@
+/*
+ * Copyright © Wynntils 2024.
+ * This file is released under LGPLv3. See LICENSE for full license details.
+ */
+package com.wynntils.core.consumers.functions;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import net.minecraftforge.eventbus.api.Event;
+
+/**
+ * Keeps track of when the values of functions could last have changed, as described by their
+ * {@link FunctionDependencies}.
+ *
+ * <p>Every invalidation takes a new stamp from a shared counter. A result calculated at a stamp is still valid as
+ * long as none of its dependencies have been invalidated at a later stamp.
+ *
+ * <p>Event listeners are only registered for the events that a tracked dependency actually depends on, the first
+ * time such a dependency is tracked. As listeners for an event also receive its subclasses, a dependency on an
+ * event is invalidated by any of its subclasses as well.
+ */
+public final class FunctionInvalidations {
+    private final EventListenerRegistrar listenerRegistrar;
+
+    // The stamp of the last post of each tracked event
+    private final Map<Class<? extends Event>, Long> eventInvalidations = new ConcurrentHashMap<>();
+    private final AtomicLong invalidationCounter = new AtomicLong();
+    // Invalidates everything, e.g. when a function crashes or is re-enabled
+    private volatile long globalInvalidation = 0;
+
+    public FunctionInvalidations(EventListenerRegistrar listenerRegistrar) {
+        this.listenerRegistrar = listenerRegistrar;
+    }
+
+    /**
+     * Starts listening to the events the given dependencies depend on, if that is not already the case.
+     */
+    public void track(FunctionDependencies dependencies) {
+        for (Class<? extends Event> eventClass : dependencies.getInvalidatingEvents()) {
+            if (eventInvalidations.putIfAbsent(eventClass, 0L) == null) {
+                listenerRegistrar.register(eventClass, () -> invalidate(eventClass));
+            }
+        }
+    }
+
+    public long getStamp() {
+        return invalidationCounter.get();
+    }
+
+    public boolean isInvalidatedSince(FunctionDependencies dependencies, long stamp) {
+        if (globalInvalidation > stamp) return true;
+
+        for (Class<? extends Event> eventClass : dependencies.getInvalidatingEvents()) {
+            if (eventInvalidations.getOrDefault(eventClass, 0L) > stamp) return true;
+        }
+
+        return false;
+    }
+
+    public void invalidateAll() {
+        globalInvalidation = invalidationCounter.incrementAndGet();
+    }
+
+    private void invalidate(Class<? extends Event> eventClass) {
+        eventInvalidations.put(eventClass, invalidationCounter.incrementAndGet());
+    }
+
+    @FunctionalInterface
+    public interface EventListenerRegistrar {
+        /**
+         * Registers a listener that is run whenever an event of the given class, or a subclass of it, is posted.
+         */
+        void register(Class<? extends Event> eventClass, Runnable listener);
+    }
+}
@@ -10,7 +10,7 @@ import com.wynntils.core.consumers.functions.arguments.FunctionArguments;
 import com.wynntils.core.consumers.functions.arguments.parser.ArgumentParser;
 import com.wynntils.core.consumers.functions.expressions.Expression;
 import com.wynntils.core.consumers.functions.expressions.parser.ExpressionParser;
-import com.wynntils.core.consumers.functions.templates.Template;
+import com.wynntils.core.consumers.functions.templates.CompiledTemplate;
 import com.wynntils.core.consumers.functions.templates.parser.TemplateParser;
 import com.wynntils.core.mod.type.CrashType;
 import com.wynntils.core.text.StyledText;
@@ -44,7 +44,6 @@ import com.wynntils.utils.type.ErrorOr;
 import java.text.DecimalFormat;
 import java.text.NumberFormat;
 import java.util.ArrayList;
-import java.util.Arrays;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
@@ -54,14 +53,24 @@ import java.util.Set;
 import net.minecraft.ChatFormatting;
 import net.minecraft.network.chat.Component;
 import net.minecraft.network.chat.MutableComponent;
+import net.minecraftforge.eventbus.api.EventPriority;
 
 /** Manage all built-in {@link Function}s */
 public final class FunctionManager extends Manager {
     private final List<Function<?>> functions = new ArrayList<>();
     private final Set<Function<?>> crashedFunctions = new HashSet<>();
 
-    // We do not clear this cache, as it is not expected to grow too large
-    private final Map<String, Template> calculatedTemplateCache = new HashMap<>();
+    // Both are replaced once all functions are registered
+    private FunctionNameIndex functionNameIndex = FunctionNameIndex.EMPTY;
+    private ExpressionParser expressionParser = new ExpressionParser(this, functionNameIndex);
+
+    // This cache is only cleared on init, as it is not expected to grow too large
+    private final Map<String, CompiledTemplate> compiledTemplateCache = new HashMap<>();
+
+    // Listeners are registered for the events that compiled templates depend on, as they are compiled
+    private final FunctionInvalidations invalidations =
+            new FunctionInvalidations((eventClass, listener) -> WynntilsMod.registerEventListener(
+                    EventPriority.LOWEST, true, eventClass, event -> listener.run()));
 
     public FunctionManager() {
         super(List.of());
@@ -74,10 +83,12 @@ public final class FunctionManager extends Manager {
     public void enableFunction(Function<?> function) {
         // try to recover, worst case we disable it again
         crashedFunctions.remove(function);
+        invalidations.invalidateAll();
     }
 
     private void crashFunction(Function<?> function) {
         crashedFunctions.add(function);
+        invalidations.invalidateAll();
     }
 
     public boolean isCrashed(Function<?> function) {
@@ -85,21 +96,7 @@ public final class FunctionManager extends Manager {
     }
 
     public Optional<Function<?>> forName(String functionName) {
-        for (Function<?> function : getFunctions()) {
-            if (hasName(function, functionName)) {
-                return Optional.of(function);
-            }
-        }
-
-        return Optional.empty();
-    }
-
-    private boolean hasName(Function<?> function, String name) {
-        if (function.getName().equalsIgnoreCase(name)) return true;
-        for (String alias : function.getAliasList()) {
-            if (alias.equalsIgnoreCase(name)) return true;
-        }
-        return false;
+        return functionNameIndex.forName(functionName);
     }
 
     private Optional<Object> getFunctionValueSafely(Function<?> function, FunctionArguments arguments) {
@@ -133,7 +130,7 @@ public final class FunctionManager extends Manager {
                 : Component.literal("");
 
         ErrorOr<List<Expression>> errorOrArgumentExpressions =
-                ArgumentParser.parseArguments(function.getArgumentsBuilder(), rawArguments);
+                ArgumentParser.parseArguments(function.getArgumentsBuilder(), rawArguments, expressionParser);
 
         if (errorOrArgumentExpressions.hasError()) {
             return header.append(
@@ -215,7 +212,7 @@ public final class FunctionManager extends Manager {
     }
 
     public <T> ErrorOr<T> tryGetRawValueOfType(String valueTemplate, Class<T> clazz) {
-        ErrorOr<Expression> valueExpression = ExpressionParser.tryParse(valueTemplate);
+        ErrorOr<Expression> valueExpression = expressionParser.tryParse(valueTemplate);
 
         if (valueExpression.hasError()) {
             return ErrorOr.error(valueExpression.getError());
@@ -240,12 +237,11 @@ public final class FunctionManager extends Manager {
 
     // region Template formatting
 
-    private String doFormat(String templateString) {
-        calculatedTemplateCache.computeIfAbsent(templateString, TemplateParser::getTemplateFromString);
-        return calculatedTemplateCache.get(templateString).getString();
+    public StyledText[] doFormatLines(String templateString) {
+        return compiledTemplateCache.computeIfAbsent(templateString, this::compileTemplate).getLines();
     }
 
-    public StyledText[] doFormatLines(String templateString) {
+    private CompiledTemplate compileTemplate(String templateString) {
         StringBuilder resultBuilder = new StringBuilder();
 
         // Iterate though the string and escape characters
@@ -270,15 +266,13 @@ public final class FunctionManager extends Manager {
         // Parse color codes before calculating the templates
         String escapedTemplate = parseColorCodes(resultBuilder.toString());
 
-        String calculatedString = doFormat(escapedTemplate);
+        CompiledTemplate compiledTemplate = new CompiledTemplate(
+                TemplateParser.getTemplateFromString(escapedTemplate, expressionParser), invalidations);
 
-        // Turn escaped {} (`\[\` and `\]\`) back into real {}
-        calculatedString = calculatedString.replace("\\[\\", "{");
-        calculatedString = calculatedString.replace("\\]\\", "}");
+        // Start tracking the events this template depends on
+        invalidations.track(compiledTemplate.getDependencies());
 
-        return Arrays.stream(calculatedString.split("\n"))
-                .map(StyledText::fromString)
-                .toArray(StyledText[]::new);
+        return compiledTemplate;
     }
 
     private String parseColorCodes(String toProcess) {
@@ -327,6 +321,12 @@ public final class FunctionManager extends Manager {
                 System.exit(1);
             }
         }
+
+        functionNameIndex = new FunctionNameIndex(functions);
+
+        // Anything parsed before the functions were registered could not resolve them
+        expressionParser = new ExpressionParser(this, functionNameIndex);
+        compiledTemplateCache.clear();
     }
 
     private void registerFunction(Function<?> function) {
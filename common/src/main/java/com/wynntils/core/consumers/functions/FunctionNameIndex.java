@@ -0,0 +1,39 @@
+/*
+ * Copyright © Wynntils 2024.
+ * This file is released under LGPLv3. See LICENSE for full license details.
+ */
+package com.wynntils.core.consumers.functions;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Looks up functions by their name or one of their aliases, ignoring case.
+ */
+public final class FunctionNameIndex {
+    public static final FunctionNameIndex EMPTY = new FunctionNameIndex(List.of());
+
+    // Lower case function names and aliases
+    private final Map<String, Function<?>> functionsByName;
+
+    public FunctionNameIndex(List<Function<?>> functions) {
+        Map<String, Function<?>> index = new HashMap<>();
+
+        // If a name is used more than once, the function registered first wins
+        for (Function<?> function : functions) {
+            index.putIfAbsent(function.getName().toLowerCase(Locale.ROOT), function);
+            for (String alias : function.getAliasList()) {
+                index.putIfAbsent(alias.toLowerCase(Locale.ROOT), function);
+            }
+        }
+
+        functionsByName = Map.copyOf(index);
+    }
+
+    public Optional<Function<?>> forName(String functionName) {
+        return Optional.ofNullable(functionsByName.get(functionName.toLowerCase(Locale.ROOT)));
+    }
+}
@@ -1,5 +1,5 @@
 /*
- * Copyright © Wynntils 2023.
+ * Copyright © Wynntils 2023-2024.
  * This file is released under LGPLv3. See LICENSE for full license details.
  */
 package com.wynntils.core.consumers.functions;
@@ -20,6 +20,11 @@ public abstract class GenericFunction<T> extends Function<T> {
         return getRequiredArgumentsBuilder();
     }
 
+    @Override
+    public FunctionDependencies getDependencies() {
+        return FunctionDependencies.NONE;
+    }
+
     @Override
     public String getTranslationKeyName() {
         return "generic." + super.getTranslationKeyName();
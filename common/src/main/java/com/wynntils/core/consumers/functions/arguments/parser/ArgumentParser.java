@@ -1,5 +1,5 @@
 /*
- * Copyright © Wynntils 2023.
+ * Copyright © Wynntils 2023-2024.
  * This file is released under LGPLv3. See LICENSE for full license details.
  */
 package com.wynntils.core.consumers.functions.arguments.parser;
@@ -14,7 +14,8 @@ import java.util.List;
 import java.util.Optional;
 
 public final class ArgumentParser {
-    public static ErrorOr<List<Expression>> parseArguments(FunctionArguments.Builder argumentsBuilder, String rawArgs) {
+    public static ErrorOr<List<Expression>> parseArguments(
+            FunctionArguments.Builder argumentsBuilder, String rawArgs, ExpressionParser parser) {
         if (rawArgs == null || rawArgs.isEmpty()) {
             // 1, If there are no arguments, return early.
             if (argumentsBuilder.getArgumentCount() == 0) {
@@ -36,7 +37,7 @@ public final class ArgumentParser {
         // 1, Split arguments and parse them as expressions
         List<ErrorOr<Expression>> parts = splitArguments(rawArgs).stream()
                 .map(String::trim)
-                .map(ExpressionParser::tryParse)
+                .map(parser::tryParse)
                 .toList();
 
         Optional<ErrorOr<Expression>> optionalError =
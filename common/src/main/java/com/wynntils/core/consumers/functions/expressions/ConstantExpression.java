@@ -1,5 +1,5 @@
 /*
- * Copyright © Wynntils 2023.
+ * Copyright © Wynntils 2023-2024.
  * This file is released under LGPLv3. See LICENSE for full license details.
  */
 package com.wynntils.core.consumers.functions.expressions;
@@ -19,10 +19,16 @@ public final class ConstantExpression extends Expression {
                     Boolean.class, ConstantExpression::booleanParser);
 
     private final Object value;
+    private final String formattedValue;
 
-    private ConstantExpression(String rawExpression, Object value) {
+    private ConstantExpression(String rawExpression, Object value, String formattedValue) {
         super(rawExpression);
         this.value = value;
+        this.formattedValue = formattedValue;
+    }
+
+    private ConstantExpression(String rawExpression, Object value) {
+        this(rawExpression, value, value.toString());
     }
 
     @Override
@@ -32,7 +38,7 @@ public final class ConstantExpression extends Expression {
 
     @Override
     public ErrorOr<String> calculateFormattedString() {
-        return ErrorOr.of(value.toString());
+        return ErrorOr.of(formattedValue);
     }
 
     public static ErrorOr<Optional<Expression>> tryParse(String rawExpression) {
@@ -51,6 +57,14 @@ public final class ConstantExpression extends Expression {
         return new ConstantExpression(value.toString(), value);
     }
 
+    /**
+     * Creates a constant from an expression that was already calculated at parse time,
+     * keeping the formatting of the original expression.
+     */
+    public static Expression fromFolded(String rawExpression, Object value, String formattedValue) {
+        return new ConstantExpression(rawExpression, value, formattedValue);
+    }
+
     // region Parsers
 
     private static Optional<Object> markedStringParser(String rawString) {
@@ -1,10 +1,12 @@
 /*
- * Copyright © Wynntils 2023.
+ * Copyright © Wynntils 2023-2024.
  * This file is released under LGPLv3. See LICENSE for full license details.
  */
 package com.wynntils.core.consumers.functions.expressions;
 
+import com.wynntils.core.consumers.functions.Function;
 import com.wynntils.utils.type.ErrorOr;
+import java.util.List;
 
 public abstract class Expression {
     private final String rawExpression;
@@ -16,4 +18,11 @@ public abstract class Expression {
     public abstract ErrorOr<Object> calculate();
 
     public abstract ErrorOr<String> calculateFormattedString();
+
+    /**
+     * @return all functions this expression calls, including the ones in its arguments
+     */
+    public List<Function<?>> getFunctions() {
+        return List.of();
+    }
 }
@@ -1,14 +1,16 @@
 /*
- * Copyright © Wynntils 2023.
+ * Copyright © Wynntils 2023-2024.
  * This file is released under LGPLv3. See LICENSE for full license details.
  */
 package com.wynntils.core.consumers.functions.expressions;
 
-import com.wynntils.core.components.Managers;
 import com.wynntils.core.consumers.functions.Function;
+import com.wynntils.core.consumers.functions.FunctionManager;
 import com.wynntils.core.consumers.functions.arguments.FunctionArguments;
 import com.wynntils.core.consumers.functions.arguments.parser.ArgumentParser;
+import com.wynntils.core.consumers.functions.expressions.parser.ExpressionParser;
 import com.wynntils.utils.type.ErrorOr;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 import java.util.regex.Matcher;
@@ -27,6 +29,7 @@ public final class FunctionExpression extends Expression {
             "(?<function>[a-zA-Z_]+)(\\((?<argument>.*)\\))?(\\:(?<formatted>F)?(?<decimals>[0-9]+)?)?",
             Pattern.DOTALL);
 
+    private final FunctionManager functionManager;
     private final Function<?> function;
     private final List<Expression> argumentExpressions;
     private final boolean formatted;
@@ -34,11 +37,13 @@ public final class FunctionExpression extends Expression {
 
     private FunctionExpression(
             String rawExpression,
+            FunctionManager functionManager,
             Function<?> function,
             List<Expression> argumentExpressions,
             boolean formatted,
             int decimals) {
         super(rawExpression);
+        this.functionManager = functionManager;
         this.function = function;
         this.argumentExpressions = argumentExpressions;
 
@@ -53,7 +58,7 @@ public final class FunctionExpression extends Expression {
             return ErrorOr.error(arguments.getError());
         }
 
-        return Managers.Function.getRawFunctionValue(function, arguments.getValue());
+        return functionManager.getRawFunctionValue(function, arguments.getValue());
     }
 
     @Override
@@ -63,8 +68,17 @@ public final class FunctionExpression extends Expression {
             return ErrorOr.error(arguments.getError());
         }
 
-        return ErrorOr.of(
-                Managers.Function.getStringFunctionValue(function, arguments.getValue(), formatted, decimals));
+        return ErrorOr.of(functionManager.getStringFunctionValue(function, arguments.getValue(), formatted, decimals));
+    }
+
+    @Override
+    public List<Function<?>> getFunctions() {
+        List<Function<?>> functions = new ArrayList<>();
+        functions.add(function);
+        for (Expression argumentExpression : argumentExpressions) {
+            functions.addAll(argumentExpression.getFunctions());
+        }
+        return functions;
     }
 
     private ErrorOr<FunctionArguments> getArguments() {
@@ -108,14 +122,14 @@ public final class FunctionExpression extends Expression {
     //        2.4. The decimal count can be omitted, in which case it is set to a default of 2.
     //        2.5. The formatting flag can be omitted, in which case the expression is not formatted.
 
-    public static ErrorOr<Optional<Expression>> tryParse(String rawExpression) {
+    public static ErrorOr<Optional<Expression>> tryParse(String rawExpression, ExpressionParser parser) {
         Matcher matcher = FUNCTION_EXPRESSION_PATTERN.matcher(rawExpression);
 
         if (!matcher.matches()) return ErrorOr.of(Optional.empty());
 
         // Handle function parsing
 
-        Optional<Function<?>> functionOptional = Managers.Function.forName(matcher.group("function"));
+        Optional<Function<?>> functionOptional = parser.getFunctionNameIndex().forName(matcher.group("function"));
 
         if (functionOptional.isEmpty()) {
             return ErrorOr.of(Optional.empty());
@@ -134,11 +148,37 @@ public final class FunctionExpression extends Expression {
         String rawArguments = matcher.group("argument");
 
         ErrorOr<List<Expression>> argumentExpressions =
-                ArgumentParser.parseArguments(function.getArgumentsBuilder(), rawArguments);
+                ArgumentParser.parseArguments(function.getArgumentsBuilder(), rawArguments, parser);
+
+        if (argumentExpressions.hasError()) {
+            return ErrorOr.error(argumentExpressions.getError());
+        }
+
+        FunctionExpression functionExpression = new FunctionExpression(
+                rawExpression,
+                parser.getFunctionManager(),
+                function,
+                argumentExpressions.getValue(),
+                isFormatted,
+                decimals);
+
+        // A function that only depends on constant arguments always has the same value,
+        // so calculate it once now instead of every time the expression is used (e.g. add(1;2))
+        if (function.getDependencies().isArgumentsOnly()
+                && argumentExpressions.getValue().stream().allMatch(ConstantExpression.class::isInstance)) {
+            return ErrorOr.of(Optional.of(functionExpression.fold(rawExpression)));
+        }
+
+        return ErrorOr.of(Optional.of(functionExpression));
+    }
+
+    private Expression fold(String rawExpression) {
+        ErrorOr<Object> value = calculate();
+        ErrorOr<String> formattedValue = calculateFormattedString();
+
+        // Keep the function around, so errors are reported the same way as before
+        if (value.hasError() || formattedValue.hasError()) return this;
 
-        return argumentExpressions.hasError()
-                ? ErrorOr.error(argumentExpressions.getError())
-                : ErrorOr.of(Optional.of(new FunctionExpression(
-                        rawExpression, function, argumentExpressions.getValue(), isFormatted, decimals)));
+        return ConstantExpression.fromFolded(rawExpression, value.getValue(), formattedValue.getValue());
     }
 }
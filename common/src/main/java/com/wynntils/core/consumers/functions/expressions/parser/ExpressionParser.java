@@ -1,24 +1,74 @@
 /*
- * Copyright © Wynntils 2023.
+ * Copyright © Wynntils 2023-2024.
  * This file is released under LGPLv3. See LICENSE for full license details.
  */
 package com.wynntils.core.consumers.functions.expressions.parser;
 
+import com.wynntils.core.consumers.functions.FunctionManager;
+import com.wynntils.core.consumers.functions.FunctionNameIndex;
 import com.wynntils.core.consumers.functions.expressions.ConstantExpression;
 import com.wynntils.core.consumers.functions.expressions.Expression;
 import com.wynntils.core.consumers.functions.expressions.FunctionExpression;
 import com.wynntils.utils.type.ErrorOr;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.function.Function;
 
 public final class ExpressionParser {
-    private static final List<Function<String, ErrorOr<Optional<Expression>>>> registeredExpressions =
-            List.of(FunctionExpression::tryParse, ConstantExpression::tryParse);
+    private static final int PARSE_CACHE_SIZE = 1024;
 
-    private ExpressionParser() {}
+    private final List<Function<String, ErrorOr<Optional<Expression>>>> registeredExpressions =
+            List.of(rawExpression -> FunctionExpression.tryParse(rawExpression, this), ConstantExpression::tryParse);
 
-    public static ErrorOr<Expression> tryParse(String rawExpression) {
+    private final FunctionManager functionManager;
+    private final FunctionNameIndex functionNameIndex;
+
+    // Parsed expressions are immutable, so the same expression string always parses to an equivalent tree,
+    // as long as the registered functions do not change
+    private final Map<String, ErrorOr<Expression>> parseCache =
+            new LinkedHashMap<>(PARSE_CACHE_SIZE, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, ErrorOr<Expression>> eldest) {
+                    return size() > PARSE_CACHE_SIZE;
+                }
+            };
+
+    /**
+     * @param functionManager the manager that calculates the values of parsed function expressions
+     * @param functionNameIndex the functions that function expressions can call
+     */
+    public ExpressionParser(FunctionManager functionManager, FunctionNameIndex functionNameIndex) {
+        this.functionManager = functionManager;
+        this.functionNameIndex = functionNameIndex;
+    }
+
+    public ErrorOr<Expression> tryParse(String rawExpression) {
+        synchronized (parseCache) {
+            ErrorOr<Expression> cached = parseCache.get(rawExpression);
+            if (cached != null) return cached;
+        }
+
+        // Parse outside of the lock, as arguments are parsed recursively
+        ErrorOr<Expression> parsed = parse(rawExpression);
+
+        synchronized (parseCache) {
+            parseCache.put(rawExpression, parsed);
+        }
+
+        return parsed;
+    }
+
+    public FunctionManager getFunctionManager() {
+        return functionManager;
+    }
+
+    public FunctionNameIndex getFunctionNameIndex() {
+        return functionNameIndex;
+    }
+
+    private ErrorOr<Expression> parse(String rawExpression) {
         for (Function<String, ErrorOr<Optional<Expression>>> expression : registeredExpressions) {
             ErrorOr<Optional<Expression>> optionalExpression = expression.apply(rawExpression);
 
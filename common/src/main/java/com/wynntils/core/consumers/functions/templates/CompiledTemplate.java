@@ -0,0 +1,71 @@
+/*
+ * Copyright © Wynntils 2024.
+ * This file is released under LGPLv3. See LICENSE for full license details.
+ */
+package com.wynntils.core.consumers.functions.templates;
+
+import com.wynntils.core.consumers.functions.Function;
+import com.wynntils.core.consumers.functions.FunctionDependencies;
+import com.wynntils.core.consumers.functions.FunctionInvalidations;
+import com.wynntils.core.text.StyledText;
+import java.util.Arrays;
+
+/**
+ * A template that has been escaped, color coded and parsed once, and remembers its last result.
+ * <p>
+ * The template is only re-evaluated if one of its functions could have changed its value since the last evaluation,
+ * as described by {@link Function#getDependencies()}. Even when re-evaluated, the lines are only re-parsed into
+ * {@link StyledText} if the resulting string changed.
+ */
+public final class CompiledTemplate {
+    private final Template template;
+    private final FunctionDependencies dependencies;
+    private final FunctionInvalidations invalidations;
+
+    private String lastValue = null;
+    private StyledText[] lastLines = null;
+    private long evaluatedAt = -1;
+
+    public CompiledTemplate(Template template, FunctionInvalidations invalidations) {
+        this.template = template;
+        this.invalidations = invalidations;
+        this.dependencies = template.getFunctions().stream()
+                .map(Function::getDependencies)
+                .reduce(FunctionDependencies.NONE, FunctionDependencies::merge);
+    }
+
+    /**
+     * @return the lines of the template; the returned array is shared and must not be modified
+     */
+    public StyledText[] getLines() {
+        if (lastLines != null
+                && !dependencies.isAlwaysInvalid()
+                && !invalidations.isInvalidatedSince(dependencies, evaluatedAt)) {
+            return lastLines;
+        }
+
+        // Take the stamp before evaluating, so changes during the evaluation invalidate the result
+        long stamp = invalidations.getStamp();
+        String value = template.getString();
+        if (!value.equals(lastValue)) {
+            lastValue = value;
+            lastLines = toLines(value);
+        }
+        evaluatedAt = stamp;
+
+        return lastLines;
+    }
+
+    public FunctionDependencies getDependencies() {
+        return dependencies;
+    }
+
+    private static StyledText[] toLines(String value) {
+        // Turn escaped {} (`\[\` and `\]\`) back into real {}
+        String unescaped = value.replace("\\[\\", "{").replace("\\]\\", "}");
+
+        return Arrays.stream(unescaped.split("\n"))
+                .map(StyledText::fromString)
+                .toArray(StyledText[]::new);
+    }
+}
@@ -1,24 +1,26 @@
 /*
- * Copyright © Wynntils 2023.
+ * Copyright © Wynntils 2023-2024.
  * This file is released under LGPLv3. See LICENSE for full license details.
  */
 package com.wynntils.core.consumers.functions.templates;
 
+import com.wynntils.core.consumers.functions.Function;
 import com.wynntils.core.consumers.functions.expressions.Expression;
 import com.wynntils.core.consumers.functions.expressions.parser.ExpressionParser;
 import com.wynntils.utils.type.ErrorOr;
+import java.util.List;
 
 public class ExpressionTemplatePart extends TemplatePart {
     private final ErrorOr<Expression> expression;
 
-    public ExpressionTemplatePart(String part) {
+    public ExpressionTemplatePart(String part, ExpressionParser parser) {
         super(part);
 
         if (!this.part.startsWith("{") || !this.part.endsWith("}")) {
             throw new IllegalArgumentException("Expression was not wrapped in curly braces.");
         }
 
-        this.expression = ExpressionParser.tryParse(this.part.substring(1, this.part.length() - 1));
+        this.expression = parser.tryParse(this.part.substring(1, this.part.length() - 1));
     }
 
     @Override
@@ -36,6 +38,14 @@ public class ExpressionTemplatePart extends TemplatePart {
         return calculatedValue.getValue();
     }
 
+    @Override
+    public List<Function<?>> getFunctions() {
+        // An expression that failed to parse always evaluates to its error
+        if (expression.hasError()) return List.of();
+
+        return expression.getValue().getFunctions();
+    }
+
     @Override
     public String toString() {
         return "ExpressionTemplatePart{" + "expressionString='" + expression + "'}";
@@ -1,11 +1,11 @@
 /*
- * Copyright © Wynntils 2023.
+ * Copyright © Wynntils 2023-2024.
  * This file is released under LGPLv3. See LICENSE for full license details.
  */
 package com.wynntils.core.consumers.functions.templates;
 
+import com.wynntils.core.consumers.functions.Function;
 import java.util.List;
-import java.util.stream.Collectors;
 
 public class Template {
     private final List<TemplatePart> parts;
@@ -15,6 +15,14 @@ public class Template {
     }
 
     public String getString() {
-        return parts.stream().map(TemplatePart::getValue).collect(Collectors.joining());
+        StringBuilder builder = new StringBuilder();
+        for (TemplatePart part : parts) {
+            builder.append(part.getValue());
+        }
+        return builder.toString();
+    }
+
+    public List<Function<?>> getFunctions() {
+        return parts.stream().flatMap(part -> part.getFunctions().stream()).toList();
     }
 }
@@ -1,9 +1,12 @@
 /*
- * Copyright © Wynntils 2023.
+ * Copyright © Wynntils 2023-2024.
  * This file is released under LGPLv3. See LICENSE for full license details.
  */
 package com.wynntils.core.consumers.functions.templates;
 
+import com.wynntils.core.consumers.functions.Function;
+import java.util.List;
+
 /**
  * Represents a part of an info variable template.
  * A template part can be either a (string) literal or en expression that will be evaluated.
@@ -17,6 +20,10 @@ public abstract class TemplatePart {
 
     public abstract String getValue();
 
+    public List<Function<?>> getFunctions() {
+        return List.of();
+    }
+
     @Override
     public abstract String toString();
 }
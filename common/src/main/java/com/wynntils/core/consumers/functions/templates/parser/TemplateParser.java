@@ -1,9 +1,10 @@
 /*
- * Copyright © Wynntils 2023.
+ * Copyright © Wynntils 2023-2024.
  * This file is released under LGPLv3. See LICENSE for full license details.
  */
 package com.wynntils.core.consumers.functions.templates.parser;
 
+import com.wynntils.core.consumers.functions.expressions.parser.ExpressionParser;
 import com.wynntils.core.consumers.functions.templates.ExpressionTemplatePart;
 import com.wynntils.core.consumers.functions.templates.LiteralTemplatePart;
 import com.wynntils.core.consumers.functions.templates.Template;
@@ -13,13 +14,13 @@ import java.util.Collections;
 import java.util.List;
 
 public final class TemplateParser {
-    public static Template getTemplateFromString(String templateString) {
-        List<TemplatePart> parts = parseTemplate(templateString);
+    public static Template getTemplateFromString(String templateString, ExpressionParser parser) {
+        List<TemplatePart> parts = parseTemplate(templateString, parser);
 
         return new Template(Collections.unmodifiableList(parts));
     }
 
-    private static List<TemplatePart> parseTemplate(String templateString) {
+    private static List<TemplatePart> parseTemplate(String templateString, ExpressionParser parser) {
         List<TemplatePart> parts = new ArrayList<>();
 
         final int lastIndexOfExpresionEnd = templateString.lastIndexOf('}');
@@ -61,7 +62,7 @@ public final class TemplateParser {
 
                 // We have a complete expression
                 String expression = templateString.substring(expressionContextStart + 1, i);
-                parts.add(new ExpressionTemplatePart(templateString.substring(expressionContextStart, i + 1)));
+                parts.add(new ExpressionTemplatePart(templateString.substring(expressionContextStart, i + 1), parser));
 
                 // Reset the expression context
                 expressionContextStart = -1;
@@ -1,5 +1,5 @@
 /*
- * Copyright © Wynntils 2022-2023.
+ * Copyright © Wynntils 2022-2024.
  * This file is released under LGPLv3. See LICENSE for full license details.
  */
 package com.wynntils.core.events;
@@ -11,8 +11,18 @@ import net.minecraftforge.eventbus.EventBus;
 import net.minecraftforge.eventbus.api.BusBuilder;
 import net.minecraftforge.eventbus.api.Event;
 import net.minecraftforge.eventbus.api.IEventBus;
+import net.minecraftforge.eventbus.api.IEventBusInvokeDispatcher;
+import net.minecraftforge.eventbus.api.IEventListener;
 
 public final class EventBusWrapper extends EventBus {
+    // Annotations of event classes never change, so only look them up once per class
+    private static final ClassValue<EventThread> THREAD_ANNOTATIONS = new ClassValue<>() {
+        @Override
+        protected EventThread computeValue(Class<?> eventClass) {
+            return eventClass.getDeclaredAnnotation(EventThread.class);
+        }
+    };
+
     private EventBusWrapper(BusBuilderImpl busBuilder) {
         super(busBuilder);
     }
@@ -27,8 +37,13 @@ public final class EventBusWrapper extends EventBus {
 
     @Override
     public boolean post(Event event) {
+        return post(event, IEventListener::invoke);
+    }
+
+    @Override
+    public boolean post(Event event, IEventBusInvokeDispatcher wrapper) {
         Class<? extends Event> eventClass = event.getClass();
-        EventThread threadAnnotation = eventClass.getDeclaredAnnotation(EventThread.class);
+        EventThread threadAnnotation = THREAD_ANNOTATIONS.get(eventClass);
         String threadName = Thread.currentThread().getName();
         if (threadAnnotation == null) {
             // Events without annotation are only allowed on Render thread
@@ -51,6 +66,6 @@ public final class EventBusWrapper extends EventBus {
             }
         }
 
-        return super.post(event);
+        return super.post(event, wrapper);
     }
 }
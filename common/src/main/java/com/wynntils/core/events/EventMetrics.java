@@ -0,0 +1,194 @@
+/*
+ * Copyright © Wynntils 2024.
+ * This file is released under LGPLv3. See LICENSE for full license details.
+ */
+package com.wynntils.core.events;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import net.minecraftforge.eventbus.api.Event;
+import net.minecraftforge.eventbus.api.EventPriority;
+import net.minecraftforge.eventbus.api.IEventBus;
+import net.minecraftforge.eventbus.api.IEventListener;
+
+/**
+ * Opt-in dispatch metrics of the event bus, per event class and per listener.
+ *
+ * <p>For every event class and listener, the number of calls, the total and maximum time spent, and the number of
+ * bytes allocated are recorded, in counters that can be updated from any thread without locking. Metrics of an
+ * event include the time spent in events posted by its listeners.
+ *
+ * <p>Allocations are only measured if the JVM supports measuring allocations per thread.
+ */
+public final class EventMetrics {
+    private static final com.sun.management.ThreadMXBean THREAD_MX_BEAN = getThreadMXBean();
+
+    private final Map<Class<? extends Event>, DispatchMetrics> eventMetrics = new ConcurrentHashMap<>();
+    private final Map<IEventListener, DispatchMetrics> listenerMetrics = new ConcurrentHashMap<>();
+
+    private volatile boolean enabled = false;
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public void reset() {
+        eventMetrics.clear();
+        listenerMetrics.clear();
+    }
+
+    /**
+     * Posts the event on the bus, measuring the event and each of the listeners it is dispatched to.
+     */
+    public boolean post(IEventBus eventBus, Event event) {
+        long start = System.nanoTime();
+        long allocatedStart = getAllocatedBytes();
+
+        try {
+            return eventBus.post(event, this::invokeListener);
+        } finally {
+            long nanos = System.nanoTime() - start;
+            long allocated = getAllocatedBytes() - allocatedStart;
+            eventMetrics
+                    .computeIfAbsent(event.getClass(), eventClass -> new DispatchMetrics(eventClass.getName()))
+                    .record(nanos, allocated);
+        }
+    }
+
+    public List<DispatchStats> getEventStats() {
+        return snapshot(eventMetrics);
+    }
+
+    public List<DispatchStats> getListenerStats() {
+        return snapshot(listenerMetrics);
+    }
+
+    /**
+     * Writes the metrics of all events and listeners to a CSV file, slowest first.
+     */
+    public void writeCsv(File file) throws IOException {
+        try (PrintWriter writer = new PrintWriter(file, StandardCharsets.UTF_8)) {
+            writer.println("kind,name,count,totalNanos,maxNanos,averageNanos,allocatedBytes");
+            getEventStats().forEach(stats -> writer.println(stats.toCsvLine("event")));
+            getListenerStats().forEach(stats -> writer.println(stats.toCsvLine("listener")));
+        }
+    }
+
+    private void invokeListener(IEventListener listener, Event event) {
+        // Priority markers are dispatched as listeners, but do no work
+        if (listener instanceof EventPriority) {
+            listener.invoke(event);
+            return;
+        }
+
+        long start = System.nanoTime();
+        long allocatedStart = getAllocatedBytes();
+
+        try {
+            listener.invoke(event);
+        } finally {
+            long nanos = System.nanoTime() - start;
+            long allocated = getAllocatedBytes() - allocatedStart;
+            listenerMetrics
+                    .computeIfAbsent(listener, l -> new DispatchMetrics(getListenerName(l)))
+                    .record(nanos, allocated);
+        }
+    }
+
+    private static List<DispatchStats> snapshot(Map<?, DispatchMetrics> metrics) {
+        return metrics.values().stream()
+                .map(DispatchMetrics::snapshot)
+                .sorted(Comparator.comparingLong(DispatchStats::totalNanos).reversed())
+                .toList();
+    }
+
+    private static String getListenerName(IEventListener listener) {
+        // Listeners of subscribed methods describe themselves as "ASM: <owner> <method><descriptor>"
+        String description = listener.toString();
+        if (!description.startsWith("ASM: ")) return description;
+
+        String[] parts = description.substring(5).split(" ", 2);
+        if (parts.length != 2) return description;
+
+        String owner = parts[0];
+        int hashIndex = owner.indexOf('@');
+        if (hashIndex != -1) {
+            owner = owner.substring(0, hashIndex);
+        }
+        owner = owner.substring(owner.lastIndexOf('.') + 1);
+
+        int descriptorIndex = parts[1].indexOf('(');
+        String method = descriptorIndex == -1 ? parts[1] : parts[1].substring(0, descriptorIndex);
+
+        return owner + "." + method;
+    }
+
+    private static long getAllocatedBytes() {
+        return THREAD_MX_BEAN == null ? 0 : THREAD_MX_BEAN.getCurrentThreadAllocatedBytes();
+    }
+
+    private static com.sun.management.ThreadMXBean getThreadMXBean() {
+        if (!(ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean threadMXBean)) {
+            return null;
+        }
+        if (!threadMXBean.isThreadAllocatedMemorySupported() || !threadMXBean.isThreadAllocatedMemoryEnabled()) {
+            return null;
+        }
+
+        return threadMXBean;
+    }
+
+    private static final class DispatchMetrics {
+        private final String name;
+        private final LongAdder count = new LongAdder();
+        private final LongAdder totalNanos = new LongAdder();
+        private final LongAccumulator maxNanos = new LongAccumulator(Math::max, 0);
+        private final LongAdder allocatedBytes = new LongAdder();
+
+        private DispatchMetrics(String name) {
+            this.name = name;
+        }
+
+        private void record(long nanos, long allocated) {
+            count.increment();
+            totalNanos.add(nanos);
+            maxNanos.accumulate(nanos);
+            allocatedBytes.add(allocated);
+        }
+
+        private DispatchStats snapshot() {
+            return new DispatchStats(name, count.sum(), totalNanos.sum(), maxNanos.get(), allocatedBytes.sum());
+        }
+    }
+
+    public record DispatchStats(String name, long count, long totalNanos, long maxNanos, long allocatedBytes) {
+        public double averageNanos() {
+            return count == 0 ? 0 : (double) totalNanos / count;
+        }
+
+        private String toCsvLine(String kind) {
+            return String.join(
+                    ",",
+                    kind,
+                    name,
+                    String.valueOf(count),
+                    String.valueOf(totalNanos),
+                    String.valueOf(maxNanos),
+                    String.valueOf(Math.round(averageNanos())),
+                    String.valueOf(allocatedBytes));
+        }
+    }
+}
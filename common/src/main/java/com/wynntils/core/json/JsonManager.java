@@ -61,13 +61,16 @@ public final class JsonManager extends Manager {
 
     /**
      * Write a json object to a file, taking care to preserve the file against corruption since
-     * it contains precious data.
+     * it contains precious data. If the file can't be written, the previous file is restored.
+     *
+     * @return true if the file was written
      */
-    public void savePreciousJson(File jsonFile, JsonObject jsonObject) {
+    public boolean savePreciousJson(File jsonFile, JsonObject jsonObject) {
         FileUtils.mkdir(jsonFile.getParentFile());
 
-        if (jsonFile.exists()) {
-            File backupFile = new File(jsonFile.getPath() + ".bak");
+        File backupFile = new File(jsonFile.getPath() + ".bak");
+        boolean hasBackup = jsonFile.exists();
+        if (hasBackup) {
             // Remove old backup (if any), and move current json file to backup
             FileUtils.deleteFile(backupFile);
             FileUtils.moveFile(jsonFile, backupFile);
@@ -77,9 +80,17 @@ public final class JsonManager extends Manager {
                 new OutputStreamWriter(new FileOutputStream(jsonFile), StandardCharsets.UTF_8)) {
             GSON.toJson(jsonObject, fileWriter);
             fileWriter.flush();
+            return true;
         } catch (IOException e) {
             WynntilsMod.error("Failed to save json file " + jsonFile, e);
         }
+
+        // Do not leave a partially written file behind
+        FileUtils.deleteFile(jsonFile);
+        if (hasBackup) {
+            FileUtils.tryCopyFile(backupFile, jsonFile);
+        }
+        return false;
     }
 
     /**
@@ -0,0 +1,55 @@
+/*
+ * Copyright © Wynntils 2024.
+ * This file is released under LGPLv3. See LICENSE for full license details.
+ */
+package com.wynntils.core.mod;
+
+/**
+ * A handle to a task scheduled with the {@link TickSchedulerManager}.
+ *
+ * <p>Cancelling is safe from any thread, and takes effect from the next tick the task would have run at.
+ */
+public final class ScheduledTask {
+    private final Runnable runnable;
+    // The number of ticks between runs, or 0 if the task only runs once
+    private final int period;
+
+    private volatile boolean cancelled = false;
+    private volatile boolean done = false;
+
+    ScheduledTask(Runnable runnable, int period) {
+        this.runnable = runnable;
+        this.period = period;
+    }
+
+    public void cancel() {
+        cancelled = true;
+    }
+
+    public boolean isCancelled() {
+        return cancelled;
+    }
+
+    /**
+     * @return true if the task has run and will not run again, or has been cancelled
+     */
+    public boolean isDone() {
+        return done || cancelled;
+    }
+
+    public boolean isPeriodic() {
+        return period > 0;
+    }
+
+    Runnable getRunnable() {
+        return runnable;
+    }
+
+    int getPeriod() {
+        return period;
+    }
+
+    void markDone() {
+        done = true;
+    }
+}
@@ -4,28 +4,102 @@
  */
 package com.wynntils.core.mod;
 
+import com.wynntils.core.WynntilsMod;
 import com.wynntils.core.components.Manager;
 import com.wynntils.mc.event.TickAlwaysEvent;
-import java.util.Iterator;
+import com.wynntils.utils.type.TimingWheel;
 import java.util.List;
-import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
 import net.minecraftforge.eventbus.api.EventPriority;
 import net.minecraftforge.eventbus.api.SubscribeEvent;
 
+/**
+ * Runs tasks on the main thread, a given number of ticks later, and spreads deferred work over multiple ticks.
+ *
+ * <p>Tasks can be scheduled from any thread. They are collected in a queue, and moved into a timing wheel on the
+ * next tick, so the cost of a tick only depends on the tasks that are due, not on the number of tasks scheduled.
+ *
+ * <p>Deferred work has no deadline. It is run in submission order, until the work of a tick takes longer than
+ * {@link #DEFERRED_WORK_BUDGET_MICROS}, and the rest is left for the next ticks. At least one piece of work is run
+ * every tick, so work always makes progress.
+ */
 public final class TickSchedulerManager extends Manager {
-    private final Map<Runnable, Integer> tasks = new ConcurrentHashMap<>();
+    private static final long DEFERRED_WORK_BUDGET_MICROS = 2000;
+    private static final long DEFERRED_WORK_BUDGET_NANOS = TimeUnit.MICROSECONDS.toNanos(DEFERRED_WORK_BUDGET_MICROS);
+
+    private final Queue<PendingTask> pendingTasks = new ConcurrentLinkedQueue<>();
+    private final Queue<Runnable> deferredWork = new ConcurrentLinkedQueue<>();
+    // Only accessed from the main thread
+    private final TimingWheel<ScheduledTask> timingWheel = new TimingWheel<>(0);
+
+    // The number of the current tick, tasks scheduled during a tick are never run in the same tick
+    private volatile long currentTick = 0;
+
+    private long deferredWorkRun = 0;
+    private long budgetOverruns = 0;
+    private long maxDeferredWorkNanos = 0;
 
     public TickSchedulerManager() {
         super(List.of());
     }
 
-    public void scheduleLater(Runnable runnable, int ticksDelay) {
-        tasks.put(runnable, ticksDelay);
+    /**
+     * Runs the task after the given number of ticks have passed. A delay of 0 runs the task on the next tick.
+     */
+    public ScheduledTask scheduleLater(Runnable runnable, int ticksDelay) {
+        return schedule(new ScheduledTask(runnable, 0), ticksDelay);
+    }
+
+    public ScheduledTask scheduleNextTick(Runnable runnable) {
+        return scheduleLater(runnable, 0);
+    }
+
+    /**
+     * Runs the task after the given number of ticks have passed, and then every {@code periodTicks} ticks, until the
+     * returned task is cancelled.
+     */
+    public ScheduledTask scheduleRepeating(Runnable runnable, int initialDelay, int periodTicks) {
+        if (periodTicks <= 0) {
+            throw new IllegalArgumentException("Period must be positive, was " + periodTicks);
+        }
+
+        return schedule(new ScheduledTask(runnable, periodTicks), initialDelay);
+    }
+
+    /**
+     * Runs the work on the main thread, as soon as the per-tick budget for deferred work allows it. Bulk work should
+     * be split into small pieces, so it can be spread over multiple ticks.
+     */
+    public void defer(Runnable work) {
+        deferredWork.add(work);
+    }
+
+    public int getScheduledTaskCount() {
+        return timingWheel.size() + pendingTasks.size();
+    }
+
+    public int getDeferredWorkCount() {
+        return deferredWork.size();
+    }
+
+    public long getDeferredWorkRun() {
+        return deferredWorkRun;
+    }
+
+    public long getBudgetOverruns() {
+        return budgetOverruns;
+    }
+
+    public long getMaxDeferredWorkMicros() {
+        return TimeUnit.NANOSECONDS.toMicros(maxDeferredWorkNanos);
     }
 
-    public void scheduleNextTick(Runnable runnable) {
-        tasks.put(runnable, 0);
+    public void resetStatistics() {
+        deferredWorkRun = 0;
+        budgetOverruns = 0;
+        maxDeferredWorkNanos = 0;
     }
 
     // The priority is set to HIGHEST to ensure that the tasks are run
@@ -33,18 +107,66 @@ public final class TickSchedulerManager extends Manager {
     // making it run in the same tick
     @SubscribeEvent(priority = EventPriority.HIGHEST)
     public void onTick(TickAlwaysEvent e) {
-        Iterator<Map.Entry<Runnable, Integer>> it = tasks.entrySet().iterator();
-        while (it.hasNext()) {
-            Map.Entry<Runnable, Integer> entry = it.next();
-            int ticksLeft = entry.getValue();
-            if (ticksLeft == 0) {
-                // Run the task
-                entry.getKey().run();
-                // Remove it from the map
-                it.remove();
-            } else {
-                entry.setValue(ticksLeft - 1);
+        long tick = currentTick + 1;
+
+        // Tasks scheduled up to now are due at this tick at the earliest
+        PendingTask pendingTask;
+        while ((pendingTask = pendingTasks.poll()) != null) {
+            timingWheel.add(pendingTask.task(), pendingTask.deadline());
+        }
+
+        currentTick = tick;
+        timingWheel.advance(this::runTask);
+
+        runDeferredWork();
+    }
+
+    private ScheduledTask schedule(ScheduledTask task, int ticksDelay) {
+        pendingTasks.add(new PendingTask(task, currentTick + Math.max(ticksDelay, 0) + 1));
+        return task;
+    }
+
+    private void runTask(ScheduledTask task) {
+        if (task.isCancelled()) return;
+
+        try {
+            task.getRunnable().run();
+        } catch (Throwable t) {
+            // Do not let one task prevent the other tasks of this tick from running
+            WynntilsMod.error("Exception in scheduled task " + task.getRunnable(), t);
+        }
+
+        if (task.isPeriodic() && !task.isCancelled()) {
+            timingWheel.add(task, currentTick + task.getPeriod());
+        } else {
+            task.markDone();
+        }
+    }
+
+    private void runDeferredWork() {
+        if (deferredWork.isEmpty()) return;
+
+        long start = System.nanoTime();
+        long elapsed = 0;
+
+        Runnable work;
+        while ((work = deferredWork.poll()) != null) {
+            try {
+                work.run();
+            } catch (Throwable t) {
+                WynntilsMod.error("Exception in deferred work " + work, t);
             }
+
+            deferredWorkRun++;
+            elapsed = System.nanoTime() - start;
+            if (elapsed >= DEFERRED_WORK_BUDGET_NANOS) break;
         }
+
+        if (elapsed > DEFERRED_WORK_BUDGET_NANOS) {
+            budgetOverruns++;
+        }
+        maxDeferredWorkNanos = Math.max(maxDeferredWorkNanos, elapsed);
     }
+
+    private record PendingTask(ScheduledTask task, long deadline) {}
 }
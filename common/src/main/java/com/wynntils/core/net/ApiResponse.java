@@ -1,5 +1,5 @@
 /*
- * Copyright © Wynntils 2022-2023.
+ * Copyright © Wynntils 2022-2024.
  * This file is released under LGPLv3. See LICENSE for full license details.
  */
 package com.wynntils.core.net;
@@ -18,8 +18,6 @@ public class ApiResponse extends NetResult {
 
     @Override
     protected CompletableFuture<InputStream> getInputStreamFuture() {
-        return Managers.Net.HTTP_CLIENT
-                .sendAsync(request, HttpResponse.BodyHandlers.ofInputStream())
-                .thenApply(HttpResponse::body);
+        return Managers.Net.sendAsync(request, HttpResponse.BodyHandlers.ofInputStream()).thenApply(HttpResponse::body);
     }
 }
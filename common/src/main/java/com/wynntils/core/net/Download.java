@@ -1,5 +1,5 @@
 /*
- * Copyright © Wynntils 2022-2023.
+ * Copyright © Wynntils 2022-2024.
  * This file is released under LGPLv3. See LICENSE for full license details.
  */
 package com.wynntils.core.net;
@@ -11,7 +11,6 @@ import java.io.ByteArrayInputStream;
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.FileNotFoundException;
-import java.io.IOException;
 import java.io.InputStream;
 import java.net.http.HttpHeaders;
 import java.net.http.HttpRequest;
@@ -69,14 +68,13 @@ public class Download extends NetResult {
             // File is already in downloaded, just read from the cache
             return CompletableFuture.supplyAsync(this::getFileInputStreamFromCache);
         } else {
-            prepareForDownload();
             return getDownloadInputStreamFuture().thenApply(response -> getFileInputStreamFromCache());
         }
     }
 
     private CompletableFuture<HttpResponse<Path>> getDownloadInputStreamFuture() {
-        CompletableFuture<HttpResponse<Path>> future =
-                Managers.Net.HTTP_CLIENT.sendAsync(request, HttpResponse.BodyHandlers.ofFile(localFile.toPath()));
+        // Concurrent downloads of the same file share the request, but every download reads the file on its own
+        CompletableFuture<HttpResponse<Path>> future = Managers.Net.downloadAsync(request, localFile);
 
         // We must save the response so we can get the timestamp
         this.httpResponse = future;
@@ -92,13 +90,4 @@ public class Download extends NetResult {
             return new ByteArrayInputStream(new byte[0]);
         }
     }
-
-    private void prepareForDownload() {
-        FileUtils.deleteQuietly(localFile);
-        try {
-            FileUtils.forceMkdirParent(localFile);
-        } catch (IOException e) {
-            WynntilsMod.error("Failed to create directories needed for " + localFile, e);
-        }
-    }
 }
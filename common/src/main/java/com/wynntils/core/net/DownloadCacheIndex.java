@@ -0,0 +1,232 @@
+/*
+ * Copyright © Wynntils 2024.
+ * This file is released under LGPLv3. See LICENSE for full license details.
+ */
+package com.wynntils.core.net;
+
+import com.wynntils.core.WynntilsMod;
+import com.wynntils.utils.TaskUtils;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import org.apache.commons.codec.digest.DigestUtils;
+
+/**
+ * An on-disk index of the files in the download cache, so they do not have to be hashed on every launch.
+ *
+ * <p>Every entry is keyed by the path of the file, and only valid as long as the file has the size and modification
+ * time it had when the entry was made. Besides the md5 hash of the file, an entry holds the HTTP validators of the
+ * response the file was downloaded from, so it can be revalidated with a conditional request.
+ */
+public final class DownloadCacheIndex {
+    private static final int MAGIC = 0x5744434B; // "WDCI"
+    private static final int FORMAT_VERSION = 1;
+
+    private final File file;
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+    private final AtomicBoolean saveScheduled = new AtomicBoolean();
+
+    private final AtomicLong hashHits = new AtomicLong();
+    private final AtomicLong hashMisses = new AtomicLong();
+
+    public DownloadCacheIndex(File file) {
+        this.file = file;
+    }
+
+    /**
+     * @return the md5 hash of the file, from the index if the file is unchanged, or null if the file can't be read
+     */
+    public String getMd5(File localFile) {
+        if (!localFile.isFile()) return null;
+
+        String key = getKey(localFile);
+        long size = localFile.length();
+        long lastModified = localFile.lastModified();
+
+        Entry entry = entries.get(key);
+        if (entry != null && entry.matches(size, lastModified) && entry.md5() != null) {
+            hashHits.incrementAndGet();
+            return entry.md5();
+        }
+
+        hashMisses.incrementAndGet();
+        String md5 = computeMd5(localFile);
+        if (md5 == null) return null;
+
+        // Validators are only kept if they were made for this exact file
+        Entry newEntry = entry != null && entry.matches(size, lastModified)
+                ? new Entry(size, lastModified, md5, entry.etag(), entry.httpLastModified())
+                : new Entry(size, lastModified, md5, null, null);
+        entries.put(key, newEntry);
+        scheduleSave();
+
+        return md5;
+    }
+
+    /**
+     * @return the headers needed to revalidate the file with a conditional request, or an empty map if the file has
+     *     no validators, or has changed since they were stored
+     */
+    public Map<String, String> getConditionalHeaders(File localFile) {
+        Entry entry = entries.get(getKey(localFile));
+        if (entry == null || !localFile.isFile()) return Map.of();
+        if (!entry.matches(localFile.length(), localFile.lastModified())) return Map.of();
+
+        Map<String, String> headers = new HashMap<>();
+        if (entry.etag() != null) {
+            headers.put("If-None-Match", entry.etag());
+        }
+        if (entry.httpLastModified() != null) {
+            headers.put("If-Modified-Since", entry.httpLastModified());
+        }
+        return headers;
+    }
+
+    /**
+     * Records a freshly downloaded file, along with the validators of the response it was downloaded from.
+     */
+    public void putDownloaded(File localFile, String etag, String httpLastModified) {
+        String md5 = computeMd5(localFile);
+        if (md5 == null) {
+            remove(localFile);
+            return;
+        }
+
+        entries.put(
+                getKey(localFile),
+                new Entry(localFile.length(), localFile.lastModified(), md5, etag, httpLastModified));
+        scheduleSave();
+    }
+
+    public void remove(File localFile) {
+        if (entries.remove(getKey(localFile)) != null) {
+            scheduleSave();
+        }
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    public long getHashHits() {
+        return hashHits.get();
+    }
+
+    public long getHashMisses() {
+        return hashMisses.get();
+    }
+
+    public void resetStatistics() {
+        hashHits.set(0);
+        hashMisses.set(0);
+    }
+
+    public void load() {
+        if (!file.exists()) return;
+
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(file)))) {
+            if (in.readInt() != MAGIC || in.readInt() != FORMAT_VERSION) return;
+
+            int count = in.readInt();
+            for (int i = 0; i < count; i++) {
+                String key = in.readUTF();
+                long size = in.readLong();
+                long lastModified = in.readLong();
+                String md5 = readNullableString(in);
+                String etag = readNullableString(in);
+                String httpLastModified = readNullableString(in);
+
+                entries.put(key, new Entry(size, lastModified, md5, etag, httpLastModified));
+            }
+        } catch (IOException | RuntimeException e) {
+            // It is only a cache, start over
+            WynntilsMod.warn("Failed to read download cache index " + file.getPath() + ": " + e.getMessage());
+            entries.clear();
+        }
+    }
+
+    private void scheduleSave() {
+        // Downloads finishing in a burst are written at once
+        if (saveScheduled.getAndSet(true)) return;
+
+        TaskUtils.runAsync(() -> {
+            saveScheduled.set(false);
+            save();
+        });
+    }
+
+    private void save() {
+        Map<String, Entry> snapshot = Map.copyOf(entries);
+
+        try {
+            // Write to a temporary file first, so a partially written index is never read
+            Files.createDirectories(file.getParentFile().toPath());
+            Path temporaryFile = Files.createTempFile(file.getParentFile().toPath(), file.getName(), ".tmp");
+            try (DataOutputStream out =
+                    new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temporaryFile)))) {
+                out.writeInt(MAGIC);
+                out.writeInt(FORMAT_VERSION);
+
+                out.writeInt(snapshot.size());
+                for (Map.Entry<String, Entry> mapEntry : snapshot.entrySet()) {
+                    Entry entry = mapEntry.getValue();
+                    out.writeUTF(mapEntry.getKey());
+                    out.writeLong(entry.size());
+                    out.writeLong(entry.lastModified());
+                    writeNullableString(out, entry.md5());
+                    writeNullableString(out, entry.etag());
+                    writeNullableString(out, entry.httpLastModified());
+                }
+            } catch (IOException | RuntimeException e) {
+                Files.deleteIfExists(temporaryFile);
+                throw e;
+            }
+            Files.move(temporaryFile, file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException e) {
+            WynntilsMod.warn("Failed to write download cache index " + file.getPath() + ": " + e.getMessage());
+        }
+    }
+
+    private static String computeMd5(File localFile) {
+        try (InputStream is = Files.newInputStream(localFile.toPath())) {
+            return DigestUtils.md5Hex(is);
+        } catch (IOException e) {
+            WynntilsMod.warn("Error when calculating md5 for " + localFile.getPath(), e);
+            return null;
+        }
+    }
+
+    private static String getKey(File localFile) {
+        return localFile.getAbsolutePath();
+    }
+
+    private static void writeNullableString(DataOutputStream out, String value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            out.writeUTF(value);
+        }
+    }
+
+    private static String readNullableString(DataInputStream in) throws IOException {
+        return in.readBoolean() ? in.readUTF() : null;
+    }
+
+    private record Entry(long size, long lastModified, String md5, String etag, String httpLastModified) {
+        private boolean matches(long size, long lastModified) {
+            return this.size == size && this.lastModified == lastModified;
+        }
+    }
+}
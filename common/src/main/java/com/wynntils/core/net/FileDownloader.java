@@ -0,0 +1,158 @@
+/*
+ * Copyright © Wynntils 2024.
+ * This file is released under LGPLv3. See LICENSE for full license details.
+ */
+package com.wynntils.core.net;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Downloads files into the download cache.
+ *
+ * <p>Concurrent downloads of the same URI into the same file share a single request. Successful responses are
+ * written to a temporary file next to the cached file, and only replace it once they are complete, so the cached
+ * file stays usable if a download fails. A {@code 304 Not Modified} response to a conditional request keeps the
+ * cached file as it is, and any other response fails the download without touching the cached file. All requests
+ * go through a {@link RequestLimiter}.
+ */
+public final class FileDownloader {
+    private static final int HTTP_NOT_MODIFIED = 304;
+
+    private final HttpClient httpClient;
+    private final DownloadCacheIndex cacheIndex;
+    private final RequestLimiter limiter;
+    private final Map<Target, CompletableFuture<HttpResponse<Path>>> inFlight = new ConcurrentHashMap<>();
+
+    private final AtomicLong downloaded = new AtomicLong();
+    private final AtomicLong notModified = new AtomicLong();
+    private final AtomicLong coalesced = new AtomicLong();
+
+    public FileDownloader(HttpClient httpClient, DownloadCacheIndex cacheIndex, RequestLimiter limiter) {
+        this.httpClient = httpClient;
+        this.cacheIndex = cacheIndex;
+        this.limiter = limiter;
+    }
+
+    /**
+     * Downloads the response to the request into the local file. The body of the returned response is the path of
+     * the local file, both for downloaded and for revalidated files.
+     */
+    public CompletableFuture<HttpResponse<Path>> download(HttpRequest request, File localFile) {
+        Target target = new Target(request.uri(), localFile.getAbsoluteFile());
+
+        CompletableFuture<HttpResponse<Path>> future = new CompletableFuture<>();
+        CompletableFuture<HttpResponse<Path>> existing = inFlight.putIfAbsent(target, future);
+        if (existing != null) {
+            coalesced.incrementAndGet();
+            return existing;
+        }
+
+        limiter.submit(() -> send(request, localFile)).whenComplete((response, throwable) -> {
+            inFlight.remove(target, future);
+
+            if (throwable != null) {
+                future.completeExceptionally(throwable);
+            } else {
+                future.complete(response);
+            }
+        });
+
+        return future;
+    }
+
+    public int getInFlightCount() {
+        return inFlight.size();
+    }
+
+    public long getDownloadedCount() {
+        return downloaded.get();
+    }
+
+    public long getNotModifiedCount() {
+        return notModified.get();
+    }
+
+    public long getCoalescedCount() {
+        return coalesced.get();
+    }
+
+    public void resetStatistics() {
+        downloaded.set(0);
+        notModified.set(0);
+        coalesced.set(0);
+    }
+
+    private CompletableFuture<HttpResponse<Path>> send(HttpRequest request, File localFile) {
+        Path localPath = localFile.toPath();
+        Path partialPath = localPath.resolveSibling(localFile.getName() + ".part");
+
+        try {
+            Files.createDirectories(partialPath.getParent());
+        } catch (IOException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+
+        return httpClient
+                .sendAsync(
+                        request,
+                        // Only successful responses are written, the body of any other response is discarded
+                        responseInfo -> isSuccessful(responseInfo.statusCode())
+                                ? HttpResponse.BodySubscribers.ofFile(partialPath)
+                                : HttpResponse.BodySubscribers.replacing(localPath))
+                .thenApply(response -> {
+                    if (response.statusCode() == HTTP_NOT_MODIFIED) {
+                        notModified.incrementAndGet();
+                        return response;
+                    }
+
+                    if (!isSuccessful(response.statusCode())) {
+                        // Keep the cached file and its validators, an error page must not replace it
+                        deletePartialFile(partialPath);
+                        throw new UncheckedIOException(new IOException(
+                                "Download of " + request.uri() + " failed with status " + response.statusCode()));
+                    }
+
+                    try {
+                        Files.move(partialPath, localPath, StandardCopyOption.REPLACE_EXISTING);
+                    } catch (IOException e) {
+                        deletePartialFile(partialPath);
+                        throw new UncheckedIOException(e);
+                    }
+                    downloaded.incrementAndGet();
+
+                    cacheIndex.putDownloaded(
+                            localFile,
+                            response.headers().firstValue("ETag").orElse(null),
+                            response.headers().firstValue("Last-Modified").orElse(null));
+
+                    return response;
+                });
+    }
+
+    private static boolean isSuccessful(int statusCode) {
+        return statusCode / 100 == 2;
+    }
+
+    private static void deletePartialFile(Path partialPath) {
+        try {
+            Files.deleteIfExists(partialPath);
+        } catch (IOException ignored) {
+            // It is overwritten by the next download anyway
+        }
+    }
+
+    private record Target(URI uri, File localFile) {}
+}
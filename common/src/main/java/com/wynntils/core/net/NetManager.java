@@ -10,24 +10,24 @@ import com.wynntils.core.components.Manager;
 import com.wynntils.core.components.Managers;
 import com.wynntils.core.net.event.NetResultProcessedEvent;
 import java.io.File;
-import java.io.IOException;
-import java.io.InputStream;
 import java.net.URI;
 import java.net.http.HttpClient;
 import java.net.http.HttpRequest;
-import java.nio.file.Files;
+import java.net.http.HttpResponse;
+import java.nio.file.Path;
 import java.time.Duration;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 import net.minecraft.SharedConstants;
 import net.minecraft.Util;
-import org.apache.commons.codec.digest.DigestUtils;
 
 public final class NetManager extends Manager {
-    static final HttpClient HTTP_CLIENT = HttpClient.newHttpClient();
+    private static final HttpClient HTTP_CLIENT = HttpClient.newHttpClient();
 
     private static final int REQUEST_TIMEOUT_MILLIS = 10000;
+    private static final int MAX_CONCURRENT_REQUESTS = 8;
     private static final File CACHE_DIR = WynntilsMod.getModStorageDir("cache");
     private static final String USER_AGENT = String.format(
             "Wynntils Artemis\\%s+MC-%s (%s) %s",
@@ -36,8 +36,14 @@ public final class NetManager extends Manager {
             WynntilsMod.isDevelopmentEnvironment() ? "dev" : "client",
             WynntilsMod.getModLoader());
 
+    private final DownloadCacheIndex cacheIndex = new DownloadCacheIndex(new File(CACHE_DIR, "download_index.bin"));
+    private final RequestLimiter requestLimiter = new RequestLimiter(MAX_CONCURRENT_REQUESTS);
+    private final FileDownloader fileDownloader = new FileDownloader(HTTP_CLIENT, cacheIndex, requestLimiter);
+
     public NetManager() {
         super(List.of());
+
+        cacheIndex.load();
     }
 
     public ApiResponse callApi(UrlId urlId, Map<String, String> arguments, Map<String, String> headers) {
@@ -77,7 +83,9 @@ public final class NetManager extends Manager {
     }
 
     private Download download(URI uri, File localFile, NetResultProcessedEvent processedEvent) {
-        return new Download(localFile.getName(), localFile, createGetRequest(uri, Map.of()), processedEvent);
+        // Without a hash to check against, ask the server whether our copy is still up to date
+        HttpRequest request = createGetRequest(uri, cacheIndex.getConditionalHeaders(localFile));
+        return new Download(localFile.getName(), localFile, request, processedEvent);
     }
 
     private Download download(URI uri, File localFile, String expectedHash, NetResultProcessedEvent processedEvent) {
@@ -90,7 +98,8 @@ public final class NetManager extends Manager {
             return new Download(localFile.getName(), localFile, processedEvent);
         }
 
-        return download(uri, localFile, processedEvent);
+        HttpRequest request = createGetRequest(uri, Map.of());
+        return new Download(localFile.getName(), localFile, request, processedEvent);
     }
 
     public File getCacheDir() {
@@ -101,6 +110,24 @@ public final class NetManager extends Manager {
         return new File(CACHE_DIR, localFileName);
     }
 
+    public DownloadCacheIndex getCacheIndex() {
+        return cacheIndex;
+    }
+
+    public RequestLimiter getRequestLimiter() {
+        return requestLimiter;
+    }
+
+    public FileDownloader getFileDownloader() {
+        return fileDownloader;
+    }
+
+    public void resetStatistics() {
+        cacheIndex.resetStatistics();
+        requestLimiter.resetStatistics();
+        fileDownloader.resetStatistics();
+    }
+
     public void openLink(URI url) {
         Util.getPlatform().openUri(url);
     }
@@ -110,6 +137,15 @@ public final class NetManager extends Manager {
         openLink(uri);
     }
 
+    <T> CompletableFuture<HttpResponse<T>> sendAsync(
+            HttpRequest request, HttpResponse.BodyHandler<T> responseBodyHandler) {
+        return requestLimiter.submit(() -> HTTP_CLIENT.sendAsync(request, responseBodyHandler));
+    }
+
+    CompletableFuture<HttpResponse<Path>> downloadAsync(HttpRequest request, File localFile) {
+        return fileDownloader.download(request, localFile);
+    }
+
     private HttpRequest createGetRequest(URI uri, Map<String, String> headers) {
         HttpRequest.Builder builder = HttpRequest.newBuilder()
                 .uri(uri)
@@ -158,17 +194,15 @@ public final class NetManager extends Manager {
     private boolean checkLocalHash(File localFile, String expectedHash) {
         if (!localFile.exists()) return false;
 
-        try (InputStream is = Files.newInputStream(localFile.toPath())) {
-            String fileHash = DigestUtils.md5Hex(is);
-            boolean hashMatches = fileHash.equalsIgnoreCase(expectedHash);
-            if (WynntilsMod.isDevelopmentEnvironment() && !hashMatches) {
-                WynntilsMod.warn("Hash mismatch for " + localFile.getPath() + ": " + fileHash + " != " + expectedHash
-                        + ". If you see this often, check urls.json, there might be an outdated hash.");
-            }
-            return hashMatches;
-        } catch (IOException e) {
-            WynntilsMod.warn("Error when calculating md5 for " + localFile.getPath(), e);
-            return false;
+        // Unchanged files are not hashed again, their hash is looked up in the index
+        String fileHash = cacheIndex.getMd5(localFile);
+        if (fileHash == null) return false;
+
+        boolean hashMatches = fileHash.equalsIgnoreCase(expectedHash);
+        if (WynntilsMod.isDevelopmentEnvironment() && !hashMatches) {
+            WynntilsMod.warn("Hash mismatch for " + localFile.getPath() + ": " + fileHash + " != " + expectedHash
+                    + ". If you see this often, check urls.json, there might be an outdated hash.");
         }
+        return hashMatches;
     }
 }
@@ -0,0 +1,134 @@
+/*
+ * Copyright © Wynntils 2024.
+ * This file is released under LGPLv3. See LICENSE for full license details.
+ */
+package com.wynntils.core.net;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * Collects lookups of single keys over a short window, and fetches them in batches.
+ *
+ * <p>Requesting a key that is already pending or being fetched returns the same future, so every key is only
+ * fetched once at a time. At most one batch is fetched at a time; keys requested meanwhile are collected for the
+ * next batch. This both reduces the number of requests, if the fetcher can look up multiple keys at once, and
+ * limits the load on the server when a lot of keys are requested in a burst.
+ *
+ * <p>Keys missing from the result of the fetcher complete exceptionally with a {@link NoSuchElementException}.
+ */
+public final class RequestCoalescer<K, V> {
+    private final long windowMillis;
+    private final int maxBatchSize;
+    private final Function<Set<K>, CompletableFuture<Map<K, V>>> batchFetcher;
+    private final ScheduledExecutorService executor;
+
+    // Keys waiting to be fetched, in request order
+    private final Map<K, CompletableFuture<V>> pending = new LinkedHashMap<>();
+    private final Map<K, CompletableFuture<V>> inFlight = new HashMap<>();
+
+    private boolean dispatchScheduled = false;
+    private boolean fetching = false;
+
+    /**
+     * @param windowMillis how long to wait for more keys after the first key of a batch is requested
+     * @param maxBatchSize the maximum number of keys passed to the fetcher at once
+     * @param batchFetcher fetches the values for the given keys
+     * @param executor the executor to run the fetcher on
+     */
+    public RequestCoalescer(
+            long windowMillis,
+            int maxBatchSize,
+            Function<Set<K>, CompletableFuture<Map<K, V>>> batchFetcher,
+            ScheduledExecutorService executor) {
+        if (maxBatchSize <= 0) {
+            throw new IllegalArgumentException("Batch size must be positive");
+        }
+
+        this.windowMillis = windowMillis;
+        this.maxBatchSize = maxBatchSize;
+        this.batchFetcher = batchFetcher;
+        this.executor = executor;
+    }
+
+    public synchronized CompletableFuture<V> request(K key) {
+        CompletableFuture<V> future = inFlight.get(key);
+        if (future != null) return future;
+
+        future = pending.get(key);
+        if (future != null) return future;
+
+        future = new CompletableFuture<>();
+        pending.put(key, future);
+        scheduleDispatch();
+
+        return future;
+    }
+
+    public synchronized int getPendingCount() {
+        return pending.size() + inFlight.size();
+    }
+
+    private void scheduleDispatch() {
+        if (dispatchScheduled || fetching) return;
+
+        dispatchScheduled = true;
+        executor.schedule(this::dispatch, windowMillis, TimeUnit.MILLISECONDS);
+    }
+
+    private void dispatch() {
+        Map<K, CompletableFuture<V>> batch = new LinkedHashMap<>();
+
+        synchronized (this) {
+            dispatchScheduled = false;
+            if (pending.isEmpty()) return;
+
+            List<K> keys = new ArrayList<>(pending.keySet());
+            for (K key : keys.subList(0, Math.min(keys.size(), maxBatchSize))) {
+                batch.put(key, pending.remove(key));
+            }
+
+            inFlight.putAll(batch);
+            fetching = true;
+        }
+
+        CompletableFuture<Map<K, V>> result;
+        try {
+            result = batchFetcher.apply(Set.copyOf(batch.keySet()));
+        } catch (Throwable t) {
+            result = CompletableFuture.failedFuture(t);
+        }
+
+        result.whenComplete((values, throwable) -> {
+            synchronized (this) {
+                batch.keySet().forEach(inFlight::remove);
+                fetching = false;
+
+                // Keys requested while this batch was fetched are not delayed any further
+                if (!pending.isEmpty()) {
+                    dispatchScheduled = true;
+                    executor.execute(this::dispatch);
+                }
+            }
+
+            batch.forEach((key, future) -> {
+                if (throwable != null) {
+                    future.completeExceptionally(throwable);
+                } else if (values == null || !values.containsKey(key)) {
+                    future.completeExceptionally(new NoSuchElementException("No result for " + key));
+                } else {
+                    future.complete(values.get(key));
+                }
+            });
+        });
+    }
+}
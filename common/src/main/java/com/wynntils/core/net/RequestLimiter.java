@@ -0,0 +1,142 @@
+/*
+ * Copyright © Wynntils 2024.
+ * This file is released under LGPLv3. See LICENSE for full license details.
+ */
+package com.wynntils.core.net;
+
+import java.util.ArrayDeque;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
+
+/**
+ * Limits the number of asynchronous requests running at the same time.
+ *
+ * <p>Requests submitted while the limit is reached wait in a queue, and are started in submission order as soon as
+ * a running request completes. No thread is blocked while waiting.
+ */
+public final class RequestLimiter {
+    private final int maxConcurrentRequests;
+    private final Queue<Runnable> waiting = new ArrayDeque<>();
+
+    private int running = 0;
+
+    private long submitted;
+    private long queued;
+    private long failed;
+    private int maxRunning;
+    private int maxWaiting;
+
+    public RequestLimiter(int maxConcurrentRequests) {
+        if (maxConcurrentRequests <= 0) {
+            throw new IllegalArgumentException("Concurrency limit must be positive");
+        }
+
+        this.maxConcurrentRequests = maxConcurrentRequests;
+    }
+
+    /**
+     * Starts the request as soon as the limit allows it. The request counts as running until the future it returns
+     * completes.
+     */
+    public <T> CompletableFuture<T> submit(Supplier<CompletableFuture<T>> request) {
+        CompletableFuture<T> result = new CompletableFuture<>();
+        Runnable start = () -> start(request, result);
+
+        synchronized (this) {
+            submitted++;
+
+            if (running >= maxConcurrentRequests) {
+                waiting.add(start);
+                queued++;
+                maxWaiting = Math.max(maxWaiting, waiting.size());
+                return result;
+            }
+
+            running++;
+            maxRunning = Math.max(maxRunning, running);
+        }
+
+        start.run();
+        return result;
+    }
+
+    public synchronized int getRunningCount() {
+        return running;
+    }
+
+    public synchronized int getWaitingCount() {
+        return waiting.size();
+    }
+
+    public synchronized long getSubmittedCount() {
+        return submitted;
+    }
+
+    public synchronized long getQueuedCount() {
+        return queued;
+    }
+
+    public synchronized long getFailedCount() {
+        return failed;
+    }
+
+    public synchronized int getMaxRunning() {
+        return maxRunning;
+    }
+
+    public synchronized int getMaxWaiting() {
+        return maxWaiting;
+    }
+
+    public int getMaxConcurrentRequests() {
+        return maxConcurrentRequests;
+    }
+
+    public synchronized void resetStatistics() {
+        submitted = 0;
+        queued = 0;
+        failed = 0;
+        maxRunning = running;
+        maxWaiting = waiting.size();
+    }
+
+    private <T> void start(Supplier<CompletableFuture<T>> request, CompletableFuture<T> result) {
+        CompletableFuture<T> future;
+        try {
+            future = request.get();
+        } catch (Throwable t) {
+            future = CompletableFuture.failedFuture(t);
+        }
+
+        future.whenComplete((value, throwable) -> {
+            // Start the next request before handing over the result, so it does not wait for the result handlers
+            release(throwable != null);
+
+            if (throwable != null) {
+                result.completeExceptionally(throwable);
+            } else {
+                result.complete(value);
+            }
+        });
+    }
+
+    private void release(boolean requestFailed) {
+        Runnable next;
+        synchronized (this) {
+            if (requestFailed) {
+                failed++;
+            }
+
+            next = waiting.poll();
+            if (next == null) {
+                running--;
+            }
+        }
+
+        // The permit of the completed request is handed over to the next one
+        if (next != null) {
+            next.run();
+        }
+    }
+}
@@ -6,6 +6,7 @@ package com.wynntils.core.persisted.storage;
 
 import com.google.gson.JsonElement;
 import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
 import com.mojang.util.UndashedUuid;
 import com.wynntils.core.WynntilsMod;
 import com.wynntils.core.components.Manager;
@@ -14,35 +15,65 @@ import com.wynntils.core.mod.event.WynncraftConnectionEvent;
 import com.wynntils.core.persisted.Persisted;
 import com.wynntils.core.persisted.PersistedValue;
 import com.wynntils.core.persisted.upfixers.UpfixerType;
+import com.wynntils.utils.FileUtils;
 import com.wynntils.utils.mc.McUtils;
+import java.io.BufferedReader;
 import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
 import java.lang.reflect.Field;
 import java.lang.reflect.Type;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
 import net.minecraftforge.eventbus.api.SubscribeEvent;
 import org.apache.commons.lang3.reflect.FieldUtils;
 
+/**
+ * Persists all storages to a per-account storage file.
+ *
+ * <p>Rewriting the whole storage file every time a single storage is touched is expensive, as the file can be
+ * several megabytes. Instead, only touched storages are serialized, and appended to a journal next to the storage
+ * file. The journal is compacted into the storage file when it grows larger than the storage file itself, when
+ * the features are initialized, and when disconnecting from Wynncraft.
+ *
+ * <p>Every compaction increments the journal generation recorded in the storage file. Journal entries of another
+ * generation are ignored, so a journal that has already been compacted is never replayed, even if the game was
+ * closed before it could be deleted.
+ */
 public final class StorageManager extends Manager {
     private static final long SAVE_INTERVAL = 10_000;
+    private static final long MIN_JOURNAL_COMPACT_SIZE = 1024 * 1024;
 
     private static final File STORAGE_DIR = WynntilsMod.getModStorageDir("storage");
     private static final String FILE_SUFFIX = ".data.json";
+    private static final String JOURNAL_SUFFIX = ".data.journal";
+    private static final String JOURNAL_GENERATION_JSON_MEMBER_NAME = "wynntils.journalGeneration";
+    private static final String JOURNAL_STORAGES_JSON_MEMBER_NAME = "storages";
     private final File userStorageFile;
+    private final File userJournalFile;
 
     private final ScheduledExecutorService executor = Executors.newScheduledThreadPool(1);
     private final Map<String, Storage<?>> storages = new TreeMap<>();
+    private final Map<Storage<?>, String> storageJsonNames = new HashMap<>();
     private final Map<Storage<?>, Type> storageTypes = new HashMap<>();
     private final Map<Storage<?>, Storageable> storageOwner = new HashMap<>();
+    private final Set<Storage<?>> dirtyStorages = ConcurrentHashMap.newKeySet();
 
     private JsonObject storageObject;
+    private long journalGeneration;
 
     private long lastPersisted;
     private boolean scheduledPersist;
@@ -52,8 +83,9 @@ public final class StorageManager extends Manager {
     public StorageManager() {
         super(List.of());
 
-        userStorageFile = new File(
-                STORAGE_DIR, UndashedUuid.toString(McUtils.mc().getUser().getProfileId()) + FILE_SUFFIX);
+        String userId = UndashedUuid.toString(McUtils.mc().getUser().getProfileId());
+        userStorageFile = new File(STORAGE_DIR, userId + FILE_SUFFIX);
+        userJournalFile = new File(STORAGE_DIR, userId + JOURNAL_SUFFIX);
     }
 
     public void initComponents() {
@@ -70,8 +102,9 @@ public final class StorageManager extends Manager {
 
         storageInitialized = true;
 
-        // We might have missed a persist call in between feature init and storage manager init
-        persist();
+        // We might have missed a persist call in between feature init and storage manager init,
+        // and the journal has been read into the storages, so start over with a fresh storage file
+        executor.execute(this::compactJournal);
     }
 
     public void registerStorageable(Storageable owner) {
@@ -80,16 +113,44 @@ public final class StorageManager extends Manager {
         Managers.Persisted.getPersisted(owner, Storage.class).forEach(p -> processStorage(owner, p.a(), p.b()));
     }
 
+    /**
+     * Returns the storage file. Recent changes might only be in the journal; call {@link #compactJournal()} first
+     * if the file needs to be complete.
+     */
     public File getUserStorageFile() {
         return userStorageFile;
     }
 
+    /**
+     * Writes all storages to the storage file and discards the journal. If the storage file can't be written,
+     * the journal is kept, and touched storages are appended to it instead.
+     */
+    public synchronized void compactJournal() {
+        // We cannot persist before the storage is initialized, or we will overwrite our storage
+        if (!storageInitialized) return;
+
+        // Everything is written, touched storages included
+        Set<Storage<?>> writtenStorages = new HashSet<>(dirtyStorages);
+        dirtyStorages.removeAll(writtenStorages);
+
+        if (!writeToJson(journalGeneration + 1)) {
+            // The journal still holds the only copy of the recent changes
+            dirtyStorages.addAll(writtenStorages);
+            appendJournal();
+            return;
+        }
+
+        journalGeneration++;
+        FileUtils.deleteFile(userJournalFile);
+    }
+
     private void processStorage(Storageable owner, Field field, Persisted annotation) {
         try {
             String baseName = owner.getStorageJsonName();
             Storage<?> storage = (Storage<?>) FieldUtils.readField(field, owner, true);
             String jsonName = baseName + "." + field.getName();
             storages.put(jsonName, storage);
+            storageJsonNames.put(storage, jsonName);
 
             Type valueType = Managers.Json.getJsonValueType(field);
             storageTypes.put(storage, valueType);
@@ -102,10 +163,12 @@ public final class StorageManager extends Manager {
     @SubscribeEvent
     public void onWynncraftDisconnect(WynncraftConnectionEvent.Disconnected event) {
         // Always save when disconnecting
-        writeToJson();
+        compactJournal();
     }
 
-    void persist() {
+    void persist(Storage<?> storage) {
+        dirtyStorages.add(storage);
+
         // We cannot persist before the storage is initialized, or we will overwrite our storage
         if (!storageInitialized || scheduledPersist) return;
 
@@ -116,7 +179,7 @@ public final class StorageManager extends Manager {
                 () -> {
                     scheduledPersist = false;
                     lastPersisted = System.currentTimeMillis();
-                    writeToJson();
+                    writeJournal();
                 },
                 delay,
                 TimeUnit.MILLISECONDS);
@@ -124,13 +187,23 @@ public final class StorageManager extends Manager {
     }
 
     private void runUpfixers() {
-        storageObject = Managers.Json.loadPreciousJson(userStorageFile);
+        loadStorageObject();
 
         // Now, we have to apply upfixers, before any storage loading happens
         // FIXME: Solve generics type issue
         Set<PersistedValue<?>> workaround = new HashSet<>(storages.values());
         if (Managers.Upfixer.runUpfixers(storageObject, workaround, UpfixerType.STORAGE)) {
-            Managers.Json.savePreciousJson(userStorageFile, storageObject);
+            // The journal has been applied before upfixing, so it must not be replayed on the upfixed file
+            synchronized (this) {
+                storageObject.addProperty(JOURNAL_GENERATION_JSON_MEMBER_NAME, journalGeneration + 1);
+                if (Managers.Json.savePreciousJson(userStorageFile, storageObject)) {
+                    journalGeneration++;
+                    FileUtils.deleteFile(userJournalFile);
+                } else {
+                    // The old storage file and the journal are kept, so upfixing is tried again on the next start
+                    WynntilsMod.warn("Could not save upfixed storage, keeping storage journal");
+                }
+            }
 
             // Re-read the storage file after upfixing
             readFromJson();
@@ -138,7 +211,7 @@ public final class StorageManager extends Manager {
     }
 
     private void readFromJson() {
-        storageObject = Managers.Json.loadPreciousJson(userStorageFile);
+        loadStorageObject();
         storages.forEach((jsonName, storage) -> {
             if (!storageObject.has(jsonName)) return;
 
@@ -152,12 +225,102 @@ public final class StorageManager extends Manager {
         });
     }
 
-    private void writeToJson() {
+    private synchronized void loadStorageObject() {
+        storageObject = Managers.Json.loadPreciousJson(userStorageFile);
+
+        JsonElement generationElem = storageObject.get(JOURNAL_GENERATION_JSON_MEMBER_NAME);
+        journalGeneration = generationElem == null ? 0 : generationElem.getAsLong();
+
+        replayJournal();
+    }
+
+    private void replayJournal() {
+        if (!userJournalFile.exists()) return;
+
+        try (BufferedReader reader = Files.newBufferedReader(userJournalFile.toPath(), StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                JsonObject entry = JsonParser.parseString(line).getAsJsonObject();
+
+                // Entries of other generations have already been compacted into the storage file
+                if (entry.get(JOURNAL_GENERATION_JSON_MEMBER_NAME).getAsLong() != journalGeneration) continue;
+
+                JsonObject changedStorages = entry.getAsJsonObject(JOURNAL_STORAGES_JSON_MEMBER_NAME);
+                changedStorages.entrySet().forEach(change -> storageObject.add(change.getKey(), change.getValue()));
+            }
+        } catch (IOException | RuntimeException e) {
+            // The last entry is incomplete if the game was closed while writing it, later entries can't exist
+            WynntilsMod.warn("Stopped reading storage journal " + userJournalFile.getPath() + ": " + e.getMessage());
+        }
+    }
+
+    private synchronized void writeJournal() {
+        if (!appendJournal()) {
+            // Make sure the changes are not lost
+            compactJournal();
+            return;
+        }
+
+        if (userJournalFile.length() > Math.max(userStorageFile.length(), MIN_JOURNAL_COMPACT_SIZE)) {
+            compactJournal();
+        }
+    }
+
+    /**
+     * Appends all touched storages to the journal.
+     *
+     * @return false if the journal could not be written; the storages are then still marked as touched
+     */
+    private boolean appendJournal() {
+        JsonObject changedStorages = new JsonObject();
+        Set<Storage<?>> changed = new HashSet<>();
+
+        Iterator<Storage<?>> iterator = dirtyStorages.iterator();
+        while (iterator.hasNext()) {
+            Storage<?> storage = iterator.next();
+            // Remove before serializing, so a storage touched while it is being serialized is written again
+            iterator.remove();
+
+            String jsonName = storageJsonNames.get(storage);
+            try {
+                JsonElement jsonElem = Managers.Json.GSON.toJsonTree(storage.get(), storageTypes.get(storage));
+                changedStorages.add(jsonName, jsonElem);
+                changed.add(storage);
+            } catch (Throwable t) {
+                WynntilsMod.error("Failed to save storage " + jsonName, t);
+            }
+        }
+
+        if (changedStorages.size() == 0) return true;
+
+        JsonObject entry = new JsonObject();
+        entry.addProperty(JOURNAL_GENERATION_JSON_MEMBER_NAME, journalGeneration);
+        entry.add(JOURNAL_STORAGES_JSON_MEMBER_NAME, changedStorages);
+
+        try (Writer writer =
+                new OutputStreamWriter(new FileOutputStream(userJournalFile, true), StandardCharsets.UTF_8)) {
+            // Every entry is written on a single line
+            writer.write(entry.toString());
+            writer.write('\n');
+            return true;
+        } catch (IOException e) {
+            WynntilsMod.error("Failed to write storage journal " + userJournalFile.getPath(), e);
+
+            dirtyStorages.addAll(changed);
+            return false;
+        }
+    }
+
+    /**
+     * @return true if the storage file was written
+     */
+    private boolean writeToJson(long generation) {
         JsonObject storageJson = new JsonObject();
 
         // Save upfixers
         String upfixerJsonMemberName = Managers.Upfixer.UPFIXER_JSON_MEMBER_NAME;
         storageJson.add(upfixerJsonMemberName, storageObject.get(upfixerJsonMemberName));
+        storageJson.addProperty(JOURNAL_GENERATION_JSON_MEMBER_NAME, generation);
 
         storages.forEach((jsonName, storage) -> {
             try {
@@ -168,6 +331,9 @@ public final class StorageManager extends Manager {
             }
         });
 
-        Managers.Json.savePreciousJson(userStorageFile, storageJson);
+        if (!Managers.Json.savePreciousJson(userStorageFile, storageJson)) return false;
+
+        storageObject = storageJson;
+        return true;
     }
 }
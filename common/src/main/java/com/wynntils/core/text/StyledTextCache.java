@@ -0,0 +1,163 @@
+/*
+ * Copyright © Wynntils 2024.
+ * This file is released under LGPLv3. See LICENSE for full license details.
+ */
+package com.wynntils.core.text;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import net.minecraft.network.chat.Component;
+
+/**
+ * A bounded, least-recently-used cache of {@link Component} to {@link StyledText} conversions.
+ *
+ * <p>Packet handlers see the same components over and over again (labels, action bars, item names),
+ * so instead of walking the component tree each time, we look up the result of the previous parse.
+ *
+ * <p>Entries are keyed by the structural hash of the component. A lookup is a hit if the cached component
+ * is the same instance, or is structurally equal, and the hash recorded on insertion still matches. Since
+ * components are mutable, the recorded hash guards against returning a stale parse for a component that has
+ * been modified after it was cached. {@link StyledText} is immutable, so cached values can be shared freely.
+ *
+ * <p>Computing the structural hash walks the whole component tree, so lookups first check a small identity-keyed
+ * table of recently seen instances. An entry in that table records the contents, style and sibling count of every
+ * node in the tree, which are exactly the inputs of the parse; it is only a hit if all of them are still the same
+ * instances, so a component that has been modified since is never served from it. On an identity miss, we fall
+ * back to the structural lookup.
+ */
+public final class StyledTextCache {
+    private static final int DEFAULT_CAPACITY = 2048;
+    // Must be a power of two
+    private static final int IDENTITY_CAPACITY = 256;
+
+    public static final StyledTextCache SHARED = new StyledTextCache(DEFAULT_CAPACITY);
+
+    private final Map<Integer, CacheEntry> entries;
+    private final IdentityEntry[] identityEntries = new IdentityEntry[IDENTITY_CAPACITY];
+
+    private long hits;
+    private long identityHits;
+    private long misses;
+    private long evictions;
+
+    public StyledTextCache(int capacity) {
+        this.entries = new LinkedHashMap<>(capacity, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Integer, CacheEntry> eldest) {
+                if (size() <= capacity) return false;
+
+                evictions++;
+                return true;
+            }
+        };
+    }
+
+    public synchronized StyledText fromComponent(Component component) {
+        int identityIndex = System.identityHashCode(component) & (IDENTITY_CAPACITY - 1);
+        IdentityEntry identityEntry = identityEntries[identityIndex];
+        if (identityEntry != null
+                && identityEntry.component() == component
+                && matchesSnapshot(component, identityEntry.snapshot(), 0) == identityEntry.snapshot().length) {
+            hits++;
+            identityHits++;
+            return identityEntry.styledText();
+        }
+
+        int hash = component.hashCode();
+
+        StyledText styledText;
+        CacheEntry entry = entries.get(hash);
+        if (entry != null && (entry.component() == component || entry.component().equals(component))) {
+            hits++;
+            styledText = entry.styledText();
+        } else {
+            misses++;
+            styledText = StyledText.fromComponent(component);
+            entries.put(hash, new CacheEntry(component, styledText));
+        }
+
+        identityEntries[identityIndex] = new IdentityEntry(component, snapshot(component), styledText);
+        return styledText;
+    }
+
+    public synchronized void clear() {
+        entries.clear();
+        Arrays.fill(identityEntries, null);
+    }
+
+    public synchronized void resetStatistics() {
+        hits = 0;
+        identityHits = 0;
+        misses = 0;
+        evictions = 0;
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    public synchronized long getHits() {
+        return hits;
+    }
+
+    /**
+     * @return the number of hits that were served from the identity table, which are also counted in {@link #getHits()}
+     */
+    public synchronized long getIdentityHits() {
+        return identityHits;
+    }
+
+    public synchronized long getMisses() {
+        return misses;
+    }
+
+    public synchronized long getEvictions() {
+        return evictions;
+    }
+
+    private static Object[] snapshot(Component component) {
+        List<Object> snapshot = new ArrayList<>();
+        addToSnapshot(component, snapshot);
+        return snapshot.toArray();
+    }
+
+    private static void addToSnapshot(Component component, List<Object> snapshot) {
+        snapshot.add(component.getContents());
+        snapshot.add(component.getStyle());
+        snapshot.add(component.getSiblings().size());
+
+        for (Component sibling : component.getSiblings()) {
+            addToSnapshot(sibling, snapshot);
+        }
+    }
+
+    /**
+     * Compares the component tree to the snapshot, starting at the given index, by reference.
+     *
+     * @return the index after the last compared snapshot element, or -1 if the tree differs from the snapshot
+     */
+    private static int matchesSnapshot(Component component, Object[] snapshot, int index) {
+        List<Component> siblings = component.getSiblings();
+        if (index + 3 > snapshot.length
+                || snapshot[index] != component.getContents()
+                || snapshot[index + 1] != component.getStyle()
+                || (int) snapshot[index + 2] != siblings.size()) {
+            return -1;
+        }
+
+        index += 3;
+        for (Component sibling : siblings) {
+            index = matchesSnapshot(sibling, snapshot, index);
+            if (index == -1) return -1;
+        }
+
+        return index;
+    }
+
+    private record CacheEntry(Component component, StyledText styledText) {}
+
+    private record IdentityEntry(Component component, Object[] snapshot, StyledText styledText) {}
+}
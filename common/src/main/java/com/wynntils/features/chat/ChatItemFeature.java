@@ -111,9 +111,13 @@ public class ChatItemFeature extends Feature {
         }
 
         // check for new chat item encoding
-        m = Models.ItemEncoding.getEncodedDataPattern().matcher(chatInput.getValue());
-        while (m.find()) {
-            EncodedByteBuffer encodedByteBuffer = EncodedByteBuffer.fromUtf16String(m.group());
+        String input = chatInput.getValue();
+        int start = EncodedByteBuffer.indexOfEncodedData(input, 0);
+        while (start != -1) {
+            int end = EncodedByteBuffer.endOfEncodedData(input, start);
+            String encodedItem = input.substring(start, end);
+
+            EncodedByteBuffer encodedByteBuffer = EncodedByteBuffer.fromUtf16String(input, start, end);
             ErrorOr<WynnItem> errorOrDecodedItem = Models.ItemEncoding.decodeItem(encodedByteBuffer);
 
             String name;
@@ -133,8 +137,10 @@ public class ChatItemFeature extends Feature {
                 name += "_";
             }
 
-            chatInput.setValue(chatInput.getValue().replace(m.group(), "<" + name + ">"));
-            chatItems.put(name, m.group());
+            chatInput.setValue(chatInput.getValue().replace(encodedItem, "<" + name + ">"));
+            chatItems.put(name, encodedItem);
+
+            start = EncodedByteBuffer.indexOfEncodedData(input, end);
         }
     }
 
@@ -208,23 +214,24 @@ public class ChatItemFeature extends Feature {
     }
 
     private void decodeChatEncoding(List<StyledTextPart> changes, StyledTextPart partToReplace) {
-        Matcher matcher = Models.ItemEncoding.getEncodedDataPattern()
-                .matcher(partToReplace.getString(null, PartStyle.StyleType.NONE));
+        String unformattedString = partToReplace.getString(null, PartStyle.StyleType.NONE);
 
-        while (matcher.find()) {
-            EncodedByteBuffer encodedByteBuffer = EncodedByteBuffer.fromUtf16String(matcher.group());
-            ErrorOr<WynnItem> errorOrDecodedItem = Models.ItemEncoding.decodeItem(encodedByteBuffer);
+        // Scan for the encoded code points directly, decoding straight from the matched range
+        int start = EncodedByteBuffer.indexOfEncodedData(unformattedString, 0);
+        while (start != -1) {
+            int end = EncodedByteBuffer.endOfEncodedData(unformattedString, start);
 
-            String unformattedString = partToReplace.getString(null, PartStyle.StyleType.NONE);
+            EncodedByteBuffer encodedByteBuffer = EncodedByteBuffer.fromUtf16String(unformattedString, start, end);
+            ErrorOr<WynnItem> errorOrDecodedItem = Models.ItemEncoding.decodeItem(encodedByteBuffer);
 
-            String firstPart = unformattedString.substring(0, matcher.start());
-            String lastPart = unformattedString.substring(matcher.end());
+            String firstPart = unformattedString.substring(0, start);
+            String lastPart = unformattedString.substring(end);
 
             PartStyle partStyle = partToReplace.getPartStyle();
 
             StyledTextPart first = new StyledTextPart(firstPart, partStyle.getStyle(), null, Style.EMPTY);
             List<StyledTextPart> replacedParts = errorOrDecodedItem.hasError()
-                    ? List.of(createErrorPart(matcher.group(), errorOrDecodedItem.getError()))
+                    ? List.of(createErrorPart(unformattedString.substring(start, end), errorOrDecodedItem.getError()))
                     : createItemPart(errorOrDecodedItem.getValue());
             StyledTextPart last = new StyledTextPart(lastPart, partStyle.getStyle(), null, Style.EMPTY);
 
@@ -234,7 +241,8 @@ public class ChatItemFeature extends Feature {
             changes.add(last);
 
             partToReplace = last;
-            matcher = Models.ItemEncoding.getEncodedDataPattern().matcher(lastPart);
+            unformattedString = lastPart;
+            start = EncodedByteBuffer.indexOfEncodedData(unformattedString, 0);
         }
     }
 
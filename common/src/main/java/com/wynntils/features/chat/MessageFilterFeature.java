@@ -4,6 +4,7 @@
  */
 package com.wynntils.features.chat;
 
+import com.wynntils.core.components.Handlers;
 import com.wynntils.core.consumers.features.Feature;
 import com.wynntils.core.persisted.Persisted;
 import com.wynntils.core.persisted.config.Category;
@@ -64,36 +65,45 @@ public class MessageFilterFeature extends Feature {
     @Persisted
     public final Config<Boolean> hidePartyFinder = new Config<>(false);
 
+    public MessageFilterFeature() {
+        for (List<Pair<Pattern, Pattern>> patternMap : List.of(WELCOME, SYSTEM_INFO, LEVEL_UP, PARTY_FINDER)) {
+            for (Pair<Pattern, Pattern> pair : patternMap) {
+                Handlers.Chat.registerPattern(pair.a());
+                Handlers.Chat.registerPattern(pair.b());
+            }
+        }
+    }
+
     @SubscribeEvent(priority = EventPriority.HIGHEST)
     public void onMessage(ChatMessageReceivedEvent e) {
-        StyledText msg = e.getOriginalStyledText();
-        MessageType messageType = e.getMessageType();
-
-        if (hideWelcome.get() && processFilter(msg, messageType, WELCOME)) {
+        if (hideWelcome.get() && processFilter(e, WELCOME)) {
             e.setCanceled(true);
             return;
         }
 
-        if (hideSystemInfo.get() && processFilter(msg, messageType, SYSTEM_INFO)) {
+        if (hideSystemInfo.get() && processFilter(e, SYSTEM_INFO)) {
             e.setCanceled(true);
             return;
         }
 
-        if (hideLevelUp.get() && processFilter(msg, messageType, LEVEL_UP)) {
+        if (hideLevelUp.get() && processFilter(e, LEVEL_UP)) {
             e.setCanceled(true);
             return;
         }
 
-        if (hidePartyFinder.get() && processFilter(msg, messageType, PARTY_FINDER)) {
+        if (hidePartyFinder.get() && processFilter(e, PARTY_FINDER)) {
             e.setCanceled(true);
             return;
         }
     }
 
-    private boolean processFilter(StyledText msg, MessageType messageType, List<Pair<Pattern, Pattern>> patternMap) {
+    private boolean processFilter(ChatMessageReceivedEvent e, List<Pair<Pattern, Pattern>> patternMap) {
+        StyledText msg = e.getOriginalStyledText();
+        MessageType messageType = e.getMessageType();
+
         for (Pair<Pattern, Pattern> pair : patternMap) {
             Pattern pattern = getPattern(pair, messageType);
-            if (pattern == null) {
+            if (pattern == null || !e.mightMatch(pattern)) {
                 continue;
             }
             if (msg.getMatcher(pattern).find()) {
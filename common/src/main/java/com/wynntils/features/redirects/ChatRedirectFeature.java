@@ -4,6 +4,7 @@
  */
 package com.wynntils.features.redirects;
 
+import com.wynntils.core.components.Handlers;
 import com.wynntils.core.components.Managers;
 import com.wynntils.core.consumers.features.Feature;
 import com.wynntils.core.persisted.Persisted;
@@ -131,6 +132,10 @@ public class ChatRedirectFeature extends Feature {
 
     private void register(Redirector redirector) {
         redirectors.add(redirector);
+
+        for (MessageType messageType : MessageType.values()) {
+            Handlers.Chat.registerPattern(redirector.getPattern(messageType));
+        }
     }
 
     @SubscribeEvent(priority = EventPriority.HIGH)
@@ -145,7 +150,7 @@ public class ChatRedirectFeature extends Feature {
             if (action == RedirectAction.KEEP) continue;
 
             Pattern pattern = redirector.getPattern(messageType);
-            if (pattern == null) continue;
+            if (pattern == null || !e.mightMatch(pattern)) continue;
 
             Matcher matcher = message.getMatcher(pattern);
 
@@ -59,6 +59,9 @@ public class WeeklyConfigBackupFeature extends Feature {
                 return;
             }
 
+            // Make sure the storage file contains the changes still kept in the journal
+            Managers.Storage.compactJournal();
+
             File storageBackupFile =
                     new File(BACKUPS_DIR, userStorageFile.getName() + "-backup-" + currentTime + ".json");
 
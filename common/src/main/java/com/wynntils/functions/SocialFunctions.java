@@ -1,12 +1,14 @@
 /*
- * Copyright © Wynntils 2023.
+ * Copyright © Wynntils 2023-2024.
  * This file is released under LGPLv3. See LICENSE for full license details.
  */
 package com.wynntils.functions;
 
 import com.wynntils.core.components.Models;
 import com.wynntils.core.consumers.functions.Function;
+import com.wynntils.core.consumers.functions.FunctionDependencies;
 import com.wynntils.core.consumers.functions.arguments.FunctionArguments;
+import com.wynntils.models.players.event.HadesRelationsUpdateEvent;
 import java.util.List;
 
 public class SocialFunctions {
@@ -15,6 +17,11 @@ public class SocialFunctions {
         public Integer getValue(FunctionArguments arguments) {
             return Models.Friends.getFriends().size();
         }
+
+        @Override
+        public FunctionDependencies getDependencies() {
+            return FunctionDependencies.onEvents(HadesRelationsUpdateEvent.FriendList.class);
+        }
     }
 
     public static class PartyMembersFunction extends Function<Integer> {
@@ -7,10 +7,13 @@ package com.wynntils.functions;
 import com.wynntils.core.components.Models;
 import com.wynntils.core.components.Services;
 import com.wynntils.core.consumers.functions.Function;
+import com.wynntils.core.consumers.functions.FunctionDependencies;
 import com.wynntils.core.consumers.functions.arguments.FunctionArguments;
 import com.wynntils.models.mobtotem.MobTotem;
 import com.wynntils.models.territories.profile.TerritoryProfile;
 import com.wynntils.models.token.type.TokenGatekeeper;
+import com.wynntils.models.worlds.event.StreamModeEvent;
+import com.wynntils.models.worlds.event.WorldStateEvent;
 import com.wynntils.models.worlds.profile.ServerProfile;
 import com.wynntils.utils.mc.McUtils;
 import com.wynntils.utils.mc.type.Location;
@@ -33,6 +36,11 @@ public class WorldFunctions {
             return currentWorldName.isEmpty() ? NO_DATA : currentWorldName;
         }
 
+        @Override
+        public FunctionDependencies getDependencies() {
+            return FunctionDependencies.onEvents(WorldStateEvent.class);
+        }
+
         @Override
         protected List<String> getAliases() {
             return List.of("world");
@@ -98,6 +106,11 @@ public class WorldFunctions {
         public String getValue(FunctionArguments arguments) {
             return Models.WorldState.getCurrentState().toString().toUpperCase(Locale.ROOT);
         }
+
+        @Override
+        public FunctionDependencies getDependencies() {
+            return FunctionDependencies.onEvents(WorldStateEvent.class);
+        }
     }
 
     public static class InStreamFunction extends Function<Boolean> {
@@ -106,6 +119,11 @@ public class WorldFunctions {
             return Models.WorldState.isInStream();
         }
 
+        @Override
+        public FunctionDependencies getDependencies() {
+            return FunctionDependencies.onEvents(StreamModeEvent.class);
+        }
+
         @Override
         protected List<String> getAliases() {
             return List.of("streamer");
@@ -4,6 +4,7 @@
  */
 package com.wynntils.functions.generic;
 
+import com.wynntils.core.consumers.functions.FunctionDependencies;
 import com.wynntils.core.consumers.functions.GenericFunction;
 import com.wynntils.core.consumers.functions.arguments.FunctionArguments;
 import java.util.List;
@@ -231,6 +232,11 @@ public final class MathFunctions {
             return (Math.random() * (max - min)) + min;
         }
 
+        @Override
+        public FunctionDependencies getDependencies() {
+            return FunctionDependencies.ALWAYS;
+        }
+
         @Override
         public FunctionArguments.RequiredArgumentBuilder getRequiredArgumentsBuilder() {
             return new FunctionArguments.RequiredArgumentBuilder(List.of(
@@ -10,7 +10,9 @@ import com.wynntils.core.components.Managers;
 import com.wynntils.core.components.Models;
 import com.wynntils.core.mod.event.WynncraftConnectionEvent;
 import com.wynntils.core.text.StyledText;
+import com.wynntils.core.text.StyledTextCache;
 import com.wynntils.handlers.chat.event.ChatMessageReceivedEvent;
+import com.wynntils.handlers.chat.type.ChatPatternClassification;
 import com.wynntils.handlers.chat.type.MessageType;
 import com.wynntils.handlers.chat.type.NpcDialogueType;
 import com.wynntils.handlers.chat.type.RecipientType;
@@ -101,6 +103,24 @@ public final class ChatHandler extends Handler {
     private long chatScreenTicks = 0;
     private List<StyledText> collectedLines = new ArrayList<>();
 
+    private final ChatPatternRegistry patternRegistry = new ChatPatternRegistry();
+
+    public ChatHandler() {
+        for (RecipientType recipientType : RecipientType.values()) {
+            for (MessageType messageType : MessageType.values()) {
+                patternRegistry.register(recipientType.getPattern(messageType));
+            }
+        }
+    }
+
+    /**
+     * Registers a pattern that is matched against incoming chat lines, so that lines which can not possibly
+     * match it can be filtered out using {@link ChatMessageReceivedEvent#mightMatch(Pattern)}.
+     */
+    public void registerPattern(Pattern pattern) {
+        patternRegistry.register(pattern);
+    }
+
     @SubscribeEvent
     public void onConnectionChange(WynncraftConnectionEvent event) {
         // Reset chat handler
@@ -167,7 +187,7 @@ public final class ChatHandler extends Handler {
     }
 
     private void handleIncomingChatLine(ChatPacketReceivedEvent event) {
-        StyledText styledText = StyledText.fromComponent(event.getMessage());
+        StyledText styledText = StyledTextCache.SHARED.fromComponent(event.getMessage());
 
         // This is a normal one line chat, or we pass a chat screen through
         StyledText updatedMessage = postChatLine(styledText, MessageType.FOREGROUND);
@@ -180,7 +200,7 @@ public final class ChatHandler extends Handler {
     }
 
     private void handleWithSeparation(ChatPacketReceivedEvent event) {
-        StyledText styledText = StyledText.fromComponent(event.getMessage());
+        StyledText styledText = StyledTextCache.SHARED.fromComponent(event.getMessage());
 
         long currentTicks = McUtils.mc().level.getGameTime();
 
@@ -497,7 +517,8 @@ public final class ChatHandler extends Handler {
 
         // But it can weirdly enough actually also be a foreground NPC chat message, or
         // a game message; similar to a dialogue but not uttered by an NPC.
-        RecipientType recipientType = getRecipientType(styledText, MessageType.FOREGROUND);
+        RecipientType recipientType =
+                getRecipientType(styledText, MessageType.FOREGROUND, patternRegistry.classify(styledText));
         if (recipientType == RecipientType.NPC) {
             // In this case, do *not* save this as last chat, since it will soon disappear
             // from history!
@@ -529,7 +550,8 @@ public final class ChatHandler extends Handler {
 
         // Normally § codes are stripped from the log; need this to be able to debug chat formatting
         WynntilsMod.info("[CHAT] " + styledText.getString().replace("§", "&"));
-        RecipientType recipientType = getRecipientType(styledText, messageType);
+        ChatPatternClassification classification = patternRegistry.classify(styledText);
+        RecipientType recipientType = getRecipientType(styledText, messageType, classification);
 
         if (recipientType == RecipientType.NPC) {
             if (shouldSeparateNPC()) {
@@ -542,7 +564,8 @@ public final class ChatHandler extends Handler {
             }
         }
 
-        ChatMessageReceivedEvent event = new ChatMessageReceivedEvent(styledText, messageType, recipientType);
+        ChatMessageReceivedEvent event =
+                new ChatMessageReceivedEvent(styledText, messageType, recipientType, classification);
         WynntilsMod.postEvent(event);
         if (event.isCanceled()) return null;
         return event.getStyledText();
@@ -572,10 +595,11 @@ public final class ChatHandler extends Handler {
         Models.NpcDialogue.handleDialogue(dialogue, isProtected, type);
     }
 
-    private RecipientType getRecipientType(StyledText codedMessage, MessageType messageType) {
+    private RecipientType getRecipientType(
+            StyledText codedMessage, MessageType messageType, ChatPatternClassification classification) {
         // Check if message match a recipient category
         for (RecipientType recipientType : RecipientType.values()) {
-            if (recipientType.matchPattern(codedMessage, messageType)) {
+            if (recipientType.matchPattern(codedMessage, messageType, classification)) {
                 return recipientType;
             }
         }
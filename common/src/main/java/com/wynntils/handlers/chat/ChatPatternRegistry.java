@@ -0,0 +1,389 @@
+/*
+ * Copyright © Wynntils 2024.
+ * This file is released under LGPLv3. See LICENSE for full license details.
+ */
+package com.wynntils.handlers.chat;
+
+import com.wynntils.core.text.StyledText;
+import com.wynntils.handlers.chat.type.ChatPatternClassification;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+/**
+ * A registry of all chat patterns that are matched against incoming chat lines.
+ * <p>
+ * For every registered pattern, we extract the longest literal string that any match of the pattern must contain
+ * (e.g. "§4Your mana bank is empty!"). All these literals are then compiled into a single Aho-Corasick automaton,
+ * so a chat line can be scanned once to find out which literals it contains. A pattern whose literal is missing
+ * from the line can not match it, so its subscriber can skip running the full regex.
+ * <p>
+ * Patterns for which no literal can be extracted (e.g. top-level alternations or case-insensitive patterns)
+ * are always reported as possible matches, as are patterns which were never registered.
+ */
+public final class ChatPatternRegistry {
+    private static final int CASE_SENSITIVITY_FLAGS =
+            Pattern.CASE_INSENSITIVE | Pattern.UNICODE_CASE | Pattern.COMMENTS | Pattern.LITERAL | Pattern.CANON_EQ;
+    private static final String SIMPLE_ESCAPES = "dDsSwWbBAGZzRXhHvVntrfae";
+
+    private final List<Pattern> patterns = new ArrayList<>();
+
+    private volatile Automaton automaton = null;
+
+    public synchronized void register(Pattern pattern) {
+        if (pattern == null) return;
+
+        patterns.add(pattern);
+        automaton = null;
+    }
+
+    public synchronized void unregister(Pattern pattern) {
+        if (patterns.removeIf(registered -> registered == pattern)) {
+            automaton = null;
+        }
+    }
+
+    public ChatPatternClassification classify(StyledText styledText) {
+        return classify(styledText.getString());
+    }
+
+    /**
+     * Classifies the given coded string in a single pass. The string should have the same formatting as the one
+     * the registered patterns are matched against, which is {@link StyledText#getString()}.
+     */
+    public ChatPatternClassification classify(String codedString) {
+        Automaton current = getAutomaton();
+        return new ChatPatternClassification(current.literalIds, current.search(codedString));
+    }
+
+    private Automaton getAutomaton() {
+        Automaton current = automaton;
+        if (current != null) return current;
+
+        synchronized (this) {
+            if (automaton == null) {
+                automaton = new Automaton(patterns);
+            }
+            return automaton;
+        }
+    }
+
+    /**
+     * Returns the longest literal that must be a part of every match of the pattern,
+     * or an empty string if no such literal could be determined.
+     */
+    static String extractRequiredLiteral(Pattern pattern) {
+        if ((pattern.flags() & CASE_SENSITIVITY_FLAGS) != 0) return "";
+
+        String regex = pattern.pattern();
+        String best = "";
+        StringBuilder run = new StringBuilder();
+        boolean previousWasLiteral = false;
+
+        int i = 0;
+        while (i < regex.length()) {
+            char current = regex.charAt(i);
+
+            switch (current) {
+                case '\\' -> {
+                    if (i + 1 >= regex.length()) return "";
+
+                    char escaped = regex.charAt(i + 1);
+                    if (Character.isLetterOrDigit(escaped)) {
+                        // Named classes, back references, octal/hex/unicode escapes or quotes; only the
+                        // simple classes are safe to skip, for everything else we give up
+                        if (SIMPLE_ESCAPES.indexOf(escaped) == -1) return "";
+
+                        best = flush(run, best);
+                        previousWasLiteral = false;
+                    } else {
+                        run.append(escaped);
+                        previousWasLiteral = true;
+                    }
+                    i += 2;
+                }
+                case '[' -> {
+                    i = skipCharacterClass(regex, i);
+                    if (i == -1) return "";
+
+                    best = flush(run, best);
+                    previousWasLiteral = false;
+                }
+                case '(' -> {
+                    // Inline flags change how the rest of the pattern is matched
+                    if (regex.startsWith("(?", i)
+                            && i + 2 < regex.length()
+                            && "idmsuxU-".indexOf(regex.charAt(i + 2)) != -1) {
+                        return "";
+                    }
+
+                    i = skipGroup(regex, i);
+                    if (i == -1) return "";
+
+                    best = flush(run, best);
+                    previousWasLiteral = false;
+                }
+                case '|' -> {
+                    // A top-level alternation means no literal is required
+                    return "";
+                }
+                case '*', '?', '{' -> {
+                    // The previous atom may not be present at all
+                    if (previousWasLiteral) {
+                        removeLastCodePoint(run);
+                    }
+                    best = flush(run, best);
+                    previousWasLiteral = false;
+
+                    if (current == '{') {
+                        i = regex.indexOf('}', i);
+                        if (i == -1) return "";
+                    }
+                    i = skipQuantifierModifier(regex, i + 1);
+                }
+                case '+' -> {
+                    // The previous atom is present at least once, but what follows might not be adjacent to it
+                    best = flush(run, best);
+                    previousWasLiteral = false;
+                    i = skipQuantifierModifier(regex, i + 1);
+                }
+                case '.', '^', '$' -> {
+                    best = flush(run, best);
+                    previousWasLiteral = false;
+                    i++;
+                }
+                default -> {
+                    run.append(current);
+                    previousWasLiteral = true;
+                    i++;
+                }
+            }
+        }
+
+        return flush(run, best);
+    }
+
+    private static String flush(StringBuilder run, String best) {
+        String result = run.length() > best.length() ? run.toString() : best;
+        run.setLength(0);
+        return result;
+    }
+
+    private static void removeLastCodePoint(StringBuilder run) {
+        if (run.isEmpty()) return;
+
+        int length = run.length();
+        if (length >= 2
+                && Character.isLowSurrogate(run.charAt(length - 1))
+                && Character.isHighSurrogate(run.charAt(length - 2))) {
+            run.setLength(length - 2);
+        } else {
+            run.setLength(length - 1);
+        }
+    }
+
+    private static int skipQuantifierModifier(String regex, int index) {
+        if (index < regex.length() && (regex.charAt(index) == '?' || regex.charAt(index) == '+')) {
+            return index + 1;
+        }
+
+        return index;
+    }
+
+    /**
+     * @return the index after the closing bracket, or -1 if the class is not closed
+     */
+    private static int skipCharacterClass(String regex, int start) {
+        int i = start + 1;
+        if (i < regex.length() && regex.charAt(i) == '^') i++;
+        // A closing bracket as the first character is a literal
+        if (i < regex.length() && regex.charAt(i) == ']') i++;
+
+        int depth = 1;
+        while (i < regex.length()) {
+            char current = regex.charAt(i);
+            if (current == '\\') {
+                i += 2;
+                continue;
+            }
+
+            if (current == '[') {
+                depth++;
+            } else if (current == ']') {
+                depth--;
+                if (depth == 0) return i + 1;
+            }
+            i++;
+        }
+
+        return -1;
+    }
+
+    /**
+     * @return the index after the closing parenthesis, or -1 if the group is not closed
+     */
+    private static int skipGroup(String regex, int start) {
+        int i = start + 1;
+        int depth = 1;
+        while (i < regex.length()) {
+            char current = regex.charAt(i);
+            switch (current) {
+                case '\\' -> i += 2;
+                case '[' -> {
+                    i = skipCharacterClass(regex, i);
+                    if (i == -1) return -1;
+                }
+                case '(' -> {
+                    depth++;
+                    i++;
+                }
+                case ')' -> {
+                    depth--;
+                    i++;
+                    if (depth == 0) return i;
+                }
+                default -> i++;
+            }
+        }
+
+        return -1;
+    }
+
+    private static final class Automaton {
+        private final Map<Pattern, Integer> literalIds;
+        private final Node root = new Node();
+
+        private Automaton(List<Pattern> patterns) {
+            Map<Pattern, Integer> ids = new IdentityHashMap<>();
+            Map<String, Integer> literals = new HashMap<>();
+
+            for (Pattern pattern : patterns) {
+                String literal = extractRequiredLiteral(pattern);
+                if (literal.isEmpty()) {
+                    ids.put(pattern, ChatPatternClassification.NO_LITERAL);
+                    continue;
+                }
+
+                Integer id = literals.get(literal);
+                if (id == null) {
+                    id = literals.size();
+                    literals.put(literal, id);
+                    insert(literal, id);
+                }
+                ids.put(pattern, id);
+            }
+
+            this.literalIds = Collections.unmodifiableMap(ids);
+            buildFailureLinks();
+        }
+
+        private void insert(String literal, int id) {
+            Node node = root;
+            for (int i = 0; i < literal.length(); i++) {
+                node = node.building.computeIfAbsent(literal.charAt(i), c -> new Node());
+            }
+            node.outputs = appendOutput(node.outputs, id);
+        }
+
+        private void buildFailureLinks() {
+            Deque<Node> queue = new ArrayDeque<>();
+
+            root.freeze();
+            for (Node child : root.next) {
+                child.fail = root;
+                queue.add(child);
+            }
+
+            while (!queue.isEmpty()) {
+                Node node = queue.poll();
+                node.freeze();
+
+                for (int i = 0; i < node.keys.length; i++) {
+                    char key = node.keys[i];
+                    Node child = node.next[i];
+
+                    Node fail = node.fail;
+                    while (fail != root && fail.get(key) == null) {
+                        fail = fail.fail;
+                    }
+                    Node target = fail.get(key);
+                    child.fail = target == null ? root : target;
+
+                    // Every literal ending at the failure node also ends here
+                    for (int output : child.fail.outputs) {
+                        child.outputs = appendOutput(child.outputs, output);
+                    }
+
+                    queue.add(child);
+                }
+            }
+        }
+
+        private BitSet search(String text) {
+            BitSet found = new BitSet();
+
+            Node node = root;
+            for (int i = 0; i < text.length(); i++) {
+                char current = text.charAt(i);
+
+                Node next = node.get(current);
+                while (next == null && node != root) {
+                    node = node.fail;
+                    next = node.get(current);
+                }
+                node = next == null ? root : next;
+
+                for (int output : node.outputs) {
+                    found.set(output);
+                }
+            }
+
+            return found;
+        }
+
+        private static int[] appendOutput(int[] outputs, int output) {
+            int[] result = Arrays.copyOf(outputs, outputs.length + 1);
+            result[outputs.length] = output;
+            return result;
+        }
+    }
+
+    private static final class Node {
+        // Only used while building the trie
+        private Map<Character, Node> building = new HashMap<>();
+
+        // Sorted transition table, used for lookups once the automaton is built
+        private char[] keys;
+        private Node[] next;
+
+        private Node fail;
+        private int[] outputs = new int[0];
+
+        private void freeze() {
+            keys = new char[building.size()];
+            next = new Node[building.size()];
+
+            int i = 0;
+            for (char key : building.keySet().stream().sorted().toList()) {
+                keys[i] = key;
+                next[i] = building.get(key);
+                i++;
+            }
+
+            building = null;
+        }
+
+        private Node get(char key) {
+            int index = Arrays.binarySearch(keys, key);
+            return index < 0 ? null : next[index];
+        }
+    }
+}
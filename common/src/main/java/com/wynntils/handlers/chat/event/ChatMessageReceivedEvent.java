@@ -5,8 +5,10 @@
 package com.wynntils.handlers.chat.event;
 
 import com.wynntils.core.text.StyledText;
+import com.wynntils.handlers.chat.type.ChatPatternClassification;
 import com.wynntils.handlers.chat.type.MessageType;
 import com.wynntils.handlers.chat.type.RecipientType;
+import java.util.regex.Pattern;
 import net.minecraftforge.eventbus.api.Cancelable;
 import net.minecraftforge.eventbus.api.Event;
 
@@ -19,12 +21,18 @@ public class ChatMessageReceivedEvent extends Event {
 
     private final MessageType messageType;
     private final RecipientType recipientType;
+    private final ChatPatternClassification classification;
 
-    public ChatMessageReceivedEvent(StyledText styledText, MessageType messageType, RecipientType recipientType) {
+    public ChatMessageReceivedEvent(
+            StyledText styledText,
+            MessageType messageType,
+            RecipientType recipientType,
+            ChatPatternClassification classification) {
         this.originalStyledText = styledText;
         this.styledText = styledText;
         this.messageType = messageType;
         this.recipientType = recipientType;
+        this.classification = classification;
     }
 
     public void setMessage(StyledText styledText) {
@@ -46,4 +54,12 @@ public class ChatMessageReceivedEvent extends Event {
     public RecipientType getRecipientType() {
         return recipientType;
     }
+
+    /**
+     * Checks if a pattern registered with the chat handler could match the original message.
+     * If this returns false, matching the pattern against {@link #getOriginalStyledText()} will always fail.
+     */
+    public boolean mightMatch(Pattern pattern) {
+        return classification.mightMatch(pattern);
+    }
 }
@@ -0,0 +1,37 @@
+/*
+ * Copyright © Wynntils 2024.
+ * This file is released under LGPLv3. See LICENSE for full license details.
+ */
+package com.wynntils.handlers.chat.type;
+
+import java.util.BitSet;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+/**
+ * The result of classifying a chat line against all registered chat patterns.
+ * Use {@link #mightMatch(Pattern)} to skip patterns that can not possibly match the line.
+ */
+public final class ChatPatternClassification {
+    public static final int NO_LITERAL = -1;
+
+    private final Map<Pattern, Integer> literalIds;
+    private final BitSet foundLiterals;
+
+    public ChatPatternClassification(Map<Pattern, Integer> literalIds, BitSet foundLiterals) {
+        this.literalIds = literalIds;
+        this.foundLiterals = foundLiterals;
+    }
+
+    /**
+     * @return false if the pattern is guaranteed not to find a match in the classified line; true otherwise
+     */
+    public boolean mightMatch(Pattern pattern) {
+        Integer literalId = literalIds.get(pattern);
+
+        // Unregistered patterns, or patterns without a required literal, could always match
+        if (literalId == null || literalId == NO_LITERAL) return true;
+
+        return foundLiterals.get(literalId);
+    }
+}
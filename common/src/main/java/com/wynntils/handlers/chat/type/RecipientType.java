@@ -1,5 +1,5 @@
 /*
- * Copyright © Wynntils 2022-2023.
+ * Copyright © Wynntils 2022-2024.
  * This file is released under LGPLv3. See LICENSE for full license details.
  */
 package com.wynntils.handlers.chat.type;
@@ -39,11 +39,21 @@ public enum RecipientType {
     }
 
     public boolean matchPattern(StyledText msg, MessageType messageType) {
-        Pattern pattern = (messageType == MessageType.FOREGROUND ? foregroundPattern : backgroundPattern);
+        Pattern pattern = getPattern(messageType);
         if (pattern == null) return false;
         return msg.getMatcher(pattern).find();
     }
 
+    public boolean matchPattern(StyledText msg, MessageType messageType, ChatPatternClassification classification) {
+        Pattern pattern = getPattern(messageType);
+        if (pattern == null || !classification.mightMatch(pattern)) return false;
+        return msg.getMatcher(pattern).find();
+    }
+
+    public Pattern getPattern(MessageType messageType) {
+        return messageType == MessageType.FOREGROUND ? foregroundPattern : backgroundPattern;
+    }
+
     public static RecipientType fromName(String string) {
         for (RecipientType type : values()) {
             if (type.name.equalsIgnoreCase(string)) {
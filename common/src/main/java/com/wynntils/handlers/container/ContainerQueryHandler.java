@@ -1,5 +1,5 @@
 /*
- * Copyright © Wynntils 2022-2023.
+ * Copyright © Wynntils 2022-2024.
  * This file is released under LGPLv3. See LICENSE for full license details.
  */
 package com.wynntils.handlers.container;
@@ -9,6 +9,7 @@ import com.wynntils.core.WynntilsMod;
 import com.wynntils.core.components.Handler;
 import com.wynntils.handlers.container.type.ContainerContent;
 import com.wynntils.handlers.container.type.ContainerContentChangeType;
+import com.wynntils.handlers.container.type.ContainerQueryStats;
 import com.wynntils.mc.event.ContainerSetContentEvent;
 import com.wynntils.mc.event.ContainerSetSlotEvent;
 import com.wynntils.mc.event.LocalSoundEvent;
@@ -18,8 +19,11 @@ import com.wynntils.utils.mc.McUtils;
 import com.wynntils.utils.wynn.ItemUtils;
 import it.unimi.dsi.fastutil.ints.Int2ObjectArrayMap;
 import java.util.ArrayList;
-import java.util.LinkedList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
 import net.minecraft.client.gui.screens.Screen;
 import net.minecraft.client.gui.screens.inventory.AbstractContainerScreen;
 import net.minecraft.network.chat.Component;
@@ -32,13 +36,23 @@ import net.minecraftforge.eventbus.api.SubscribeEvent;
 public final class ContainerQueryHandler extends Handler {
     private static final int NO_CONTAINER = -2;
     private static final int OPERATION_TIMEOUT_TICKS = 60; // normal operation is ~10 ticks
-    private static final int NEXT_OPERATION_DELAY_TICKS = 5; // normal operation is ~10 ticks
+    // The delay before the next step is adapted to the observed round trip time, within these bounds
+    private static final int MIN_NEXT_OPERATION_DELAY_TICKS = 2;
+    private static final int MAX_NEXT_OPERATION_DELAY_TICKS = 5;
+    private static final double ROUND_TRIP_SMOOTHING = 0.2;
+    private static final long MILLIS_PER_TICK = 50;
     private static final String MENU_CLICK_SOUND = "minecraft.block.wooden_pressure_plate.click_on";
 
-    private final LinkedList<ContainerQueryStep> queuedQueries = new LinkedList<>();
+    // Ordered by priority, then by the order the queries were queued in
+    private final List<ContainerQueryStep> queuedQueries = new ArrayList<>();
+    private final Map<String, ContainerQueryStats> queryStats = new LinkedHashMap<>();
 
     private ContainerQueryStep currentStep;
     private String firstStepName;
+    private long queryStartNanos;
+    private long stepStartNanos = -1;
+    // Exponentially smoothed round trip time of all steps, or -1 if nothing has been measured yet
+    private double smoothedRoundTripMillis = -1;
 
     private Component currentTitle;
     private MenuType<?> currentMenuType;
@@ -51,14 +65,21 @@ public final class ContainerQueryHandler extends Handler {
 
     public void runQuery(ContainerQueryStep firstStep) {
         if (currentStep != null) {
-            // Only add if it is not already enqueued
-            boolean alreadyRunning = currentStep.getName().equals(firstStep.getName());
-            boolean alreadyQueued =
-                    queuedQueries.stream().anyMatch(query -> query.getName().equals(firstStep.getName()));
-
-            if (alreadyRunning || alreadyQueued) return;
+            // Only add if it is not already running
+            if (firstStepName.equals(firstStep.getName())) return;
+
+            // Merge with the same query if it is already queued, running it as soon as the more urgent of the two
+            ContainerQueryStep queuedQuery = queuedQueries.stream()
+                    .filter(query -> query.getName().equals(firstStep.getName()))
+                    .findFirst()
+                    .orElse(null);
+            if (queuedQuery != null) {
+                if (!firstStep.getPriority().isHigherThan(queuedQuery.getPriority())) return;
+
+                queuedQueries.remove(queuedQuery);
+            }
 
-            queuedQueries.add(firstStep);
+            enqueue(firstStep);
             return;
         }
 
@@ -77,16 +98,33 @@ public final class ContainerQueryHandler extends Handler {
 
         currentStep = firstStep;
         firstStepName = firstStep.getName();
+        queryStartNanos = System.nanoTime();
         resetTimer();
         try {
+            stepStartNanos = System.nanoTime();
             if (!firstStep.startStep(null)) {
-                endQuery();
+                endQuery(false);
             }
         } catch (Throwable t) {
             raiseError("Cannot execute first step: " + t.getMessage());
         }
     }
 
+    public Map<String, ContainerQueryStats> getQueryStats() {
+        return Collections.unmodifiableMap(queryStats);
+    }
+
+    /**
+     * @return the smoothed round trip time of query steps, or -1 if no step has been measured yet
+     */
+    public long getSmoothedRoundTripMillis() {
+        return Math.round(smoothedRoundTripMillis);
+    }
+
+    public void resetStatistics() {
+        queryStats.clear();
+    }
+
     public void endAllQueries() {
         // Close current container and cancel current query
         if (containerId != NO_CONTAINER) {
@@ -124,6 +162,7 @@ public final class ContainerQueryHandler extends Handler {
                     // Reset the timer for the next operation
                     ticksUntilNextOperation = -1;
                     // Return true iff taking the next step succeeded
+                    stepStartNanos = System.nanoTime();
                     if (currentStep.startStep(currentContent)) return;
                 } catch (Throwable t) {
                     raiseError("Error while processing content for " + firstStepName + ": " + t.getMessage());
@@ -131,12 +170,7 @@ public final class ContainerQueryHandler extends Handler {
                 }
 
                 // We're done
-                endQuery();
-                McUtils.sendPacket(new ServerboundContainerClosePacket(containerId));
-                // Start next query in queue, if any
-                if (!queuedQueries.isEmpty()) {
-                    runQuery(queuedQueries.pop());
-                }
+                finishQuery();
             }
 
             return;
@@ -280,6 +314,8 @@ public final class ContainerQueryHandler extends Handler {
     }
 
     private void processContainer(ContainerContent currentContainer) throws ContainerQueryException {
+        recordRoundTrip();
+
         currentStep.handleContent(currentContainer);
 
         ContainerQueryStep nextStep = currentStep.getNextStep(currentContainer);
@@ -287,28 +323,71 @@ public final class ContainerQueryHandler extends Handler {
         if (nextStep != null) {
             // Go on and query another container
             currentStep = nextStep;
-            ticksUntilNextOperation = NEXT_OPERATION_DELAY_TICKS;
+            ticksUntilNextOperation = getNextOperationDelay();
         } else {
             // We're done
-            endQuery();
-            McUtils.sendPacket(new ServerboundContainerClosePacket(containerId));
-            // Start next query in queue, if any
-            if (!queuedQueries.isEmpty()) {
-                runQuery(queuedQueries.pop());
-            }
+            finishQuery();
+        }
+    }
+
+    private void finishQuery() {
+        endQuery(false);
+        McUtils.sendPacket(new ServerboundContainerClosePacket(containerId));
+        // Start next query in queue, if any
+        if (!queuedQueries.isEmpty()) {
+            runQuery(queuedQueries.remove(0));
         }
     }
 
+    private void enqueue(ContainerQueryStep firstStep) {
+        int index = 0;
+        while (index < queuedQueries.size()
+                && !firstStep.getPriority().isHigherThan(queuedQueries.get(index).getPriority())) {
+            index++;
+        }
+
+        queuedQueries.add(index, firstStep);
+    }
+
+    private void recordRoundTrip() {
+        // Only the first content after taking a step is its round trip
+        if (stepStartNanos < 0) return;
+
+        long roundTripMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - stepStartNanos);
+        stepStartNanos = -1;
+
+        getStats(firstStepName).recordRoundTrip(roundTripMillis);
+        smoothedRoundTripMillis = smoothedRoundTripMillis < 0
+                ? roundTripMillis
+                : smoothedRoundTripMillis + ROUND_TRIP_SMOOTHING * (roundTripMillis - smoothedRoundTripMillis);
+    }
+
+    private int getNextOperationDelay() {
+        if (smoothedRoundTripMillis < 0) return MAX_NEXT_OPERATION_DELAY_TICKS;
+
+        // Wait about half a round trip, so late updates of the current container arrive before the next step
+        int delay = (int) Math.ceil(smoothedRoundTripMillis / 2 / MILLIS_PER_TICK);
+        return Math.max(MIN_NEXT_OPERATION_DELAY_TICKS, Math.min(MAX_NEXT_OPERATION_DELAY_TICKS, delay));
+    }
+
+    private ContainerQueryStats getStats(String queryName) {
+        return queryStats.computeIfAbsent(queryName, name -> new ContainerQueryStats());
+    }
+
     private void raiseError(String errorMsg) {
         if (currentStep == null) {
             WynntilsMod.error("Internal error in ContainerQueryManager: handleError called with no currentStep");
             return;
         }
         currentStep.onError(errorMsg);
-        endQuery();
+        endQuery(true);
     }
 
-    private void endQuery() {
+    private void endQuery(boolean failed) {
+        getStats(firstStepName)
+                .recordRun(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - queryStartNanos), failed);
+
+        stepStartNanos = -1;
         containerId = NO_CONTAINER;
         lastHandledContentId = NO_CONTAINER;
         lastHandledItems = List.of();
@@ -1,11 +1,12 @@
 /*
- * Copyright © Wynntils 2022-2023.
+ * Copyright © Wynntils 2022-2024.
  * This file is released under LGPLv3. See LICENSE for full license details.
  */
 package com.wynntils.handlers.container;
 
 import com.wynntils.handlers.container.type.ContainerContent;
 import com.wynntils.handlers.container.type.ContainerContentChangeType;
+import com.wynntils.handlers.container.type.QueryPriority;
 import it.unimi.dsi.fastutil.ints.Int2ObjectMap;
 import net.minecraft.network.chat.Component;
 import net.minecraft.world.inventory.MenuType;
@@ -52,4 +53,11 @@ public interface ContainerQueryStep {
 
     /** A way to identify this query. It is used to help avoid queueing the same query twice. */
     String getName();
+
+    /**
+     * The priority of the query this is the first step of. Queued queries with a higher priority run first.
+     */
+    default QueryPriority getPriority() {
+        return QueryPriority.NORMAL;
+    }
 }
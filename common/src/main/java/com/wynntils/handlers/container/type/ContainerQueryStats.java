@@ -0,0 +1,58 @@
+/*
+ * Copyright © Wynntils 2024.
+ * This file is released under LGPLv3. See LICENSE for full license details.
+ */
+package com.wynntils.handlers.container.type;
+
+/**
+ * Latency statistics of all runs of a container query.
+ *
+ * <p>The round trip of a step is the time between taking the action of the step, and receiving the content of the
+ * container it opened.
+ */
+public final class ContainerQueryStats {
+    private int runs = 0;
+    private int failures = 0;
+    private long totalDurationMillis = 0;
+    private int roundTrips = 0;
+    private long totalRoundTripMillis = 0;
+    private long maxRoundTripMillis = 0;
+
+    public void recordRoundTrip(long millis) {
+        roundTrips++;
+        totalRoundTripMillis += millis;
+        maxRoundTripMillis = Math.max(maxRoundTripMillis, millis);
+    }
+
+    public void recordRun(long durationMillis, boolean failed) {
+        runs++;
+        totalDurationMillis += durationMillis;
+        if (failed) {
+            failures++;
+        }
+    }
+
+    public int getRuns() {
+        return runs;
+    }
+
+    public int getFailures() {
+        return failures;
+    }
+
+    public long getAverageDurationMillis() {
+        return runs == 0 ? 0 : totalDurationMillis / runs;
+    }
+
+    public int getRoundTrips() {
+        return roundTrips;
+    }
+
+    public long getAverageRoundTripMillis() {
+        return roundTrips == 0 ? 0 : totalRoundTripMillis / roundTrips;
+    }
+
+    public long getMaxRoundTripMillis() {
+        return maxRoundTripMillis;
+    }
+}
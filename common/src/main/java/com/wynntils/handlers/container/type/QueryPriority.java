@@ -0,0 +1,21 @@
+/*
+ * Copyright © Wynntils 2024.
+ * This file is released under LGPLv3. See LICENSE for full license details.
+ */
+package com.wynntils.handlers.container.type;
+
+/**
+ * The priority of a container query. Queued queries are run in order of priority, and in the order they were
+ * queued within the same priority.
+ */
+public enum QueryPriority {
+    // Refreshes the user did not ask for, e.g. when joining a world
+    BACKGROUND,
+    NORMAL,
+    // Queries the user is actively waiting for
+    USER;
+
+    public boolean isHigherThan(QueryPriority other) {
+        return compareTo(other) > 0;
+    }
+}
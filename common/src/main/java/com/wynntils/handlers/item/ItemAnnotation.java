@@ -1,5 +1,5 @@
 /*
- * Copyright © Wynntils 2022-2023.
+ * Copyright © Wynntils 2022-2024.
  * This file is released under LGPLv3. See LICENSE for full license details.
  */
 package com.wynntils.handlers.item;
@@ -8,4 +8,12 @@ import net.minecraft.world.item.ItemStack;
 
 public interface ItemAnnotation {
     void onUpdate(ItemStack itemStack);
+
+    /**
+     * Returns a copy of this annotation for another item stack with the same item type, damage, count, name and
+     * lore, or null if this annotation depends on anything else and can't be reused for other item stacks.
+     */
+    default ItemAnnotation copy() {
+        return null;
+    }
 }
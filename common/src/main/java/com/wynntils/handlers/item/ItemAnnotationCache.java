@@ -0,0 +1,105 @@
+/*
+ * Copyright © Wynntils 2024.
+ * This file is released under LGPLv3. See LICENSE for full license details.
+ */
+package com.wynntils.handlers.item;
+
+import com.wynntils.core.text.StyledText;
+import com.wynntils.utils.mc.LoreUtils;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import net.minecraft.nbt.ListTag;
+import net.minecraft.world.item.Item;
+import net.minecraft.world.item.ItemStack;
+
+/**
+ * A bounded, least-recently-used cache of item annotations, keyed by the contents of the annotated item.
+ *
+ * <p>The same items are annotated over and over again, e.g. when reopening bank pages or switching trade market
+ * pages. Since annotators only look at the item type, damage, count, name and lore, an item with the same contents
+ * can reuse the annotation of the previous one, instead of running all annotators again.
+ *
+ * <p>Cached annotations are never attached to an item stack themselves. Every lookup returns a fresh
+ * {@link ItemAnnotation#copy() copy}, so per-stack data is not shared between stacks.
+ */
+public final class ItemAnnotationCache {
+    private final Map<Key, ItemAnnotation> entries;
+
+    private long hits;
+    private long misses;
+    private long evictions;
+
+    public ItemAnnotationCache(int capacity) {
+        this.entries = new LinkedHashMap<>(capacity, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, ItemAnnotation> eldest) {
+                if (size() <= capacity) return false;
+
+                evictions++;
+                return true;
+            }
+        };
+    }
+
+    /**
+     * @return a copy of the annotation cached for an item with the same contents, or null if there is none
+     */
+    public synchronized ItemAnnotation get(ItemStack itemStack, StyledText name) {
+        ItemAnnotation annotation = entries.get(Key.of(itemStack, name, false));
+        if (annotation == null) {
+            misses++;
+            return null;
+        }
+
+        hits++;
+        return annotation.copy();
+    }
+
+    public synchronized void put(ItemStack itemStack, StyledText name, ItemAnnotation annotation) {
+        // Annotations depending on more than the contents of the item can't be reused
+        ItemAnnotation copy = annotation.copy();
+        if (copy == null) return;
+
+        entries.put(Key.of(itemStack, name, true), copy);
+    }
+
+    public synchronized void clear() {
+        entries.clear();
+    }
+
+    public synchronized void resetStatistics() {
+        hits = 0;
+        misses = 0;
+        evictions = 0;
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    public synchronized long getHits() {
+        return hits;
+    }
+
+    public synchronized long getMisses() {
+        return misses;
+    }
+
+    public synchronized long getEvictions() {
+        return evictions;
+    }
+
+    private record Key(Item item, int damage, int count, StyledText name, ListTag lore) {
+        private static Key of(ItemStack itemStack, StyledText name, boolean copyLore) {
+            ListTag lore = LoreUtils.getLoreTagElseEmpty(itemStack);
+
+            // Tags are mutable, so stored keys need their own copy of the lore
+            return new Key(
+                    itemStack.getItem(),
+                    itemStack.getDamageValue(),
+                    itemStack.getCount(),
+                    name,
+                    copyLore ? lore.copy() : lore);
+        }
+    }
+}
@@ -7,8 +7,10 @@ package com.wynntils.handlers.item;
 import com.wynntils.core.WynntilsMod;
 import com.wynntils.core.components.Handler;
 import com.wynntils.core.mod.type.CrashType;
+import com.wynntils.core.net.event.NetResultProcessedEvent;
 import com.wynntils.core.text.PartStyle;
 import com.wynntils.core.text.StyledText;
+import com.wynntils.core.text.StyledTextCache;
 import com.wynntils.handlers.item.event.ItemRenamedEvent;
 import com.wynntils.mc.event.ContainerSetContentEvent;
 import com.wynntils.mc.event.ContainerSetSlotEvent;
@@ -41,8 +43,10 @@ import net.minecraftforge.eventbus.api.SubscribeEvent;
 
 public class ItemHandler extends Handler {
     private static final List<Item> WILDCARD_ITEMS = List.of(Items.DIAMOND_SHOVEL, Items.DIAMOND_PICKAXE);
+    private static final int ANNOTATION_CACHE_CAPACITY = 1024;
 
     private final List<ItemAnnotator> annotators = new ArrayList<>();
+    private final ItemAnnotationCache annotationCache = new ItemAnnotationCache(ANNOTATION_CACHE_CAPACITY);
     private final Map<Class<?>, Integer> profilingTimes = new HashMap<>();
     private final Map<Class<?>, Integer> profilingCounts = new HashMap<>();
     // Keep this as a field just of performance reasons to skip a new allocation in annotate()
@@ -67,6 +71,7 @@ public class ItemHandler extends Handler {
 
     public void registerAnnotator(ItemAnnotator annotator) {
         annotators.add(annotator);
+        annotationCache.clear();
     }
 
     public void updateItem(ItemStack itemStack, ItemAnnotation annotation, StyledText name) {
@@ -76,6 +81,12 @@ public class ItemHandler extends Handler {
         annotation.onUpdate(itemStack);
     }
 
+    @SubscribeEvent
+    public void onDataLoaded(NetResultProcessedEvent.ForUrlId event) {
+        // Annotators depend on downloaded data, e.g. the gear database, so cached annotations could be outdated
+        annotationCache.clear();
+    }
+
     @SubscribeEvent(priority = EventPriority.HIGHEST)
     public void onSetSlot(SetSlotEvent.Pre event) {
         onItemStackUpdate(event.getContainer().getItem(event.getSlot()), event.getItemStack());
@@ -165,9 +176,11 @@ public class ItemHandler extends Handler {
 
         // We need to check if the name has changed, and/or the lore has changed
         StyledText originalName = ((ItemStackExtension) existingItem).getOriginalName();
-        StyledText existingName =
-                StyledText.fromComponent(existingItem.getHoverName()).getNormalized();
-        StyledText newName = StyledText.fromComponent(newItem.getHoverName()).getNormalized();
+        StyledText existingName = StyledTextCache.SHARED
+                .fromComponent(existingItem.getHoverName())
+                .getNormalized();
+        StyledText newName =
+                StyledTextCache.SHARED.fromComponent(newItem.getHoverName()).getNormalized();
 
         if (newName.equals(existingName)) {
             // The name is identical to the existing stack; now check the lore
@@ -259,6 +272,9 @@ public class ItemHandler extends Handler {
         if (linesToCheck < 3 && firstLinesLen != secondLinesLen) return false;
 
         for (int i = 0; i < linesToCheck; i++) {
+            // Identical tags are identical lines, so only parse lines that differ
+            if (firstLoreTags.get(i).equals(secondLoreTags.get(i))) continue;
+
             StyledText firstLine = StyledText.fromJson(firstLoreTags.get(i).getAsString());
             StyledText secondLine = StyledText.fromJson(secondLoreTags.get(i).getAsString());
 
@@ -272,9 +288,14 @@ public class ItemHandler extends Handler {
     private ItemAnnotation calculateAnnotation(ItemStack itemStack, StyledText name) {
         long startTime = System.currentTimeMillis();
 
-        StyledText simplified = simplifyName(name);
+        ItemAnnotation annotation = annotationCache.get(itemStack, name);
+        if (annotation != null) {
+            storeItemStack(itemStack, annotation);
+            logProfilingData(startTime, ItemAnnotationCache.class);
+            return annotation;
+        }
 
-        ItemAnnotation annotation = null;
+        StyledText simplified = simplifyName(name);
 
         for (ItemAnnotator annotator : annotators) {
             try {
@@ -299,6 +320,7 @@ public class ItemHandler extends Handler {
         }
 
         // Hopefully we have none :)
+        boolean crashed = !crashedAnnotators.isEmpty();
         for (ItemAnnotator annotator : crashedAnnotators) {
             annotators.remove(annotator);
         }
@@ -306,17 +328,26 @@ public class ItemHandler extends Handler {
 
         if (annotation == null) return null;
 
-        // Store the itemstack in the data for later use
-        if (annotation instanceof WynnItem wynnItem) {
-            wynnItem.getData().store(WynnItemData.ITEMSTACK_KEY, itemStack);
+        // A crashed annotator could have been the one to annotate this item
+        if (!crashed) {
+            annotationCache.put(itemStack, name, annotation);
         }
 
+        storeItemStack(itemStack, annotation);
+
         // Measure performance
-        logProfilingData(startTime, annotation);
+        logProfilingData(startTime, annotation.getClass());
 
         return annotation;
     }
 
+    private void storeItemStack(ItemStack itemStack, ItemAnnotation annotation) {
+        // Store the itemstack in the data for later use
+        if (annotation instanceof WynnItem wynnItem) {
+            wynnItem.getData().store(WynnItemData.ITEMSTACK_KEY, itemStack);
+        }
+    }
+
     private StyledText simplifyName(StyledText name) {
         for (Pattern pattern : simplifiablePatterns) {
             Matcher matcher = name.getMatcher(pattern);
@@ -335,21 +366,22 @@ public class ItemHandler extends Handler {
     }
 
     private void annotate(ItemStack itemStack) {
-        StyledText name = StyledText.fromComponent(itemStack.getHoverName()).getNormalized();
+        StyledText name =
+                StyledTextCache.SHARED.fromComponent(itemStack.getHoverName()).getNormalized();
         ItemAnnotation annotation = calculateAnnotation(itemStack, name);
         if (annotation == null) return;
 
         updateItem(itemStack, annotation, name);
     }
 
-    private void logProfilingData(long startTime, ItemAnnotation annotation) {
+    private void logProfilingData(long startTime, Class<?> annotationClass) {
         long endTime = System.currentTimeMillis();
         int timeSpent = (int) (endTime - startTime);
-        int allTime = profilingTimes.getOrDefault(annotation.getClass(), 0);
-        profilingTimes.put(annotation.getClass(), allTime + timeSpent);
+        int allTime = profilingTimes.getOrDefault(annotationClass, 0);
+        profilingTimes.put(annotationClass, allTime + timeSpent);
 
-        int allCount = profilingCounts.getOrDefault(annotation.getClass(), 0);
-        profilingCounts.put(annotation.getClass(), allCount + 1);
+        int allCount = profilingCounts.getOrDefault(annotationClass, 0);
+        profilingCounts.put(annotationClass, allCount + 1);
     }
 
     public Map<Class<?>, Integer> getProfilingTimes() {
@@ -360,9 +392,14 @@ public class ItemHandler extends Handler {
         return profilingCounts;
     }
 
+    public ItemAnnotationCache getAnnotationCache() {
+        return annotationCache;
+    }
+
     public void resetProfiling() {
         profilingTimes.clear();
         profilingCounts.clear();
+        annotationCache.resetStatistics();
     }
 
     public List<ItemAnnotator> getAnnotators() {
@@ -7,6 +7,7 @@ package com.wynntils.handlers.labels;
 import com.wynntils.core.WynntilsMod;
 import com.wynntils.core.components.Handler;
 import com.wynntils.core.text.StyledText;
+import com.wynntils.core.text.StyledTextCache;
 import com.wynntils.handlers.labels.event.EntityLabelChangedEvent;
 import com.wynntils.handlers.labels.event.EntityLabelVisibilityEvent;
 import com.wynntils.handlers.labels.event.LabelIdentifiedEvent;
@@ -18,11 +19,14 @@ import com.wynntils.mc.event.SetEntityDataEvent;
 import com.wynntils.models.worlds.event.WorldStateEvent;
 import com.wynntils.utils.mc.McUtils;
 import com.wynntils.utils.mc.type.Location;
+import it.unimi.dsi.fastutil.ints.Int2ObjectMap;
+import it.unimi.dsi.fastutil.ints.Int2ObjectOpenHashMap;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import net.minecraft.ChatFormatting;
 import net.minecraft.network.chat.Component;
 import net.minecraft.network.syncher.EntityDataSerializer;
 import net.minecraft.network.syncher.SynchedEntityData;
@@ -32,8 +36,12 @@ import net.minecraftforge.eventbus.api.SubscribeEvent;
 
 public class LabelHandler extends Handler {
     private final List<LabelParser> parsers = new ArrayList<>();
+    // Parsers by the leading formatting code of the labels they parse, in registration order
+    private final Map<Character, List<LabelParser>> parsersByFormattingCode = new HashMap<>();
+    // Parsers of labels with any leading formatting code, also used for labels with no parser specific to their code
+    private final List<LabelParser> unindexedParsers = new ArrayList<>();
 
-    private final Map<Integer, LabelInfo> liveLabels = new HashMap<>();
+    private final Int2ObjectMap<LabelInfo> liveLabels = new Int2ObjectOpenHashMap<>();
 
     @SubscribeEvent(priority = EventPriority.HIGHEST)
     public void onEntitySetData(SetEntityDataEvent event) {
@@ -54,9 +62,10 @@ public class LabelHandler extends Handler {
                 if (value.isEmpty()) continue;
 
                 Component oldNameComponent = entity.getCustomName();
-                StyledText oldName =
-                        oldNameComponent != null ? StyledText.fromComponent(oldNameComponent) : StyledText.EMPTY;
-                StyledText newName = StyledText.fromComponent(value.get());
+                StyledText oldName = oldNameComponent != null
+                        ? StyledTextCache.SHARED.fromComponent(oldNameComponent)
+                        : StyledText.EMPTY;
+                StyledText newName = StyledTextCache.SHARED.fromComponent(value.get());
 
                 // Sometimes there is no actual change; ignore it then
                 if (newName.equals(oldName)) continue;
@@ -100,11 +109,16 @@ public class LabelHandler extends Handler {
 
     @SubscribeEvent(priority = EventPriority.HIGHEST)
     public void onEntitiesRemoved(RemoveEntitiesEvent event) {
-        List<LabelInfo> removedLabels = liveLabels.values().stream()
-                .filter(label -> event.getEntityIds().contains(label.getEntity().getId()))
-                .toList();
+        List<LabelInfo> removedLabels = new ArrayList<>();
+        for (int entityId : event.getEntityIds()) {
+            LabelInfo removedLabel = liveLabels.remove(entityId);
+            if (removedLabel != null) {
+                removedLabels.add(removedLabel);
+            }
+        }
+
+        if (removedLabels.isEmpty()) return;
 
-        removedLabels.forEach(label -> liveLabels.remove(label.getEntity().getId()));
         WynntilsMod.postEvent(new LabelsRemovedEvent(removedLabels));
     }
 
@@ -117,10 +131,39 @@ public class LabelHandler extends Handler {
 
     public void registerParser(LabelParser labelParser) {
         parsers.add(labelParser);
+        rebuildParserIndex();
     }
 
-    private LabelInfo tryIdentifyLabel(StyledText name, Entity entity) {
+    private void rebuildParserIndex() {
+        parsersByFormattingCode.clear();
+        unindexedParsers.clear();
+
         for (LabelParser parser : parsers) {
+            String formattingCodes = parser.getLeadingFormattingCodes();
+            if (formattingCodes == null) {
+                unindexedParsers.add(parser);
+                // Keep the registration order for labels with a code that already has specific parsers
+                parsersByFormattingCode.values().forEach(codeParsers -> codeParsers.add(parser));
+                continue;
+            }
+
+            for (char formattingCode : formattingCodes.toCharArray()) {
+                parsersByFormattingCode
+                        .computeIfAbsent(formattingCode, code -> new ArrayList<>(unindexedParsers))
+                        .add(parser);
+            }
+        }
+    }
+
+    private List<LabelParser> getCandidateParsers(StyledText name) {
+        String nameString = name.getString();
+        if (nameString.length() < 2 || nameString.charAt(0) != ChatFormatting.PREFIX_CODE) return unindexedParsers;
+
+        return parsersByFormattingCode.getOrDefault(nameString.charAt(1), unindexedParsers);
+    }
+
+    private LabelInfo tryIdentifyLabel(StyledText name, Entity entity) {
+        for (LabelParser parser : getCandidateParsers(name)) {
             LabelInfo info = parser.getInfo(name, Location.containing(entity.position()), entity);
 
             if (info == null) continue;
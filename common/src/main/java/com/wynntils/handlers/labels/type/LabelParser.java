@@ -15,4 +15,14 @@ public interface LabelParser<T extends LabelInfo> {
      * @return The label info, or null if the label is not valid for this parser.
      */
     T getInfo(StyledText label, Location location, Entity entity);
+
+    /**
+     * Labels are only passed to the parsers that can match their leading formatting code, so most labels are only
+     * parsed by a single parser.
+     * @return The formatting codes a label must start with to be parsed by this parser, e.g. "df" for labels
+     * starting with either §d or §f, or null if this parser should parse all labels.
+     */
+    default String getLeadingFormattingCodes() {
+        return null;
+    }
 }
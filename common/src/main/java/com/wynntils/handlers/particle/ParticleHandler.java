@@ -1,5 +1,5 @@
 /*
- * Copyright © Wynntils 2023.
+ * Copyright © Wynntils 2023-2024.
  * This file is released under LGPLv3. See LICENSE for full license details.
  */
 package com.wynntils.handlers.particle;
@@ -14,80 +14,136 @@ import com.wynntils.handlers.particle.type.UnverifiedParticle;
 import com.wynntils.mc.event.ParticleAddedEvent;
 import java.util.ArrayList;
 import java.util.EnumMap;
-import java.util.HashSet;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.Set;
-import net.minecraft.core.Position;
-import net.minecraft.world.phys.Vec3;
+import net.minecraft.core.particles.ParticleOptions;
 import net.minecraftforge.eventbus.api.SubscribeEvent;
 
 public class ParticleHandler extends Handler {
     private final Map<ParticleType, ParticleVerifier> particleVerifiers = new EnumMap<>(ParticleType.class);
+    // The particle collector of every registered type, by the particle effect type it is compatible with
+    private final Map<net.minecraft.core.particles.ParticleType<?>, List<UnverifiedParticle>> particlesByEffectType =
+            new HashMap<>();
 
-    private final Set<UnverifiedParticle> unverifiedParticles = new HashSet<>();
+    private final List<UnverifiedParticle> unverifiedParticles = new ArrayList<>();
+    // Scratch buffer for the particles found invalid while handling a single particle
+    private final List<UnverifiedParticle> invalidParticles = new ArrayList<>();
+
+    private long particlesSeen = 0;
+    private long particlesVerified = 0;
+    private long particlesDiscarded = 0;
 
     @SubscribeEvent
     public void onParticleAdded(ParticleAddedEvent event) {
-        Position particlePosition = new Vec3(event.getX(), event.getY(), event.getZ());
+        particlesSeen++;
+
+        ParticleOptions particleEffect = event.getParticle();
+        List<UnverifiedParticle> compatibleParticles = particlesByEffectType.get(particleEffect.getType());
+        if (compatibleParticles == null) {
+            particlesDiscarded++;
+            return;
+        }
 
         // We depend on the fact that particle groups are sent in order:
         // If we have A and B particle animation, then we will receive all A particles, then all B particles
         if (unverifiedParticles.isEmpty()) {
-            for (ParticleType particleType : particleVerifiers.keySet()) {
-                // Check if the this type is compatible with the particle effect type
-                if (!particleType.getCompatibleParticleEffect().equals(event.getParticle())) continue;
-
-                UnverifiedParticle unverifiedParticleOfType = new UnverifiedParticle(particleType, event.getParticle());
+            for (UnverifiedParticle unverifiedParticle : compatibleParticles) {
+                // Check if the this type is compatible with the particle effect
+                if (!unverifiedParticle.getParticleEffect().equals(particleEffect)) continue;
 
                 // Check if the particle passes the verifier
-                if (unverifiedParticleOfType.addNewParticle(particlePosition, event.getParticle())) {
-                    unverifiedParticles.add(unverifiedParticleOfType);
+                unverifiedParticle.reset();
+                if (unverifiedParticle.addNewParticle(event.getX(), event.getY(), event.getZ(), particleEffect)) {
+                    unverifiedParticles.add(unverifiedParticle);
                 }
             }
-        } else {
-            List<UnverifiedParticle> invalidParticles = new ArrayList<>();
 
-            for (UnverifiedParticle unverifiedParticle : unverifiedParticles) {
-                // Check if the this type is compatible with the particle effect type
-                if (!unverifiedParticle.getParticleEffect().equals(event.getParticle())) continue;
+            if (unverifiedParticles.isEmpty()) {
+                particlesDiscarded++;
+            }
+            return;
+        }
 
-                // Check if the particle passes the verifier
-                if (unverifiedParticle.addNewParticle(particlePosition, event.getParticle())) {
-                    ParticleVerifier.VerificationResult verificationResult = unverifiedParticle.verifyCompleteness();
-
-                    switch (verificationResult) {
-                        case VERIFIED -> {
-                            Particle particle = unverifiedParticle.getParticle();
-                            WynntilsMod.postEvent(new ParticleVerifiedEvent(particle));
-
-                            // We have verified this particle, so we can reset the unverified particles
-                            unverifiedParticles.clear();
-                            return;
-                        }
-                        case UNVERIFIED -> {
-                            // Do nothing, we will wait for more particles
-                        }
-                        case INVALID -> {
-                            invalidParticles.add(unverifiedParticle);
-                        }
+        boolean accepted = false;
+        for (UnverifiedParticle unverifiedParticle : unverifiedParticles) {
+            // Check if the this type is compatible with the particle effect type
+            if (!unverifiedParticle.getParticleEffect().equals(particleEffect)) continue;
+
+            // Check if the particle passes the verifier
+            if (unverifiedParticle.addNewParticle(event.getX(), event.getY(), event.getZ(), particleEffect)) {
+                accepted = true;
+                ParticleVerifier.VerificationResult verificationResult = unverifiedParticle.verifyCompleteness();
+
+                switch (verificationResult) {
+                    case VERIFIED -> {
+                        Particle particle = unverifiedParticle.getParticle();
+                        particlesVerified++;
+
+                        // We have verified this particle, so we can reset the unverified particles
+                        unverifiedParticles.clear();
+                        invalidParticles.clear();
+
+                        WynntilsMod.postEvent(new ParticleVerifiedEvent(particle));
+                        return;
+                    }
+                    case UNVERIFIED -> {
+                        // Do nothing, we will wait for more particles
+                    }
+                    case INVALID -> {
+                        invalidParticles.add(unverifiedParticle);
                     }
-                } else {
-                    // This must mean that either this particle is invalid or this particle type is not what we are
-                    // looking for
-                    invalidParticles.add(unverifiedParticle);
                 }
+            } else {
+                // This must mean that either this particle is invalid or this particle type is not what we are
+                // looking for
+                invalidParticles.add(unverifiedParticle);
             }
+        }
+
+        if (!accepted) {
+            particlesDiscarded++;
+        }
 
-            invalidParticles.forEach(unverifiedParticles::remove);
+        if (!invalidParticles.isEmpty()) {
+            unverifiedParticles.removeAll(invalidParticles);
+            invalidParticles.clear();
         }
     }
 
     public void registerParticleVerifier(ParticleType particleType, ParticleVerifier particleVerifier) {
         particleVerifiers.put(particleType, particleVerifier);
+
+        // Replace the collector of a previously registered verifier for this type
+        particlesByEffectType
+                .values()
+                .forEach(particles -> particles.removeIf(particle -> particle.getParticleType() == particleType));
+        unverifiedParticles.clear();
+
+        particlesByEffectType
+                .computeIfAbsent(particleType.getCompatibleParticleEffect().getType(), type -> new ArrayList<>())
+                .add(new UnverifiedParticle(particleType, particleVerifier));
     }
 
     public ParticleVerifier getParticleVerifier(ParticleType particleType) {
         return particleVerifiers.get(particleType);
     }
+
+    public long getParticlesSeen() {
+        return particlesSeen;
+    }
+
+    public long getParticlesVerified() {
+        return particlesVerified;
+    }
+
+    public long getParticlesDiscarded() {
+        return particlesDiscarded;
+    }
+
+    public void resetStatistics() {
+        particlesSeen = 0;
+        particlesVerified = 0;
+        particlesDiscarded = 0;
+    }
 }
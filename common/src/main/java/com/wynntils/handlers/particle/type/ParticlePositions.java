@@ -0,0 +1,70 @@
+/*
+ * Copyright © Wynntils 2024.
+ * This file is released under LGPLv3. See LICENSE for full license details.
+ */
+package com.wynntils.handlers.particle.type;
+
+import java.util.Arrays;
+
+/**
+ * The positions of the particles collected for a particle verification, stored as primitive coordinates, so
+ * collecting particles does not allocate once the storage has grown to the size of a particle group.
+ */
+public final class ParticlePositions {
+    private static final int INITIAL_CAPACITY = 32;
+
+    // x, y and z of every position, interleaved
+    private double[] coordinates = new double[INITIAL_CAPACITY * 3];
+    private int size = 0;
+
+    public void add(double x, double y, double z) {
+        if (size * 3 == coordinates.length) {
+            coordinates = Arrays.copyOf(coordinates, coordinates.length * 2);
+        }
+
+        int index = size * 3;
+        coordinates[index] = x;
+        coordinates[index + 1] = y;
+        coordinates[index + 2] = z;
+        size++;
+    }
+
+    public double x(int index) {
+        return coordinates[checkIndex(index) * 3];
+    }
+
+    public double y(int index) {
+        return coordinates[checkIndex(index) * 3 + 1];
+    }
+
+    public double z(int index) {
+        return coordinates[checkIndex(index) * 3 + 2];
+    }
+
+    public double distanceToSqr(int index, double x, double y, double z) {
+        double dx = x(index) - x;
+        double dy = y(index) - y;
+        double dz = z(index) - z;
+        return dx * dx + dy * dy + dz * dz;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public void clear() {
+        size = 0;
+    }
+
+    private int checkIndex(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index " + index + " out of bounds for size " + size);
+        }
+
+        return index;
+    }
+}
@@ -1,18 +1,15 @@
 /*
- * Copyright © Wynntils 2023.
+ * Copyright © Wynntils 2023-2024.
  * This file is released under LGPLv3. See LICENSE for full license details.
  */
 package com.wynntils.handlers.particle.type;
 
-import java.util.List;
-import net.minecraft.core.Position;
-
 public interface ParticleVerifier {
-    boolean verifyNewPosition(List<Position> positions, Position addedPosition);
+    boolean verifyNewPosition(ParticlePositions positions, double x, double y, double z);
 
-    VerificationResult verifyCompleteness(List<Position> positions);
+    VerificationResult verifyCompleteness(ParticlePositions positions);
 
-    Particle getParticle(List<Position> positions);
+    Particle getParticle(ParticlePositions positions);
 
     enum VerificationResult {
         VERIFIED,
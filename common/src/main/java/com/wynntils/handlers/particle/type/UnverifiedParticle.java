@@ -1,30 +1,31 @@
 /*
- * Copyright © Wynntils 2023.
+ * Copyright © Wynntils 2023-2024.
  * This file is released under LGPLv3. See LICENSE for full license details.
  */
 package com.wynntils.handlers.particle.type;
 
-import com.wynntils.core.components.Handlers;
-import java.util.ArrayList;
-import java.util.List;
-import net.minecraft.core.Position;
 import net.minecraft.core.particles.ParticleOptions;
 
+/**
+ * Collects the particles of a particle group, until its verifier decides whether they form a particle of the type.
+ *
+ * <p>There is a single instance per particle type, which is {@link #reset() reset} whenever a new group starts.
+ */
 public class UnverifiedParticle {
     private final ParticleType particleType;
-    private final ParticleOptions particleEffect;
-    private final List<Position> particles = new ArrayList<>();
+    private final ParticleVerifier particleVerifier;
+    private final ParticlePositions positions = new ParticlePositions();
 
-    public UnverifiedParticle(ParticleType particleType, ParticleOptions particleOptions) {
+    public UnverifiedParticle(ParticleType particleType, ParticleVerifier particleVerifier) {
         this.particleType = particleType;
-        this.particleEffect = particleOptions;
+        this.particleVerifier = particleVerifier;
     }
 
-    public boolean addNewParticle(Position newPosition, ParticleOptions newParticleOption) {
-        if (newParticleOption != particleEffect) return false;
+    public boolean addNewParticle(double x, double y, double z, ParticleOptions newParticleOption) {
+        if (newParticleOption != getParticleEffect()) return false;
 
-        if (Handlers.Particle.getParticleVerifier(particleType).verifyNewPosition(particles, newPosition)) {
-            particles.add(newPosition);
+        if (particleVerifier.verifyNewPosition(positions, x, y, z)) {
+            positions.add(x, y, z);
             return true;
         }
 
@@ -32,14 +33,22 @@ public class UnverifiedParticle {
     }
 
     public ParticleVerifier.VerificationResult verifyCompleteness() {
-        return Handlers.Particle.getParticleVerifier(particleType).verifyCompleteness(particles);
+        return particleVerifier.verifyCompleteness(positions);
+    }
+
+    public void reset() {
+        positions.clear();
+    }
+
+    public ParticleType getParticleType() {
+        return particleType;
     }
 
     public ParticleOptions getParticleEffect() {
-        return particleEffect;
+        return particleType.getCompatibleParticleEffect();
     }
 
     public Particle getParticle() {
-        return Handlers.Particle.getParticleVerifier(particleType).getParticle(particles);
+        return particleVerifier.getParticle(positions);
     }
 }
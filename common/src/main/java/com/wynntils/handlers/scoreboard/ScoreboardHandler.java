@@ -1,10 +1,9 @@
 /*
- * Copyright © Wynntils 2022-2023.
+ * Copyright © Wynntils 2022-2024.
  * This file is released under LGPLv3. See LICENSE for full license details.
  */
 package com.wynntils.handlers.scoreboard;
 
-import com.google.common.collect.ImmutableList;
 import com.wynntils.core.WynntilsMod;
 import com.wynntils.core.components.Handler;
 import com.wynntils.core.text.PartStyle;
@@ -15,14 +14,17 @@ import com.wynntils.handlers.scoreboard.type.SegmentMatcher;
 import com.wynntils.mc.event.ScoreboardSetDisplayObjectiveEvent;
 import com.wynntils.mc.event.ScoreboardSetObjectiveEvent;
 import com.wynntils.mc.event.ScoreboardSetScoreEvent;
+import com.wynntils.mc.event.TickEvent;
 import com.wynntils.models.worlds.event.WorldStateEvent;
 import com.wynntils.models.worlds.type.WorldState;
 import com.wynntils.utils.mc.McUtils;
-import com.wynntils.utils.type.Pair;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
-import java.util.Optional;
+import java.util.Map;
+import java.util.Set;
 import java.util.regex.Pattern;
 import net.minecraft.ChatFormatting;
 import net.minecraft.network.chat.Component;
@@ -46,7 +48,17 @@ public final class ScoreboardHandler extends Handler {
     private static final ScoreboardPart FALLBACK_SCOREBOARD_PART = new FallbackScoreboardPart();
 
     private String currentScoreboardName = "";
-    private List<Pair<ScoreboardPart, ScoreboardSegment>> scoreboardSegments = new ArrayList<>();
+    private List<TrackedSegment> scoreboardSegments = new ArrayList<>();
+
+    // Score updates arrive in bursts, so the scoreboard is only processed once per tick
+    private boolean updatePending = false;
+
+    // Lines of the last processed scoreboard by their score owner, so unchanged lines are not parsed again
+    private Map<String, StyledText> parsedLines = new HashMap<>();
+    // Hashes of the score owners of the last reconstructed scoreboard, by line index
+    private int[] lineHashes = new int[0];
+    // The lines of our own scoreboard, so it is only recreated when they change
+    private List<String> displayedLines = List.of();
 
     private final List<ScoreboardPart> scoreboardParts = new ArrayList<>();
 
@@ -66,14 +78,14 @@ public final class ScoreboardHandler extends Handler {
     public void onSetScore(ScoreboardSetScoreEvent event) {
         if (!currentScoreboardName.equals(event.getObjectiveName())) return;
 
-        handleUpdate();
+        updatePending = true;
     }
 
     @SubscribeEvent(priority = EventPriority.HIGHEST)
     public void onSetObjective(ScoreboardSetObjectiveEvent event) {
         if (!currentScoreboardName.equals(event.getObjectiveName())) return;
 
-        handleUpdate();
+        updatePending = true;
     }
 
     @SubscribeEvent(priority = EventPriority.HIGHEST)
@@ -81,19 +93,32 @@ public final class ScoreboardHandler extends Handler {
         if (!isValidScoreboardName(event.getObjectiveName())) return;
 
         currentScoreboardName = event.getObjectiveName();
-        handleUpdate();
+        updatePending = true;
 
         event.setCanceled(true);
     }
 
+    @SubscribeEvent
+    public void onTick(TickEvent event) {
+        if (!updatePending) return;
+        if (McUtils.mc().level == null || McUtils.player() == null) return;
+
+        updatePending = false;
+        handleUpdate();
+    }
+
     @SubscribeEvent
     public void onWorldStateChange(WorldStateEvent event) {
         if (event.getNewState() == WorldState.WORLD) return;
 
-        scoreboardSegments.forEach(pair -> pair.key().reset());
+        scoreboardSegments.forEach(trackedSegment -> trackedSegment.part().reset());
 
         scoreboardSegments = new ArrayList<>();
         currentScoreboardName = "";
+        updatePending = false;
+        parsedLines = new HashMap<>();
+        lineHashes = new int[0];
+        displayedLines = List.of();
     }
 
     private void handleUpdate() {
@@ -114,14 +139,35 @@ public final class ScoreboardHandler extends Handler {
     private List<ScoreboardLine> getCurrentScoreboardState(String currentScoreboardName) {
         Scoreboard scoreboard = McUtils.mc().level.getScoreboard();
         Objective objective = scoreboard.getObjective(currentScoreboardName);
+        if (objective == null) {
+            lineHashes = new int[0];
+            return List.of();
+        }
+
         List<Score> lines = new ArrayList<>(scoreboard.getPlayerScores(objective));
 
         // Lines are by default in reverse order
         Collections.reverse(lines);
 
-        return lines.stream()
-                .map(s -> new ScoreboardLine(StyledText.fromString(s.getOwner()), s.getScore()))
-                .toList();
+        Map<String, StyledText> newParsedLines = new HashMap<>();
+        List<ScoreboardLine> scoreboardLines = new ArrayList<>(lines.size());
+        lineHashes = new int[lines.size()];
+        for (int i = 0; i < lines.size(); i++) {
+            Score score = lines.get(i);
+            String owner = score.getOwner();
+
+            StyledText line = parsedLines.get(owner);
+            if (line == null) {
+                line = StyledText.fromString(owner);
+            }
+
+            newParsedLines.put(owner, line);
+            scoreboardLines.add(new ScoreboardLine(line, score.getScore()));
+            lineHashes[i] = owner.hashCode();
+        }
+
+        parsedLines = newParsedLines;
+        return scoreboardLines;
     }
 
     private List<ScoreboardPart> getValidScoreboardParts(List<ScoreboardLine> reconstructedScoreboard) {
@@ -142,14 +188,12 @@ public final class ScoreboardHandler extends Handler {
         }
 
         // 1. Check for duplicate lines
-        List<StyledText> lines = new ArrayList<>();
+        Set<StyledText> lines = new HashSet<>();
         for (ScoreboardLine line : reconstructedScoreboard) {
-            if (lines.contains(line.line())) {
+            if (!lines.add(line.line())) {
                 // We found a duplicate line, so the scoreboard is invalid
                 return List.of();
             }
-
-            lines.add(line.line());
         }
 
         // 2. Check for gaps in the scores
@@ -240,9 +284,9 @@ public final class ScoreboardHandler extends Handler {
     private void calculateScoreboardSegments(
             List<ScoreboardLine> reconstructedScoreboard, List<ScoreboardPart> validParts) {
         int currentIndex = 1;
-        List<ScoreboardLine> scoreboardLines = reconstructedScoreboard.stream().toList();
+        List<ScoreboardLine> scoreboardLines = reconstructedScoreboard;
 
-        List<Pair<ScoreboardPart, ScoreboardSegment>> oldSegments = ImmutableList.copyOf(scoreboardSegments);
+        List<TrackedSegment> oldSegments = scoreboardSegments;
         scoreboardSegments = new ArrayList<>();
 
         int validPartIndex = 0;
@@ -269,6 +313,7 @@ public final class ScoreboardHandler extends Handler {
 
             validPartIndex++;
 
+            int linesHash = lineHashes[currentIndex];
             List<StyledText> contentLines = new ArrayList<>();
             for (currentIndex = currentIndex + 1; currentIndex < scoreboardLines.size(); currentIndex++) {
                 ScoreboardLine line = scoreboardLines.get(currentIndex);
@@ -279,46 +324,60 @@ public final class ScoreboardHandler extends Handler {
                 }
 
                 contentLines.add(line.line());
+                linesHash = 31 * linesHash + lineHashes[currentIndex];
             }
 
-            ScoreboardSegment segment = new ScoreboardSegment(calculatedPart, headerLine.line(), contentLines);
-            boolean eventCanceled = WynntilsMod.postEvent(new ScoreboardSegmentAdditionEvent(segment));
+            TrackedSegment oldSegment = findSegment(oldSegments, calculatedPart, scoreboardSegments.size());
+            boolean linesChanged = oldSegment == null
+                    || oldSegment.linesHash() != linesHash
+                    || !oldSegment.segment().getHeader().equals(headerLine.line())
+                    || !oldSegment.segment().getContent().equals(contentLines);
+
+            // Unchanged segments keep their segment, but visibility is decided anew, as it depends on configs
+            ScoreboardSegment segment = linesChanged
+                    ? new ScoreboardSegment(calculatedPart, headerLine.line(), contentLines)
+                    : oldSegment.segment();
+            boolean visible = !WynntilsMod.postEvent(new ScoreboardSegmentAdditionEvent(segment));
+
+            boolean changed = linesChanged || segment.isVisible() != visible;
+            if (!linesChanged && changed) {
+                segment = new ScoreboardSegment(calculatedPart, segment.getHeader(), segment.getContent());
+            }
+            segment.setVisibility(visible);
 
-            segment.setVisibility(!eventCanceled);
-            scoreboardSegments.add(new Pair<>(calculatedPart, segment));
+            scoreboardSegments.add(new TrackedSegment(calculatedPart, segment, linesHash, changed));
         }
 
         // Handle segment removals
-        for (Pair<ScoreboardPart, ScoreboardSegment> oldPair : oldSegments) {
+        for (TrackedSegment oldSegment : oldSegments) {
             // Special case for the fallback part, don't call onSegmentRemove
-            if (oldPair.key() == FALLBACK_SCOREBOARD_PART) continue;
+            if (oldSegment.part() == FALLBACK_SCOREBOARD_PART) continue;
 
-            Optional<Pair<ScoreboardPart, ScoreboardSegment>> segmentOpt = scoreboardSegments.stream()
-                    .filter(pair -> pair.key() == oldPair.key())
-                    .findFirst();
-            if (segmentOpt.isEmpty()) {
-                oldPair.key().onSegmentRemove(oldPair.value());
+            if (findSegment(scoreboardSegments, oldSegment.part(), 0) == null) {
+                oldSegment.part().onSegmentRemove(oldSegment.segment());
             }
         }
 
-        // Handle segment changes
-        for (Pair<ScoreboardPart, ScoreboardSegment> pair : scoreboardSegments) {
+        // Handle segment changes, only the changed segments are published again
+        for (TrackedSegment trackedSegment : scoreboardSegments) {
             // Special case for the fallback part, don't call onSegmentChange
-            if (pair.key() == FALLBACK_SCOREBOARD_PART) continue;
+            if (trackedSegment.part() == FALLBACK_SCOREBOARD_PART) continue;
 
-            Optional<Pair<ScoreboardPart, ScoreboardSegment>> oldSegmentOpt = oldSegments.stream()
-                    .filter(oldPair -> oldPair.key() == pair.key())
-                    .findFirst();
-            if (oldSegmentOpt.isEmpty() || !oldSegmentOpt.get().value().equals(pair.value())) {
-                pair.key().onSegmentChange(pair.value());
+            if (trackedSegment.changed()) {
+                trackedSegment.part().onSegmentChange(trackedSegment.segment());
             }
         }
     }
 
     private void createScoreboardFromSegments(List<ScoreboardLine> reconstructedScoreboard) {
-        Scoreboard scoreboard = McUtils.player().getScoreboard();
+        List<String> lines = getDisplayedLines();
 
+        Scoreboard scoreboard = McUtils.player().getScoreboard();
         Objective oldObjective = scoreboard.getObjective(SCOREBOARD_KEY);
+
+        // Only recreate our scoreboard if it would look different
+        if (oldObjective != null && lines.equals(displayedLines)) return;
+
         if (oldObjective != null) {
             scoreboard.removeObjective(oldObjective);
         }
@@ -331,43 +390,61 @@ public final class ScoreboardHandler extends Handler {
 
         scoreboard.setDisplayObjective(DisplaySlot.SIDEBAR, wynntilsObjective);
 
-        if (scoreboardSegments.stream().map(Pair::value).noneMatch(ScoreboardSegment::isVisible)) return;
-
         int currentScoreboardLine = MAX_SCOREBOARD_LINE;
+        for (String line : lines) {
+            scoreboard.getOrCreatePlayerScore(line, wynntilsObjective).setScore(currentScoreboardLine);
+            currentScoreboardLine--;
+        }
+
+        displayedLines = lines;
+    }
+
+    private List<String> getDisplayedLines() {
+        List<ScoreboardSegment> segments =
+                scoreboardSegments.stream().map(TrackedSegment::segment).toList();
+        if (segments.stream().noneMatch(ScoreboardSegment::isVisible)) return List.of();
+
+        List<String> lines = new ArrayList<>();
 
         // Insert the first line at the top
-        scoreboard.getOrCreatePlayerScore("À", wynntilsObjective).setScore(currentScoreboardLine);
-        currentScoreboardLine--;
+        lines.add("À");
 
         int separatorCount = 2;
 
         // Insert the visible segments
-        List<ScoreboardSegment> segments =
-                scoreboardSegments.stream().map(Pair::value).toList();
         for (int i = 0; i < segments.size(); i++) {
             ScoreboardSegment scoreboardSegment = segments.get(i);
             if (!scoreboardSegment.isVisible()) continue;
 
-            scoreboard
-                    .getOrCreatePlayerScore(scoreboardSegment.getHeader().getString(), wynntilsObjective)
-                    .setScore(currentScoreboardLine);
-            currentScoreboardLine--;
+            lines.add(scoreboardSegment.getHeader().getString());
 
             for (StyledText line : scoreboardSegment.getContent()) {
-                scoreboard
-                        .getOrCreatePlayerScore(line.getString(), wynntilsObjective)
-                        .setScore(currentScoreboardLine);
-                currentScoreboardLine--;
+                lines.add(line.getString());
             }
 
             if (i != segments.size() - 1) {
-                scoreboard
-                        .getOrCreatePlayerScore(StringUtils.repeat('À', separatorCount), wynntilsObjective)
-                        .setScore(currentScoreboardLine);
-                currentScoreboardLine--;
+                lines.add(StringUtils.repeat('À', separatorCount));
                 separatorCount++;
             }
         }
+
+        return lines;
+    }
+
+    /**
+     * Finds the segment of the part, preferring the one at the given index, as the fallback part can have multiple
+     * segments.
+     */
+    private static TrackedSegment findSegment(List<TrackedSegment> segments, ScoreboardPart part, int preferredIndex) {
+        if (preferredIndex < segments.size() && segments.get(preferredIndex).part() == part) {
+            return segments.get(preferredIndex);
+        }
+
+        for (TrackedSegment trackedSegment : segments) {
+            if (trackedSegment.part() == part) return trackedSegment;
+        }
+
+        return null;
     }
 
     private ScoreboardPart getScoreboardPartForHeader(ScoreboardLine scoreboardLine) {
@@ -385,6 +462,8 @@ public final class ScoreboardHandler extends Handler {
         return FALLBACK_SCOREBOARD_PART;
     }
 
+    private record TrackedSegment(ScoreboardPart part, ScoreboardSegment segment, int linesHash, boolean changed) {}
+
     private static final class FallbackScoreboardPart extends ScoreboardPart {
         private static final SegmentMatcher FALLBACK_MATCHER = SegmentMatcher.fromPattern(".*");
 
@@ -0,0 +1,23 @@
+/*
+ * Copyright © Wynntils 2024.
+ * This file is released under LGPLv3. See LICENSE for full license details.
+ */
+package com.wynntils.mc.event;
+
+import net.minecraft.network.chat.Component;
+import net.minecraftforge.eventbus.api.Event;
+
+/**
+ * Fired when a message is deleted from the chat, through {@link com.wynntils.utils.mc.McUtils#removeMessageFromChat}.
+ */
+public class ChatMessageDeletedEvent extends Event {
+    private final Component component;
+
+    public ChatMessageDeletedEvent(Component component) {
+        this.component = component;
+    }
+
+    public Component getComponent() {
+        return component;
+    }
+}
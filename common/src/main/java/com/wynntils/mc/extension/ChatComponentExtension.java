@@ -8,4 +8,9 @@ import net.minecraft.network.chat.Component;
 
 public interface ChatComponentExtension {
     void deleteMessage(Component component);
+
+    /**
+     * Adds a message which was received earlier, at the given gui tick, without logging it again.
+     */
+    void restoreMessage(Component component, int addedTime);
 }
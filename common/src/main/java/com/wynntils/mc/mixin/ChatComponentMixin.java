@@ -4,17 +4,26 @@
  */
 package com.wynntils.mc.mixin;
 
+import com.wynntils.core.events.MixinHelper;
+import com.wynntils.mc.event.ChatMessageDeletedEvent;
 import com.wynntils.mc.extension.ChatComponentExtension;
 import java.util.List;
 import net.minecraft.client.GuiMessage;
+import net.minecraft.client.GuiMessageTag;
+import net.minecraft.client.Minecraft;
 import net.minecraft.client.gui.components.ChatComponent;
 import net.minecraft.network.chat.Component;
+import net.minecraft.network.chat.MessageSignature;
 import org.spongepowered.asm.mixin.Final;
 import org.spongepowered.asm.mixin.Mixin;
 import org.spongepowered.asm.mixin.Shadow;
 
 @Mixin(ChatComponent.class)
 public abstract class ChatComponentMixin implements ChatComponentExtension {
+    @Shadow
+    @Final
+    private Minecraft minecraft;
+
     @Shadow
     @Final
     private List<GuiMessage> allMessages;
@@ -22,9 +31,26 @@ public abstract class ChatComponentMixin implements ChatComponentExtension {
     @Shadow
     private void refreshTrimmedMessage() {}
 
+    @Shadow
+    private void addMessage(
+            Component chatComponent,
+            MessageSignature headerSignature,
+            int addedTime,
+            GuiMessageTag tag,
+            boolean onlyTrim) {}
+
     @Override
     public void deleteMessage(Component component) {
         allMessages.removeIf(guiMessage -> guiMessage.content().equals(component));
         refreshTrimmedMessage();
+
+        MixinHelper.post(new ChatMessageDeletedEvent(component));
+    }
+
+    @Override
+    public void restoreMessage(Component component, int addedTime) {
+        // Tagged the same way as ChatComponent#addMessage(Component)
+        GuiMessageTag tag = minecraft.isSingleplayer() ? GuiMessageTag.systemSinglePlayer() : GuiMessageTag.system();
+        addMessage(component, null, addedTime, tag, false);
     }
 }
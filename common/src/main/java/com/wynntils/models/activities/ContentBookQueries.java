@@ -1,5 +1,5 @@
 /*
- * Copyright © Wynntils 2022-2023.
+ * Copyright © Wynntils 2022-2024.
  * This file is released under LGPLv3. See LICENSE for full license details.
  */
 package com.wynntils.models.activities;
@@ -15,6 +15,7 @@ import com.wynntils.handlers.container.scriptedquery.ScriptedContainerQuery;
 import com.wynntils.handlers.container.type.ContainerContent;
 import com.wynntils.handlers.container.type.ContainerContentChangeType;
 import com.wynntils.handlers.container.type.ContainerContentVerification;
+import com.wynntils.handlers.container.type.QueryPriority;
 import com.wynntils.models.activities.type.ActivityInfo;
 import com.wynntils.models.activities.type.ActivityType;
 import com.wynntils.models.items.items.gui.ActivityItem;
@@ -283,6 +284,7 @@ public class ContentBookQueries {
                             StyledText.fromComponent(Component.literal("Setting tracking in Content Book failed")
                                     .withStyle(ChatFormatting.RED)));
                 })
+                .priority(QueryPriority.USER)
 
                 // Open compass/character menu
                 .then(QueryStep.useItemInHotbar(InventoryUtils.CONTENT_BOOK_SLOT_NUM)
@@ -5,6 +5,7 @@
 package com.wynntils.models.character;
 
 import com.wynntils.core.WynntilsMod;
+import com.wynntils.core.components.Handlers;
 import com.wynntils.core.components.Model;
 import com.wynntils.core.components.Models;
 import com.wynntils.core.persisted.Persisted;
@@ -16,6 +17,7 @@ import com.wynntils.handlers.container.scriptedquery.QueryBuilder;
 import com.wynntils.handlers.container.scriptedquery.QueryStep;
 import com.wynntils.handlers.container.scriptedquery.ScriptedContainerQuery;
 import com.wynntils.handlers.container.type.ContainerContent;
+import com.wynntils.handlers.container.type.QueryPriority;
 import com.wynntils.mc.event.ContainerClickEvent;
 import com.wynntils.mc.event.MenuEvent.MenuClosedEvent;
 import com.wynntils.mc.event.PlayerTeleportEvent;
@@ -93,6 +95,8 @@ public final class CharacterModel extends Model {
 
     public CharacterModel() {
         super(List.of());
+
+        Handlers.Chat.registerPattern(WYNN_DEATH_MESSAGE);
     }
 
     public boolean isSilverbullSubscriber() {
@@ -160,7 +164,7 @@ public final class CharacterModel extends Model {
             updateCharacterId();
 
             // We need to scan character info and profession info as well.
-            scanCharacterInfo(e.isFirstJoinWorld());
+            scanCharacterInfo(e.isFirstJoinWorld(), QueryPriority.BACKGROUND);
         }
     }
 
@@ -168,7 +172,7 @@ public final class CharacterModel extends Model {
     public void onChatReceived(ChatMessageReceivedEvent e) {
         StyledText message = e.getOriginalStyledText();
 
-        if (message.matches(WYNN_DEATH_MESSAGE)) {
+        if (e.mightMatch(WYNN_DEATH_MESSAGE) && message.matches(WYNN_DEATH_MESSAGE)) {
             lastDeathLocation = Location.containing(lastPositionBeforeTeleport);
             CharacterDeathEvent deathEvent = new CharacterDeathEvent(lastDeathLocation);
             WynntilsMod.postEvent(deathEvent);
@@ -208,9 +212,14 @@ public final class CharacterModel extends Model {
     }
 
     public void scanCharacterInfo(boolean forceParseEverything) {
+        scanCharacterInfo(forceParseEverything, QueryPriority.USER);
+    }
+
+    private void scanCharacterInfo(boolean forceParseEverything, QueryPriority priority) {
         WynntilsMod.info("Scheduling character info query");
         QueryBuilder queryBuilder = ScriptedContainerQuery.builder("Character Info Query");
         queryBuilder.onError(msg -> WynntilsMod.warn("Error querying Character Info: " + msg));
+        queryBuilder.priority(priority);
 
         // Open compass/character menu
         queryBuilder.then(QueryStep.useItemInHotbar(InventoryUtils.COMPASS_SLOT_NUM)
@@ -4,8 +4,6 @@
  */
 package com.wynntils.models.gear;
 
-import com.google.gson.Gson;
-import com.google.gson.GsonBuilder;
 import com.google.gson.JsonDeserializationContext;
 import com.google.gson.JsonElement;
 import com.google.gson.JsonObject;
@@ -25,10 +23,13 @@ import com.wynntils.models.stats.type.FixedStats;
 import com.wynntils.models.stats.type.StatPossibleValues;
 import com.wynntils.models.stats.type.StatType;
 import com.wynntils.models.wynnitem.AbstractItemInfoDeserializer;
+import com.wynntils.models.wynnitem.ItemDatabaseReader;
 import com.wynntils.utils.JsonUtils;
+import com.wynntils.utils.TaskUtils;
 import com.wynntils.utils.type.Pair;
+import java.io.File;
+import java.io.IOException;
 import java.lang.reflect.Type;
-import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -37,6 +38,8 @@ import java.util.stream.Stream;
 import net.minecraftforge.eventbus.api.SubscribeEvent;
 
 public class GearInfoRegistry {
+    private static final File SNAPSHOT_FILE = Managers.Net.getCacheFile("gear_snapshot.bin");
+
     private List<GearInfo> gearInfoRegistry = List.of();
     private Map<String, GearInfo> gearInfoLookup = Map.of();
     private Map<String, GearInfo> gearInfoLookupApiName = Map.of();
@@ -82,42 +85,67 @@ public class GearInfoRegistry {
     }
 
     private void loadGearRegistry() {
-        Download dl = Managers.Net.download(UrlId.DATA_STATIC_GEAR_ADVANCED);
-        dl.handleJsonObject(json -> {
-            Gson gson = new GsonBuilder()
-                    .registerTypeHierarchyAdapter(GearInfo.class, new GearInfoDeserializer())
-                    .create();
+        Optional<String> md5 = Managers.Url.getUrlInfo(UrlId.DATA_STATIC_GEAR_ADVANCED).md5();
 
-            List<GearInfo> registry = new ArrayList<>();
-
-            for (Map.Entry<String, JsonElement> entry : json.entrySet()) {
-                JsonObject itemObject = entry.getValue().getAsJsonObject();
+        if (md5.isPresent()) {
+            // The snapshot is read from the disk, so do it off the main thread
+            TaskUtils.runAsync(() -> {
+                if (!loadGearSnapshot(md5.get())) {
+                    downloadGearRegistry(md5);
+                }
+            });
+            return;
+        }
 
-                // Inject the name into the object
-                itemObject.addProperty("name", entry.getKey());
+        downloadGearRegistry(md5);
+    }
 
-                // Deserialize the item
-                GearInfo gearInfo = gson.fromJson(itemObject, GearInfo.class);
+    private boolean loadGearSnapshot(String md5) {
+        try {
+            List<GearInfo> registry = GearInfoSnapshot.read(SNAPSHOT_FILE, md5);
+            if (registry == null) return false;
+
+            setRegistry(registry);
+            WynntilsMod.postEventOnMainThread(new NetResultProcessedEvent.ForUrlId(UrlId.DATA_STATIC_GEAR_ADVANCED));
+            return true;
+        } catch (IOException e) {
+            WynntilsMod.warn("Could not read gear snapshot, parsing the gear database instead", e);
+            return false;
+        }
+    }
 
-                // Add the item to the registry
-                registry.add(gearInfo);
+    private void downloadGearRegistry(Optional<String> md5) {
+        Download dl = Managers.Net.download(UrlId.DATA_STATIC_GEAR_ADVANCED);
+        dl.handleReader(reader -> {
+            List<GearInfo> registry = ItemDatabaseReader.readItems(reader, new GearInfoDeserializer());
+            setRegistry(registry);
+
+            // The next launches can read the parsed database directly, as long as it has not changed
+            if (md5.isPresent()) {
+                try {
+                    GearInfoSnapshot.write(SNAPSHOT_FILE, md5.get(), registry);
+                } catch (IOException e) {
+                    WynntilsMod.warn("Could not write gear snapshot", e);
+                }
             }
+        });
+    }
 
-            // Create fast lookup maps
-            Map<String, GearInfo> lookupMap = new HashMap<>();
-            Map<String, GearInfo> altLookupMap = new HashMap<>();
-            for (GearInfo gearInfo : registry) {
-                lookupMap.put(gearInfo.name(), gearInfo);
-                if (gearInfo.metaInfo().apiName().isPresent()) {
-                    altLookupMap.put(gearInfo.metaInfo().apiName().get(), gearInfo);
-                }
+    private void setRegistry(List<GearInfo> registry) {
+        // Create fast lookup maps
+        Map<String, GearInfo> lookupMap = new HashMap<>();
+        Map<String, GearInfo> altLookupMap = new HashMap<>();
+        for (GearInfo gearInfo : registry) {
+            lookupMap.put(gearInfo.name(), gearInfo);
+            if (gearInfo.metaInfo().apiName().isPresent()) {
+                altLookupMap.put(gearInfo.metaInfo().apiName().get(), gearInfo);
             }
+        }
 
-            // Make the result visisble to the world
-            gearInfoRegistry = registry;
-            gearInfoLookup = lookupMap;
-            gearInfoLookupApiName = altLookupMap;
-        });
+        // Make the result visisble to the world
+        gearInfoRegistry = registry;
+        gearInfoLookup = lookupMap;
+        gearInfoLookupApiName = altLookupMap;
     }
 
     private static final class GearInfoDeserializer extends AbstractItemInfoDeserializer<GearInfo> {
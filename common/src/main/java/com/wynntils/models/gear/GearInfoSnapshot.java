@@ -0,0 +1,275 @@
+/*
+ * Copyright © Wynntils 2024.
+ * This file is released under LGPLv3. See LICENSE for full license details.
+ */
+package com.wynntils.models.gear;
+
+import com.mojang.brigadier.exceptions.CommandSyntaxException;
+import com.wynntils.core.WynntilsMod;
+import com.wynntils.core.components.Models;
+import com.wynntils.core.text.StyledText;
+import com.wynntils.models.character.type.ClassType;
+import com.wynntils.models.elements.type.Element;
+import com.wynntils.models.elements.type.Skill;
+import com.wynntils.models.gear.type.GearAttackSpeed;
+import com.wynntils.models.gear.type.GearInfo;
+import com.wynntils.models.gear.type.GearMajorId;
+import com.wynntils.models.gear.type.GearMetaInfo;
+import com.wynntils.models.gear.type.GearRequirements;
+import com.wynntils.models.gear.type.GearRestrictions;
+import com.wynntils.models.gear.type.GearTier;
+import com.wynntils.models.gear.type.GearType;
+import com.wynntils.models.stats.type.DamageType;
+import com.wynntils.models.stats.type.FixedStats;
+import com.wynntils.models.stats.type.StatPossibleValues;
+import com.wynntils.models.stats.type.StatType;
+import com.wynntils.models.wynnitem.type.ItemMaterial;
+import com.wynntils.models.wynnitem.type.ItemObtainInfo;
+import com.wynntils.models.wynnitem.type.ItemObtainType;
+import com.wynntils.utils.type.Pair;
+import com.wynntils.utils.type.RangedValue;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import net.minecraft.nbt.CompoundTag;
+import net.minecraft.nbt.TagParser;
+import net.minecraft.world.item.ItemStack;
+
+/**
+ * A compact binary copy of the parsed gear database, so it does not have to be parsed from JSON on every launch.
+ *
+ * <p>The snapshot is only valid for the exact gear database it was created from, identified by its md5 hash, and
+ * for the mod version that wrote it, as enum ordinals and the parsing logic can change between versions. Set info
+ * is not stored, but looked up again when reading, as the set data is downloaded separately.
+ */
+final class GearInfoSnapshot {
+    private static final int MAGIC = 0x57474952; // "WGIR"
+    private static final int FORMAT_VERSION = 1;
+
+    private GearInfoSnapshot() {}
+
+    /**
+     * @return the gear infos in the snapshot, or null if there is no valid snapshot for the given database hash
+     */
+    static List<GearInfo> read(File file, String md5) throws IOException {
+        if (!file.exists()) return null;
+
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(file)))) {
+            if (in.readInt() != MAGIC || in.readInt() != FORMAT_VERSION) return null;
+            if (!in.readUTF().equals(WynntilsMod.getVersion()) || !in.readUTF().equals(md5)) return null;
+
+            Map<String, StatType> statTypes = new HashMap<>();
+            for (StatType statType : Models.Stat.getAllStatTypes()) {
+                statTypes.put(statType.getKey(), statType);
+            }
+
+            int count = in.readInt();
+            List<GearInfo> gearInfos = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                gearInfos.add(readGearInfo(in, statTypes));
+            }
+            return gearInfos;
+        } catch (CommandSyntaxException | RuntimeException e) {
+            throw new IOException("Corrupt gear snapshot", e);
+        }
+    }
+
+    static void write(File file, String md5, List<GearInfo> gearInfos) throws IOException {
+        // Write to a temporary file first, so a partially written snapshot is never read
+        Path temporaryFile = Files.createTempFile(file.getParentFile().toPath(), file.getName(), ".tmp");
+
+        try (DataOutputStream out =
+                new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temporaryFile)))) {
+            out.writeInt(MAGIC);
+            out.writeInt(FORMAT_VERSION);
+            out.writeUTF(WynntilsMod.getVersion());
+            out.writeUTF(md5);
+
+            out.writeInt(gearInfos.size());
+            for (GearInfo gearInfo : gearInfos) {
+                writeGearInfo(out, gearInfo);
+            }
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(temporaryFile);
+            throw e;
+        }
+
+        Files.move(temporaryFile, file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    private static void writeGearInfo(DataOutputStream out, GearInfo gearInfo) throws IOException {
+        out.writeUTF(gearInfo.name());
+        writeEnum(out, gearInfo.type());
+        writeEnum(out, gearInfo.tier());
+        out.writeInt(gearInfo.powderSlots());
+
+        GearMetaInfo metaInfo = gearInfo.metaInfo();
+        writeEnum(out, metaInfo.restrictions());
+        out.writeUTF(metaInfo.material().itemStack().save(new CompoundTag()).toString());
+        out.writeInt(metaInfo.obtainInfo().size());
+        for (ItemObtainInfo obtainInfo : metaInfo.obtainInfo()) {
+            writeEnum(out, obtainInfo.sourceType());
+            writeOptionalString(out, obtainInfo.name());
+        }
+        writeOptionalString(out, metaInfo.lore().map(StyledText::getString));
+        writeOptionalString(out, metaInfo.apiName());
+        out.writeBoolean(metaInfo.allowCraftsman());
+        out.writeBoolean(metaInfo.preIdentified());
+
+        GearRequirements requirements = gearInfo.requirements();
+        out.writeInt(requirements.level());
+        writeEnum(out, requirements.classType().orElse(null));
+        out.writeInt(requirements.skills().size());
+        for (Pair<Skill, Integer> skill : requirements.skills()) {
+            writeEnum(out, skill.key());
+            out.writeInt(skill.value());
+        }
+        writeOptionalString(out, requirements.quest());
+
+        FixedStats fixedStats = gearInfo.fixedStats();
+        out.writeInt(fixedStats.healthBuff());
+        writeEnum(out, fixedStats.attackSpeed().orElse(null));
+        writeOptionalString(out, fixedStats.majorIds().map(GearMajorId::name));
+        if (fixedStats.majorIds().isPresent()) {
+            out.writeUTF(fixedStats.majorIds().get().lore().getString());
+        }
+        out.writeInt(fixedStats.damages().size());
+        for (Pair<DamageType, RangedValue> damage : fixedStats.damages()) {
+            writeEnum(out, damage.key());
+            writeRange(out, damage.value());
+        }
+        out.writeInt(fixedStats.defences().size());
+        for (Pair<Element, Integer> defence : fixedStats.defences()) {
+            writeEnum(out, defence.key());
+            out.writeInt(defence.value());
+        }
+
+        out.writeInt(gearInfo.variableStats().size());
+        for (Pair<StatType, StatPossibleValues> stat : gearInfo.variableStats()) {
+            StatPossibleValues possibleValues = stat.value();
+            out.writeUTF(stat.key().getKey());
+            writeRange(out, possibleValues.range());
+            out.writeInt(possibleValues.baseValue());
+            out.writeBoolean(possibleValues.isPreIdentified());
+        }
+    }
+
+    private static GearInfo readGearInfo(DataInputStream in, Map<String, StatType> statTypes)
+            throws IOException, CommandSyntaxException {
+        String name = in.readUTF();
+        GearType type = readEnum(in, GearType.values());
+        GearTier tier = readEnum(in, GearTier.values());
+        int powderSlots = in.readInt();
+
+        GearRestrictions restrictions = readEnum(in, GearRestrictions.values());
+        ItemMaterial material = new ItemMaterial(ItemStack.of(TagParser.parseTag(in.readUTF())));
+        int obtainInfoCount = in.readInt();
+        List<ItemObtainInfo> obtainInfo = new ArrayList<>(obtainInfoCount);
+        for (int i = 0; i < obtainInfoCount; i++) {
+            obtainInfo.add(new ItemObtainInfo(readEnum(in, ItemObtainType.values()), readOptionalString(in)));
+        }
+        Optional<StyledText> lore = readOptionalString(in).map(StyledText::fromString);
+        Optional<String> apiName = readOptionalString(in);
+        GearMetaInfo metaInfo = new GearMetaInfo(
+                restrictions,
+                material,
+                List.copyOf(obtainInfo),
+                lore,
+                apiName,
+                in.readBoolean(),
+                in.readBoolean());
+
+        int level = in.readInt();
+        Optional<ClassType> classType = Optional.ofNullable(readEnum(in, ClassType.values()));
+        int skillCount = in.readInt();
+        List<Pair<Skill, Integer>> skills = new ArrayList<>(skillCount);
+        for (int i = 0; i < skillCount; i++) {
+            skills.add(Pair.of(readEnum(in, Skill.values()), in.readInt()));
+        }
+        GearRequirements requirements = new GearRequirements(level, classType, skills, readOptionalString(in));
+
+        int healthBuff = in.readInt();
+        Optional<GearAttackSpeed> attackSpeed = Optional.ofNullable(readEnum(in, GearAttackSpeed.values()));
+        Optional<String> majorIdName = readOptionalString(in);
+        Optional<GearMajorId> majorId = majorIdName.isPresent()
+                ? Optional.of(new GearMajorId(majorIdName.get(), StyledText.fromString(in.readUTF())))
+                : Optional.empty();
+        int damageCount = in.readInt();
+        List<Pair<DamageType, RangedValue>> damages = new ArrayList<>(damageCount);
+        for (int i = 0; i < damageCount; i++) {
+            damages.add(Pair.of(readEnum(in, DamageType.values()), readRange(in)));
+        }
+        int defenceCount = in.readInt();
+        List<Pair<Element, Integer>> defences = new ArrayList<>(defenceCount);
+        for (int i = 0; i < defenceCount; i++) {
+            defences.add(Pair.of(readEnum(in, Element.values()), in.readInt()));
+        }
+        FixedStats fixedStats = new FixedStats(healthBuff, attackSpeed, majorId, damages, defences);
+
+        int statCount = in.readInt();
+        List<Pair<StatType, StatPossibleValues>> variableStats = new ArrayList<>(statCount);
+        for (int i = 0; i < statCount; i++) {
+            String statKey = in.readUTF();
+            StatType statType = statTypes.get(statKey);
+            if (statType == null) {
+                throw new IOException("Unknown stat type " + statKey);
+            }
+
+            StatPossibleValues possibleValues =
+                    new StatPossibleValues(statType, readRange(in), in.readInt(), in.readBoolean());
+            variableStats.add(Pair.of(statType, possibleValues));
+        }
+
+        return new GearInfo(
+                name,
+                type,
+                tier,
+                powderSlots,
+                metaInfo,
+                requirements,
+                fixedStats,
+                variableStats,
+                Optional.ofNullable(Models.Set.getSetInfoForItem(name)));
+    }
+
+    private static void writeEnum(DataOutputStream out, Enum<?> value) throws IOException {
+        out.writeByte(value == null ? -1 : value.ordinal());
+    }
+
+    private static <E extends Enum<E>> E readEnum(DataInputStream in, E[] values) throws IOException {
+        byte ordinal = in.readByte();
+        return ordinal == -1 ? null : values[ordinal];
+    }
+
+    private static void writeOptionalString(DataOutputStream out, Optional<String> value) throws IOException {
+        out.writeBoolean(value.isPresent());
+        if (value.isPresent()) {
+            out.writeUTF(value.get());
+        }
+    }
+
+    private static Optional<String> readOptionalString(DataInputStream in) throws IOException {
+        return in.readBoolean() ? Optional.of(in.readUTF()) : Optional.empty();
+    }
+
+    private static void writeRange(DataOutputStream out, RangedValue range) throws IOException {
+        out.writeInt(range.low());
+        out.writeInt(range.high());
+    }
+
+    private static RangedValue readRange(DataInputStream in) throws IOException {
+        return new RangedValue(in.readInt(), in.readInt());
+    }
+}
@@ -4,8 +4,6 @@
  */
 package com.wynntils.models.ingredients;
 
-import com.google.gson.Gson;
-import com.google.gson.GsonBuilder;
 import com.google.gson.JsonArray;
 import com.google.gson.JsonDeserializationContext;
 import com.google.gson.JsonElement;
@@ -22,6 +20,7 @@ import com.wynntils.models.ingredients.type.IngredientPosition;
 import com.wynntils.models.profession.type.ProfessionType;
 import com.wynntils.models.stats.type.StatType;
 import com.wynntils.models.wynnitem.AbstractItemInfoDeserializer;
+import com.wynntils.models.wynnitem.ItemDatabaseReader;
 import com.wynntils.models.wynnitem.type.ItemMaterial;
 import com.wynntils.utils.JsonUtils;
 import com.wynntils.utils.type.Pair;
@@ -62,27 +61,10 @@ public class IngredientInfoRegistry {
 
         // Download and parse the ingredient DB
         Download dl = Managers.Net.download(UrlId.DATA_STATIC_INGREDIENTS_ADVANCED);
-        dl.handleJsonObject(json -> {
-            Gson gson = new GsonBuilder()
-                    .registerTypeHierarchyAdapter(IngredientInfo.class, new IngredientInfoDeserializer())
-                    .create();
+        dl.handleReader(reader -> {
+            List<IngredientInfo> registry = ItemDatabaseReader.readItems(reader, new IngredientInfoDeserializer());
 
             // Create fast lookup maps
-            List<IngredientInfo> registry = new ArrayList<>();
-
-            for (Map.Entry<String, JsonElement> entry : json.entrySet()) {
-                JsonObject ingredientObject = entry.getValue().getAsJsonObject();
-
-                // Inject the name into the object
-                ingredientObject.addProperty("name", entry.getKey());
-
-                // Deserialize the item
-                IngredientInfo ingredientInfo = gson.fromJson(ingredientObject, IngredientInfo.class);
-
-                // Add the item to the registry
-                registry.add(ingredientInfo);
-            }
-
             Map<String, IngredientInfo> lookupMap = new HashMap<>();
             Map<String, IngredientInfo> altLookupMap = new HashMap<>();
             for (IngredientInfo ingredientInfo : registry) {
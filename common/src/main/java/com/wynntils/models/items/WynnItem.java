@@ -1,5 +1,5 @@
 /*
- * Copyright © Wynntils 2022-2023.
+ * Copyright © Wynntils 2022-2024.
  * This file is released under LGPLv3. See LICENSE for full license details.
  */
 package com.wynntils.models.items;
@@ -7,8 +7,8 @@ package com.wynntils.models.items;
 import com.wynntils.handlers.item.ItemAnnotation;
 import net.minecraft.world.item.ItemStack;
 
-public class WynnItem implements ItemAnnotation {
-    private final WynnItemData data = new WynnItemData();
+public class WynnItem implements ItemAnnotation, Cloneable {
+    private WynnItemData data = new WynnItemData();
 
     public WynnItemData getData() {
         return data;
@@ -19,6 +19,18 @@ public class WynnItem implements ItemAnnotation {
         return "WynnItem{}";
     }
 
+    @Override
+    public WynnItem copy() {
+        try {
+            // The parsed item is immutable, so a shallow copy with its own data is enough
+            WynnItem copy = (WynnItem) clone();
+            copy.data = new WynnItemData();
+            return copy;
+        } catch (CloneNotSupportedException e) {
+            throw new AssertionError(e);
+        }
+    }
+
     @Override
     public void onUpdate(ItemStack itemStack) {
         data.clearAll();
@@ -9,13 +9,12 @@ import com.wynntils.models.items.encoding.data.CustomConsumableTypeData;
 import com.wynntils.models.items.encoding.type.DataTransformer;
 import com.wynntils.models.items.encoding.type.DataTransformerType;
 import com.wynntils.models.items.encoding.type.ItemTransformingVersion;
-import com.wynntils.utils.type.ArrayReader;
+import com.wynntils.utils.type.ByteReader;
 import com.wynntils.utils.type.ErrorOr;
-import com.wynntils.utils.type.UnsignedByte;
 
 public class CustomConsumableTypeDataTransformer extends DataTransformer<CustomConsumableTypeData> {
     @Override
-    protected ErrorOr<UnsignedByte[]> encodeData(ItemTransformingVersion version, CustomConsumableTypeData data) {
+    protected ErrorOr<byte[]> encodeData(ItemTransformingVersion version, CustomConsumableTypeData data) {
         return switch (version) {
             case VERSION_1 -> encodeCustomConsumableTypeData(data);
         };
@@ -23,7 +22,7 @@ public class CustomConsumableTypeDataTransformer extends DataTransformer<CustomC
 
     @Override
     public ErrorOr<CustomConsumableTypeData> decodeData(
-            ItemTransformingVersion version, ArrayReader<UnsignedByte> byteReader) {
+            ItemTransformingVersion version, ByteReader byteReader) {
         return switch (version) {
             case VERSION_1 -> decodeCustomConsumableTypeData(byteReader);
         };
@@ -34,15 +33,14 @@ public class CustomConsumableTypeDataTransformer extends DataTransformer<CustomC
         return DataTransformerType.CUSTOM_CONSUMABLE_TYPE_DATA_TRANSFORMER.getId();
     }
 
-    private ErrorOr<UnsignedByte[]> encodeCustomConsumableTypeData(CustomConsumableTypeData data) {
+    private ErrorOr<byte[]> encodeCustomConsumableTypeData(CustomConsumableTypeData data) {
         // The data is a single byte, containing the id of the type of the item.
-        return ErrorOr.of(
-                new UnsignedByte[] {UnsignedByte.of((byte) data.consumableType().getEncodingId())});
+        return ErrorOr.of(new byte[] {(byte) data.consumableType().getEncodingId()});
     }
 
-    private ErrorOr<CustomConsumableTypeData> decodeCustomConsumableTypeData(ArrayReader<UnsignedByte> byteReader) {
+    private ErrorOr<CustomConsumableTypeData> decodeCustomConsumableTypeData(ByteReader byteReader) {
         // The data is a single byte, containing the id of the type of the item.
-        int typeId = byteReader.read().value();
+        int typeId = byteReader.read();
         ConsumableType type = ConsumableType.fromEncodingId(typeId);
         if (type == null) {
             return ErrorOr.error("Unknown consumable type id: " + typeId);
@@ -12,25 +12,25 @@ import com.wynntils.models.items.encoding.type.DataTransformerType;
 import com.wynntils.models.items.encoding.type.ItemTransformingVersion;
 import com.wynntils.models.stats.type.DamageType;
 import com.wynntils.utils.UnsignedByteUtils;
-import com.wynntils.utils.type.ArrayReader;
+import com.wynntils.utils.type.ByteReader;
+import com.wynntils.utils.type.ByteWriter;
 import com.wynntils.utils.type.ErrorOr;
 import com.wynntils.utils.type.Pair;
 import com.wynntils.utils.type.RangedValue;
-import com.wynntils.utils.type.UnsignedByte;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 
 public class DamageDataTransformer extends DataTransformer<DamageData> {
     @Override
-    protected ErrorOr<UnsignedByte[]> encodeData(ItemTransformingVersion version, DamageData data) {
+    protected ErrorOr<byte[]> encodeData(ItemTransformingVersion version, DamageData data) {
         return switch (version) {
             case VERSION_1 -> encodeDamageData(data);
         };
     }
 
     @Override
-    public ErrorOr<DamageData> decodeData(ItemTransformingVersion version, ArrayReader<UnsignedByte> byteReader) {
+    public ErrorOr<DamageData> decodeData(ItemTransformingVersion version, ByteReader byteReader) {
         return switch (version) {
             case VERSION_1 -> decodeDamageData(byteReader);
         };
@@ -46,18 +46,18 @@ public class DamageDataTransformer extends DataTransformer<DamageData> {
         return !data.damages().isEmpty() || data.attackSpeed().isPresent();
     }
 
-    private ErrorOr<UnsignedByte[]> encodeDamageData(DamageData data) {
-        List<UnsignedByte> bytes = new ArrayList<>();
+    private ErrorOr<byte[]> encodeDamageData(DamageData data) {
+        ByteWriter bytes = new ByteWriter();
 
         if (data.attackSpeed().isEmpty()) {
             return ErrorOr.error("Attack speed is not present, but damage data is present.");
         }
 
         // The first byte is the id of the attack speed of the item.
-        bytes.add(UnsignedByte.of((byte) data.attackSpeed().get().ordinal()));
+        bytes.write((byte) data.attackSpeed().get().ordinal());
 
         // The next byte is the number of attack damages present on the item.
-        bytes.add(UnsignedByte.of((byte) data.damages().size()));
+        bytes.write((byte) data.damages().size());
 
         // An attack damage is encoded the following way:
         for (Pair<DamageType, RangedValue> damage : data.damages()) {
@@ -70,35 +70,35 @@ public class DamageDataTransformer extends DataTransformer<DamageData> {
             } else if (damageType != DamageType.NEUTRAL) {
                 damageTypeId = (byte) damageType.getElement().get().ordinal();
             }
-            bytes.add(UnsignedByte.of(damageTypeId));
+            bytes.write(damageTypeId);
 
             // The next bytes are the minimum damage bytes, which are assembled into an integer.
-            UnsignedByte[] unsignedBytes =
+            byte[] unsignedBytes =
                     UnsignedByteUtils.encodeVariableSizedInteger(damage.b().low());
-            bytes.addAll(List.of(unsignedBytes));
+            bytes.write(unsignedBytes);
 
             // The next bytes are the maximum damage bytes, which are assembled into an integer.
             unsignedBytes =
                     UnsignedByteUtils.encodeVariableSizedInteger(damage.b().high());
-            bytes.addAll(List.of(unsignedBytes));
+            bytes.write(unsignedBytes);
         }
 
-        return ErrorOr.of(bytes.toArray(new UnsignedByte[0]));
+        return ErrorOr.of(bytes.toByteArray());
     }
 
-    private ErrorOr<DamageData> decodeDamageData(ArrayReader<UnsignedByte> byteReader) {
+    private ErrorOr<DamageData> decodeDamageData(ByteReader byteReader) {
         // The first byte is the id of the attack speed of the item.
-        int attackSpeedId = byteReader.read().value();
+        int attackSpeedId = byteReader.read();
         GearAttackSpeed attackSpeed = GearAttackSpeed.values()[attackSpeedId];
 
         // The next byte is the number of attack damages present on the item.
-        int damageCount = byteReader.read().value();
+        int damageCount = byteReader.read();
 
         List<Pair<DamageType, RangedValue>> damages = new ArrayList<>();
 
         for (int i = 0; i < damageCount; i++) {
             // The first byte is the id of the skill (`ETFWAN`, where N represents Neutral).
-            int damageTypeId = byteReader.read().value();
+            int damageTypeId = byteReader.read();
 
             DamageType damageType;
             if (damageTypeId == 5) {
@@ -11,22 +11,22 @@ import com.wynntils.models.items.encoding.type.ItemTransformingVersion;
 import com.wynntils.models.wynnitem.type.ConsumableEffect;
 import com.wynntils.models.wynnitem.type.NamedItemEffect;
 import com.wynntils.utils.UnsignedByteUtils;
-import com.wynntils.utils.type.ArrayReader;
+import com.wynntils.utils.type.ByteReader;
+import com.wynntils.utils.type.ByteWriter;
 import com.wynntils.utils.type.ErrorOr;
-import com.wynntils.utils.type.UnsignedByte;
 import java.util.ArrayList;
 import java.util.List;
 
 public class EffectsDataTransformer extends DataTransformer<EffectsData> {
     @Override
-    protected ErrorOr<UnsignedByte[]> encodeData(ItemTransformingVersion version, EffectsData data) {
+    protected ErrorOr<byte[]> encodeData(ItemTransformingVersion version, EffectsData data) {
         return switch (version) {
             case VERSION_1 -> encodeEffectsData(data);
         };
     }
 
     @Override
-    public ErrorOr<EffectsData> decodeData(ItemTransformingVersion version, ArrayReader<UnsignedByte> byteReader) {
+    public ErrorOr<EffectsData> decodeData(ItemTransformingVersion version, ByteReader byteReader) {
         return switch (version) {
             case VERSION_1 -> decodeEffectsData(byteReader);
         };
@@ -37,34 +37,33 @@ public class EffectsDataTransformer extends DataTransformer<EffectsData> {
         return DataTransformerType.EFFECTS_DATA_TRANSFORMER.getId();
     }
 
-    private ErrorOr<UnsignedByte[]> encodeEffectsData(EffectsData data) {
-        List<UnsignedByte> bytes = new ArrayList<>();
+    private ErrorOr<byte[]> encodeEffectsData(EffectsData data) {
+        ByteWriter bytes = new ByteWriter();
         // The first byte is the number of effects.
-        bytes.add(UnsignedByte.of((byte) data.namedEffects().size()));
+        bytes.write((byte) data.namedEffects().size());
 
         // An effect is encoded the following way:
         for (NamedItemEffect namedEffect : data.namedEffects()) {
             // The first byte is the id of the effect.
-            UnsignedByte id = UnsignedByte.of((byte) namedEffect.type().getId());
-            bytes.add(id);
+            bytes.write((byte) namedEffect.type().getId());
 
             // The next bytes are the effect's value bytes, which are assembled into an integer
-            UnsignedByte[] unsignedBytes = UnsignedByteUtils.encodeVariableSizedInteger(namedEffect.value());
-            bytes.addAll(List.of(unsignedBytes));
+            byte[] unsignedBytes = UnsignedByteUtils.encodeVariableSizedInteger(namedEffect.value());
+            bytes.write(unsignedBytes);
         }
 
-        return ErrorOr.of(bytes.toArray(new UnsignedByte[0]));
+        return ErrorOr.of(bytes.toByteArray());
     }
 
-    private ErrorOr<EffectsData> decodeEffectsData(ArrayReader<UnsignedByte> byteReader) {
+    private ErrorOr<EffectsData> decodeEffectsData(ByteReader byteReader) {
         List<NamedItemEffect> namedEffects = new ArrayList<>();
 
         // The first byte is the number of effects.
-        int numberOfEffects = byteReader.read().value();
+        int numberOfEffects = byteReader.read();
 
         for (int i = 0; i < numberOfEffects; i++) {
             // The first byte is the id of the effect.
-            int effectId = byteReader.read().value();
+            int effectId = byteReader.read();
 
             ConsumableEffect consumableEffect = ConsumableEffect.fromId(effectId);
             if (consumableEffect == null) {
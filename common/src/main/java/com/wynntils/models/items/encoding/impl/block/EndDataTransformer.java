@@ -8,19 +8,18 @@ import com.wynntils.models.items.encoding.data.EndData;
 import com.wynntils.models.items.encoding.type.DataTransformer;
 import com.wynntils.models.items.encoding.type.DataTransformerType;
 import com.wynntils.models.items.encoding.type.ItemTransformingVersion;
-import com.wynntils.utils.type.ArrayReader;
+import com.wynntils.utils.type.ByteReader;
 import com.wynntils.utils.type.ErrorOr;
-import com.wynntils.utils.type.UnsignedByte;
 
 public class EndDataTransformer extends DataTransformer<EndData> {
     @Override
-    public ErrorOr<UnsignedByte[]> encodeData(ItemTransformingVersion version, EndData data) {
+    public ErrorOr<byte[]> encodeData(ItemTransformingVersion version, EndData data) {
         // End data is always empty
-        return ErrorOr.of(new UnsignedByte[0]);
+        return ErrorOr.of(new byte[0]);
     }
 
     @Override
-    public ErrorOr<EndData> decodeData(ItemTransformingVersion version, ArrayReader<UnsignedByte> byteReader) {
+    public ErrorOr<EndData> decodeData(ItemTransformingVersion version, ByteReader byteReader) {
         // End data is always empty
         return ErrorOr.of(new EndData());
     }
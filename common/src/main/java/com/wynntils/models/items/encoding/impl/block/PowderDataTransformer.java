@@ -10,17 +10,16 @@ import com.wynntils.models.items.encoding.type.DataTransformer;
 import com.wynntils.models.items.encoding.type.DataTransformerType;
 import com.wynntils.models.items.encoding.type.ItemTransformingVersion;
 import com.wynntils.utils.UnsignedByteUtils;
-import com.wynntils.utils.type.ArrayReader;
+import com.wynntils.utils.type.ByteReader;
+import com.wynntils.utils.type.ByteWriter;
 import com.wynntils.utils.type.ErrorOr;
 import com.wynntils.utils.type.Pair;
-import com.wynntils.utils.type.UnsignedByte;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.stream.Stream;
 
 public class PowderDataTransformer extends DataTransformer<PowderData> {
     @Override
-    public ErrorOr<UnsignedByte[]> encodeData(ItemTransformingVersion version, PowderData data) {
+    public ErrorOr<byte[]> encodeData(ItemTransformingVersion version, PowderData data) {
         return switch (version) {
             case VERSION_1 -> encodePowderData(data);
         };
@@ -32,7 +31,7 @@ public class PowderDataTransformer extends DataTransformer<PowderData> {
     }
 
     @Override
-    public ErrorOr<PowderData> decodeData(ItemTransformingVersion version, ArrayReader<UnsignedByte> byteReader) {
+    public ErrorOr<PowderData> decodeData(ItemTransformingVersion version, ByteReader byteReader) {
         return switch (version) {
             case VERSION_1 -> decodePowderData(byteReader);
         };
@@ -43,7 +42,7 @@ public class PowderDataTransformer extends DataTransformer<PowderData> {
         return DataTransformerType.POWDER_DATA_TRANSFORMER.getId();
     }
 
-    private ErrorOr<UnsignedByte[]> encodePowderData(PowderData data) {
+    private ErrorOr<byte[]> encodePowderData(PowderData data) {
         // Powders are encoded as bits, a powder needs 5 bits to encode
         // That means the total size is 5 * powderCount,
         // which is padded to the nearest byte
@@ -77,7 +76,7 @@ public class PowderDataTransformer extends DataTransformer<PowderData> {
             powderData[i] = false;
         }
 
-        UnsignedByte[] dataBytes = UnsignedByteUtils.fromBitArray(powderData);
+        byte[] dataBytes = UnsignedByteUtils.fromBitArray(powderData);
         if (data.powders().size() > 255) {
             return ErrorOr.error("Too many powders on item.");
         }
@@ -87,19 +86,19 @@ public class PowderDataTransformer extends DataTransformer<PowderData> {
 
         // The first byte is the powder slots on the item
         // The second byte is the number of powders
-        return ErrorOr.of(Stream.concat(
-                        Stream.of(UnsignedByte.of((byte) data.powderSlots()), UnsignedByte.of((byte)
-                                data.powders().size())),
-                        Stream.of(dataBytes))
-                .toArray(UnsignedByte[]::new));
+        ByteWriter bytes = new ByteWriter(dataBytes.length + 2);
+        bytes.write((byte) data.powderSlots());
+        bytes.write((byte) data.powders().size());
+        bytes.write(dataBytes);
+        return ErrorOr.of(bytes.toByteArray());
     }
 
-    private ErrorOr<PowderData> decodePowderData(ArrayReader<UnsignedByte> byteReader) {
+    private ErrorOr<PowderData> decodePowderData(ByteReader byteReader) {
         // The first byte is the powder slots on the item
-        int powderSlots = byteReader.read().value();
+        int powderSlots = byteReader.read();
 
         // The second byte is the number of powders
-        int powderCount = byteReader.read().value();
+        int powderCount = byteReader.read();
 
         // The powder data is encoded as bits, a powder needs 5 bits to encode
         // That means the total size is 5 * powderCount,
@@ -110,7 +109,7 @@ public class PowderDataTransformer extends DataTransformer<PowderData> {
         int totalBits = (bitsNeeded + 7) / 8 * 8;
 
         // The remaining bytes are the powder data
-        UnsignedByte[] powderData = byteReader.read(totalBits / 8);
+        byte[] powderData = byteReader.read(totalBits / 8);
 
         // Convert the powder data to a bit array
         boolean[] powderBits = UnsignedByteUtils.toBitArray(powderData);
@@ -12,10 +12,10 @@ import com.wynntils.models.items.encoding.type.DataTransformer;
 import com.wynntils.models.items.encoding.type.DataTransformerType;
 import com.wynntils.models.items.encoding.type.ItemTransformingVersion;
 import com.wynntils.utils.UnsignedByteUtils;
-import com.wynntils.utils.type.ArrayReader;
+import com.wynntils.utils.type.ByteReader;
+import com.wynntils.utils.type.ByteWriter;
 import com.wynntils.utils.type.ErrorOr;
 import com.wynntils.utils.type.Pair;
-import com.wynntils.utils.type.UnsignedByte;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
@@ -30,14 +30,14 @@ public class RequirementsDataTransformer extends DataTransformer<RequirementsDat
             Pair.of(ClassType.SHAMAN, 5));
 
     @Override
-    protected ErrorOr<UnsignedByte[]> encodeData(ItemTransformingVersion version, RequirementsData data) {
+    protected ErrorOr<byte[]> encodeData(ItemTransformingVersion version, RequirementsData data) {
         return switch (version) {
             case VERSION_1 -> encodeRequirementsData(data);
         };
     }
 
     @Override
-    public ErrorOr<RequirementsData> decodeData(ItemTransformingVersion version, ArrayReader<UnsignedByte> byteReader) {
+    public ErrorOr<RequirementsData> decodeData(ItemTransformingVersion version, ByteReader byteReader) {
         return switch (version) {
             case VERSION_1 -> decodeRequirementsData(byteReader);
         };
@@ -48,15 +48,15 @@ public class RequirementsDataTransformer extends DataTransformer<RequirementsDat
         return DataTransformerType.REQUIREMENTS_DATA_TRANSFORMER.getId();
     }
 
-    private ErrorOr<UnsignedByte[]> encodeRequirementsData(RequirementsData data) {
-        List<UnsignedByte> bytes = new ArrayList<>();
+    private ErrorOr<byte[]> encodeRequirementsData(RequirementsData data) {
+        ByteWriter bytes = new ByteWriter();
 
         // The first byte is the level requirement.
         int level = data.requirements().level();
         if (level > 255 || level < 0) {
             return ErrorOr.error("Level requirement does not fit in a byte.");
         }
-        bytes.add(UnsignedByte.of((byte) level));
+        bytes.write((byte) level);
 
         // The second byte is the class requirement, represented with an id.
         byte classId = 0;
@@ -68,31 +68,31 @@ public class RequirementsDataTransformer extends DataTransformer<RequirementsDat
                 }
             }
         }
-        bytes.add(UnsignedByte.of(classId));
+        bytes.write(classId);
 
         // The next byte is the number of skill requirements.
-        bytes.add(UnsignedByte.of((byte) data.requirements().skills().size()));
+        bytes.write((byte) data.requirements().skills().size());
 
         for (Pair<Skill, Integer> skillPair : data.requirements().skills()) {
             // A skill requirement encoded as an id byte, representing the skill (`ETFWA` order).
             int id = skillPair.a().getAssociatedElement().ordinal();
-            bytes.add(UnsignedByte.of((byte) id));
+            bytes.write((byte) id);
 
             // The next bytes are the skill requirement bytes, which are assembled into an integer.
             int skillRequirement = skillPair.b();
-            UnsignedByte[] encodedRequirement = UnsignedByteUtils.encodeVariableSizedInteger(skillRequirement);
-            bytes.addAll(List.of(encodedRequirement));
+            byte[] encodedRequirement = UnsignedByteUtils.encodeVariableSizedInteger(skillRequirement);
+            bytes.write(encodedRequirement);
         }
 
-        return ErrorOr.of(bytes.toArray(new UnsignedByte[0]));
+        return ErrorOr.of(bytes.toByteArray());
     }
 
-    private ErrorOr<RequirementsData> decodeRequirementsData(ArrayReader<UnsignedByte> byteReader) {
+    private ErrorOr<RequirementsData> decodeRequirementsData(ByteReader byteReader) {
         // The first byte is the level requirement.
-        int level = byteReader.read().value();
+        int level = byteReader.read();
 
         // The second byte is the class requirement, represented with an id.
-        byte classId = byteReader.read().toByte();
+        byte classId = (byte) byteReader.read();
         ClassType classType = ClassType.NONE;
         for (Pair<ClassType, Integer> pair : CLASS_TYPE_IDS) {
             if (pair.b() == classId) {
@@ -104,13 +104,13 @@ public class RequirementsDataTransformer extends DataTransformer<RequirementsDat
         classType = classType == ClassType.NONE ? null : classType;
 
         // The next byte is the number of skill requirements.
-        int skillCount = byteReader.read().value();
+        int skillCount = byteReader.read();
 
         List<Pair<Skill, Integer>> skills = new ArrayList<>();
 
         for (int i = 0; i < skillCount; i++) {
             // A skill requirement encoded as an id byte, representing the skill (`ETFWA` order).
-            int id = byteReader.read().value();
+            int id = byteReader.read();
             Skill skill = Skill.values()[id];
 
             // The next bytes are the skill requirement bytes, which are assembled into an integer.
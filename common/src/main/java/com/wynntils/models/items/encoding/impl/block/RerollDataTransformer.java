@@ -8,17 +8,14 @@ import com.wynntils.models.items.encoding.data.RerollData;
 import com.wynntils.models.items.encoding.type.DataTransformer;
 import com.wynntils.models.items.encoding.type.DataTransformerType;
 import com.wynntils.models.items.encoding.type.ItemTransformingVersion;
-import com.wynntils.utils.type.ArrayReader;
+import com.wynntils.utils.type.ByteReader;
 import com.wynntils.utils.type.ErrorOr;
-import com.wynntils.utils.type.UnsignedByte;
 
 public class RerollDataTransformer extends DataTransformer<RerollData> {
     @Override
-    public ErrorOr<UnsignedByte[]> encodeData(ItemTransformingVersion version, RerollData data) {
+    public ErrorOr<byte[]> encodeData(ItemTransformingVersion version, RerollData data) {
         return switch (version) {
-            case VERSION_1 -> ErrorOr.of(new UnsignedByte[] {
-                UnsignedByte.of((byte) data.rerolls()),
-            });
+            case VERSION_1 -> ErrorOr.of(new byte[] {(byte) data.rerolls()});
         };
     }
 
@@ -28,9 +25,9 @@ public class RerollDataTransformer extends DataTransformer<RerollData> {
     }
 
     @Override
-    public ErrorOr<RerollData> decodeData(ItemTransformingVersion version, ArrayReader<UnsignedByte> byteReader) {
+    public ErrorOr<RerollData> decodeData(ItemTransformingVersion version, ByteReader byteReader) {
         return switch (version) {
-            case VERSION_1 -> ErrorOr.of(new RerollData(byteReader.read().value()));
+            case VERSION_1 -> ErrorOr.of(new RerollData(byteReader.read()));
         };
     }
 
@@ -8,28 +8,26 @@ import com.wynntils.models.items.encoding.data.TypeData;
 import com.wynntils.models.items.encoding.type.DataTransformer;
 import com.wynntils.models.items.encoding.type.DataTransformerType;
 import com.wynntils.models.items.encoding.type.ItemTransformingVersion;
-import com.wynntils.utils.type.ArrayReader;
+import com.wynntils.utils.type.ByteReader;
 import com.wynntils.utils.type.ErrorOr;
-import com.wynntils.utils.type.UnsignedByte;
 
 public class TypeDataTransformer extends DataTransformer<TypeData> {
     @Override
-    public ErrorOr<UnsignedByte[]> encodeData(ItemTransformingVersion version, TypeData data) {
+    public ErrorOr<byte[]> encodeData(ItemTransformingVersion version, TypeData data) {
         return switch (version) {
-            case VERSION_1 -> ErrorOr.of(
-                    new UnsignedByte[] {UnsignedByte.of(data.itemType().getEncodingId())});
+            case VERSION_1 -> ErrorOr.of(new byte[] {data.itemType().getEncodingId()});
         };
     }
 
     @Override
-    public ErrorOr<TypeData> decodeData(ItemTransformingVersion version, ArrayReader<UnsignedByte> byteReader) {
+    public ErrorOr<TypeData> decodeData(ItemTransformingVersion version, ByteReader byteReader) {
         return switch (version) {
             case VERSION_1 -> decodeType(byteReader);
         };
     }
 
-    private static ErrorOr<TypeData> decodeType(ArrayReader<UnsignedByte> byteReader) {
-        TypeData typeData = TypeData.fromByte(byteReader.read());
+    private static ErrorOr<TypeData> decodeType(ByteReader byteReader) {
+        TypeData typeData = TypeData.fromByte((byte) byteReader.read());
         if (typeData.itemType() == null) {
             return ErrorOr.error("Unknown item type.");
         }
@@ -4,39 +4,40 @@
  */
 package com.wynntils.models.items.encoding.type;
 
-import com.wynntils.utils.type.ArrayReader;
+import com.wynntils.utils.type.ByteReader;
+import com.wynntils.utils.type.ByteWriter;
 import com.wynntils.utils.type.ErrorOr;
-import com.wynntils.utils.type.UnsignedByte;
 
 /**
  * Interface for transforming data into bytes.
  * @param <T> The type of data to transform.
  */
 public abstract class DataTransformer<T extends ItemData> {
-    public final ErrorOr<UnsignedByte[]> encode(ItemTransformingVersion version, T data) {
-        if (!shouldEncodeData(version, data)) return ErrorOr.of(new UnsignedByte[0]);
-
-        ErrorOr<UnsignedByte[]> errorOrData = encodeData(version, data);
+    /**
+     * Encodes the data block, prefixed with its id, into the given writer.
+     * Nothing is written if the data should not be encoded, or if encoding fails.
+     */
+    public final ErrorOr<Void> encode(ItemTransformingVersion version, T data, ByteWriter writer) {
+        if (!shouldEncodeData(version, data)) return ErrorOr.of(null);
+
+        ErrorOr<byte[]> errorOrData = encodeData(version, data);
         if (errorOrData.hasError()) {
-            return errorOrData;
+            return ErrorOr.error(errorOrData.getError());
         }
 
-        UnsignedByte[] dataBytes = errorOrData.getValue();
-
-        UnsignedByte[] bytes = new UnsignedByte[dataBytes.length + 1];
-        bytes[0] = UnsignedByte.of(getId());
-        System.arraycopy(dataBytes, 0, bytes, 1, dataBytes.length);
+        writer.write(getId());
+        writer.write(errorOrData.getValue());
 
-        return ErrorOr.of(bytes);
+        return ErrorOr.of(null);
     }
 
-    protected abstract ErrorOr<UnsignedByte[]> encodeData(ItemTransformingVersion version, T data);
+    protected abstract ErrorOr<byte[]> encodeData(ItemTransformingVersion version, T data);
 
     protected boolean shouldEncodeData(ItemTransformingVersion version, T data) {
         return true;
     }
 
-    public abstract ErrorOr<T> decodeData(ItemTransformingVersion version, ArrayReader<UnsignedByte> byteReader);
+    public abstract ErrorOr<T> decodeData(ItemTransformingVersion version, ByteReader byteReader);
 
     public abstract byte getId();
 }
@@ -1,5 +1,5 @@
 /*
- * Copyright © Wynntils 2023.
+ * Copyright © Wynntils 2023-2024.
  * This file is released under LGPLv3. See LICENSE for full license details.
  */
 package com.wynntils.models.items.items.game;
@@ -30,6 +30,12 @@ public class EmeraldItem extends GameItem implements EmeraldValuedItemProperty {
         return getAmount() * unit.getMultiplier();
     }
 
+    @Override
+    public EmeraldItem copy() {
+        // The amount is read from the annotated item stack
+        return null;
+    }
+
     @Override
     public String toString() {
         return "EmeraldItem{" + "amount=" + getAmount() + ", unit=" + unit + '}';
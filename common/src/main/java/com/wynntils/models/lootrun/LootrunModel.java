@@ -186,6 +186,12 @@ public class LootrunModel extends Model {
         Handlers.Particle.registerParticleVerifier(ParticleType.LOOTRUN_TASK, new LootrunTaskParticleVerifier());
         Models.Marker.registerMarkerProvider(LOOTRUN_BEACON_COMPASS_PROVIDER);
 
+        Handlers.Chat.registerPattern(LOOTRUN_COMPLETED_PATTERN);
+        Handlers.Chat.registerPattern(LOOTRUN_FAILED_PATTERN);
+        Handlers.Chat.registerPattern(MISSION_COMPLETED_PATTERN);
+        Handlers.Chat.registerPattern(ACTIVE_MISSION_PATTERN);
+        Handlers.Chat.registerPattern(CHALLENGE_FAILED_PATTERN);
+
         reloadData();
     }
 
@@ -275,12 +281,12 @@ public class LootrunModel extends Model {
         if (event.getRecipientType() != RecipientType.INFO) return;
         StyledText styledText = event.getOriginalStyledText();
 
-        if (styledText.matches(LOOTRUN_COMPLETED_PATTERN)) {
+        if (event.mightMatch(LOOTRUN_COMPLETED_PATTERN) && styledText.matches(LOOTRUN_COMPLETED_PATTERN)) {
             lootrunCompletedBuilder = new LootrunFinishedEventBuilder.Completed();
             lootrunFailedBuilder = null;
             return;
         }
-        if (styledText.matches(LOOTRUN_FAILED_PATTERN)) {
+        if (event.mightMatch(LOOTRUN_FAILED_PATTERN) && styledText.matches(LOOTRUN_FAILED_PATTERN)) {
             lootrunFailedBuilder = new LootrunFinishedEventBuilder.Failed();
             lootrunCompletedBuilder = null;
             return;
@@ -293,7 +299,7 @@ public class LootrunModel extends Model {
         }
 
         Matcher matcher = MISSION_COMPLETED_PATTERN.matcher(styledText.getString());
-        if (matcher.matches()) {
+        if (event.mightMatch(MISSION_COMPLETED_PATTERN) && matcher.matches()) {
             expectMissionComplete = true;
             return;
         }
@@ -308,14 +314,14 @@ public class LootrunModel extends Model {
         }
 
         matcher = ACTIVE_MISSION_PATTERN.matcher(styledText.getString());
-        if (matcher.find()) {
+        if (event.mightMatch(ACTIVE_MISSION_PATTERN) && matcher.find()) {
             MissionType mission = MissionType.fromName(matcher.group("mission"));
             addMission(mission);
             return;
         }
 
         matcher = CHALLENGE_FAILED_PATTERN.matcher(styledText.getString());
-        if (matcher.matches()) {
+        if (event.mightMatch(CHALLENGE_FAILED_PATTERN) && matcher.matches()) {
             BeaconColor color = getLastTaskBeaconColor();
             if (color == BeaconColor.GRAY) {
                 addMission(MissionType.FAILED);
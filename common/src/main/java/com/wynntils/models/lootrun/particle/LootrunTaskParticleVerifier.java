@@ -1,13 +1,13 @@
 /*
- * Copyright © Wynntils 2023.
+ * Copyright © Wynntils 2023-2024.
  * This file is released under LGPLv3. See LICENSE for full license details.
  */
 package com.wynntils.models.lootrun.particle;
 
 import com.wynntils.handlers.particle.type.Particle;
+import com.wynntils.handlers.particle.type.ParticlePositions;
 import com.wynntils.handlers.particle.type.ParticleType;
 import com.wynntils.handlers.particle.type.ParticleVerifier;
-import java.util.List;
 import net.minecraft.core.Position;
 import net.minecraft.world.phys.Vec3;
 
@@ -17,13 +17,14 @@ public class LootrunTaskParticleVerifier implements ParticleVerifier {
 
     // The particles are not perfectly aligned, so we add a small error margin, 1 block should be enough
     private static final double CIRCLE_RADIUS_WITH_ERROR = RADIUS + 1d;
+    private static final double CIRCLE_RADIUS_WITH_ERROR_SQR = CIRCLE_RADIUS_WITH_ERROR * CIRCLE_RADIUS_WITH_ERROR;
 
     @Override
-    public boolean verifyNewPosition(List<Position> positions, Position addedPosition) {
+    public boolean verifyNewPosition(ParticlePositions positions, double x, double y, double z) {
         // We have no reference point, assume it's valid
         if (positions.isEmpty()) {
             // Left, Top, Right, Bottom particles are always on .5 or .0 on x and z axis
-            return isParticlePrecise(addedPosition);
+            return isParticlePrecise(x, z);
         }
 
         // Lootrun task particles are a circle, we get the packets in this order:
@@ -36,37 +37,33 @@ public class LootrunTaskParticleVerifier implements ParticleVerifier {
         // 7. Bottom particle
         // 8. Bottom to Right particles (4)
 
-        // We verify particles by checking if they are in the radius of the circle
-        Position rightParticle = positions.get(0);
+        // We verify particles by checking if they are in the radius of the circle, the center being
+        // the radius to the left of the right particle
+        double dx = positions.x(0) - RADIUS - x;
+        double dy = positions.y(0) - y;
+        double dz = positions.z(0) - z;
 
-        Vec3 circleCenter = new Vec3(rightParticle.x() - RADIUS, rightParticle.y(), rightParticle.z());
-
-        boolean isPartOfCircle = circleCenter.closerThan(addedPosition, CIRCLE_RADIUS_WITH_ERROR);
+        boolean isPartOfCircle = dx * dx + dy * dy + dz * dz < CIRCLE_RADIUS_WITH_ERROR_SQR;
         if (!isPartOfCircle) return false;
 
         // Left, Top, Right, Bottom particles are always on .5 or .0 on x and z axis
         if (positions.size() % 5 == 0) {
-            return isParticlePrecise(addedPosition);
+            return isParticlePrecise(x, z);
         }
 
         return true;
     }
 
     @Override
-    public VerificationResult verifyCompleteness(List<Position> positions) {
+    public VerificationResult verifyCompleteness(ParticlePositions positions) {
         // We only get two particles if the player trips the particle limit
         if (positions.size() == 2) {
             // The two particles are the right and left particles
-            Position rightParticle = positions.get(0);
-            Position leftParticle = positions.get(1);
-
             // Verify both particles are on .5 on x and z axis
-            if (isParticlePrecise(rightParticle) && isParticlePrecise(leftParticle)) {
+            if (isParticlePrecise(positions.x(0), positions.z(0))
+                    && isParticlePrecise(positions.x(1), positions.z(1))) {
                 // Verify the distance between the two particles is 10 blocks
-                Vec3 rightParticleVec = new Vec3(rightParticle.x(), rightParticle.y(), rightParticle.z());
-                Vec3 leftParticleVec = new Vec3(leftParticle.x(), leftParticle.y(), leftParticle.z());
-
-                return rightParticleVec.distanceToSqr(leftParticleVec) == 100d
+                return positions.distanceToSqr(0, positions.x(1), positions.y(1), positions.z(1)) == 100d
                         ? VerificationResult.VERIFIED
                         : VerificationResult.INVALID;
             }
@@ -86,14 +83,12 @@ public class LootrunTaskParticleVerifier implements ParticleVerifier {
     }
 
     @Override
-    public Particle getParticle(List<Position> positions) {
-        Position rightParticle = positions.get(0);
-
-        Position verifiedParticlePosition = new Vec3(rightParticle.x() - RADIUS, rightParticle.y(), rightParticle.z());
+    public Particle getParticle(ParticlePositions positions) {
+        Position verifiedParticlePosition = new Vec3(positions.x(0) - RADIUS, positions.y(0), positions.z(0));
         return new Particle(verifiedParticlePosition, ParticleType.LOOTRUN_TASK);
     }
 
-    private static boolean isParticlePrecise(Position addedPosition) {
-        return Math.abs(addedPosition.x() % 0.5d) == 0 && Math.abs(addedPosition.z() % 0.5d) == 0;
+    private static boolean isParticlePrecise(double x, double z) {
+        return Math.abs(x % 0.5d) == 0 && Math.abs(z % 0.5d) == 0;
     }
 }
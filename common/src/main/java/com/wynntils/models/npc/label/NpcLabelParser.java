@@ -28,4 +28,9 @@ public class NpcLabelParser implements LabelParser<NpcLabelInfo> {
 
         return null;
     }
+
+    @Override
+    public String getLeadingFormattingCodes() {
+        return "dcf";
+    }
 }
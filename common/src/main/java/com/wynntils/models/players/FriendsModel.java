@@ -73,6 +73,11 @@ public final class FriendsModel extends Model {
     public FriendsModel() {
         super(List.of());
 
+        Handlers.Chat.registerPattern(JOIN_PATTERN);
+        Handlers.Chat.registerPattern(LEAVE_PATTERN);
+        Handlers.Chat.registerPattern(FRIEND_REMOVE_MESSAGE_PATTERN);
+        Handlers.Chat.registerPattern(FRIEND_ADD_MESSAGE_PATTERN);
+
         resetData();
     }
 
@@ -100,7 +105,7 @@ public final class FriendsModel extends Model {
         String unformatted = styledText.getStringWithoutFormatting();
 
         Matcher joinMatcher = styledText.getMatcher(JOIN_PATTERN);
-        if (joinMatcher.matches()) {
+        if (event.mightMatch(JOIN_PATTERN) && joinMatcher.matches()) {
             String username = joinMatcher.group("username");
             int server = Integer.parseInt(joinMatcher.group("server"));
 
@@ -110,7 +115,7 @@ public final class FriendsModel extends Model {
         }
 
         Matcher leaveMatcher = styledText.getMatcher(LEAVE_PATTERN);
-        if (leaveMatcher.matches()) {
+        if (event.mightMatch(LEAVE_PATTERN) && leaveMatcher.matches()) {
             String username = leaveMatcher.group("username");
 
             onlineFriends.remove(username);
@@ -118,7 +123,7 @@ public final class FriendsModel extends Model {
             return;
         }
 
-        if (tryParseFriendMessages(styledText)) return;
+        if (tryParseFriendMessages(event, styledText)) return;
 
         if (friendMessageStatus == ListStatus.EXPECTING) {
             if (tryParseFriendList(unformatted) || tryParseNoFriendList(styledText)) {
@@ -171,9 +176,9 @@ public final class FriendsModel extends Model {
         return false;
     }
 
-    private boolean tryParseFriendMessages(StyledText styledText) {
+    private boolean tryParseFriendMessages(ChatMessageReceivedEvent event, StyledText styledText) {
         Matcher matcher = styledText.getMatcher(FRIEND_REMOVE_MESSAGE_PATTERN);
-        if (matcher.matches()) {
+        if (event.mightMatch(FRIEND_REMOVE_MESSAGE_PATTERN) && matcher.matches()) {
             String player = matcher.group(1);
 
             WynntilsMod.info("Player has removed friend: " + player);
@@ -186,7 +191,7 @@ public final class FriendsModel extends Model {
         }
 
         matcher = styledText.getMatcher(FRIEND_ADD_MESSAGE_PATTERN);
-        if (matcher.matches()) {
+        if (event.mightMatch(FRIEND_ADD_MESSAGE_PATTERN) && matcher.matches()) {
             String player = matcher.group(1);
 
             WynntilsMod.info("Player has added friend: " + player);
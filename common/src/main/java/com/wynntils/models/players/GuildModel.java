@@ -142,6 +142,16 @@ public class GuildModel extends Model {
         Handlers.Label.registerParser(new GuildSeasonLeaderboardHeaderLabelParser());
         Handlers.Label.registerParser(new GuildSeasonLeaderboardLabelParser());
 
+        Handlers.Chat.registerPattern(MSG_LEFT_GUILD);
+        Handlers.Chat.registerPattern(MSG_JOINED_GUILD);
+        Handlers.Chat.registerPattern(MSG_RANK_CHANGED);
+        Handlers.Chat.registerPattern(MSG_OBJECTIVE_COMPLETED);
+        Handlers.Chat.registerPattern(MSG_NEW_OBJECTIVES);
+        Handlers.Chat.registerPattern(MSG_TRIBUTE_SCEDULED);
+        Handlers.Chat.registerPattern(MSG_TRIBUTE_STOPPED);
+        Handlers.Chat.registerPattern(MSG_ALLIANCE_FORMED);
+        Handlers.Chat.registerPattern(MSG_ALLIANCE_REVOKED);
+
         loadGuildList();
     }
 
@@ -151,7 +161,7 @@ public class GuildModel extends Model {
     public void onChatMessage(ChatMessageReceivedEvent e) {
         StyledText message = e.getOriginalStyledText();
 
-        if (message.matches(MSG_LEFT_GUILD)) {
+        if (e.mightMatch(MSG_LEFT_GUILD) && message.matches(MSG_LEFT_GUILD)) {
             guildName = "";
             guildRank = null;
             guildLevel = -1;
@@ -163,7 +173,7 @@ public class GuildModel extends Model {
         }
 
         Matcher joinedGuildMatcher = message.getMatcher(MSG_JOINED_GUILD);
-        if (joinedGuildMatcher.matches()) {
+        if (e.mightMatch(MSG_JOINED_GUILD) && joinedGuildMatcher.matches()) {
             guildName = joinedGuildMatcher.group(1);
             guildRank = GuildRank.RECRUIT;
             WynntilsMod.info("User joined guild " + guildName + " as a " + guildRank);
@@ -171,7 +181,7 @@ public class GuildModel extends Model {
         }
 
         Matcher rankChangedMatcher = message.getMatcher(MSG_RANK_CHANGED);
-        if (rankChangedMatcher.matches()) {
+        if (e.mightMatch(MSG_RANK_CHANGED) && rankChangedMatcher.matches()) {
             if (!rankChangedMatcher.group(1).equals(McUtils.playerName())) return;
             guildRank = GuildRank.valueOf(rankChangedMatcher.group(2).toUpperCase(Locale.ROOT));
             WynntilsMod.info("User's guild rank changed to " + guildRank);
@@ -180,7 +190,7 @@ public class GuildModel extends Model {
 
         // Handle completed objective
         Matcher objectiveCompletedMatcher = message.getMatcher(MSG_OBJECTIVE_COMPLETED);
-        if (objectiveCompletedMatcher.matches()) {
+        if (e.mightMatch(MSG_OBJECTIVE_COMPLETED) && objectiveCompletedMatcher.matches()) {
             int currentGoal = objectivesCompletedProgress.max();
             int completed = objectivesCompletedProgress.current() + 1;
             // Get next goal
@@ -200,13 +210,13 @@ public class GuildModel extends Model {
             return;
         }
 
-        if (message.matches(MSG_NEW_OBJECTIVES)) {
+        if (e.mightMatch(MSG_NEW_OBJECTIVES) && message.matches(MSG_NEW_OBJECTIVES)) {
             objectivesCompletedProgress = new CappedValue(0, OBJECTIVE_GOALS.get(0));
             return;
         }
 
         Matcher tributeScheduledMatcher = message.getMatcher(MSG_TRIBUTE_SCEDULED);
-        if (tributeScheduledMatcher.matches()) {
+        if (e.mightMatch(MSG_TRIBUTE_SCEDULED) && tributeScheduledMatcher.matches()) {
             String recipient = tributeScheduledMatcher.group("recipient");
             GuildResource resource = GuildResource.fromSymbol(tributeScheduledMatcher.group("resource"));
             int amount = Integer.parseInt(tributeScheduledMatcher.group("amount"));
@@ -219,7 +229,7 @@ public class GuildModel extends Model {
         }
 
         Matcher tributeStoppedMatcher = message.getMatcher(MSG_TRIBUTE_STOPPED);
-        if (tributeStoppedMatcher.matches()) {
+        if (e.mightMatch(MSG_TRIBUTE_STOPPED) && tributeStoppedMatcher.matches()) {
             String recipient = tributeStoppedMatcher.group("recipient");
             GuildResource resource = GuildResource.fromName(tributeStoppedMatcher.group("resource"));
             if (recipient.equals(guildName)) {
@@ -231,7 +241,7 @@ public class GuildModel extends Model {
         }
 
         Matcher allienceFormedMatcher = message.getMatcher(MSG_ALLIANCE_FORMED);
-        if (allienceFormedMatcher.matches()) {
+        if (e.mightMatch(MSG_ALLIANCE_FORMED) && allienceFormedMatcher.matches()) {
             String guild = allienceFormedMatcher.group("guild");
             if (guild.equals(guildName)) {
                 guild = allienceFormedMatcher.group("actor");
@@ -241,7 +251,7 @@ public class GuildModel extends Model {
         }
 
         Matcher allianceRevokedMatcher = message.getMatcher(MSG_ALLIANCE_REVOKED);
-        if (allianceRevokedMatcher.matches()) {
+        if (e.mightMatch(MSG_ALLIANCE_REVOKED) && allianceRevokedMatcher.matches()) {
             String guild = allianceRevokedMatcher.group("guild");
             if (guild.equals(guildName)) {
                 guild = allianceRevokedMatcher.group("actor");
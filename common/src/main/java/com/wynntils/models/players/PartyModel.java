@@ -100,6 +100,20 @@ public final class PartyModel extends Model {
 
         resetData();
         Handlers.Scoreboard.addPart(PARTY_SCOREBOARD_PART);
+
+        Handlers.Chat.registerPattern(PARTY_CREATE_SELF);
+        Handlers.Chat.registerPattern(PARTY_DISBAND_ALL);
+        Handlers.Chat.registerPattern(PARTY_LEAVE_SELF_KICK);
+        Handlers.Chat.registerPattern(PARTY_LEAVE_SELF_ALREADYLEFT);
+        Handlers.Chat.registerPattern(PARTY_DISBAND_SELF);
+        Handlers.Chat.registerPattern(PARTY_JOIN_SELF);
+        Handlers.Chat.registerPattern(PARTY_JOIN_OTHER);
+        Handlers.Chat.registerPattern(PARTY_JOIN_OTHER_SWITCH);
+        Handlers.Chat.registerPattern(PARTY_LEAVE_OTHER);
+        Handlers.Chat.registerPattern(PARTY_PROMOTE_OTHER);
+        Handlers.Chat.registerPattern(PARTY_PROMOTE_SELF);
+        Handlers.Chat.registerPattern(PARTY_INVITED);
+        Handlers.Chat.registerPattern(PARTY_KICK_OTHER);
     }
 
     @SubscribeEvent
@@ -124,7 +138,7 @@ public final class PartyModel extends Model {
 
         StyledText chatMessage = event.getOriginalStyledText();
 
-        if (tryParsePartyMessages(chatMessage)) return;
+        if (tryParsePartyMessages(event, chatMessage)) return;
 
         if (expectingPartyMessage) {
             if (tryParseNoPartyMessage(chatMessage) || tryParsePartyList(chatMessage)) {
@@ -135,8 +149,8 @@ public final class PartyModel extends Model {
         }
     }
 
-    private boolean tryParsePartyMessages(StyledText chatMessage) {
-        if (chatMessage.matches(PARTY_CREATE_SELF)) {
+    private boolean tryParsePartyMessages(ChatMessageReceivedEvent event, StyledText chatMessage) {
+        if (event.mightMatch(PARTY_CREATE_SELF) && chatMessage.matches(PARTY_CREATE_SELF)) {
             WynntilsMod.info("Player created a new party.");
 
             inParty = true;
@@ -148,24 +162,25 @@ public final class PartyModel extends Model {
             return true;
         }
 
-        if (chatMessage.matches(PARTY_DISBAND_ALL)
-                || chatMessage.matches(PARTY_LEAVE_SELF_KICK)
-                || chatMessage.matches(PARTY_LEAVE_SELF_ALREADYLEFT)
-                || chatMessage.matches(PARTY_DISBAND_SELF)) {
+        if ((event.mightMatch(PARTY_DISBAND_ALL) && chatMessage.matches(PARTY_DISBAND_ALL))
+                || (event.mightMatch(PARTY_LEAVE_SELF_KICK) && chatMessage.matches(PARTY_LEAVE_SELF_KICK))
+                || (event.mightMatch(PARTY_LEAVE_SELF_ALREADYLEFT)
+                        && chatMessage.matches(PARTY_LEAVE_SELF_ALREADYLEFT))
+                || (event.mightMatch(PARTY_DISBAND_SELF) && chatMessage.matches(PARTY_DISBAND_SELF))) {
             WynntilsMod.info("Player left the party.");
 
             resetData(); // (!) resetData() already posts events for both HadesRelationsUpdateEvent and PartyEvent
             return true;
         }
 
-        if (chatMessage.matches(PARTY_JOIN_SELF)) {
+        if (event.mightMatch(PARTY_JOIN_SELF) && chatMessage.matches(PARTY_JOIN_SELF)) {
             WynntilsMod.info("Player joined a party.");
             requestData();
             return true;
         }
 
         Matcher matcher = chatMessage.getMatcher(PARTY_JOIN_OTHER);
-        if (matcher.matches()) {
+        if (event.mightMatch(PARTY_JOIN_OTHER) && matcher.matches()) {
             String player = matcher.group(1);
 
             WynntilsMod.info("Player's party has a new member: " + player);
@@ -178,7 +193,7 @@ public final class PartyModel extends Model {
         }
 
         matcher = chatMessage.getMatcher(PARTY_JOIN_OTHER_SWITCH);
-        if (matcher.matches()) {
+        if (event.mightMatch(PARTY_JOIN_OTHER_SWITCH) && matcher.matches()) {
             String player = matcher.group(1);
 
             WynntilsMod.info("Player's party has a new member #2: " + player);
@@ -191,7 +206,7 @@ public final class PartyModel extends Model {
         }
 
         matcher = chatMessage.getMatcher(PARTY_LEAVE_OTHER);
-        if (matcher.matches()) {
+        if (event.mightMatch(PARTY_LEAVE_OTHER) && matcher.matches()) {
             String player = matcher.group(1);
 
             WynntilsMod.info("Other player left player's party: " + player);
@@ -204,7 +219,7 @@ public final class PartyModel extends Model {
         }
 
         matcher = chatMessage.getMatcher(PARTY_PROMOTE_OTHER);
-        if (matcher.matches()) {
+        if (event.mightMatch(PARTY_PROMOTE_OTHER) && matcher.matches()) {
             String player = matcher.group(1);
 
             WynntilsMod.info("Player's party has a new leader: " + player);
@@ -214,7 +229,7 @@ public final class PartyModel extends Model {
         }
 
         matcher = chatMessage.getMatcher(PARTY_PROMOTE_SELF);
-        if (matcher.matches()) {
+        if (event.mightMatch(PARTY_PROMOTE_SELF) && matcher.matches()) {
             WynntilsMod.info("Player has been promoted to party leader.");
 
             partyLeader = McUtils.playerName();
@@ -222,7 +237,7 @@ public final class PartyModel extends Model {
         }
 
         matcher = chatMessage.getMatcher(PARTY_INVITED);
-        if (matcher.matches()) {
+        if (event.mightMatch(PARTY_INVITED) && matcher.matches()) {
             String inviter = matcher.group(1);
             WynntilsMod.info("Player has been invited to party by " + inviter);
 
@@ -231,7 +246,7 @@ public final class PartyModel extends Model {
         }
 
         matcher = chatMessage.getMatcher(PARTY_KICK_OTHER);
-        if (matcher.matches()) {
+        if (event.mightMatch(PARTY_KICK_OTHER) && matcher.matches()) {
             WynntilsMod.info("Other player was kicked from player's party");
 
             /*
@@ -5,14 +5,16 @@
 package com.wynntils.models.players;
 
 import com.google.common.reflect.TypeToken;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
-import com.mojang.blaze3d.systems.RenderSystem;
+import com.google.gson.JsonObject;
 import com.wynntils.core.WynntilsMod;
 import com.wynntils.core.components.Managers;
 import com.wynntils.core.components.Model;
 import com.wynntils.core.components.Services;
 import com.wynntils.core.net.ApiResponse;
+import com.wynntils.core.net.RequestCoalescer;
 import com.wynntils.core.net.UrlId;
 import com.wynntils.core.text.StyledText;
 import com.wynntils.mc.event.PlayerJoinedWorldEvent;
@@ -20,15 +22,18 @@ import com.wynntils.mc.event.PlayerTeamEvent;
 import com.wynntils.models.players.type.WynnPlayerInfo;
 import com.wynntils.models.worlds.event.WorldStateEvent;
 import com.wynntils.models.worlds.type.WorldState;
+import com.wynntils.utils.TaskUtils;
 import com.wynntils.utils.mc.McUtils;
 import com.wynntils.utils.type.TimedSet;
 import java.lang.reflect.Type;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
 import java.util.concurrent.TimeUnit;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
@@ -55,6 +60,10 @@ public final class PlayerModel extends Model {
     // before disabling lookups for them
     private static final int MAX_USER_ERRORS = 3;
 
+    // Players joining at the same time are looked up together
+    private static final int USER_LOOKUP_WINDOW_MILLIS = 100;
+    private static final int MAX_USER_LOOKUP_BATCH_SIZE = 8;
+
     private final Map<UUID, WynntilsUser> users = new ConcurrentHashMap<>();
     private final Set<UUID> usersWithoutWynntilsAccount = ConcurrentHashMap.newKeySet();
     private final Set<UUID> fetching = ConcurrentHashMap.newKeySet();
@@ -67,10 +76,22 @@ public final class PlayerModel extends Model {
             new TimedSet<>(ERROR_TIMEOUT_MINUTE, TimeUnit.MINUTES, true, ConcurrentHashMap::newKeySet);
     private final Map<UUID, Integer> userFailures = new ConcurrentHashMap<>();
 
+    private final WynntilsUserCache userCache = new WynntilsUserCache(Managers.Net.getCacheFile("athena_users.json"));
+    private final RequestCoalescer<UUID, UserLookup> userLookups = new RequestCoalescer<>(
+            USER_LOOKUP_WINDOW_MILLIS,
+            MAX_USER_LOOKUP_BATCH_SIZE,
+            this::fetchUsers,
+            Executors.newSingleThreadScheduledExecutor(new ThreadFactoryBuilder()
+                    .setNameFormat("wynntils-user-lookup-%d")
+                    .setDaemon(true)
+                    .build()));
+
     public PlayerModel() {
         super(List.of());
         errors.clear();
         userFailures.clear();
+
+        TaskUtils.runAsync(userCache::load);
     }
 
     // Returns true if the player is on the same server and is not a npc
@@ -154,6 +175,19 @@ public final class PlayerModel extends Model {
         if (fetching.contains(uuid)) return;
         if (users.containsKey(uuid) || usersWithoutWynntilsAccount.contains(uuid)) return;
 
+        // Players seen in a previous session do not have to be looked up again
+        WynntilsUserCache.CachedUser cachedUser = userCache.get(uuid);
+        if (cachedUser != null) {
+            nameMap.put(uuid, userName);
+
+            if (cachedUser.user() == null) {
+                usersWithoutWynntilsAccount.add(uuid);
+            } else {
+                addUser(uuid, cachedUser.user());
+            }
+            return;
+        }
+
         // Call getEntries to clear old entries
         if (errors.getEntries().size() >= MAX_ERRORS) {
             // Athena is having problems, skip this
@@ -168,36 +202,72 @@ public final class PlayerModel extends Model {
         fetching.add(uuid); // temporary, avoid extra loads
         nameMap.put(uuid, userName);
 
-        ApiResponse apiResponse =
-                Services.WynntilsAccount.callApi(UrlId.API_ATHENA_USER_INFO, Map.of("uuid", uuid.toString()));
-        apiResponse.handleJsonObject(
-                json -> {
-                    if (json.has("message") && json.get("message").getAsString().equals(ATHENA_USER_NOT_FOUND)) {
-                        // This user does not exist in our database, stop requesting it
-                        usersWithoutWynntilsAccount.add(uuid);
-                        fetching.remove(uuid);
-                        return;
-                    }
-
-                    if (!json.has("user")) {
-                        fetching.remove(uuid);
-                        saveUserFailures(uuid, userName);
-                        return;
-                    }
-
-                    WynntilsUser user = WynntilsMod.GSON.fromJson(json.getAsJsonObject("user"), WynntilsUser.class);
-
-                    users.put(uuid, user);
-                    fetching.remove(uuid);
-
-                    // Schedule cape loading for next render tick
-                    RenderSystem.recordRenderCall(() -> Services.Cosmetics.loadCosmeticTextures(uuid, user));
-                },
-                onError -> {
-                    errors.put(System.currentTimeMillis());
-
+        userLookups.request(uuid).whenComplete((lookup, throwable) -> {
+            if (throwable != null) {
+                errors.put(System.currentTimeMillis());
+
+                saveUserFailures(uuid, userName);
+                return;
+            }
+
+            switch (lookup.outcome()) {
+                case FOUND -> {
+                    addUser(uuid, lookup.user());
+                    userCache.putUser(uuid, lookup.user());
+                }
+                case NOT_FOUND -> {
+                    // This user does not exist in our database, stop requesting it
+                    usersWithoutWynntilsAccount.add(uuid);
+                    userCache.putNonUser(uuid);
+                }
+                case MALFORMED -> {
+                    // Athena answered, but not with a user, so only this user is affected
                     saveUserFailures(uuid, userName);
-                });
+                }
+            }
+
+            fetching.remove(uuid);
+        });
+    }
+
+    private void addUser(UUID uuid, JsonObject userJson) {
+        WynntilsUser user = WynntilsMod.GSON.fromJson(userJson, WynntilsUser.class);
+
+        users.put(uuid, user);
+
+        // Cape textures are decoded in the background, and uploaded on the next render tick
+        Services.Cosmetics.loadCosmeticTextures(uuid, user);
+    }
+
+    private CompletableFuture<Map<UUID, UserLookup>> fetchUsers(Set<UUID> uuids) {
+        // Athena has no bulk lookup, so the users of a batch are looked up in parallel. Only one batch is
+        // looked up at a time, which limits the number of concurrent requests.
+        Map<UUID, UserLookup> results = new ConcurrentHashMap<>();
+        List<CompletableFuture<Void>> lookups = new ArrayList<>();
+
+        for (UUID uuid : uuids) {
+            CompletableFuture<Void> lookup = new CompletableFuture<>();
+            lookups.add(lookup);
+
+            ApiResponse apiResponse =
+                    Services.WynntilsAccount.callApi(UrlId.API_ATHENA_USER_INFO, Map.of("uuid", uuid.toString()));
+            apiResponse.handleJsonObject(
+                    json -> {
+                        if (json.has("message") && json.get("message").getAsString().equals(ATHENA_USER_NOT_FOUND)) {
+                            results.put(uuid, new UserLookup(UserLookupOutcome.NOT_FOUND, null));
+                        } else if (json.has("user")) {
+                            results.put(uuid, new UserLookup(UserLookupOutcome.FOUND, json.getAsJsonObject("user")));
+                        } else {
+                            results.put(uuid, new UserLookup(UserLookupOutcome.MALFORMED, null));
+                        }
+
+                        lookup.complete(null);
+                    },
+                    // A failed request leaves the user without a result, which is reported as an error
+                    onError -> lookup.complete(null));
+        }
+
+        return CompletableFuture.allOf(lookups.toArray(CompletableFuture[]::new)).thenApply(v -> results);
     }
 
     public CompletableFuture<WynnPlayerInfo> getPlayer(String username) {
@@ -251,4 +321,12 @@ public final class PlayerModel extends Model {
         // Starting Wynncraft 2.1, all NPCs will have UUID version 2
         return uuid.version() == 2;
     }
+
+    private enum UserLookupOutcome {
+        FOUND,
+        NOT_FOUND,
+        MALFORMED
+    }
+
+    private record UserLookup(UserLookupOutcome outcome, JsonObject user) {}
 }
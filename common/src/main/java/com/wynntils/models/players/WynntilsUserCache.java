@@ -0,0 +1,138 @@
+/*
+ * Copyright © Wynntils 2024.
+ * This file is released under LGPLv3. See LICENSE for full license details.
+ */
+package com.wynntils.models.players;
+
+import com.google.gson.JsonElement;
+import com.google.gson.JsonNull;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import com.wynntils.core.WynntilsMod;
+import com.wynntils.utils.TaskUtils;
+import java.io.File;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * An on-disk cache of Athena user lookups, so players seen in a previous session do not have to be looked up again.
+ *
+ * <p>Both Wynntils users and players known not to have a Wynntils account are cached, each with their own time to
+ * live. The user object is stored as returned by Athena, so it is deserialized the same way as a fresh lookup.
+ */
+final class WynntilsUserCache {
+    // Cosmetics can change, so do not keep users for too long
+    private static final long USER_TTL_MILLIS = TimeUnit.HOURS.toMillis(1);
+    private static final long NON_USER_TTL_MILLIS = TimeUnit.HOURS.toMillis(12);
+
+    private final File file;
+    private final Map<UUID, CachedUser> entries = new ConcurrentHashMap<>();
+    private final AtomicBoolean saveScheduled = new AtomicBoolean();
+
+    WynntilsUserCache(File file) {
+        this.file = file;
+    }
+
+    /**
+     * @return the cached lookup result, or null if the player is not cached
+     */
+    CachedUser get(UUID uuid) {
+        CachedUser cachedUser = entries.get(uuid);
+        if (cachedUser == null) return null;
+
+        if (cachedUser.isExpired(System.currentTimeMillis())) {
+            entries.remove(uuid, cachedUser);
+            return null;
+        }
+
+        return cachedUser;
+    }
+
+    void putUser(UUID uuid, JsonObject user) {
+        entries.put(uuid, new CachedUser(user, System.currentTimeMillis()));
+        scheduleSave();
+    }
+
+    void putNonUser(UUID uuid) {
+        entries.put(uuid, new CachedUser(null, System.currentTimeMillis()));
+        scheduleSave();
+    }
+
+    void load() {
+        if (!file.exists()) return;
+
+        long now = System.currentTimeMillis();
+        try (Reader reader = Files.newBufferedReader(file.toPath(), StandardCharsets.UTF_8)) {
+            JsonObject json = JsonParser.parseReader(reader).getAsJsonObject();
+
+            for (Map.Entry<String, JsonElement> entry : json.entrySet()) {
+                JsonObject cachedJson = entry.getValue().getAsJsonObject();
+                JsonElement userJson = cachedJson.get("user");
+                CachedUser cachedUser = new CachedUser(
+                        userJson.isJsonObject() ? userJson.getAsJsonObject() : null,
+                        cachedJson.get("fetched").getAsLong());
+
+                if (cachedUser.isExpired(now)) continue;
+
+                entries.put(UUID.fromString(entry.getKey()), cachedUser);
+            }
+        } catch (IOException | RuntimeException e) {
+            // It is only a cache, start over
+            WynntilsMod.warn("Failed to read user cache " + file.getPath() + ": " + e.getMessage());
+            entries.clear();
+        }
+    }
+
+    private void scheduleSave() {
+        // A burst of lookups is written at once
+        if (saveScheduled.getAndSet(true)) return;
+
+        TaskUtils.runAsync(() -> {
+            saveScheduled.set(false);
+            save();
+        });
+    }
+
+    private void save() {
+        long now = System.currentTimeMillis();
+        JsonObject json = new JsonObject();
+        entries.forEach((uuid, cachedUser) -> {
+            if (cachedUser.isExpired(now)) return;
+
+            JsonObject cachedJson = new JsonObject();
+            cachedJson.add("user", cachedUser.user() == null ? JsonNull.INSTANCE : cachedUser.user());
+            cachedJson.addProperty("fetched", cachedUser.fetched());
+            json.add(uuid.toString(), cachedJson);
+        });
+
+        try {
+            // Write to a temporary file first, so a partially written cache is never read
+            Path temporaryFile = Files.createTempFile(file.getParentFile().toPath(), file.getName(), ".tmp");
+            try (Writer writer = Files.newBufferedWriter(temporaryFile, StandardCharsets.UTF_8)) {
+                writer.write(json.toString());
+            }
+            Files.move(temporaryFile, file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException e) {
+            WynntilsMod.warn("Failed to write user cache " + file.getPath() + ": " + e.getMessage());
+        }
+    }
+
+    /**
+     * @param user the user object returned by Athena, or null if the player has no Wynntils account
+     */
+    record CachedUser(JsonObject user, long fetched) {
+        private boolean isExpired(long now) {
+            return now - fetched > (user == null ? NON_USER_TTL_MILLIS : USER_TTL_MILLIS);
+        }
+    }
+}
@@ -23,4 +23,9 @@ public class GuildSeasonLeaderboardHeaderLabelParser implements LabelParser<Guil
 
         return new GuildSeasonLeaderboardHeaderLabelInfo(label, location, entity, Integer.parseInt(matcher.group(1)));
     }
+
+    @Override
+    public String getLeadingFormattingCodes() {
+        return "d";
+    }
 }
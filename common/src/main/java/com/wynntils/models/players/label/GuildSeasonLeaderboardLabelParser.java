@@ -19,7 +19,11 @@ public class GuildSeasonLeaderboardLabelParser implements LabelParser {
 
     @Override
     public LabelInfo getInfo(StyledText label, Location location, Entity entity) {
-        Matcher matcher = label.getMatcher(GUILD_SEASON_LEADERBOARD_LABEL);
+        String labelString = label.getString();
+        // The place is colored differently for every place, so check the end of the label before matching
+        if (!labelString.endsWith(" SR)")) return null;
+
+        Matcher matcher = GUILD_SEASON_LEADERBOARD_LABEL.matcher(labelString);
         if (matcher.matches()) {
             int place = Integer.parseInt(matcher.group("place"));
             String guild = matcher.group("guild");
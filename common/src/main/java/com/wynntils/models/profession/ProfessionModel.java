@@ -86,6 +86,9 @@ public class ProfessionModel extends Model {
         Handlers.Label.registerParser(new GatheringNodeLabelParser());
         Handlers.Label.registerParser(new GatheringStationLabelParser());
 
+        Handlers.Chat.registerPattern(PROFESSION_CRAFT_PATTERN);
+        Handlers.Chat.registerPattern(PROFESSION_LEVELUP_PATTERN);
+
         for (ProfessionType pt : ProfessionType.values()) {
             rawXpGainInLastMinute.put(pt, new TimedSet<>(1, TimeUnit.MINUTES, true));
         }
@@ -158,7 +161,7 @@ public class ProfessionModel extends Model {
         StyledText message = event.getOriginalStyledText();
 
         Matcher craftMatcher = message.getMatcher(PROFESSION_CRAFT_PATTERN);
-        if (craftMatcher.matches()) {
+        if (event.mightMatch(PROFESSION_CRAFT_PATTERN) && craftMatcher.matches()) {
             Event xpGainEvent = new ProfessionXpGainEvent(
                     ProfessionType.fromString(craftMatcher.group("name")),
                     Float.parseFloat(craftMatcher.group("gain")),
@@ -171,7 +174,7 @@ public class ProfessionModel extends Model {
         }
 
         Matcher levelUpMatcher = message.getMatcher(PROFESSION_LEVELUP_PATTERN);
-        if (levelUpMatcher.matches()) {
+        if (event.mightMatch(PROFESSION_LEVELUP_PATTERN) && levelUpMatcher.matches()) {
             updateLevel(
                     ProfessionType.fromString(levelUpMatcher.group("name")),
                     Integer.parseInt(levelUpMatcher.group("level")));
@@ -9,9 +9,11 @@ import com.wynntils.handlers.labels.type.LabelParser;
 import com.wynntils.models.profession.type.MaterialProfile;
 import com.wynntils.utils.mc.type.Location;
 import com.wynntils.utils.type.Pair;
+import java.util.Arrays;
 import java.util.Optional;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
+import java.util.stream.Collectors;
 import net.minecraft.ChatFormatting;
 import net.minecraft.world.entity.Entity;
 
@@ -19,6 +21,11 @@ public class GatheringNodeLabelParser implements LabelParser<ProfessionGathering
     // Note: At the moment, only Dernic appends to the end of the label, but not consistently..
     private static final Pattern GATHERING_NODE_LABEL = Pattern.compile("^§(.)(.+?)(:?\\s(Fish|Seed|Ore|Wood))?$");
 
+    // Nodes are only labelled in the colors of the material types
+    private static final String LABEL_COLOR_CODES = Arrays.stream(MaterialProfile.MaterialType.values())
+            .map(materialType -> String.valueOf(materialType.getLabelColor().getChar()))
+            .collect(Collectors.joining());
+
     @Override
     public ProfessionGatheringNodeLabelInfo getInfo(StyledText label, Location location, Entity entity) {
         Matcher matcher = label.getMatcher(GATHERING_NODE_LABEL);
@@ -41,4 +48,9 @@ public class GatheringNodeLabelParser implements LabelParser<ProfessionGathering
 
         return null;
     }
+
+    @Override
+    public String getLeadingFormattingCodes() {
+        return LABEL_COLOR_CODES;
+    }
 }
@@ -29,4 +29,9 @@ public class GatheringStationLabelParser implements LabelParser<ProfessionCrafti
 
         return null;
     }
+
+    @Override
+    public String getLeadingFormattingCodes() {
+        return "f";
+    }
 }
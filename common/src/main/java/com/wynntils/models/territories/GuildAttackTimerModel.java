@@ -68,6 +68,10 @@ public final class GuildAttackTimerModel extends Model {
 
         Handlers.Scoreboard.addPart(GUILD_ATTACK_SCOREBOARD_PART);
         Models.Marker.registerMarkerProvider(GUILD_ATTACK_MARKER_PROVIDER);
+
+        Handlers.Chat.registerPattern(WAR_MESSAGE_PATTERN);
+        Handlers.Chat.registerPattern(CAPTURED_PATTERN);
+        Handlers.Chat.registerPattern(GUILD_DEFENSE_CHAT_PATTERN);
     }
 
     @SubscribeEvent
@@ -75,7 +79,7 @@ public final class GuildAttackTimerModel extends Model {
         if (event.getRecipientType() != RecipientType.GUILD) return;
 
         Matcher matcher = event.getOriginalStyledText().getMatcher(WAR_MESSAGE_PATTERN);
-        if (matcher.matches()) {
+        if (event.mightMatch(WAR_MESSAGE_PATTERN) && matcher.matches()) {
             long remaining = Long.parseLong(matcher.group("remaining"));
             long timerEnd = (matcher.group("type").equals("minutes") ? remaining * 60 : remaining) * 1000
                     + System.currentTimeMillis();
@@ -94,7 +98,7 @@ public final class GuildAttackTimerModel extends Model {
         }
 
         matcher = event.getOriginalStyledText().getMatcher(CAPTURED_PATTERN);
-        if (matcher.matches()) {
+        if (event.mightMatch(CAPTURED_PATTERN) && matcher.matches()) {
             // Remove the attack timer for the territory, if it exists
             // (the captured message appears for both owned and attacked territories)
             String territory = matcher.group("territory");
@@ -106,7 +110,7 @@ public final class GuildAttackTimerModel extends Model {
         }
 
         matcher = event.getOriginalStyledText().getMatcher(GUILD_DEFENSE_CHAT_PATTERN);
-        if (matcher.matches()) {
+        if (event.mightMatch(GUILD_DEFENSE_CHAT_PATTERN) && matcher.matches()) {
             String territory = matcher.group(1);
             territoryDefenses.put(territory, GuildResourceValues.fromString(matcher.group(2)));
             return;
@@ -22,6 +22,7 @@ import com.wynntils.models.territories.type.TerritoryConnectionType;
 import com.wynntils.screens.territorymanagement.TerritoryManagementHolder;
 import com.wynntils.services.map.pois.TerritoryPoi;
 import com.wynntils.services.map.type.TerritoryDefenseFilterType;
+import com.wynntils.utils.type.SpatialIndex;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Comparator;
@@ -47,6 +48,7 @@ import net.minecraftforge.eventbus.api.SubscribeEvent;
 
 public final class TerritoryModel extends Model {
     private static final int TERRITORY_UPDATE_MS = 15000;
+    private static final float TERRITORY_INDEX_CELL_SIZE = 256f;
     private static final Gson TERRITORY_PROFILE_GSON = new GsonBuilder()
             .registerTypeHierarchyAdapter(TerritoryProfile.class, new TerritoryProfile.TerritoryDeserializer())
             .create();
@@ -57,6 +59,9 @@ public final class TerritoryModel extends Model {
     // This is the profiles as downloaded from Athena
     private Map<String, TerritoryProfile> territoryProfileMap = new HashMap<>();
 
+    // Index of the areas of all territoryProfileMap values, for position lookups
+    private SpatialIndex<TerritoryProfile> territoryProfileIndex = new SpatialIndex<>(TERRITORY_INDEX_CELL_SIZE);
+
     // This is just a cache of TerritoryPois created for all territoryProfileMap values
     private Set<TerritoryPoi> allTerritoryPois = new HashSet<>();
 
@@ -122,7 +127,7 @@ public final class TerritoryModel extends Model {
     }
 
     public TerritoryProfile getTerritoryProfileForPosition(Position position) {
-        return territoryProfileMap.values().stream()
+        return territoryProfileIndex.queryPoint((float) position.x(), (float) position.z()).stream()
                 .filter(profile -> profile.insideArea(position))
                 .findFirst()
                 .orElse(null);
@@ -245,7 +250,19 @@ public final class TerritoryModel extends Model {
                         tempMap.put(entry.getKey(), territoryProfile);
                     }
 
+                    SpatialIndex<TerritoryProfile> tempIndex = new SpatialIndex<>(TERRITORY_INDEX_CELL_SIZE);
+                    for (TerritoryProfile profile : tempMap.values()) {
+                        // insideArea is inclusive, so pad the bounds to cover the whole last block
+                        tempIndex.put(
+                                profile,
+                                profile.getStartX(),
+                                profile.getStartZ(),
+                                profile.getEndX() + 1f,
+                                profile.getEndZ() + 1f);
+                    }
+
                     territoryProfileMap = tempMap;
+                    territoryProfileIndex = tempIndex;
                     allTerritoryPois = territoryProfileMap.values().stream()
                             .map(TerritoryPoi::new)
                             .collect(Collectors.toSet());
@@ -49,6 +49,10 @@ public final class BombModel extends Model {
         super(List.of());
 
         Handlers.BossBar.registerBar(InfoBar);
+
+        // The bomb bell pattern is matched without formatting, so it can not be classified
+        Handlers.Chat.registerPattern(BOMB_THROWN_PATTERN);
+        Handlers.Chat.registerPattern(BOMB_EXPIRED_PATTERN);
     }
 
     @SubscribeEvent(priority = EventPriority.HIGHEST)
@@ -62,14 +66,14 @@ public final class BombModel extends Model {
         }
 
         Matcher localMatcher = message.getMatcher(BOMB_THROWN_PATTERN);
-        if (localMatcher.matches()) {
+        if (event.mightMatch(BOMB_THROWN_PATTERN) && localMatcher.matches()) {
             addBombFromChat(
                     localMatcher.group("user"), localMatcher.group("bomb"), Models.WorldState.getCurrentWorldName());
             return;
         }
 
         Matcher expiredMatcher = message.getMatcher(BOMB_EXPIRED_PATTERN);
-        if (expiredMatcher.matches()) {
+        if (event.mightMatch(BOMB_EXPIRED_PATTERN) && expiredMatcher.matches()) {
             String user = expiredMatcher.group("user");
             String bomb = expiredMatcher.group("bomb");
 
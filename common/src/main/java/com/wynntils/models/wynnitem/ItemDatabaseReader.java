@@ -0,0 +1,57 @@
+/*
+ * Copyright © Wynntils 2024.
+ * This file is released under LGPLv3. See LICENSE for full license details.
+ */
+package com.wynntils.models.wynnitem;
+
+import com.google.gson.JsonDeserializer;
+import com.google.gson.JsonIOException;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import com.google.gson.stream.JsonReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+
+/**
+ * Reads the item databases from the Wynncraft API, which are JSON objects mapping item names to item objects.
+ *
+ * <p>The database is streamed, so only one item object is parsed into a JSON tree at a time, and every item is
+ * deserialized on the common fork/join pool while the next one is read. The deserializer must be thread safe.
+ */
+public final class ItemDatabaseReader {
+    public static <T> List<T> readItems(Reader reader, JsonDeserializer<T> deserializer) {
+        List<ForkJoinTask<T>> tasks = new ArrayList<>();
+
+        try {
+            JsonReader jsonReader = new JsonReader(reader);
+            jsonReader.beginObject();
+            while (jsonReader.hasNext()) {
+                String name = jsonReader.nextName();
+                JsonObject itemObject = JsonParser.parseReader(jsonReader).getAsJsonObject();
+
+                // Inject the name into the object
+                itemObject.addProperty("name", name);
+
+                tasks.add(ForkJoinPool.commonPool().submit(() -> deserializer.deserialize(itemObject, null, null)));
+            }
+            jsonReader.endObject();
+
+            // Keep the order of the database
+            List<T> items = new ArrayList<>(tasks.size());
+            for (ForkJoinTask<T> task : tasks) {
+                items.add(task.join());
+            }
+            return items;
+        } catch (IOException e) {
+            tasks.forEach(task -> task.cancel(false));
+            throw new JsonIOException(e);
+        } catch (RuntimeException e) {
+            tasks.forEach(task -> task.cancel(false));
+            throw e;
+        }
+    }
+}
@@ -111,6 +111,16 @@ public final class WynnItemParser {
 
     public static WynnItemParseResult parseItemStack(
             ItemStack itemStack, Map<StatType, StatPossibleValues> possibleValuesMap) {
+        return parseTooltip(
+                itemStack.getHoverName().getString(), LoreUtils.getTooltipLines(itemStack), possibleValuesMap);
+    }
+
+    /**
+     * Parses the tooltip lines of an item, as returned by {@link LoreUtils#getTooltipLines(ItemStack)}.
+     * The first line is expected to be the item name, and is skipped.
+     */
+    public static WynnItemParseResult parseTooltip(
+            String hoverName, List<Component> tooltipLines, Map<StatType, StatPossibleValues> possibleValuesMap) {
         List<StatActualValue> identifications = new ArrayList<>();
         List<NamedItemEffect> namedEffects = new ArrayList<>();
         List<ItemEffect> effects = new ArrayList<>();
@@ -133,7 +143,7 @@ public final class WynnItemParser {
         Map<StatType, Integer> wynnBonuses = new HashMap<>();
 
         // Parse lore for identifications, powders and rerolls
-        List<Component> lore = ComponentUtils.stripDuplicateBlank(LoreUtils.getTooltipLines(itemStack));
+        List<Component> lore = ComponentUtils.stripDuplicateBlank(tooltipLines);
         lore.remove(0); // remove item name
 
         for (Component loreLine : lore) {
@@ -149,8 +159,7 @@ public final class WynnItemParser {
 
                 Matcher setBonusIdentificationMatcher = normalizedCoded.getMatcher(SET_BONUS_IDENTIFICATION_PATTERN);
                 if (!setBonusIdentificationMatcher.matches()) {
-                    WynntilsMod.warn("Item " + itemStack.getHoverName().getString()
-                            + " has unknown set bonus stat line: " + loreLine);
+                    WynntilsMod.warn("Item " + hoverName + " has unknown set bonus stat line: " + loreLine);
                     continue;
                 }
                 int value = Integer.parseInt(setBonusIdentificationMatcher.group(1));
@@ -159,8 +168,7 @@ public final class WynnItemParser {
 
                 StatType statType = Models.Stat.fromDisplayName(statDisplayName, unit);
                 if (statType == null) {
-                    WynntilsMod.warn("Item " + itemStack.getHoverName().getString()
-                            + " has unknown identified set bonus stat " + statDisplayName);
+                    WynntilsMod.warn("Item " + hoverName + " has unknown identified set bonus stat " + statDisplayName);
                     continue;
                 }
                 wynnBonuses.put(statType, value);
@@ -177,7 +185,7 @@ public final class WynnItemParser {
                 String powderString = POWDER_MARKERS.matcher(codedPowders).replaceAll("");
                 if (powderString.length() != usedSlots) {
                     WynntilsMod.warn("Mismatch between powder slot count " + usedSlots + " and actual powder symbols: "
-                            + codedPowders + " for " + itemStack.getHoverName().getString());
+                            + codedPowders + " for " + hoverName);
                     // Fall through and use codedPowders nevertheless
                 }
 
@@ -319,8 +327,7 @@ public final class WynnItemParser {
 
                 StatType statType = Models.Stat.fromDisplayName(statDisplayName, unit);
                 if (statType == null) {
-                    WynntilsMod.warn(
-                            "Item " + itemStack.getHoverName() + " has unknown identified stat " + statDisplayName);
+                    WynntilsMod.warn("Item " + hoverName + " has unknown identified stat " + statDisplayName);
                     continue;
                 }
                 if (statType.calculateAsInverted()) {
@@ -9,6 +9,7 @@ import com.wynntils.core.components.Models;
 import com.wynntils.core.components.Services;
 import com.wynntils.core.text.StyledText;
 import com.wynntils.screens.guides.WynntilsGuideScreen;
+import com.wynntils.services.itemfilter.type.ItemNameIndex;
 import com.wynntils.services.itemfilter.type.ItemProviderType;
 import com.wynntils.services.itemfilter.type.ItemSearchQuery;
 import com.wynntils.utils.colors.CommonColors;
@@ -28,7 +29,7 @@ public final class WynntilsCharmGuideScreen
     private static final int ELEMENTS_COLUMNS = 7;
     private static final int ELEMENT_ROWS = 7;
 
-    private List<GuideCharmItemStack> allCharmItems = List.of();
+    private ItemNameIndex<GuideCharmItemStack> allCharmItems = new ItemNameIndex<>(List.of());
 
     private WynntilsCharmGuideScreen() {
         super(
@@ -113,12 +114,12 @@ public final class WynntilsCharmGuideScreen
         elements.addAll(Services.ItemFilter.filterAndSort(searchQuery, getAllCharmItems()));
     }
 
-    private List<GuideCharmItemStack> getAllCharmItems() {
+    private ItemNameIndex<GuideCharmItemStack> getAllCharmItems() {
         if (allCharmItems.isEmpty()) {
             // Populate list
-            allCharmItems = Models.Rewards.getAllCharmInfos()
+            allCharmItems = new ItemNameIndex<>(Models.Rewards.getAllCharmInfos()
                     .map(GuideCharmItemStack::new)
-                    .toList();
+                    .toList());
         }
 
         return allCharmItems;
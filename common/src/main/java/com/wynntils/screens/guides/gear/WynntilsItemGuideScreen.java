@@ -9,6 +9,7 @@ import com.wynntils.core.components.Models;
 import com.wynntils.core.components.Services;
 import com.wynntils.core.text.StyledText;
 import com.wynntils.screens.guides.WynntilsGuideScreen;
+import com.wynntils.services.itemfilter.type.ItemNameIndex;
 import com.wynntils.services.itemfilter.type.ItemProviderType;
 import com.wynntils.services.itemfilter.type.ItemSearchQuery;
 import com.wynntils.utils.colors.CommonColors;
@@ -27,7 +28,7 @@ public final class WynntilsItemGuideScreen extends WynntilsGuideScreen<GuideGear
     private static final int ELEMENTS_COLUMNS = 7;
     private static final int ELEMENT_ROWS = 7;
 
-    private List<GuideGearItemStack> allGearItems = List.of();
+    private ItemNameIndex<GuideGearItemStack> allGearItems = new ItemNameIndex<>(List.of());
 
     private WynntilsItemGuideScreen() {
         super(
@@ -112,11 +113,11 @@ public final class WynntilsItemGuideScreen extends WynntilsGuideScreen<GuideGear
         elements.addAll(Services.ItemFilter.filterAndSort(searchQuery, getAllGearItems()));
     }
 
-    private List<GuideGearItemStack> getAllGearItems() {
+    private ItemNameIndex<GuideGearItemStack> getAllGearItems() {
         if (allGearItems.isEmpty()) {
             // Populate list
-            allGearItems =
-                    Models.Gear.getAllGearInfos().map(GuideGearItemStack::new).toList();
+            allGearItems = new ItemNameIndex<>(
+                    Models.Gear.getAllGearInfos().map(GuideGearItemStack::new).toList());
         }
 
         return allGearItems;
@@ -9,6 +9,7 @@ import com.wynntils.core.components.Models;
 import com.wynntils.core.components.Services;
 import com.wynntils.core.text.StyledText;
 import com.wynntils.screens.guides.WynntilsGuideScreen;
+import com.wynntils.services.itemfilter.type.ItemNameIndex;
 import com.wynntils.services.itemfilter.type.ItemProviderType;
 import com.wynntils.services.itemfilter.type.ItemSearchQuery;
 import com.wynntils.utils.colors.CommonColors;
@@ -29,7 +30,7 @@ public final class WynntilsIngredientGuideScreen
     private static final int ELEMENTS_COLUMNS = 7;
     private static final int ELEMENT_ROWS = 7;
 
-    private List<GuideIngredientItemStack> allIngredientItems = List.of();
+    private ItemNameIndex<GuideIngredientItemStack> allIngredientItems = new ItemNameIndex<>(List.of());
 
     private WynntilsIngredientGuideScreen() {
         super(
@@ -137,11 +138,11 @@ public final class WynntilsIngredientGuideScreen
         elements.addAll(Services.ItemFilter.filterAndSort(searchQuery, getAllIngredientItems()));
     }
 
-    private List<GuideIngredientItemStack> getAllIngredientItems() {
+    private ItemNameIndex<GuideIngredientItemStack> getAllIngredientItems() {
         if (allIngredientItems.isEmpty()) {
-            allIngredientItems = Models.Ingredient.getAllIngredientInfos()
+            allIngredientItems = new ItemNameIndex<>(Models.Ingredient.getAllIngredientInfos()
                     .map(GuideIngredientItemStack::new)
-                    .toList();
+                    .toList());
         }
 
         return allIngredientItems;
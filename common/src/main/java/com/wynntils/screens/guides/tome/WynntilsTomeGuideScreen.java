@@ -9,6 +9,7 @@ import com.wynntils.core.components.Models;
 import com.wynntils.core.components.Services;
 import com.wynntils.core.text.StyledText;
 import com.wynntils.screens.guides.WynntilsGuideScreen;
+import com.wynntils.services.itemfilter.type.ItemNameIndex;
 import com.wynntils.services.itemfilter.type.ItemProviderType;
 import com.wynntils.services.itemfilter.type.ItemSearchQuery;
 import com.wynntils.utils.colors.CommonColors;
@@ -27,7 +28,7 @@ public final class WynntilsTomeGuideScreen extends WynntilsGuideScreen<GuideTome
     private static final int ELEMENTS_COLUMNS = 7;
     private static final int ELEMENT_ROWS = 7;
 
-    private List<GuideTomeItemStack> allTomeItems = List.of();
+    private ItemNameIndex<GuideTomeItemStack> allTomeItems = new ItemNameIndex<>(List.of());
 
     private WynntilsTomeGuideScreen() {
         super(
@@ -112,12 +113,12 @@ public final class WynntilsTomeGuideScreen extends WynntilsGuideScreen<GuideTome
         elements.addAll(Services.ItemFilter.filterAndSort(searchQuery, getAllTomeItems()));
     }
 
-    private List<GuideTomeItemStack> getAllTomeItems() {
+    private ItemNameIndex<GuideTomeItemStack> getAllTomeItems() {
         if (allTomeItems.isEmpty()) {
             // Populate list
-            allTomeItems = Models.Rewards.getAllTomeInfos()
+            allTomeItems = new ItemNameIndex<>(Models.Rewards.getAllTomeInfos()
                     .map(GuideTomeItemStack::new)
-                    .toList();
+                    .toList());
         }
 
         return allTomeItems;
@@ -8,7 +8,6 @@ import com.mojang.blaze3d.vertex.PoseStack;
 import com.wynntils.core.components.Models;
 import com.wynntils.core.components.Services;
 import com.wynntils.core.text.StyledText;
-import com.wynntils.models.items.FakeItemStack;
 import com.wynntils.models.items.WynnItem;
 import com.wynntils.screens.base.TextboxScreen;
 import com.wynntils.screens.base.WynntilsContainerScreen;
@@ -475,9 +474,7 @@ public final class SavedItemsScreen extends WynntilsContainerScreen<SavedItemsMe
         // Clear current items
         this.menu.clear();
 
-        List<SavedItem> savedItems = Services.ItemRecord.savedItems.get().stream()
-                .filter(savedItem -> savedItem.categories().contains(currentCategory))
-                .toList();
+        List<SavedItem> savedItems = Services.ItemRecord.getItemsInCategory(currentCategory);
 
         // No items in current category
         if (savedItems.isEmpty()) return;
@@ -493,10 +490,7 @@ public final class SavedItemsScreen extends WynntilsContainerScreen<SavedItemsMe
 
             SavedItem savedItem = savedItems.get(i);
 
-            ItemStack itemStack = savedItem.itemStack();
-
-            itemStack = new FakeItemStack(
-                    savedItem.wynnItem(), itemStack, "From " + McUtils.playerName() + "'s Item Record");
+            ItemStack itemStack = Services.ItemRecord.getDisplayItem(savedItem);
 
             for (Pair<String, String> selectedItem : selectedItems) {
                 if (selectedItem.a().equals(currentCategory) && selectedItem.b().equals(savedItem.base64())) {
@@ -529,13 +523,7 @@ public final class SavedItemsScreen extends WynntilsContainerScreen<SavedItemsMe
     }
 
     private int getMaxScrollOffset() {
-        int maxItemOffset = Math.max(
-                0,
-                Services.ItemRecord.savedItems.get().stream()
-                                .filter(savedItem -> savedItem.categories().contains(currentCategory))
-                                .toList()
-                                .size()
-                        - MAX_ITEMS);
+        int maxItemOffset = Math.max(0, Services.ItemRecord.getItemCountInCategory(currentCategory) - MAX_ITEMS);
         return maxItemOffset / ITEMS_PER_ROW + (maxItemOffset % ITEMS_PER_ROW > 0 ? 1 : 0);
     }
 }
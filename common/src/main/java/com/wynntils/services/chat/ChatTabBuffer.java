@@ -0,0 +1,79 @@
+/*
+ * Copyright © Wynntils 2024.
+ * This file is released under LGPLv3. See LICENSE for full license details.
+ */
+package com.wynntils.services.chat;
+
+import com.wynntils.core.text.StyledText;
+
+/**
+ * The messages of a single chat tab, in a fixed size ring buffer. When the buffer is full, the oldest message is
+ * overwritten.
+ *
+ * <p>Only the text and the gui tick the message was added at are kept, so a tab which is not looked at does not
+ * hold on to wrapped lines. A {@link net.minecraft.client.gui.components.ChatComponent} is only built from the
+ * buffer when the tab is focused.
+ */
+public final class ChatTabBuffer {
+    // The number of messages a vanilla ChatComponent keeps
+    public static final int CAPACITY = 100;
+
+    private final StyledText[] messages = new StyledText[CAPACITY];
+    private final int[] addedTimes = new int[CAPACITY];
+
+    // The position of the oldest message
+    private int start = 0;
+    private int size = 0;
+
+    public synchronized void add(StyledText message, int addedTime) {
+        int position = (start + size) % CAPACITY;
+        messages[position] = message;
+        addedTimes[position] = addedTime;
+
+        if (size < CAPACITY) {
+            size++;
+        } else {
+            start = (start + 1) % CAPACITY;
+        }
+    }
+
+    /**
+     * Removes all messages equal to the given one, keeping the order of the rest.
+     */
+    public synchronized void remove(StyledText message) {
+        int kept = 0;
+        for (int i = 0; i < size; i++) {
+            int from = (start + i) % CAPACITY;
+            if (messages[from].equals(message)) continue;
+
+            int to = (start + kept) % CAPACITY;
+            messages[to] = messages[from];
+            addedTimes[to] = addedTimes[from];
+            kept++;
+        }
+
+        for (int i = kept; i < size; i++) {
+            messages[(start + i) % CAPACITY] = null;
+        }
+        size = kept;
+    }
+
+    /**
+     * Passes all messages to the consumer, from the oldest to the newest.
+     */
+    public synchronized void forEach(MessageConsumer consumer) {
+        for (int i = 0; i < size; i++) {
+            int position = (start + i) % CAPACITY;
+            consumer.accept(messages[position], addedTimes[position]);
+        }
+    }
+
+    public synchronized int size() {
+        return size;
+    }
+
+    @FunctionalInterface
+    public interface MessageConsumer {
+        void accept(StyledText message, int addedTime);
+    }
+}
@@ -0,0 +1,114 @@
+/*
+ * Copyright © Wynntils 2024.
+ * This file is released under LGPLv3. See LICENSE for full license details.
+ */
+package com.wynntils.services.chat;
+
+import com.wynntils.core.text.StyledText;
+import com.wynntils.handlers.chat.ChatPatternRegistry;
+import com.wynntils.handlers.chat.type.ChatPatternClassification;
+import com.wynntils.handlers.chat.type.RecipientType;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * Decides which chat tabs a message is sent to, for a fixed list of tabs.
+ *
+ * <p>The filters of all tabs are prepared once, when the router is built. The custom regexes of all tabs are
+ * registered in a {@link ChatPatternRegistry}, so a message is scanned only once to find out which regexes can
+ * possibly match it, and the other regexes are never run.
+ */
+public final class ChatTabRouter {
+    private final List<ChatTab> chatTabs;
+    private final List<Route> consumingRoutes = new ArrayList<>();
+    private final List<Route> otherRoutes = new ArrayList<>();
+    private final ChatPatternRegistry patternRegistry = new ChatPatternRegistry();
+
+    public ChatTabRouter(List<ChatTab> chatTabs) {
+        this.chatTabs = chatTabs;
+
+        for (ChatTab chatTab : chatTabs) {
+            // No filtered types means all types, which is kept as null
+            EnumSet<RecipientType> recipientTypes = null;
+            Set<RecipientType> filteredTypes = chatTab.getFilteredTypes();
+            if (filteredTypes != null && !filteredTypes.isEmpty()) {
+                recipientTypes = EnumSet.noneOf(RecipientType.class);
+                for (RecipientType filteredType : filteredTypes) {
+                    // Types unknown to this version are loaded as null
+                    if (filteredType != null) {
+                        recipientTypes.add(filteredType);
+                    }
+                }
+            }
+            Pattern regex = chatTab.getCustomRegex().orElse(null);
+
+            patternRegistry.register(regex);
+
+            Route route = new Route(chatTab, recipientTypes, regex);
+            if (chatTab.isConsuming()) {
+                consumingRoutes.add(route);
+            } else {
+                otherRoutes.add(route);
+            }
+        }
+    }
+
+    /**
+     * @return true if this router was built from the given list of tabs
+     */
+    boolean isBuiltFrom(List<ChatTab> chatTabs) {
+        return this.chatTabs == chatTabs;
+    }
+
+    /**
+     * Returns the tabs the message should be sent to. This is the first matching consuming tab, if there is one,
+     * otherwise all matching non-consuming tabs.
+     *
+     * @param originalStyledText the message as received, which the custom regexes are matched against
+     */
+    public List<ChatTab> route(RecipientType recipientType, StyledText originalStyledText) {
+        Matcher matcher = new Matcher(recipientType, originalStyledText);
+
+        for (Route route : consumingRoutes) {
+            if (matcher.matches(route)) return List.of(route.chatTab());
+        }
+
+        List<ChatTab> matchingTabs = new ArrayList<>();
+        for (Route route : otherRoutes) {
+            if (matcher.matches(route)) {
+                matchingTabs.add(route.chatTab());
+            }
+        }
+        return matchingTabs;
+    }
+
+    private record Route(ChatTab chatTab, EnumSet<RecipientType> recipientTypes, Pattern regex) {}
+
+    private final class Matcher {
+        private final RecipientType recipientType;
+        private final StyledText styledText;
+
+        // Only classified once a tab with a regex accepts the recipient type
+        private ChatPatternClassification classification = null;
+
+        private Matcher(RecipientType recipientType, StyledText styledText) {
+            this.recipientType = recipientType;
+            this.styledText = styledText;
+        }
+
+        private boolean matches(Route route) {
+            if (route.recipientTypes() != null && !route.recipientTypes().contains(recipientType)) return false;
+            if (route.regex() == null) return true;
+
+            if (classification == null) {
+                classification = patternRegistry.classify(styledText);
+            }
+            if (!classification.mightMatch(route.regex())) return false;
+
+            return styledText.matches(route.regex());
+        }
+    }
+}
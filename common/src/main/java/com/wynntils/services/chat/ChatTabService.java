@@ -12,16 +12,16 @@ import com.wynntils.core.text.StyledText;
 import com.wynntils.features.chat.ChatTabsFeature;
 import com.wynntils.handlers.chat.event.ChatMessageReceivedEvent;
 import com.wynntils.handlers.chat.type.RecipientType;
+import com.wynntils.mc.event.ChatMessageDeletedEvent;
 import com.wynntils.mc.event.ClientsideMessageEvent;
 import com.wynntils.mc.event.TickEvent;
+import com.wynntils.mc.extension.ChatComponentExtension;
 import com.wynntils.models.worlds.event.WorldStateEvent;
 import com.wynntils.models.worlds.type.WorldState;
 import com.wynntils.utils.mc.McUtils;
 import java.util.List;
 import java.util.Map;
-import java.util.Optional;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.regex.Pattern;
 import java.util.stream.Stream;
 import net.minecraft.ChatFormatting;
 import net.minecraft.client.gui.components.ChatComponent;
@@ -33,10 +33,14 @@ public final class ChatTabService extends Service {
     private ChatComponent fallbackChat;
 
     private ChatTab focusedTab = null;
+    // Only the focused tab is materialized into a chat component, all other tabs only have their buffer
+    private ChatComponent focusedChat = null;
 
-    private final Map<ChatTab, ChatComponent> chatTabData = new ConcurrentHashMap<>();
+    private final Map<ChatTab, ChatTabBuffer> chatTabData = new ConcurrentHashMap<>();
     private final Map<ChatTab, Boolean> unreadMessages = new ConcurrentHashMap<>();
 
+    private ChatTabRouter router = null;
+
     public ChatTabService() {
         super(List.of());
     }
@@ -66,11 +70,13 @@ public final class ChatTabService extends Service {
     public void addTab(int insertIndex, ChatTab chatTab) {
         getChatTabs().add(insertIndex, chatTab);
         Managers.Feature.getFeatureInstance(ChatTabsFeature.class).chatTabs.touched();
+        router = null;
     }
 
     public void removeTab(ChatTab chatTab) {
         getChatTabs().remove(chatTab);
         Managers.Feature.getFeatureInstance(ChatTabsFeature.class).chatTabs.touched();
+        router = null;
     }
 
     public int getTabIndex(ChatTab edited) {
@@ -96,12 +102,22 @@ public final class ChatTabService extends Service {
         if (event.getNewState() == WorldState.NOT_CONNECTED) {
             chatTabData.clear();
             unreadMessages.clear();
+            focusedChat = null;
         }
     }
 
     @SubscribeEvent
     public void onTick(TickEvent event) {
-        chatTabData.values().forEach(ChatComponent::tick);
+        if (focusedChat != null) {
+            focusedChat.tick();
+        }
+    }
+
+    @SubscribeEvent
+    public void onChatMessageDeleted(ChatMessageDeletedEvent event) {
+        // Otherwise, the message would come back when its tab is materialized again
+        StyledText message = StyledText.fromComponent(event.getComponent());
+        chatTabData.values().forEach(buffer -> buffer.remove(message));
     }
 
     public void setFocusedTab(int index) {
@@ -109,19 +125,25 @@ public final class ChatTabService extends Service {
     }
 
     public void setFocusedTab(ChatTab focused) {
-        focusedTab = focused;
+        if (focused == null) {
+            focusedTab = null;
+            focusedChat = null;
 
-        if (focusedTab == null) {
             if (fallbackChat == null) {
                 fallbackChat = new ChatComponent(McUtils.mc());
             }
 
             McUtils.mc().gui.chat = fallbackChat;
-        } else {
-            chatTabData.putIfAbsent(focusedTab, new ChatComponent(McUtils.mc()));
-            unreadMessages.put(focusedTab, false);
-            McUtils.mc().gui.chat = chatTabData.get(focusedTab);
+            return;
+        }
+
+        if (focusedChat == null || !focused.equals(focusedTab)) {
+            focusedChat = materialize(focused);
         }
+
+        focusedTab = focused;
+        unreadMessages.put(focusedTab, false);
+        McUtils.mc().gui.chat = focusedChat;
     }
 
     public ChatTab getFocusedTab() {
@@ -133,94 +155,72 @@ public final class ChatTabService extends Service {
     }
 
     public void matchMessage(ClientsideMessageEvent event) {
-        // Firstly, find the FIRST matching tab with high priority
-        for (ChatTab chatTab : getChatTabs()) {
-            if (!chatTab.isConsuming()) continue;
+        for (ChatTab chatTab : getRouter().route(RecipientType.CLIENTSIDE, event.getOriginalStyledText())) {
+            addMessageToTab(chatTab, event.getStyledText());
+        }
+    }
 
-            if (matchMessageFromEvent(chatTab, event)) {
-                addMessageToTab(chatTab, event.getStyledText().getComponent());
-                return;
-            }
+    public void matchMessage(ChatMessageReceivedEvent event) {
+        for (ChatTab chatTab : getRouter().route(event.getRecipientType(), event.getOriginalStyledText())) {
+            addMessageToTab(chatTab, event.getStyledText());
         }
+    }
 
-        // Secondly, match ALL tabs with low priority
-        for (ChatTab chatTab : getChatTabs()) {
-            if (chatTab.isConsuming()) continue;
+    private ChatTabRouter getRouter() {
+        List<ChatTab> chatTabs = getChatTabs();
 
-            if (matchMessageFromEvent(chatTab, event)) {
-                addMessageToTab(chatTab, event.getStyledText().getComponent());
-            }
+        // The tab list is replaced when the config is reloaded
+        ChatTabRouter current = router;
+        if (current == null || !current.isBuiltFrom(chatTabs)) {
+            current = new ChatTabRouter(chatTabs);
+            router = current;
         }
+        return current;
     }
 
-    public void matchMessage(ChatMessageReceivedEvent event) {
-        // Firstly, find the FIRST matching tab with high priority
-        for (ChatTab chatTab : getChatTabs()) {
-            if (!chatTab.isConsuming()) continue;
+    private ChatComponent materialize(ChatTab tab) {
+        ChatComponent chatComponent = new ChatComponent(McUtils.mc());
 
-            if (matchMessageFromEvent(chatTab, event)) {
-                addMessageToTab(chatTab, event.getStyledText().getComponent());
-                return;
-            }
+        ChatTabBuffer buffer = chatTabData.get(tab);
+        if (buffer != null) {
+            buffer.forEach((message, addedTime) -> displayMessage(
+                    chatComponent,
+                    message,
+                    () -> ((ChatComponentExtension) chatComponent).restoreMessage(message.getComponent(), addedTime)));
         }
 
-        // Secondly, match ALL tabs with low priority
-        for (ChatTab chatTab : getChatTabs()) {
-            if (chatTab.isConsuming()) continue;
+        return chatComponent;
+    }
 
-            if (matchMessageFromEvent(chatTab, event)) {
-                addMessageToTab(chatTab, event.getStyledText().getComponent());
-            }
+    private void addMessageToTab(ChatTab tab, StyledText message) {
+        chatTabData
+                .computeIfAbsent(tab, key -> new ChatTabBuffer())
+                .add(message, McUtils.mc().gui.getGuiTicks());
+
+        if (focusedTab != null && focusedTab.equals(tab) && focusedChat != null) {
+            ChatComponent chatComponent = focusedChat;
+            displayMessage(chatComponent, message, () -> chatComponent.addMessage(message.getComponent()));
+        } else {
+            unreadMessages.put(tab, true);
         }
     }
 
-    private void addMessageToTab(ChatTab tab, Component message) {
-        chatTabData.putIfAbsent(tab, new ChatComponent(McUtils.mc()));
-
+    private void displayMessage(ChatComponent chatComponent, StyledText message, Runnable addMessage) {
         try {
-            chatTabData.get(tab).addMessage(message);
+            addMessage.run();
         } catch (Throwable t) {
             MutableComponent warning = Component.literal(
                             "<< WARNING: A chat message was lost due to a crash in a mod other than Wynntils. See log for details. >>")
                     .withStyle(ChatFormatting.RED);
-            chatTabData.get(tab).addMessage(warning);
+            chatComponent.addMessage(warning);
             // We have seen many issues with badly written mods that inject into addMessage, and
             // throws exceptions. Instead of considering it a Wynntils crash, dump it to the log and
             // ignore it. We can't resend the message to the chat, since that could cause an infinite loop,
             // but the log should be fine.
             WynntilsMod.warn("Another mod has caused an exception in ChatComponent.addMessage()");
-            WynntilsMod.warn("The message that could not be displayed is:"
-                    + StyledText.fromComponent(message).getString());
+            WynntilsMod.warn("The message that could not be displayed is:" + message.getString());
             WynntilsMod.warn("This is not a Wynntils bug. Here is the exception that we caught.", t);
         }
-
-        if (focusedTab != tab) {
-            unreadMessages.put(tab, true);
-        }
-    }
-
-    private boolean matchMessageFromEvent(ChatTab chatTab, ChatMessageReceivedEvent event) {
-        if (chatTab.getFilteredTypes() != null
-                && !chatTab.getFilteredTypes().isEmpty()
-                && !chatTab.getFilteredTypes().contains(event.getRecipientType())) {
-            return false;
-        }
-
-        Optional<Pattern> regex = chatTab.getCustomRegex();
-        return regex.isEmpty() || event.getOriginalStyledText().matches(regex.get());
-    }
-
-    private boolean matchMessageFromEvent(ChatTab chatTab, ClientsideMessageEvent event) {
-        if (chatTab.getFilteredTypes() != null
-                && !chatTab.getFilteredTypes().isEmpty()
-                && !chatTab.getFilteredTypes().contains(RecipientType.CLIENTSIDE)) {
-            return false;
-        }
-
-        Optional<Pattern> regex = chatTab.getCustomRegex();
-        if (regex.isEmpty()) return true;
-
-        return event.getOriginalStyledText().matches(regex.get());
     }
 
     /**
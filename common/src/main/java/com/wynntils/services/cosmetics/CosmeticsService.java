@@ -1,26 +1,43 @@
 /*
- * Copyright © Wynntils 2023.
+ * Copyright © Wynntils 2023-2024.
  * This file is released under LGPLv3. See LICENSE for full license details.
  */
 package com.wynntils.services.cosmetics;
 
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import com.mojang.blaze3d.platform.NativeImage;
+import com.mojang.blaze3d.systems.RenderSystem;
+import com.mojang.blaze3d.vertex.VertexConsumer;
 import com.wynntils.core.WynntilsMod;
 import com.wynntils.core.components.Models;
 import com.wynntils.core.components.Service;
+import com.wynntils.mc.event.TickEvent;
 import com.wynntils.models.players.WynntilsUser;
 import com.wynntils.models.players.type.CosmeticInfo;
+import com.wynntils.models.worlds.event.WorldStateEvent;
+import com.wynntils.models.worlds.type.WorldState;
+import com.wynntils.services.cosmetics.type.CapeFrameVertexConsumer;
 import com.wynntils.services.cosmetics.type.WynntilsCapeLayer;
 import com.wynntils.services.cosmetics.type.WynntilsElytraLayer;
 import com.wynntils.services.cosmetics.type.WynntilsLayer;
 import com.wynntils.utils.mc.McUtils;
 import java.io.ByteArrayInputStream;
 import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
 import java.util.Base64;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
 import java.util.function.BiFunction;
 import net.minecraft.client.model.PlayerModel;
 import net.minecraft.client.model.geom.EntityModelSet;
@@ -30,8 +47,27 @@ import net.minecraft.client.renderer.texture.DynamicTexture;
 import net.minecraft.resources.ResourceLocation;
 import net.minecraft.world.entity.player.Player;
 import net.minecraft.world.entity.player.PlayerModelPart;
+import net.minecraftforge.eventbus.api.SubscribeEvent;
 
+/**
+ * Loads and keeps track of the cosmetic textures of Wynntils users.
+ *
+ * <p>Textures are decoded on a worker thread, and only uploaded on the render thread. All frames of an animated cape
+ * are kept in a single texture, see {@link CapeFrameVertexConsumer}. Textures of players that have left the world
+ * are released after a while, and at most {@link #MAX_LOADED_TEXTURES} textures are kept; a released texture is
+ * loaded again when the player is rendered.
+ *
+ * <p>All textures are registered, looked up and released on the render thread.
+ */
 public class CosmeticsService extends Service {
+    private static final int MAX_LOADED_TEXTURES = 64;
+    private static final long UNUSED_TEXTURE_TIMEOUT = TimeUnit.MINUTES.toMillis(1);
+    private static final int TEXTURE_SWEEP_INTERVAL_TICKS = 20 * 30;
+
+    // This makes animated capes cycle through all their frames in 2 seconds,
+    // regardless of how many frames of animation are present. Could be changed to an account setting?
+    private static final int ANIMATION_DURATION_MILLIS = 2000;
+
     private static final BiFunction<
                     RenderLayerParent<AbstractClientPlayer, PlayerModel<AbstractClientPlayer>>,
                     EntityModelSet,
@@ -50,7 +86,18 @@ public class CosmeticsService extends Service {
                             WynntilsLayer>>
             REGISTERED_LAYERS = List.of(CAPE_LAYER, ELYTRA_LAYER);
 
-    private final Map<UUID, ResourceLocation[]> cosmeticTextures = new ConcurrentHashMap<>();
+    private final ExecutorService decodeExecutor = Executors.newSingleThreadExecutor(new ThreadFactoryBuilder()
+            .setNameFormat("wynntils-cosmetics-%d")
+            .setDaemon(true)
+            .build());
+
+    // Access ordered, so the least recently rendered texture is released first
+    private final Map<UUID, CosmeticTexture> cosmeticTextures =
+            Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true));
+    private final Set<UUID> loadingTextures = ConcurrentHashMap.newKeySet();
+    private final Set<UUID> failedTextures = ConcurrentHashMap.newKeySet();
+
+    private int ticksUntilSweep = TEXTURE_SWEEP_INTERVAL_TICKS;
 
     public CosmeticsService() {
         super(List.of());
@@ -70,10 +117,16 @@ public class CosmeticsService extends Service {
     public boolean shouldRenderCape(Player player, boolean elytra) {
         if (player.isInvisible() || !player.isModelPartShown(PlayerModelPart.CAPE)) return false;
 
-        if (Models.Player.getUser(player.getUUID()) == null || getUserCosmeticTexture(player.getUUID()) == null)
+        WynntilsUser user = Models.Player.getUser(player.getUUID());
+        if (user == null) return false;
+
+        if (getUserCosmeticTexture(player.getUUID()) == null) {
+            // The texture might have been released, load it again for the next frame
+            loadCosmeticTextures(player.getUUID(), user);
             return false;
+        }
 
-        CosmeticInfo cosmetics = Models.Player.getUser(player.getUUID()).cosmetics();
+        CosmeticInfo cosmetics = user.cosmetics();
         return (elytra ? cosmetics.hasElytra() : cosmetics.hasCape());
     }
 
@@ -87,54 +140,162 @@ public class CosmeticsService extends Service {
     }
 
     public ResourceLocation getCapeTexture(Player player) {
-        ResourceLocation[] textures = getUserCosmeticTexture(player.getUUID());
-        if (textures == null) return null;
+        CosmeticTexture texture = getUserCosmeticTexture(player.getUUID());
+        if (texture == null) return null;
+
+        return texture.location();
+    }
 
-        int frames = textures.length;
-        if (frames == 1) return textures[0];
+    /**
+     * Returns a vertex consumer rendering the current animation frame of the cape of the player.
+     */
+    public VertexConsumer getCapeVertexConsumer(Player player, VertexConsumer vertexConsumer) {
+        CosmeticTexture texture = getUserCosmeticTexture(player.getUUID());
+        if (texture == null || texture.frames() == 1) return vertexConsumer;
 
-        // This makes animated capes cycle through all their frames in 2 seconds,
-        // regardless of how many frames of animation are present. Could be changed to an account setting?
-        double percentage = ((System.currentTimeMillis() % 2000) / 2000d);
-        int currentFrame = (int) (frames * percentage);
-        return textures[currentFrame];
+        double percentage =
+                ((System.currentTimeMillis() % ANIMATION_DURATION_MILLIS) / (double) ANIMATION_DURATION_MILLIS);
+        int currentFrame = (int) (texture.frames() * percentage);
+        return new CapeFrameVertexConsumer(
+                vertexConsumer, currentFrame * texture.frameScale(), texture.frameScale());
     }
 
     public void loadCosmeticTextures(UUID uuid, WynntilsUser user) {
-        try {
-            if (user.cosmetics().texture() == null || user.cosmetics().texture().isEmpty()) return;
-            if (cosmeticTextures.containsKey(uuid)) return;
+        String encodedTexture = user.cosmetics().texture();
+        if (encodedTexture == null || encodedTexture.isEmpty()) return;
+        if (cosmeticTextures.containsKey(uuid) || failedTextures.contains(uuid)) return;
 
-            byte[] textureBytes = Base64.getDecoder().decode(user.cosmetics().texture());
-            ByteArrayInputStream byteStream = new ByteArrayInputStream(textureBytes);
-            NativeImage image = NativeImage.read(byteStream);
+        // Only decode the texture once, even if it is requested again while decoding
+        if (!loadingTextures.add(uuid)) return;
 
-            int frames = (image.getHeight() * 2) / image.getWidth();
-            int frameHeight = image.getHeight() / frames;
+        CompletableFuture.supplyAsync(() -> decodeTexture(encodedTexture), decodeExecutor)
+                .whenComplete((image, throwable) -> RenderSystem.recordRenderCall(() -> {
+                    loadingTextures.remove(uuid);
+
+                    if (throwable != null) {
+                        failedTextures.add(uuid);
+                        WynntilsMod.warn("Exception occurred while loading cosmetics for user " + uuid, throwable);
+                        return;
+                    }
 
-            ResourceLocation[] locations = new ResourceLocation[frames];
-            String baseLocation = "wynntils:capes/" + uuid.toString().replace("-", "");
+                    registerTexture(uuid, image);
+                }));
+    }
 
-            if (frames == 1) { // not animated
-                locations[0] = new ResourceLocation(baseLocation);
-                McUtils.mc().getTextureManager().register(locations[0], new DynamicTexture(image));
-            } else { // animated
-                for (int i = 0; i < frames; i++) {
-                    NativeImage frame = new NativeImage(frameHeight * 2, frameHeight, false);
-                    image.copyRect(frame, 0, frameHeight * i, 0, 0, frameHeight * 2, frameHeight, false, false);
+    @SubscribeEvent
+    public void onTick(TickEvent event) {
+        if (--ticksUntilSweep > 0) return;
+        ticksUntilSweep = TEXTURE_SWEEP_INTERVAL_TICKS;
 
-                    locations[i] = new ResourceLocation(baseLocation + "/" + i);
-                    McUtils.mc().getTextureManager().register(locations[i], new DynamicTexture(frame));
+        // Release the textures of players that have not been around for a while
+        long now = System.currentTimeMillis();
+        List<UUID> unusedTextures = new ArrayList<>();
+        synchronized (cosmeticTextures) {
+            cosmeticTextures.forEach((uuid, texture) -> {
+                if (now - texture.lastUsed >= UNUSED_TEXTURE_TIMEOUT && !isPlayerInWorld(uuid)) {
+                    unusedTextures.add(uuid);
                 }
+            });
+        }
+
+        unusedTextures.forEach(this::releaseTexture);
+    }
+
+    @SubscribeEvent
+    public void onWorldStateChange(WorldStateEvent event) {
+        if (event.getNewState() != WorldState.NOT_CONNECTED) return;
+
+        RenderSystem.recordRenderCall(() -> {
+            List<UUID> loadedTextures;
+            synchronized (cosmeticTextures) {
+                loadedTextures = new ArrayList<>(cosmeticTextures.keySet());
             }
+            loadedTextures.forEach(this::releaseTexture);
+            failedTextures.clear();
+        });
+    }
+
+    private CosmeticTexture getUserCosmeticTexture(UUID uuid) {
+        CosmeticTexture texture = cosmeticTextures.get(uuid);
+        if (texture == null) return null;
+
+        texture.lastUsed = System.currentTimeMillis();
+        return texture;
+    }
+
+    private DecodedTexture decodeTexture(String encodedTexture) {
+        try {
+            byte[] textureBytes = Base64.getDecoder().decode(encodedTexture);
+            NativeImage image = NativeImage.read(new ByteArrayInputStream(textureBytes));
 
-            cosmeticTextures.put(uuid, locations);
+            // Frames are stacked vertically, and have an aspect ratio of 2:1
+            int frames = Math.max((image.getHeight() * 2) / image.getWidth(), 1);
+            int frameHeight = image.getHeight() / frames;
+
+            return new DecodedTexture(image, frames, (float) frameHeight / image.getHeight());
         } catch (IOException e) {
-            WynntilsMod.warn("IOException occurred while loading cosmetics for user " + uuid, e);
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void registerTexture(UUID uuid, DecodedTexture decodedTexture) {
+        if (cosmeticTextures.containsKey(uuid)) {
+            decodedTexture.image().close();
+            return;
+        }
+
+        ResourceLocation location = new ResourceLocation("wynntils:capes/" + uuid.toString().replace("-", ""));
+        McUtils.mc().getTextureManager().register(location, new DynamicTexture(decodedTexture.image()));
+        cosmeticTextures.put(
+                uuid, new CosmeticTexture(location, decodedTexture.frames(), decodedTexture.frameScale()));
+
+        // Release the least recently rendered textures
+        while (cosmeticTextures.size() > MAX_LOADED_TEXTURES) {
+            UUID leastRecentlyUsed;
+            synchronized (cosmeticTextures) {
+                Iterator<UUID> iterator = cosmeticTextures.keySet().iterator();
+                leastRecentlyUsed = iterator.next();
+            }
+            releaseTexture(leastRecentlyUsed);
         }
     }
 
-    public ResourceLocation[] getUserCosmeticTexture(UUID uuid) {
-        return cosmeticTextures.getOrDefault(uuid, null);
+    private void releaseTexture(UUID uuid) {
+        CosmeticTexture texture = cosmeticTextures.remove(uuid);
+        if (texture == null) return;
+
+        McUtils.mc().getTextureManager().release(texture.location());
+    }
+
+    private boolean isPlayerInWorld(UUID uuid) {
+        return McUtils.mc().level != null && McUtils.mc().level.getPlayerByUUID(uuid) != null;
+    }
+
+    private record DecodedTexture(NativeImage image, int frames, float frameScale) {}
+
+    private static final class CosmeticTexture {
+        private final ResourceLocation location;
+        private final int frames;
+        private final float frameScale;
+
+        private long lastUsed = System.currentTimeMillis();
+
+        private CosmeticTexture(ResourceLocation location, int frames, float frameScale) {
+            this.location = location;
+            this.frames = frames;
+            this.frameScale = frameScale;
+        }
+
+        private ResourceLocation location() {
+            return location;
+        }
+
+        private int frames() {
+            return frames;
+        }
+
+        private float frameScale() {
+            return frameScale;
+        }
     }
 }
@@ -0,0 +1,114 @@
+/*
+ * Copyright © Wynntils 2024.
+ * This file is released under LGPLv3. See LICENSE for full license details.
+ */
+package com.wynntils.services.cosmetics.type;
+
+import com.mojang.blaze3d.vertex.VertexConsumer;
+
+/**
+ * Maps the texture coordinates of a cape model to a single frame of an animated cape texture.
+ *
+ * <p>All frames of an animated cape are kept in a single texture, stacked vertically, so the frame to render is
+ * selected by offsetting the v coordinate, instead of binding a separate texture for every frame.
+ */
+public final class CapeFrameVertexConsumer implements VertexConsumer {
+    private final VertexConsumer delegate;
+    private final float frameOffset;
+    private final float frameScale;
+
+    /**
+     * @param frameOffset the v coordinate of the top of the frame in the texture
+     * @param frameScale the height of a frame, relative to the height of the texture
+     */
+    public CapeFrameVertexConsumer(VertexConsumer delegate, float frameOffset, float frameScale) {
+        this.delegate = delegate;
+        this.frameOffset = frameOffset;
+        this.frameScale = frameScale;
+    }
+
+    @Override
+    public VertexConsumer vertex(double x, double y, double z) {
+        delegate.vertex(x, y, z);
+        return this;
+    }
+
+    @Override
+    public VertexConsumer color(int red, int green, int blue, int alpha) {
+        delegate.color(red, green, blue, alpha);
+        return this;
+    }
+
+    @Override
+    public VertexConsumer uv(float u, float v) {
+        delegate.uv(u, frameOffset + v * frameScale);
+        return this;
+    }
+
+    @Override
+    public VertexConsumer overlayCoords(int u, int v) {
+        delegate.overlayCoords(u, v);
+        return this;
+    }
+
+    @Override
+    public VertexConsumer uv2(int u, int v) {
+        delegate.uv2(u, v);
+        return this;
+    }
+
+    @Override
+    public VertexConsumer normal(float x, float y, float z) {
+        delegate.normal(x, y, z);
+        return this;
+    }
+
+    @Override
+    public void endVertex() {
+        delegate.endVertex();
+    }
+
+    @Override
+    public void vertex(
+            float x,
+            float y,
+            float z,
+            float red,
+            float green,
+            float blue,
+            float alpha,
+            float texU,
+            float texV,
+            int overlayUV,
+            int lightmapUV,
+            float normalX,
+            float normalY,
+            float normalZ) {
+        // Models use this method, keep the fast path of the delegate
+        delegate.vertex(
+                x,
+                y,
+                z,
+                red,
+                green,
+                blue,
+                alpha,
+                texU,
+                frameOffset + texV * frameScale,
+                overlayUV,
+                lightmapUV,
+                normalX,
+                normalY,
+                normalZ);
+    }
+
+    @Override
+    public void defaultColor(int red, int green, int blue, int alpha) {
+        delegate.defaultColor(red, green, blue, alpha);
+    }
+
+    @Override
+    public void unsetDefaultColor() {
+        delegate.unsetDefaultColor();
+    }
+}
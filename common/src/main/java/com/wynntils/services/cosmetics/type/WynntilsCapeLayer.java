@@ -1,5 +1,5 @@
 /*
- * Copyright © Wynntils 2023.
+ * Copyright © Wynntils 2023-2024.
  * This file is released under LGPLv3. See LICENSE for full license details.
  */
 package com.wynntils.services.cosmetics.type;
@@ -79,7 +79,8 @@ public final class WynntilsCapeLayer extends WynntilsLayer {
         poseStack.mulPose(Axis.ZP.rotationDegrees(capeZ / 2.0f));
         poseStack.mulPose(Axis.YP.rotationDegrees(180.0f - capeZ / 2.0f));
 
-        VertexConsumer vertexConsumer = buffer.getBuffer(RenderType.entitySolid(texture));
+        VertexConsumer vertexConsumer =
+                Services.Cosmetics.getCapeVertexConsumer(player, buffer.getBuffer(RenderType.entitySolid(texture)));
         this.getParentModel().renderCloak(poseStack, vertexConsumer, packedLight, OverlayTexture.NO_OVERLAY);
         poseStack.popPose();
     }
@@ -53,6 +53,7 @@ import com.wynntils.services.itemfilter.statproviders.territory.TerritoryStorage
 import com.wynntils.services.itemfilter.statproviders.territory.TerritoryTreasuryStatProvider;
 import com.wynntils.services.itemfilter.statproviders.territory.TerritoryUpgradeCountStatProvider;
 import com.wynntils.services.itemfilter.statproviders.territory.TerritoryUpgradeLevelStatProvider;
+import com.wynntils.services.itemfilter.type.ItemNameIndex;
 import com.wynntils.services.itemfilter.type.ItemProviderType;
 import com.wynntils.services.itemfilter.type.ItemSearchQuery;
 import com.wynntils.services.itemfilter.type.ItemStatProvider;
@@ -72,7 +73,6 @@ import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 import java.util.Optional;
-import java.util.stream.Stream;
 import net.minecraft.ChatFormatting;
 import net.minecraft.client.resources.language.I18n;
 import net.minecraft.world.item.ItemStack;
@@ -290,50 +290,19 @@ public class ItemFilterService extends Service {
      * @return the filtered and sorted list of items
      */
     public <T extends ItemStack> List<T> filterAndSort(ItemSearchQuery searchQuery, List<T> originalList) {
-        Stream<T> filteredList = originalList.stream().filter(itemStack -> matches(searchQuery, itemStack));
-
-        // Sorted stat providers must be filtered as "any" filters
-        filteredList = filteredList.filter(itemStack -> {
-            Optional<WynnItem> wynnItemOpt = Models.Item.getWynnItem(itemStack);
-
-            WynnItem wynnItem = wynnItemOpt.get();
-
-            for (SortInfo sortInfo : searchQuery.sorts()) {
-                ItemStatProvider<?> statProvider = sortInfo.provider();
-                if (statProvider.getValue(wynnItem).isEmpty()) {
-                    return false;
-                }
-            }
-
-            return true;
-        });
-
-        filteredList = filteredList.sorted((itemStack1, itemStack2) -> {
-            Optional<WynnItem> wynnItem1Opt = Models.Item.getWynnItem(itemStack1);
-            Optional<WynnItem> wynnItem2Opt = Models.Item.getWynnItem(itemStack2);
-
-            if (wynnItem1Opt.isEmpty() || wynnItem2Opt.isEmpty()) {
-                return 0;
-            }
-
-            WynnItem wynnItem1 = wynnItem1Opt.get();
-            WynnItem wynnItem2 = wynnItem2Opt.get();
-
-            for (SortInfo sortInfo : searchQuery.sorts()) {
-                int compare = sortInfo.provider().compare(wynnItem1, wynnItem2);
-
-                if (compare != 0) {
-                    return switch (sortInfo.direction()) {
-                        case ASCENDING -> -compare;
-                        case DESCENDING -> compare;
-                    };
-                }
-            }
-
-            return 0;
-        });
+        return ItemQueryEngine.filterAndSort(searchQuery, originalList);
+    }
 
-        return filteredList.toList();
+    /**
+     * Filters and sorts the items of the given name index according to the given search query. The plain text of the
+     * query is looked up in the index, instead of being matched against the name of every item.
+     *
+     * @param searchQuery the search query
+     * @param nameIndex   the indexed items to filter and sort
+     * @return the filtered and sorted list of items
+     */
+    public <T extends ItemStack> List<T> filterAndSort(ItemSearchQuery searchQuery, ItemNameIndex<T> nameIndex) {
+        return ItemQueryEngine.filterAndSort(searchQuery, nameIndex);
     }
 
     /**
@@ -0,0 +1,339 @@
+/*
+ * Copyright © Wynntils 2024.
+ * This file is released under LGPLv3. See LICENSE for full license details.
+ */
+package com.wynntils.services.itemfilter;
+
+import com.wynntils.core.components.Models;
+import com.wynntils.core.text.StyledText;
+import com.wynntils.models.items.WynnItem;
+import com.wynntils.services.itemfilter.filters.AnyStatFilters;
+import com.wynntils.services.itemfilter.filters.RangedStatFilters;
+import com.wynntils.services.itemfilter.type.ItemNameIndex;
+import com.wynntils.services.itemfilter.type.ItemSearchQuery;
+import com.wynntils.services.itemfilter.type.ItemStatProvider;
+import com.wynntils.services.itemfilter.type.SortDirection;
+import com.wynntils.services.itemfilter.type.SortInfo;
+import com.wynntils.services.itemfilter.type.StatFilter;
+import com.wynntils.services.itemfilter.type.StatProviderAndFilterPair;
+import it.unimi.dsi.fastutil.ints.IntArrays;
+import it.unimi.dsi.fastutil.ints.IntComparator;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.function.IntConsumer;
+import java.util.function.IntPredicate;
+import java.util.function.Predicate;
+import java.util.function.ToIntFunction;
+import java.util.stream.IntStream;
+import net.minecraft.world.item.ItemStack;
+
+/**
+ * Filters and sorts lists of items column by column, instead of item by item.
+ *
+ * <p>Every item is decoded only once, and every stat used by the query is extracted only once per item, into a
+ * column of primitive values where possible. Filters are then evaluated over a whole column at a time, and items
+ * are sorted by comparing the precomputed columns, so no stat is looked up inside the comparator. Large lists are
+ * processed in parallel on the common fork/join pool.
+ *
+ * <p>Given an {@link ItemNameIndex}, the plain text of the query is looked up in the index first, so stats are only
+ * extracted for items with a matching name.
+ */
+public final class ItemQueryEngine {
+    // Below this size, splitting up the work costs more than it saves
+    private static final int PARALLEL_THRESHOLD = 2048;
+
+    private ItemQueryEngine() {}
+
+    static <T extends ItemStack> List<T> filterAndSort(ItemSearchQuery searchQuery, List<T> originalList) {
+        return filterAndSort(
+                searchQuery, new ArrayList<>(originalList), ItemQueryEngine::getWynnItem, ItemQueryEngine::getName);
+    }
+
+    static <T extends ItemStack> List<T> filterAndSort(ItemSearchQuery searchQuery, ItemNameIndex<T> nameIndex) {
+        return filterAndSort(
+                searchQuery,
+                nameIndex.getItems(),
+                ItemQueryEngine::getWynnItem,
+                ItemQueryEngine::getName,
+                nameIndex);
+    }
+
+    /**
+     * Filters and sorts items of any kind, the same way {@link ItemFilterService#filterAndSort(ItemSearchQuery, List)}
+     * does for item stacks.
+     *
+     * @param wynnItemGetter returns the parsed item, or null if the item is empty or not a Wynncraft item
+     * @param nameGetter returns the name of the item, without formatting
+     */
+    public static <T> List<T> filterAndSort(
+            ItemSearchQuery searchQuery,
+            List<T> items,
+            Function<T, WynnItem> wynnItemGetter,
+            Function<T, String> nameGetter) {
+        return filterAndSort(searchQuery, items, wynnItemGetter, nameGetter, null);
+    }
+
+    /**
+     * @param nameIndex an index of the names of the items, or null to match the names of all items
+     */
+    private static <T> List<T> filterAndSort(
+            ItemSearchQuery searchQuery,
+            List<T> items,
+            Function<T, WynnItem> wynnItemGetter,
+            Function<T, String> nameGetter,
+            ItemNameIndex<?> nameIndex) {
+        int size = items.size();
+        boolean parallel = size >= PARALLEL_THRESHOLD;
+
+        WynnItem[] wynnItems = new WynnItem[size];
+        forEachRow(size, parallel, row -> wynnItems[row] = wynnItemGetter.apply(items.get(row)));
+
+        // Matches everything for an empty query, see ItemFilterService#matches
+        boolean[] selected = new boolean[size];
+        boolean emptyQuery = searchQuery.isEmpty();
+        forEachRow(size, parallel, row -> selected[row] = emptyQuery || wynnItems[row] != null);
+
+        String searchText = String.join(" ", searchQuery.plainTextTokens()).toLowerCase(Locale.ROOT);
+        boolean searchNames = !searchQuery.plainTextTokens().isEmpty();
+
+        if (searchNames && nameIndex != null) {
+            // The index narrows down the items before any stat is looked up
+            boolean[] nameMatches = new boolean[size];
+            for (int row : nameIndex.search(searchText)) {
+                nameMatches[row] = true;
+            }
+            forEachRow(size, parallel, row -> selected[row] = selected[row] && nameMatches[row]);
+        }
+
+        Map<ItemStatProvider<?>, Column> columns = new HashMap<>();
+
+        for (Map.Entry<ItemStatProvider<?>, List<StatProviderAndFilterPair>> entry :
+                searchQuery.filters().entries().entrySet()) {
+            Column column = columns.computeIfAbsent(
+                    entry.getKey(), provider -> Column.extract(provider, wynnItems, selected, parallel));
+            RowPredicate predicate = column.compile(entry.getValue());
+
+            forEachRow(size, parallel, row -> selected[row] = selected[row] && predicate.test(row));
+        }
+
+        if (searchNames && nameIndex == null) {
+            // Names are only parsed for items matching all filters
+            forEachRow(size, parallel, row -> {
+                if (!selected[row]) return;
+
+                String itemName = nameGetter.apply(items.get(row));
+                selected[row] = itemName.toLowerCase(Locale.ROOT).contains(searchText);
+            });
+        }
+
+        // Sorted stat providers must be filtered as "any" filters
+        List<SortKey> sortKeys = new ArrayList<>();
+        for (SortInfo sortInfo : searchQuery.sorts()) {
+            Column column = columns.computeIfAbsent(
+                    sortInfo.provider(), provider -> Column.extract(provider, wynnItems, selected, parallel));
+            forEachRow(size, parallel, row -> selected[row] = selected[row] && column.isPresent(row));
+
+            sortKeys.add(new SortKey(column, sortInfo.direction() == SortDirection.DESCENDING));
+        }
+
+        int[] rows = IntStream.range(0, size).filter(row -> selected[row]).toArray();
+
+        if (!sortKeys.isEmpty()) {
+            IntComparator comparator = (row1, row2) -> {
+                for (SortKey sortKey : sortKeys) {
+                    int compare = sortKey.column().compare(row1, row2);
+                    if (compare != 0) return sortKey.descending() ? -compare : compare;
+                }
+
+                // Keep the original order of equal items, like a stable sort would
+                return Integer.compare(row1, row2);
+            };
+
+            if (parallel) {
+                IntArrays.parallelQuickSort(rows, comparator);
+            } else {
+                IntArrays.quickSort(rows, comparator);
+            }
+        }
+
+        List<T> result = new ArrayList<>(rows.length);
+        for (int row : rows) {
+            result.add(items.get(row));
+        }
+        return Collections.unmodifiableList(result);
+    }
+
+    private static WynnItem getWynnItem(ItemStack itemStack) {
+        if (itemStack.isEmpty()) return null;
+
+        return Models.Item.getWynnItem(itemStack).orElse(null);
+    }
+
+    private static String getName(ItemStack itemStack) {
+        return StyledText.fromComponent(itemStack.getHoverName()).getStringWithoutFormatting();
+    }
+
+    private static void forEachRow(int size, boolean parallel, IntConsumer action) {
+        IntStream rows = IntStream.range(0, size);
+        if (parallel) {
+            rows = rows.parallel();
+        }
+        rows.forEach(action);
+    }
+
+    private record SortKey(Column column, boolean descending) {}
+
+    @FunctionalInterface
+    private interface RowPredicate {
+        boolean test(int row);
+    }
+
+    private abstract static class Column {
+        /**
+         * Extracts the values of the stat for all selected rows. Rows that are not selected are left absent.
+         */
+        private static Column extract(
+                ItemStatProvider<?> provider, WynnItem[] wynnItems, boolean[] selected, boolean parallel) {
+            if (provider.getType() == Integer.class && provider.getSortKey().isEmpty()) {
+                IntColumn column = new IntColumn(wynnItems.length);
+                forEachRow(wynnItems.length, parallel, row -> {
+                    if (!selected[row] || wynnItems[row] == null) return;
+
+                    Optional<?> value = provider.getValue(wynnItems[row]);
+                    if (value.isEmpty()) return;
+
+                    column.values[row] = (Integer) value.get();
+                    column.present[row] = true;
+                });
+                return column;
+            }
+
+            return extractObjects(provider, wynnItems, selected, parallel);
+        }
+
+        private static <T extends Comparable<T>> ObjectColumn extractObjects(
+                ItemStatProvider<T> provider, WynnItem[] wynnItems, boolean[] selected, boolean parallel) {
+            ToIntFunction<T> sortKey = provider.getSortKey().orElse(null);
+
+            ObjectColumn column = new ObjectColumn(wynnItems.length, sortKey != null);
+            forEachRow(wynnItems.length, parallel, row -> {
+                if (!selected[row] || wynnItems[row] == null) return;
+
+                T value = provider.getValue(wynnItems[row]).orElse(null);
+                if (value == null) return;
+
+                column.values[row] = (Comparable<Object>) (Comparable<?>) value;
+                if (sortKey != null) {
+                    column.sortKeys[row] = sortKey.applyAsInt(value);
+                }
+            });
+            return column;
+        }
+
+        protected abstract boolean isPresent(int row);
+
+        protected abstract int compare(int row1, int row2);
+
+        /**
+         * @return a predicate matching the rows with a value matching at least one of the filters
+         */
+        protected abstract RowPredicate compile(List<StatProviderAndFilterPair> filters);
+    }
+
+    private static final class IntColumn extends Column {
+        private final int[] values;
+        private final boolean[] present;
+
+        private IntColumn(int size) {
+            this.values = new int[size];
+            this.present = new boolean[size];
+        }
+
+        @Override
+        protected boolean isPresent(int row) {
+            return present[row];
+        }
+
+        @Override
+        protected int compare(int row1, int row2) {
+            return Integer.compare(values[row1], values[row2]);
+        }
+
+        @Override
+        protected RowPredicate compile(List<StatProviderAndFilterPair> filters) {
+            IntPredicate[] predicates =
+                    filters.stream().map(pair -> compile(pair.statFilter())).toArray(IntPredicate[]::new);
+
+            return row -> {
+                if (!present[row]) return false;
+
+                int value = values[row];
+                for (IntPredicate predicate : predicates) {
+                    if (predicate.test(value)) return true;
+                }
+                return false;
+            };
+        }
+
+        private static IntPredicate compile(StatFilter<?> statFilter) {
+            // The most common filters are evaluated on the primitive values, without boxing
+            if (statFilter instanceof RangedStatFilters.RangedIntegerStatFilter rangedFilter) {
+                int min = rangedFilter.getMin();
+                int max = rangedFilter.getMax();
+                return value -> value >= min && value <= max;
+            }
+            if (statFilter instanceof AnyStatFilters.AbstractAnyStatFilter<?>) {
+                return value -> true;
+            }
+
+            StatFilter<Integer> integerFilter = (StatFilter<Integer>) statFilter;
+            return integerFilter::matches;
+        }
+    }
+
+    private static final class ObjectColumn extends Column {
+        private final Comparable<Object>[] values;
+        // The sort order of the values, for providers that do not sort by the natural order of their values
+        private final int[] sortKeys;
+
+        private ObjectColumn(int size, boolean hasSortKeys) {
+            this.values = new Comparable[size];
+            this.sortKeys = hasSortKeys ? new int[size] : null;
+        }
+
+        @Override
+        protected boolean isPresent(int row) {
+            return values[row] != null;
+        }
+
+        @Override
+        protected int compare(int row1, int row2) {
+            if (sortKeys != null) return Integer.compare(sortKeys[row1], sortKeys[row2]);
+
+            return values[row1].compareTo(values[row2]);
+        }
+
+        @Override
+        protected RowPredicate compile(List<StatProviderAndFilterPair> filters) {
+            List<Predicate<Object>> predicates = filters.stream()
+                    .map(pair -> (Predicate<Object>) ((StatFilter<Object>) pair.statFilter())::matches)
+                    .toList();
+
+            return row -> {
+                Object value = values[row];
+                if (value == null) return false;
+
+                for (Predicate<Object> predicate : predicates) {
+                    if (predicate.test(value)) return true;
+                }
+                return false;
+            };
+        }
+    }
+}
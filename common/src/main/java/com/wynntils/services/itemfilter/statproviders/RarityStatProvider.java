@@ -13,6 +13,7 @@ import java.util.Arrays;
 import java.util.List;
 import java.util.Locale;
 import java.util.Optional;
+import java.util.function.ToIntFunction;
 import java.util.stream.Collectors;
 
 public class RarityStatProvider extends ItemStatProvider<String> {
@@ -34,18 +35,8 @@ public class RarityStatProvider extends ItemStatProvider<String> {
     }
 
     @Override
-    public int compare(WynnItem wynnItem1, WynnItem wynnItem2) {
-        Optional<String> itemValue1 = this.getValue(wynnItem1);
-        Optional<String> itemValue2 = this.getValue(wynnItem2);
-
-        if (itemValue1.isEmpty() && itemValue2.isPresent()) return 1;
-        if (itemValue1.isPresent() && itemValue2.isEmpty()) return -1;
-        if (itemValue1.isEmpty() && itemValue2.isEmpty()) return 0;
-
+    public Optional<ToIntFunction<String>> getSortKey() {
         // Map the string values to the GearTier enum values
-        GearTier gearTier1 = GearTier.valueOf(itemValue1.get().toUpperCase(Locale.ROOT));
-        GearTier gearTier2 = GearTier.valueOf(itemValue2.get().toUpperCase(Locale.ROOT));
-
-        return -gearTier1.compareTo(gearTier2);
+        return Optional.of(value -> GearTier.valueOf(value.toUpperCase(Locale.ROOT)).ordinal());
     }
 }
@@ -0,0 +1,46 @@
+/*
+ * Copyright © Wynntils 2024.
+ * This file is released under LGPLv3. See LICENSE for full license details.
+ */
+package com.wynntils.services.itemfilter.type;
+
+import com.wynntils.core.text.StyledText;
+import com.wynntils.utils.type.TrigramIndex;
+import java.util.List;
+import net.minecraft.world.item.ItemStack;
+
+/**
+ * A fixed list of items, along with an index of their names, for searching the same items over and over again,
+ * like in the guide screens.
+ *
+ * <p>Pass this to {@link com.wynntils.services.itemfilter.ItemFilterService#filterAndSort(ItemSearchQuery,
+ * ItemNameIndex)} instead of the list, so the plain text of a query is looked up in the index, instead of matched
+ * against the name of every item.
+ */
+public final class ItemNameIndex<T extends ItemStack> {
+    private final List<T> items;
+    private final TrigramIndex nameIndex;
+
+    public ItemNameIndex(List<T> items) {
+        this.items = List.copyOf(items);
+        this.nameIndex = new TrigramIndex(this.items.stream()
+                .map(itemStack -> StyledText.fromComponent(itemStack.getHoverName())
+                        .getStringWithoutFormatting())
+                .toList());
+    }
+
+    public List<T> getItems() {
+        return items;
+    }
+
+    public boolean isEmpty() {
+        return items.isEmpty();
+    }
+
+    /**
+     * @return the positions of the items with a name containing the search text, ignoring case, in ascending order
+     */
+    public int[] search(String searchText) {
+        return nameIndex.search(searchText);
+    }
+}
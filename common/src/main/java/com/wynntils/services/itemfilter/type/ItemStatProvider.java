@@ -11,6 +11,7 @@ import java.lang.reflect.ParameterizedType;
 import java.util.Comparator;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.ToIntFunction;
 import net.minecraft.client.resources.language.I18n;
 
 public abstract class ItemStatProvider<T extends Comparable<T>> implements Translatable, Comparator<WynnItem> {
@@ -73,6 +74,17 @@ public abstract class ItemStatProvider<T extends Comparable<T>> implements Trans
         return getTranslation("description");
     }
 
+    /**
+     * Returns a function giving the position of a value in the sort order of this provider, for providers whose
+     * values should not be sorted by their natural order, like the names of enum constants that should be sorted in
+     * declaration order.
+     *
+     * @return The sort key function, or an empty optional to sort by the natural order of the values
+     */
+    public Optional<ToIntFunction<T>> getSortKey() {
+        return Optional.empty();
+    }
+
     @Override
     public int compare(WynnItem wynnItem1, WynnItem wynnItem2) {
         Optional<T> itemValue1 = this.getValue(wynnItem1);
@@ -82,6 +94,12 @@ public abstract class ItemStatProvider<T extends Comparable<T>> implements Trans
         if (itemValue1.isPresent() && itemValue2.isEmpty()) return -1;
         if (itemValue1.isEmpty() && itemValue2.isEmpty()) return 0;
 
+        Optional<ToIntFunction<T>> sortKey = getSortKey();
+        if (sortKey.isPresent()) {
+            return -Integer.compare(
+                    sortKey.get().applyAsInt(itemValue1.get()), sortKey.get().applyAsInt(itemValue2.get()));
+        }
+
         return -itemValue1.get().compareTo(itemValue2.get());
     }
 }
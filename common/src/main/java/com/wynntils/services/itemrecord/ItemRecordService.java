@@ -9,13 +9,16 @@ import com.wynntils.core.components.Service;
 import com.wynntils.core.components.Services;
 import com.wynntils.core.persisted.Persisted;
 import com.wynntils.core.persisted.storage.Storage;
+import com.wynntils.models.items.FakeItemStack;
 import com.wynntils.models.items.WynnItem;
 import com.wynntils.services.itemrecord.type.SavedItem;
 import com.wynntils.utils.mc.KeyboardUtils;
 import com.wynntils.utils.mc.McUtils;
 import com.wynntils.utils.type.Pair;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.TreeSet;
 import net.minecraft.ChatFormatting;
@@ -36,10 +39,31 @@ public class ItemRecordService extends Service {
     @Persisted
     public final Storage<Set<String>> categories = new Storage<>(new TreeSet<>(List.of(DEFAULT_CATEGORY)));
 
+    // Indexes of the saved items, rebuilt when the storage is loaded and kept up to date on every change
+    private final Map<String, SavedItem> itemsByBase64 = new HashMap<>();
+    private final Map<String, Set<SavedItem>> itemsByCategory = new HashMap<>();
+
+    // Decoding is expensive, and the encoded data of a saved item never changes, so decoded items are kept until the
+    // item is deleted or the data used for decoding is reloaded. Items that can't be decoded are not cached, as they
+    // might be decodable once all models have loaded.
+    private final Map<String, WynnItem> decodedItems = new HashMap<>();
+    private final Map<String, ItemStack> displayItems = new HashMap<>();
+
     public ItemRecordService() {
         super(List.of());
     }
 
+    @Override
+    public void reloadData() {
+        decodedItems.clear();
+        displayItems.clear();
+    }
+
+    @Override
+    public void onStorageLoad() {
+        rebuildIndexes();
+    }
+
     public boolean saveItem(WynnItem wynnItem, ItemStack itemStack, Component itemName) {
         // Regular ItemStack can't be converted to json so store the tags needed
         // to recreate it
@@ -47,13 +71,14 @@ public class ItemRecordService extends Service {
                 SavedItem.create(wynnItem, new TreeSet<>(List.of(Services.ItemRecord.getDefaultCategory())), itemStack);
 
         // Check if the item is already saved
-        if (savedItems.get().contains(itemToSave)) {
+        if (itemsByBase64.containsKey(itemToSave.base64())) {
             McUtils.sendMessageToClient(Component.translatable("screens.wynntils.itemSharing.alreadySaved", itemName)
                     .withStyle(ChatFormatting.RED));
             return false;
         }
 
         savedItems.get().add(itemToSave);
+        addToIndexes(itemToSave);
 
         Services.ItemRecord.savedItems.touched();
 
@@ -67,7 +92,7 @@ public class ItemRecordService extends Service {
         for (Pair<String, String> selectedItem : selectedItems) {
             SavedItem savedItem = Services.ItemRecord.getItem(selectedItem.b());
 
-            if (selectedItem != null) {
+            if (savedItem != null) {
                 moveItemCategory(savedItem, category, selectedItem.a(), keepOriginal);
             }
         }
@@ -76,22 +101,61 @@ public class ItemRecordService extends Service {
     public void moveItemCategory(
             SavedItem savedItem, String currentCategory, String originalCategory, boolean keepOriginal) {
         savedItem.categories().add(currentCategory);
+        itemsByCategory.computeIfAbsent(currentCategory, k -> new TreeSet<>()).add(savedItem);
 
         if (!keepOriginal) {
             savedItem.categories().remove(originalCategory);
+            removeFromCategoryIndex(savedItem, originalCategory);
         }
 
         Services.ItemRecord.savedItems.touched();
     }
 
     public void deleteItem(String base64) {
-        for (SavedItem savedItem : savedItems.get()) {
-            if (savedItem.base64().equals(base64)) {
-                Services.ItemRecord.savedItems.get().remove(savedItem);
-                Services.ItemRecord.savedItems.touched();
-                break;
-            }
-        }
+        SavedItem savedItem = itemsByBase64.get(base64);
+        if (savedItem == null) return;
+
+        Services.ItemRecord.savedItems.get().remove(savedItem);
+        removeFromIndexes(savedItem);
+        Services.ItemRecord.savedItems.touched();
+    }
+
+    /**
+     * @return the saved items in the given category, ordered like the saved items themselves
+     */
+    public List<SavedItem> getItemsInCategory(String category) {
+        return List.copyOf(itemsByCategory.getOrDefault(category, Set.of()));
+    }
+
+    public int getItemCountInCategory(String category) {
+        return itemsByCategory.getOrDefault(category, Set.of()).size();
+    }
+
+    /**
+     * @return the decoded item of the saved item, decoded only once
+     * @throws IllegalStateException if the item can't be decoded
+     */
+    public WynnItem getWynnItem(SavedItem savedItem) {
+        WynnItem wynnItem = decodedItems.get(savedItem.base64());
+        if (wynnItem != null) return wynnItem;
+
+        wynnItem = savedItem.wynnItem();
+        decodedItems.put(savedItem.base64(), wynnItem);
+        return wynnItem;
+    }
+
+    /**
+     * @return the item stack to display the saved item with, created only once
+     * @throws IllegalStateException if the item can't be decoded
+     */
+    public ItemStack getDisplayItem(SavedItem savedItem) {
+        ItemStack itemStack = displayItems.get(savedItem.base64());
+        if (itemStack != null) return itemStack;
+
+        itemStack = new FakeItemStack(
+                getWynnItem(savedItem), savedItem.itemStack(), "From " + McUtils.playerName() + "'s Item Record");
+        displayItems.put(savedItem.base64(), itemStack);
+        return itemStack;
     }
 
     public void addCategory(String newCategory, List<Pair<String, String>> selectedItems, boolean keepOriginals) {
@@ -118,6 +182,7 @@ public class ItemRecordService extends Service {
             }
         }
 
+        rebuildIndexes();
         savedItems.touched();
     }
 
@@ -136,6 +201,7 @@ public class ItemRecordService extends Service {
             }
 
             Services.ItemRecord.savedItems.store(newSavedItems);
+            rebuildIndexes();
             Services.ItemRecord.savedItems.touched();
         } else if (!categoryToDelete.equals(Services.ItemRecord.getDefaultCategory())) {
             // Remove category from all items and add default
@@ -145,6 +211,7 @@ public class ItemRecordService extends Service {
             }
 
             Services.ItemRecord.savedItems.store(savedItems.get());
+            rebuildIndexes();
             Services.ItemRecord.savedItems.touched();
         }
 
@@ -164,7 +231,7 @@ public class ItemRecordService extends Service {
         List<SavedItem> itemsToRemove = new ArrayList<>();
         for (SavedItem savedItem : savedItems.get()) {
             try {
-                savedItem.wynnItem();
+                getWynnItem(savedItem);
             } catch (Exception e) {
                 WynntilsMod.warn("Removing invalid item from item record: " + savedItem.base64(), e);
                 itemsToRemove.add(savedItem);
@@ -176,7 +243,7 @@ public class ItemRecordService extends Service {
         List<SavedItem> itemsToReadd = new ArrayList<>();
         for (SavedItem faultyItem : faultyItems.get()) {
             try {
-                faultyItem.wynnItem();
+                getWynnItem(faultyItem);
                 itemsToReadd.add(faultyItem);
             } catch (Exception e) {
                 // continue, we still can't decode this item
@@ -193,6 +260,7 @@ public class ItemRecordService extends Service {
         // Readd items that can now be decoded
         faultyItems.get().removeAll(itemsToReadd);
         savedItems.get().addAll(itemsToReadd);
+        rebuildIndexes();
 
         // Save changes
         faultyItems.touched();
@@ -206,12 +274,47 @@ public class ItemRecordService extends Service {
     }
 
     private SavedItem getItem(String base64) {
+        return itemsByBase64.get(base64);
+    }
+
+    private void rebuildIndexes() {
+        itemsByBase64.clear();
+        itemsByCategory.clear();
+
         for (SavedItem savedItem : savedItems.get()) {
-            if (savedItem.base64().equals(base64)) {
-                return savedItem;
-            }
+            addToIndexes(savedItem);
         }
 
-        return null;
+        // Forget decoded items that are no longer saved
+        decodedItems.keySet().retainAll(itemsByBase64.keySet());
+        displayItems.keySet().retainAll(itemsByBase64.keySet());
+    }
+
+    private void addToIndexes(SavedItem savedItem) {
+        itemsByBase64.put(savedItem.base64(), savedItem);
+
+        for (String category : savedItem.categories()) {
+            itemsByCategory.computeIfAbsent(category, k -> new TreeSet<>()).add(savedItem);
+        }
+    }
+
+    private void removeFromIndexes(SavedItem savedItem) {
+        itemsByBase64.remove(savedItem.base64());
+        decodedItems.remove(savedItem.base64());
+        displayItems.remove(savedItem.base64());
+
+        for (String category : savedItem.categories()) {
+            removeFromCategoryIndex(savedItem, category);
+        }
+    }
+
+    private void removeFromCategoryIndex(SavedItem savedItem, String category) {
+        Set<SavedItem> items = itemsByCategory.get(category);
+        if (items == null) return;
+
+        items.remove(savedItem);
+        if (items.isEmpty()) {
+            itemsByCategory.remove(category);
+        }
     }
 }
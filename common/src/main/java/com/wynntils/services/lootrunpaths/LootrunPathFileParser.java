@@ -7,14 +7,24 @@ package com.wynntils.services.lootrunpaths;
 import com.google.gson.JsonArray;
 import com.google.gson.JsonElement;
 import com.google.gson.JsonObject;
+import com.google.gson.JsonParseException;
+import com.google.gson.JsonParser;
 import com.wynntils.core.WynntilsMod;
 import com.wynntils.services.lootrunpaths.type.LootrunNote;
 import com.wynntils.services.lootrunpaths.type.LootrunPath;
 import com.wynntils.services.lootrunpaths.type.LootrunSaveResult;
+import com.wynntils.utils.FileUtils;
 import java.io.File;
 import java.io.FileWriter;
 import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
 import java.time.Instant;
 import java.time.ZoneId;
 import java.time.ZonedDateTime;
@@ -31,6 +41,12 @@ import net.minecraft.network.chat.Component;
 import net.minecraft.world.phys.Vec3;
 
 public final class LootrunPathFileParser {
+    // The binary format is a cache of the sampled path of a JSON lootrun file, which stays the format that is
+    // shared and edited by players. It stores the raw points, chests and notes, the samples as packed float
+    // triples, and the chunk index of the samples, so a lootrun can be loaded without parsing or sampling it again.
+    private static final int BINARY_MAGIC = 0x574C5250; // "WLRP"
+    private static final int BINARY_VERSION = 1;
+
     public static UncompiledLootrunPath readJson(File file, JsonObject json) {
         JsonArray points = json.getAsJsonArray("points");
         LootrunPath pointsList = new LootrunPath(new ArrayList<>());
@@ -138,4 +154,172 @@ public final class LootrunPathFileParser {
             return LootrunSaveResult.ERROR_SAVING;
         }
     }
+
+    /**
+     * Reads a lootrun from its binary cache file.
+     *
+     * @return the lootrun, or null if the cache file does not exist or is outdated compared to the source file
+     */
+    public static SampledLootrunPath readBinary(File binaryFile, File sourceFile) throws IOException {
+        if (!binaryFile.exists()) return null;
+
+        try {
+            // Read into the heap instead of mapping the file, as Windows can't replace a file while it is mapped
+            ByteBuffer buffer = ByteBuffer.wrap(Files.readAllBytes(binaryFile.toPath()));
+
+            if (buffer.getInt() != BINARY_MAGIC || buffer.getInt() != BINARY_VERSION) return null;
+            if (buffer.getLong() != sourceFile.length() || buffer.getLong() != sourceFile.lastModified()) return null;
+
+            double[] rawPoints = readDoubles(buffer, buffer.getInt() * 3);
+            LootrunPath path = new LootrunPath(new ArrayList<>(rawPoints.length / 3));
+            for (int i = 0; i < rawPoints.length; i += 3) {
+                path.points().add(new Vec3(rawPoints[i], rawPoints[i + 1], rawPoints[i + 2]));
+            }
+
+            int[] chestPositions = readInts(buffer, buffer.getInt() * 3);
+            Set<BlockPos> chests = new HashSet<>();
+            for (int i = 0; i < chestPositions.length; i += 3) {
+                chests.add(new BlockPos(chestPositions[i], chestPositions[i + 1], chestPositions[i + 2]));
+            }
+
+            int noteCount = buffer.getInt();
+            List<LootrunNote> notes = new ArrayList<>(noteCount);
+            for (int i = 0; i < noteCount; i++) {
+                Position position = new Vec3(buffer.getDouble(), buffer.getDouble(), buffer.getDouble());
+                byte[] componentJson = new byte[buffer.getInt()];
+                buffer.get(componentJson);
+
+                Component component = Component.Serializer.fromJson(
+                        JsonParser.parseString(new String(componentJson, StandardCharsets.UTF_8)));
+                notes.add(new LootrunNote(position, component));
+            }
+
+            float[] samples = readFloats(buffer, buffer.getInt() * 3);
+            int runCount = buffer.getInt();
+            long[] runChunks = readLongs(buffer, runCount);
+            int[] runStarts = readInts(buffer, runCount);
+            int[] runEnds = readInts(buffer, runCount);
+
+            return new SampledLootrunPath(
+                    new UncompiledLootrunPath(path, chests, notes, sourceFile),
+                    LootrunPathSampler.fromPacked(samples, runChunks, runStarts, runEnds));
+        } catch (BufferUnderflowException
+                | IllegalArgumentException
+                | NegativeArraySizeException
+                | JsonParseException e) {
+            throw new IOException("Corrupt lootrun cache file " + binaryFile.getName(), e);
+        }
+    }
+
+    /**
+     * Writes the binary cache file of a lootrun, which is only valid as long as the source file is not modified.
+     */
+    public static void writeBinary(
+            File binaryFile, File sourceFile, UncompiledLootrunPath lootrun, LootrunPathSampler sampler)
+            throws IOException {
+        List<Vec3> points = lootrun.path().points();
+        float[] samples = sampler.getSamples();
+        long[] runChunks = sampler.getRunChunks();
+
+        List<byte[]> noteComponents = new ArrayList<>(lootrun.notes().size());
+        int noteSize = 0;
+        for (LootrunNote note : lootrun.notes()) {
+            byte[] componentJson = WynntilsMod.GSON
+                    .toJson(Component.Serializer.toJsonTree(note.component()))
+                    .getBytes(StandardCharsets.UTF_8);
+            noteComponents.add(componentJson);
+            noteSize += Double.BYTES * 3 + Integer.BYTES + componentJson.length;
+        }
+
+        int size = Integer.BYTES * 2
+                + Long.BYTES * 2
+                + Integer.BYTES
+                + points.size() * Double.BYTES * 3
+                + Integer.BYTES
+                + lootrun.chests().size() * Integer.BYTES * 3
+                + Integer.BYTES
+                + noteSize
+                + Integer.BYTES
+                + samples.length * Float.BYTES
+                + Integer.BYTES
+                + runChunks.length * (Long.BYTES + Integer.BYTES * 2);
+
+        ByteBuffer buffer = ByteBuffer.allocate(size);
+        buffer.putInt(BINARY_MAGIC);
+        buffer.putInt(BINARY_VERSION);
+        buffer.putLong(sourceFile.length());
+        buffer.putLong(sourceFile.lastModified());
+
+        buffer.putInt(points.size());
+        for (Vec3 point : points) {
+            buffer.putDouble(point.x).putDouble(point.y).putDouble(point.z);
+        }
+
+        buffer.putInt(lootrun.chests().size());
+        for (BlockPos chest : lootrun.chests()) {
+            buffer.putInt(chest.getX()).putInt(chest.getY()).putInt(chest.getZ());
+        }
+
+        buffer.putInt(lootrun.notes().size());
+        for (int i = 0; i < lootrun.notes().size(); i++) {
+            Position position = lootrun.notes().get(i).position();
+            buffer.putDouble(position.x()).putDouble(position.y()).putDouble(position.z());
+            buffer.putInt(noteComponents.get(i).length);
+            buffer.put(noteComponents.get(i));
+        }
+
+        buffer.putInt(samples.length / 3);
+        buffer.asFloatBuffer().put(samples);
+        buffer.position(buffer.position() + samples.length * Float.BYTES);
+
+        buffer.putInt(runChunks.length);
+        buffer.asLongBuffer().put(runChunks);
+        buffer.position(buffer.position() + runChunks.length * Long.BYTES);
+        putInts(buffer, sampler.getRunStarts());
+        putInts(buffer, sampler.getRunEnds());
+        buffer.flip();
+
+        // Write to a temporary file first, so a cache file is never read while it is only partially written
+        FileUtils.mkdir(binaryFile.getParentFile());
+        Path temporaryFile = Files.createTempFile(binaryFile.getParentFile().toPath(), binaryFile.getName(), ".tmp");
+        try (FileChannel channel = FileChannel.open(temporaryFile, StandardOpenOption.WRITE)) {
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+        }
+        Files.move(temporaryFile, binaryFile.toPath(), StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    private static double[] readDoubles(ByteBuffer buffer, int count) {
+        double[] values = new double[count];
+        buffer.asDoubleBuffer().get(values);
+        buffer.position(buffer.position() + count * Double.BYTES);
+        return values;
+    }
+
+    private static float[] readFloats(ByteBuffer buffer, int count) {
+        float[] values = new float[count];
+        buffer.asFloatBuffer().get(values);
+        buffer.position(buffer.position() + count * Float.BYTES);
+        return values;
+    }
+
+    private static int[] readInts(ByteBuffer buffer, int count) {
+        int[] values = new int[count];
+        buffer.asIntBuffer().get(values);
+        buffer.position(buffer.position() + count * Integer.BYTES);
+        return values;
+    }
+
+    private static long[] readLongs(ByteBuffer buffer, int count) {
+        long[] values = new long[count];
+        buffer.asLongBuffer().get(values);
+        buffer.position(buffer.position() + count * Long.BYTES);
+        return values;
+    }
+
+    private static void putInts(ByteBuffer buffer, int[] values) {
+        buffer.asIntBuffer().put(values);
+        buffer.position(buffer.position() + values.length * Integer.BYTES);
+    }
 }
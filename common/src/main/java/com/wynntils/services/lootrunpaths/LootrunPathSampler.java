@@ -0,0 +1,388 @@
+/*
+ * Copyright © Wynntils 2024.
+ * This file is released under LGPLv3. See LICENSE for full license details.
+ */
+package com.wynntils.services.lootrunpaths;
+
+import com.wynntils.services.lootrunpaths.type.ColoredPath;
+import com.wynntils.services.lootrunpaths.type.ColoredPosition;
+import com.wynntils.services.lootrunpaths.type.LootrunPathColoring;
+import com.wynntils.utils.MathUtils;
+import it.unimi.dsi.fastutil.floats.FloatArrayList;
+import it.unimi.dsi.fastutil.ints.IntArrayList;
+import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.longs.LongArrayList;
+import it.unimi.dsi.fastutil.longs.LongOpenHashSet;
+import it.unimi.dsi.fastutil.longs.LongSet;
+import java.util.ArrayList;
+import java.util.List;
+import net.minecraft.ChatFormatting;
+import net.minecraft.util.FastColor;
+import net.minecraft.world.level.ChunkPos;
+import net.minecraft.world.phys.Vec3;
+
+/**
+ * Samples the cubic spline through the points of a lootrun path, and groups the samples by chunk for rendering.
+ *
+ * <p>Points can be appended one by one, and only the part of the spline affected by a new point is sampled again.
+ * The slope at a point depends on the next point, so the span before the last point is only sampled once the next
+ * point is known, or the path is finished. The sampled positions are kept in a packed float array, and the chunk
+ * grouping as runs of consecutive samples, which is also what the binary lootrun format stores.
+ *
+ * <p>This class is not thread safe; all methods should be called from the same thread.
+ */
+public final class LootrunPathSampler {
+    private static final float SAMPLE_RATE = 10f;
+    private static final double SEGMENT_BREAK_DISTANCE = 32;
+    private static final double CHUNK_JOIN_DISTANCE = 32;
+
+    private static final int[] RAINBOW_COLORS = {
+        ChatFormatting.RED.getColor(),
+        ChatFormatting.GOLD.getColor(),
+        ChatFormatting.YELLOW.getColor(),
+        ChatFormatting.GREEN.getColor(),
+        ChatFormatting.BLUE.getColor(),
+        0x3f00ff,
+        ChatFormatting.DARK_PURPLE.getColor()
+    };
+
+    // Sampled positions, as packed x, y, z triples
+    private final FloatArrayList samples;
+
+    // Runs of consecutive samples in the same chunk. If the path continues into the next chunk, a run also ends
+    // with the first sample of the next run, so there is no gap in the rendered line at chunk borders.
+    private final LongArrayList runChunks;
+    private final IntArrayList runStarts;
+    private final IntArrayList runEnds;
+    private final Long2ObjectMap<IntArrayList> runsByChunk = new Long2ObjectOpenHashMap<>();
+
+    // Chunks with runs that changed since the last call to updatePointsByChunk
+    private final LongSet dirtyChunks = new LongOpenHashSet();
+
+    // The last two points of the current segment; only the span between them is not sampled yet
+    private final SplinePoint previousPoint = new SplinePoint();
+    private final SplinePoint lastPoint = new SplinePoint();
+    private int segmentPointCount = 0;
+    private int segmentSampleIndex = 0;
+
+    public LootrunPathSampler() {
+        this(new FloatArrayList(), new LongArrayList(), new IntArrayList(), new IntArrayList());
+    }
+
+    private LootrunPathSampler(
+            FloatArrayList samples, LongArrayList runChunks, IntArrayList runStarts, IntArrayList runEnds) {
+        this.samples = samples;
+        this.runChunks = runChunks;
+        this.runStarts = runStarts;
+        this.runEnds = runEnds;
+
+        for (int run = 0; run < runChunks.size(); run++) {
+            runsByChunk.computeIfAbsent(runChunks.getLong(run), k -> new IntArrayList()).add(run);
+            dirtyChunks.add(runChunks.getLong(run));
+        }
+    }
+
+    /**
+     * Creates a finished sampler from previously sampled data, as returned by the getters of this class.
+     */
+    public static LootrunPathSampler fromPacked(float[] samples, long[] runChunks, int[] runStarts, int[] runEnds) {
+        int sampleCount = samples.length / 3;
+        if (samples.length % 3 != 0
+                || runChunks.length != runStarts.length
+                || runChunks.length != runEnds.length) {
+            throw new IllegalArgumentException("Inconsistent sampled lootrun data");
+        }
+        for (int run = 0; run < runStarts.length; run++) {
+            if (runStarts[run] < 0 || runStarts[run] >= runEnds[run] || runEnds[run] > sampleCount) {
+                throw new IllegalArgumentException("Invalid sample run " + run);
+            }
+        }
+
+        return new LootrunPathSampler(
+                FloatArrayList.wrap(samples),
+                LongArrayList.wrap(runChunks),
+                IntArrayList.wrap(runStarts),
+                IntArrayList.wrap(runEnds));
+    }
+
+    public void addPoints(List<? extends Vec3> points) {
+        for (Vec3 point : points) {
+            addPoint(point);
+        }
+    }
+
+    public void addPoint(Vec3 point) {
+        if (segmentPointCount == 0) {
+            lastPoint.set(0f, point);
+            segmentPointCount = 1;
+            return;
+        }
+
+        double distance = lastPoint.position.distanceTo(point);
+        if (distance >= SEGMENT_BREAK_DISTANCE) {
+            finishSegment();
+            addPoint(point);
+            return;
+        }
+
+        float location = (float) (lastPoint.location + distance);
+        // The spline needs strictly ascending locations, so skip duplicate points
+        if (location <= lastPoint.location) return;
+
+        // The slope at the last point is now known, so the span leading up to it is final
+        lastPoint.setSlopeTowards(point, distance);
+        if (segmentPointCount > 1) {
+            sampleSpan(previousPoint, lastPoint);
+        }
+
+        previousPoint.copy(lastPoint);
+        lastPoint.set(location, point);
+        segmentPointCount++;
+    }
+
+    /**
+     * Samples the rest of the current segment, with a zero slope at its last point. Points added after this start a
+     * new segment.
+     */
+    public void finishSegment() {
+        if (segmentPointCount > 1) {
+            sampleSpan(previousPoint, lastPoint);
+        }
+
+        segmentPointCount = 0;
+        segmentSampleIndex = 0;
+    }
+
+    public int getSampleCount() {
+        return samples.size() / 3;
+    }
+
+    public float[] getSamples() {
+        return samples.toFloatArray();
+    }
+
+    public long[] getRunChunks() {
+        return runChunks.toLongArray();
+    }
+
+    public int[] getRunStarts() {
+        return runStarts.toIntArray();
+    }
+
+    public int[] getRunEnds() {
+        return runEnds.toIntArray();
+    }
+
+    public Long2ObjectMap<List<ColoredPath>> getPointsByChunk(LootrunPathColoring coloring) {
+        dirtyChunks.clear();
+
+        Long2ObjectMap<List<ColoredPath>> pointsByChunk = new Long2ObjectOpenHashMap<>(runsByChunk.size());
+        for (Long2ObjectMap.Entry<IntArrayList> entry : runsByChunk.long2ObjectEntrySet()) {
+            pointsByChunk.put(entry.getLongKey(), createPaths(entry.getValue(), coloring));
+        }
+        return pointsByChunk;
+    }
+
+    /**
+     * Returns a copy of the previous result of this method with only the chunks that changed since then replaced.
+     * The returned map and its lists are never modified afterwards, so they can be handed over to other threads.
+     *
+     * @param includeOpenSpan whether to also include the span before the last point, sampled as if the segment
+     *                        was finished now
+     */
+    public Long2ObjectMap<List<ColoredPath>> updatePointsByChunk(
+            Long2ObjectMap<List<ColoredPath>> previous, LootrunPathColoring coloring, boolean includeOpenSpan) {
+        int markedSampleCount = samples.size();
+        int markedRunCount = runChunks.size();
+        int markedLastRunEnd = markedRunCount == 0 ? 0 : runEnds.getInt(markedRunCount - 1);
+        int markedSegmentSampleIndex = segmentSampleIndex;
+
+        boolean sampledOpenSpan = includeOpenSpan && segmentPointCount > 1;
+        if (sampledOpenSpan) {
+            sampleSpan(previousPoint, lastPoint);
+        }
+
+        Long2ObjectMap<List<ColoredPath>> pointsByChunk =
+                previous == null ? new Long2ObjectOpenHashMap<>() : new Long2ObjectOpenHashMap<>(previous);
+        for (long chunk : dirtyChunks) {
+            IntArrayList runs = runsByChunk.get(chunk);
+            if (runs == null) {
+                pointsByChunk.remove(chunk);
+            } else {
+                pointsByChunk.put(chunk, createPaths(runs, coloring));
+            }
+        }
+        dirtyChunks.clear();
+
+        if (sampledOpenSpan) {
+            // Undo the open span, the next point will change it; the chunks it touched have to be updated next time
+            for (int run = Math.max(markedRunCount - 1, 0); run < runChunks.size(); run++) {
+                long chunk = runChunks.getLong(run);
+                dirtyChunks.add(chunk);
+
+                if (run >= markedRunCount) {
+                    IntArrayList runs = runsByChunk.get(chunk);
+                    runs.removeInt(runs.size() - 1);
+                    if (runs.isEmpty()) {
+                        runsByChunk.remove(chunk);
+                    }
+                }
+            }
+
+            runChunks.size(markedRunCount);
+            runStarts.size(markedRunCount);
+            runEnds.size(markedRunCount);
+            if (markedRunCount > 0) {
+                runEnds.set(markedRunCount - 1, markedLastRunEnd);
+            }
+            samples.size(markedSampleCount);
+            segmentSampleIndex = markedSegmentSampleIndex;
+        }
+
+        return pointsByChunk;
+    }
+
+    private void sampleSpan(SplinePoint start, SplinePoint end) {
+        float width = end.location - start.location;
+
+        while (true) {
+            float location = segmentSampleIndex / SAMPLE_RATE;
+            if (location >= end.location) return;
+
+            float delta = (location - start.location) / width;
+            addSample(
+                    interpolate(delta, width, start.x, end.x, start.slopeX, end.slopeX),
+                    interpolate(delta, width, start.y, end.y, start.slopeY, end.slopeY),
+                    interpolate(delta, width, start.z, end.z, start.slopeZ, end.slopeZ));
+            segmentSampleIndex++;
+        }
+    }
+
+    private void addSample(float x, float y, float z) {
+        int index = getSampleCount();
+        long chunk = ChunkPos.asLong(MathUtils.floor(x) >> 4, MathUtils.floor(z) >> 4);
+
+        samples.add(x);
+        samples.add(y);
+        samples.add(z);
+
+        int runCount = runChunks.size();
+        if (runCount > 0 && runChunks.getLong(runCount - 1) == chunk) {
+            runEnds.set(runCount - 1, index + 1);
+            dirtyChunks.add(chunk);
+            return;
+        }
+
+        if (runCount > 0 && distanceToPreviousSample(index) < CHUNK_JOIN_DISTANCE) {
+            runEnds.set(runCount - 1, index + 1);
+            dirtyChunks.add(runChunks.getLong(runCount - 1));
+        }
+
+        runChunks.add(chunk);
+        runStarts.add(index);
+        runEnds.add(index + 1);
+        runsByChunk.computeIfAbsent(chunk, k -> new IntArrayList()).add(runCount);
+        dirtyChunks.add(chunk);
+    }
+
+    private double distanceToPreviousSample(int index) {
+        double deltaX = samples.getFloat(index * 3) - samples.getFloat(index * 3 - 3);
+        double deltaY = samples.getFloat(index * 3 + 1) - samples.getFloat(index * 3 - 2);
+        double deltaZ = samples.getFloat(index * 3 + 2) - samples.getFloat(index * 3 - 1);
+        return Math.sqrt(deltaX * deltaX + deltaY * deltaY + deltaZ * deltaZ);
+    }
+
+    private List<ColoredPath> createPaths(IntArrayList runs, LootrunPathColoring coloring) {
+        List<ColoredPath> paths = new ArrayList<>(runs.size());
+        for (int i = 0; i < runs.size(); i++) {
+            int run = runs.getInt(i);
+            int start = runStarts.getInt(run);
+            int end = runEnds.getInt(run);
+
+            List<ColoredPosition> positions = new ArrayList<>(end - start);
+            for (int index = start; index < end; index++) {
+                Vec3 position = new Vec3(
+                        samples.getFloat(index * 3), samples.getFloat(index * 3 + 1), samples.getFloat(index * 3 + 2));
+                positions.add(new ColoredPosition(position, getColor(index, coloring)));
+            }
+            paths.add(new ColoredPath(positions));
+        }
+        return paths;
+    }
+
+    private static int getColor(int index, LootrunPathColoring coloring) {
+        if (!coloring.rainbow()) return coloring.pathColor();
+
+        // Fade from one rainbow color to the next over every cycle
+        int cycle = 10 * coloring.cycleDistance();
+        int colorIndex = (index / cycle) % RAINBOW_COLORS.length;
+        int currentColor = RAINBOW_COLORS[colorIndex];
+        int nextColor = RAINBOW_COLORS[(colorIndex + 1) % RAINBOW_COLORS.length];
+
+        int parts = index % cycle;
+        int usedColor = currentColor;
+        if (parts != 0) {
+            float done = (float) parts / (float) cycle;
+            float differenceRed = FastColor.ARGB32.red(nextColor) - FastColor.ARGB32.red(currentColor);
+            float differenceGreen = FastColor.ARGB32.green(nextColor) - FastColor.ARGB32.green(currentColor);
+            float differenceBlue = FastColor.ARGB32.blue(nextColor) - FastColor.ARGB32.blue(currentColor);
+
+            usedColor += (0x010000) * (int) (differenceRed * done);
+            usedColor += (0x000100) * (int) (differenceGreen * done);
+            usedColor += (int) (differenceBlue * done);
+        }
+
+        return usedColor | 0xff000000;
+    }
+
+    // Cubic Hermite interpolation, matching the evaluation of CubicSpline
+    private static float interpolate(float delta, float width, float start, float end, float slope0, float slope1) {
+        float p = slope0 * width - (end - start);
+        float q = -slope1 * width + (end - start);
+        return lerp(delta, start, end) + delta * (1f - delta) * lerp(delta, p, q);
+    }
+
+    private static float lerp(float delta, float start, float end) {
+        return start + delta * (end - start);
+    }
+
+    private static final class SplinePoint {
+        private Vec3 position;
+        private float location;
+        private float x;
+        private float y;
+        private float z;
+        private float slopeX;
+        private float slopeY;
+        private float slopeZ;
+
+        private void set(float location, Vec3 position) {
+            this.position = position;
+            this.location = location;
+            this.x = (float) position.x;
+            this.y = (float) position.y;
+            this.z = (float) position.z;
+            this.slopeX = 0f;
+            this.slopeY = 0f;
+            this.slopeZ = 0f;
+        }
+
+        private void setSlopeTowards(Vec3 next, double distance) {
+            slopeX = (float) ((next.x - position.x) / distance);
+            slopeY = (float) ((next.y - position.y) / distance);
+            slopeZ = (float) ((next.z - position.z) / distance);
+        }
+
+        private void copy(SplinePoint other) {
+            position = other.position;
+            location = other.location;
+            x = other.x;
+            y = other.y;
+            z = other.z;
+            slopeX = other.slopeX;
+            slopeY = other.slopeY;
+            slopeZ = other.slopeZ;
+        }
+    }
+}
@@ -4,6 +4,7 @@
  */
 package com.wynntils.services.lootrunpaths;
 
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import com.google.gson.JsonObject;
 import com.google.gson.JsonParser;
 import com.mojang.blaze3d.vertex.PoseStack;
@@ -21,6 +22,7 @@ import com.wynntils.models.containers.containers.reward.LootChestContainer;
 import com.wynntils.services.lootrunpaths.event.LootrunPathCacheRefreshEvent;
 import com.wynntils.services.lootrunpaths.type.LootrunNote;
 import com.wynntils.services.lootrunpaths.type.LootrunPath;
+import com.wynntils.services.lootrunpaths.type.LootrunPathColoring;
 import com.wynntils.services.lootrunpaths.type.LootrunSaveResult;
 import com.wynntils.services.lootrunpaths.type.LootrunState;
 import com.wynntils.services.lootrunpaths.type.LootrunUndoResult;
@@ -29,10 +31,13 @@ import com.wynntils.utils.mc.McUtils;
 import com.wynntils.utils.mc.PosUtils;
 import java.io.File;
 import java.io.FileReader;
+import java.io.IOException;
 import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import net.minecraft.ChatFormatting;
 import net.minecraft.client.player.LocalPlayer;
 import net.minecraft.client.resources.language.I18n;
@@ -47,6 +52,15 @@ import net.minecraftforge.eventbus.api.SubscribeEvent;
 
 public final class LootrunPathsService extends Service {
     public static final File LOOTRUNS = WynntilsMod.getModStorageDir("lootruns");
+    private static final File LOOTRUN_CACHE = new File(WynntilsMod.getModStorageDir("cache"), "lootruns");
+
+    // Sampling long lootrun paths takes a while, so lootruns are compiled without blocking the render thread
+    private final ExecutorService compileExecutor = Executors.newSingleThreadExecutor(new ThreadFactoryBuilder()
+            .setNameFormat("wynntils-lootrun-compiler-%d")
+            .setDaemon(true)
+            .build());
+    // Increased whenever the active lootrun changes, so outdated compilation results are discarded
+    private int compileGeneration = 0;
 
     private List<LootrunPathInstance> lootrunPathInstanceCache = new ArrayList<>();
 
@@ -54,9 +68,10 @@ public final class LootrunPathsService extends Service {
 
     private LootrunState state = LootrunState.DISABLED;
 
-    private LootrunPathInstance lootrun = null;
-    private LootrunPathInstance recordingCompiled = null;
+    private volatile LootrunPathInstance lootrun = null;
+    private volatile LootrunPathInstance recordingCompiled = null;
     private UncompiledLootrunPath recording = null;
+    private LootrunRecordingCompiler recordingCompiler = null;
 
     private RecordingInformation recordingInformation = null;
 
@@ -64,6 +79,7 @@ public final class LootrunPathsService extends Service {
         super(List.of());
 
         FileUtils.mkdir(Services.LootrunPaths.LOOTRUNS);
+        FileUtils.mkdir(LOOTRUN_CACHE);
     }
 
     public LootrunState getState() {
@@ -88,7 +104,7 @@ public final class LootrunPathsService extends Service {
         if (recording != null) {
             recordingInformation.setDirty(true);
         } else if (uncompiled != null) {
-            lootrun = LootrunCompiler.compile(uncompiled, false);
+            compileLootrun(new SampledLootrunPath(uncompiled, null), false);
             if (saveToFile && uncompiled.file() != null) {
                 LootrunSaveResult lootrunSaveResult =
                         saveCurrentLootrun(uncompiled.file().getName().replace(".json", ""));
@@ -111,21 +127,25 @@ public final class LootrunPathsService extends Service {
     }
 
     public void clearCurrentLootrun() {
+        nextCompileGeneration();
+
         state = LootrunState.DISABLED;
         lootrun = null;
         uncompiled = null;
         recording = null;
         recordingCompiled = null;
+        recordingCompiler = null;
         recordingInformation = null;
     }
 
     public void stopRecording() {
         // At this point, we already have LootrunFeature registered to the event bus
         state = LootrunState.LOADED;
-        lootrun = LootrunCompiler.compile(recording, false);
+        compileLootrun(new SampledLootrunPath(recording, null), false);
         uncompiled = recording;
         recording = null;
         recordingCompiled = null;
+        recordingCompiler = null;
         recordingInformation = null;
     }
 
@@ -133,6 +153,7 @@ public final class LootrunPathsService extends Service {
         state = LootrunState.RECORDING;
         recording =
                 new UncompiledLootrunPath(new LootrunPath(new ArrayList<>()), new HashSet<>(), new ArrayList<>(), null);
+        recordingCompiler = new LootrunRecordingCompiler();
         recordingInformation = new RecordingInformation();
     }
 
@@ -142,15 +163,17 @@ public final class LootrunPathsService extends Service {
 
     public void refreshLootrunCache() {
         List<LootrunPathInstance> lootruns = new ArrayList<>();
+        LootrunPathColoring coloring = LootrunCompiler.getColoring(false);
 
         File[] files = LOOTRUNS.listFiles();
         for (File file : files != null ? files : new File[0]) {
             if (file.getName().endsWith(".json")) {
                 try {
-                    FileReader reader = new FileReader(file, StandardCharsets.UTF_8);
-                    JsonObject json = JsonParser.parseReader(reader).getAsJsonObject();
-                    UncompiledLootrunPath uncompiled = LootrunPathFileParser.readJson(file, json);
-                    lootruns.add(LootrunCompiler.compile(uncompiled, false));
+                    SampledLootrunPath lootrunPath = readLootrunFile(file);
+                    LootrunPathSampler sampler = lootrunPath.sampler() != null
+                            ? lootrunPath.sampler()
+                            : sampleLootrun(lootrunPath.uncompiled(), true);
+                    lootruns.add(LootrunCompiler.compile(lootrunPath.uncompiled(), sampler, false, coloring));
                 } catch (Exception e) {
                     WynntilsMod.warn("Could not parse lootrun file.", e);
                 }
@@ -166,12 +189,10 @@ public final class LootrunPathsService extends Service {
         File lootrunFile = new File(LOOTRUNS, lootrunFileName);
         if (lootrunFile.exists()) {
             try {
-                FileReader file = new FileReader(lootrunFile, StandardCharsets.UTF_8);
-                JsonObject json = JsonParser.parseReader(file).getAsJsonObject();
-                uncompiled = LootrunPathFileParser.readJson(lootrunFile, json);
-                lootrun = LootrunCompiler.compile(uncompiled, false);
+                SampledLootrunPath lootrunPath = readLootrunFile(lootrunFile);
+                uncompiled = lootrunPath.uncompiled();
+                compileLootrun(lootrunPath, true);
                 state = LootrunState.LOADED;
-                file.close();
                 return true;
             } catch (Exception e) {
                 WynntilsMod.error("Error when trying to load lootrun file.", e);
@@ -181,6 +202,118 @@ public final class LootrunPathsService extends Service {
         return false;
     }
 
+    /**
+     * Reads a lootrun file, from its binary cache if that is up to date. Otherwise, the JSON file is parsed, and
+     * the path of the returned lootrun is not sampled yet.
+     */
+    private SampledLootrunPath readLootrunFile(File lootrunFile) throws IOException {
+        try {
+            SampledLootrunPath cached = LootrunPathFileParser.readBinary(getCacheFile(lootrunFile), lootrunFile);
+            if (cached != null) return cached;
+        } catch (IOException e) {
+            WynntilsMod.warn("Could not read lootrun cache of " + lootrunFile.getName() + ", reading it again.", e);
+        }
+
+        try (FileReader reader = new FileReader(lootrunFile, StandardCharsets.UTF_8)) {
+            JsonObject json = JsonParser.parseReader(reader).getAsJsonObject();
+            return new SampledLootrunPath(LootrunPathFileParser.readJson(lootrunFile, json), null);
+        }
+    }
+
+    private LootrunPathSampler sampleLootrun(UncompiledLootrunPath lootrunPath, boolean writeCache) {
+        LootrunPathSampler sampler = LootrunCompiler.sample(lootrunPath.path());
+
+        if (writeCache && lootrunPath.file() != null) {
+            try {
+                File cacheFile = getCacheFile(lootrunPath.file());
+                LootrunPathFileParser.writeBinary(cacheFile, lootrunPath.file(), lootrunPath, sampler);
+            } catch (IOException e) {
+                WynntilsMod.warn("Could not write lootrun cache of " + lootrunPath.file().getName(), e);
+            }
+        }
+
+        return sampler;
+    }
+
+    private File getCacheFile(File lootrunFile) {
+        return new File(LOOTRUN_CACHE, lootrunFile.getName().replace(".json", ".wlr"));
+    }
+
+    /**
+     * Compiles the lootrun on the compiler thread, and makes it the current lootrun once done.
+     *
+     * @param writeCache whether the lootrun is unmodified since it was read, so the binary cache can be written if
+     *                   the path has to be sampled
+     */
+    private void compileLootrun(SampledLootrunPath lootrunPath, boolean writeCache) {
+        // The chests and notes can still be changed while the lootrun is being compiled
+        UncompiledLootrunPath current = lootrunPath.uncompiled();
+        UncompiledLootrunPath snapshot = new UncompiledLootrunPath(
+                current.path(), new HashSet<>(current.chests()), new ArrayList<>(current.notes()), current.file());
+        LootrunPathColoring coloring = LootrunCompiler.getColoring(false);
+        int generation = nextCompileGeneration();
+
+        runCompileTask(() -> {
+            LootrunPathSampler sampler =
+                    lootrunPath.sampler() != null ? lootrunPath.sampler() : sampleLootrun(snapshot, writeCache);
+            LootrunPathInstance compiled = LootrunCompiler.compile(snapshot, sampler, false, coloring);
+
+            synchronized (this) {
+                if (generation == compileGeneration) {
+                    lootrun = compiled;
+                }
+            }
+        });
+    }
+
+    private void compileRecording() {
+        List<Vec3> points = recording.path().points();
+        LootrunPathColoring coloring = LootrunCompiler.getColoring(true);
+
+        // Only new points have to be compiled, unless points were removed or the color changed
+        boolean reset = recordingInformation.isPathModified()
+                || !coloring.equals(recordingInformation.getCompiledColoring());
+        int firstNewPoint = reset ? 0 : recordingInformation.getCompiledPointCount();
+        List<Vec3> newPoints = List.copyOf(points.subList(firstNewPoint, points.size()));
+
+        recordingInformation.setCompiledPointCount(points.size());
+        recordingInformation.setPathModified(false);
+        recordingInformation.setCompiledColoring(coloring);
+
+        UncompiledLootrunPath snapshot = new UncompiledLootrunPath(
+                recording.path(), new HashSet<>(recording.chests()), new ArrayList<>(recording.notes()), null);
+        LootrunRecordingCompiler compiler = recordingCompiler;
+        int generation = getCompileGeneration();
+
+        runCompileTask(() -> {
+            LootrunPathInstance compiled = compiler.update(snapshot, newPoints, reset, coloring);
+
+            synchronized (this) {
+                if (generation == compileGeneration) {
+                    recordingCompiled = compiled;
+                }
+            }
+        });
+    }
+
+    private void runCompileTask(Runnable task) {
+        compileExecutor.execute(() -> {
+            try {
+                task.run();
+            } catch (Exception e) {
+                WynntilsMod.error("Error when compiling lootrun.", e);
+            }
+        });
+    }
+
+    private synchronized int nextCompileGeneration() {
+        return ++compileGeneration;
+    }
+
+    private synchronized int getCompileGeneration() {
+        return compileGeneration;
+    }
+
     public void tryLoadLootrun(String fileName) {
         if (loadFile(fileName)) {
             Position startingPoint = Services.LootrunPaths.getStartingPoint();
@@ -220,6 +353,7 @@ public final class LootrunPathsService extends Service {
         }
 
         points.points().removeAll(removed.points());
+        recordingInformation.setPathModified(true);
         recordingInformation.setDirty(true);
         return LootrunUndoResult.SUCCESSFUL;
     }
@@ -338,7 +472,7 @@ public final class LootrunPathsService extends Service {
         }
 
         if (recordingInformation.isDirty()) {
-            recordingCompiled = LootrunCompiler.compile(recording, true);
+            compileRecording();
             recordingInformation.setDirty(false);
         }
     }
@@ -0,0 +1,84 @@
+/*
+ * Copyright © Wynntils 2024.
+ * This file is released under LGPLv3. See LICENSE for full license details.
+ */
+package com.wynntils.services.lootrunpaths;
+
+import com.wynntils.services.lootrunpaths.type.ColoredPath;
+import com.wynntils.services.lootrunpaths.type.LootrunPathColoring;
+import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
+import java.util.ArrayList;
+import java.util.List;
+import net.minecraft.world.phys.Vec3;
+import org.joml.Vector2d;
+
+/**
+ * Compiles the lootrun that is being recorded. New points are added to the already sampled path, so the cost of an
+ * update does not grow with the length of the recording. Only used from the lootrun compiler thread.
+ */
+final class LootrunRecordingCompiler {
+    // The map path is simplified in blocks of points, newer points are shown as recorded until the block is full
+    private static final int SIMPLIFY_BLOCK_SIZE = 64;
+    private static final double SIMPLIFY_TOLERANCE = 0.5;
+
+    private final List<Vector2d> simplifiedPath = new ArrayList<>();
+    // Points since the last simplified block, starting with the last point of that block
+    private final List<Vec3> unsimplifiedPoints = new ArrayList<>();
+
+    private LootrunPathSampler sampler = new LootrunPathSampler();
+    private Long2ObjectMap<List<ColoredPath>> points = null;
+
+    /**
+     * @param recording a snapshot of the recording; its chests and notes must not be modified afterwards
+     * @param newPoints the points added since the last update, or all points if {@code reset} is set
+     * @param reset whether the path or its coloring was changed in other ways than adding points, so it must be
+     *              compiled from scratch
+     */
+    LootrunPathInstance update(
+            UncompiledLootrunPath recording, List<Vec3> newPoints, boolean reset, LootrunPathColoring coloring) {
+        if (reset) {
+            sampler = new LootrunPathSampler();
+            points = null;
+            simplifiedPath.clear();
+            unsimplifiedPoints.clear();
+        }
+
+        sampler.addPoints(newPoints);
+        points = sampler.updatePointsByChunk(points, coloring, true);
+        addSimplifiedPoints(newPoints);
+
+        return new LootrunPathInstance(
+                LootrunCompiler.getLootrunName(recording, true),
+                recording.path(),
+                getSimplifiedPath(),
+                points,
+                LootrunCompiler.getChests(recording.chests()),
+                LootrunCompiler.getNotes(recording.notes()));
+    }
+
+    private void addSimplifiedPoints(List<Vec3> newPoints) {
+        for (Vec3 point : newPoints) {
+            unsimplifiedPoints.add(point);
+            if (unsimplifiedPoints.size() < SIMPLIFY_BLOCK_SIZE) continue;
+
+            List<Vector2d> simplifiedBlock =
+                    LootrunCompiler.generateSimplifiedPoints(unsimplifiedPoints, SIMPLIFY_TOLERANCE);
+            // The first point of the block is already the last point of the previous block
+            simplifiedPath.addAll(
+                    simplifiedPath.isEmpty() ? simplifiedBlock : simplifiedBlock.subList(1, simplifiedBlock.size()));
+
+            unsimplifiedPoints.clear();
+            unsimplifiedPoints.add(point);
+        }
+    }
+
+    private List<Vector2d> getSimplifiedPath() {
+        List<Vector2d> path = new ArrayList<>(simplifiedPath.size() + unsimplifiedPoints.size());
+        path.addAll(simplifiedPath);
+        for (int i = simplifiedPath.isEmpty() ? 0 : 1; i < unsimplifiedPoints.size(); i++) {
+            Vec3 point = unsimplifiedPoints.get(i);
+            path.add(new Vector2d(point.x, point.z));
+        }
+        return path;
+    }
+}
@@ -1,9 +1,10 @@
 /*
- * Copyright © Wynntils 2023.
+ * Copyright © Wynntils 2023-2024.
  * This file is released under LGPLv3. See LICENSE for full license details.
  */
 package com.wynntils.services.lootrunpaths;
 
+import com.wynntils.services.lootrunpaths.type.LootrunPathColoring;
 import net.minecraft.core.BlockPos;
 import net.minecraft.world.phys.Vec3;
 
@@ -12,6 +13,11 @@ class RecordingInformation {
     private BlockPos lastChest;
     private boolean dirty;
 
+    // What the recording compiler has already been given, so only new points have to be compiled
+    private int compiledPointCount;
+    private boolean pathModified;
+    private LootrunPathColoring compiledColoring;
+
     protected Vec3 getLastLocation() {
         return lastLocation;
     }
@@ -35,4 +41,28 @@ class RecordingInformation {
     protected void setDirty(boolean dirty) {
         this.dirty = dirty;
     }
+
+    protected int getCompiledPointCount() {
+        return compiledPointCount;
+    }
+
+    protected void setCompiledPointCount(int compiledPointCount) {
+        this.compiledPointCount = compiledPointCount;
+    }
+
+    protected boolean isPathModified() {
+        return pathModified;
+    }
+
+    protected void setPathModified(boolean pathModified) {
+        this.pathModified = pathModified;
+    }
+
+    protected LootrunPathColoring getCompiledColoring() {
+        return compiledColoring;
+    }
+
+    protected void setCompiledColoring(LootrunPathColoring compiledColoring) {
+        this.compiledColoring = compiledColoring;
+    }
 }
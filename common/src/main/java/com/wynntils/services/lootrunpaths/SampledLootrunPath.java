@@ -0,0 +1,10 @@
+/*
+ * Copyright © Wynntils 2024.
+ * This file is released under LGPLv3. See LICENSE for full license details.
+ */
+package com.wynntils.services.lootrunpaths;
+
+/**
+ * A lootrun together with its sampled path. The sampler is null if the path has not been sampled yet.
+ */
+public record SampledLootrunPath(UncompiledLootrunPath uncompiled, LootrunPathSampler sampler) {}
@@ -0,0 +1,7 @@
+/*
+ * Copyright © Wynntils 2024.
+ * This file is released under LGPLv3. See LICENSE for full license details.
+ */
+package com.wynntils.services.lootrunpaths.type;
+
+public record LootrunPathColoring(boolean rainbow, int cycleDistance, int pathColor) {}
@@ -15,14 +15,17 @@ import com.wynntils.utils.mc.McUtils;
 import com.wynntils.utils.type.BoundingBox;
 import com.wynntils.utils.type.BoundingCircle;
 import com.wynntils.utils.type.BoundingShape;
+import com.wynntils.utils.type.SpatialIndex;
 import java.io.IOException;
 import java.lang.reflect.Type;
 import java.net.URI;
 import java.util.List;
-import java.util.concurrent.CopyOnWriteArrayList;
 
 public final class MapService extends Service {
-    private final List<MapTexture> maps = new CopyOnWriteArrayList<>();
+    // Map parts are around a thousand blocks wide
+    private static final float MAP_INDEX_CELL_SIZE = 512f;
+
+    private final SpatialIndex<MapTexture> maps = new SpatialIndex<>(MAP_INDEX_CELL_SIZE);
 
     public MapService() {
         super(List.of());
@@ -40,13 +43,13 @@ public final class MapService extends Service {
     }
 
     public List<MapTexture> getMapsForBoundingBox(BoundingBox box) {
-        return maps.stream()
+        return maps.queryBox(box).stream()
                 .filter(map -> BoundingShape.intersects(box, map.getBox()))
                 .toList();
     }
 
     public List<MapTexture> getMapsForBoundingCircle(BoundingCircle circle) {
-        return maps.stream()
+        return maps.queryCircle(circle).stream()
                 .filter(map -> BoundingShape.intersects(map.getBox(), circle))
                 .toList();
     }
@@ -82,7 +85,7 @@ public final class MapService extends Service {
                         NativeImage nativeImage = NativeImage.read(inputStream);
                         MapTexture mapPartImage =
                                 new MapTexture(fileName, nativeImage, mapPart.x1, mapPart.z1, mapPart.x2, mapPart.z2);
-                        maps.add(mapPartImage);
+                        maps.put(mapPartImage, mapPartImage.getBox());
                     } catch (IOException e) {
                         WynntilsMod.warn("IOException occurred while loading map image of " + mapPart.name, e);
                     }
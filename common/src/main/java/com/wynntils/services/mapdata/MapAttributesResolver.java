@@ -4,138 +4,105 @@
  */
 package com.wynntils.services.mapdata;
 
-import com.wynntils.core.components.Services;
 import com.wynntils.services.mapdata.attributes.DefaultMapAttributes;
 import com.wynntils.services.mapdata.attributes.type.MapAttributes;
 import com.wynntils.services.mapdata.attributes.type.MapVisibility;
 import com.wynntils.services.mapdata.attributes.type.ResolvedMapAttributes;
 import com.wynntils.services.mapdata.attributes.type.ResolvedMapVisibility;
-import com.wynntils.services.mapdata.type.MapCategory;
 import com.wynntils.services.mapdata.type.MapFeature;
+import java.util.List;
 import java.util.Optional;
-import java.util.function.Function;
-import java.util.stream.Stream;
 
 /**
  * This will create a special type of MapAttributes that are a record with fixed values,
  * which are guarenteed to exist. It does this by extending the lookup for the
  * attribute first to the category hierarchy for the given feature, and
  * finally by going to the default value for each attribute.
+ *
+ * <p>The category hierarchy is flattened ahead of time by {@link MapCategoryTable}, using
+ * {@link #resolveCategory}, so resolving a feature only has to put its own attributes on top
+ * of the resolved attributes of its category.
  */
-public class MapAttributesResolver {
-    private final MapFeature feature;
+public final class MapAttributesResolver {
+    // The fallback default values, used when neither a feature nor its categories define an attribute
+    public static final ResolvedMapAttributes DEFAULT_ATTRIBUTES = resolveDefaults(DefaultMapAttributes.INSTANCE);
 
-    private MapAttributesResolver(MapFeature feature) {
-        this.feature = feature;
-    }
+    private MapAttributesResolver() {}
 
-    public static ResolvedMapAttributes resolve(MapFeature feature) {
-        MapAttributesResolver resolver = new MapAttributesResolver(feature);
+    public static ResolvedMapAttributes resolve(MapFeature feature, ResolvedMapAttributes categoryAttributes) {
+        // Check if the feature has overridden any attribute
+        Optional<MapAttributes> attributes = feature.getAttributes();
+        if (attributes.isEmpty()) return categoryAttributes;
 
-        return new ResolvedMapAttributes(
-                resolver.getAttribute(MapAttributes::getLabel),
-                resolver.getAttribute(MapAttributes::getIconId),
-                resolver.getAttribute(MapAttributes::getPriority),
-                resolver.getAttribute(MapAttributes::getLevel),
-                resolver.getResolvedMapVisibility(MapAttributes::getLabelVisibility),
-                resolver.getAttribute(MapAttributes::getLabelColor),
-                resolver.getAttribute(MapAttributes::getLabelShadow),
-                resolver.getResolvedMapVisibility(MapAttributes::getIconVisibility),
-                resolver.getAttribute(MapAttributes::getIconColor),
-                resolver.getAttribute(MapAttributes::getIconDecoration));
+        return merge(attributes.get(), categoryAttributes);
     }
 
-    private <T> T getAttribute(Function<MapAttributes, Optional<T>> attributeGetter) {
-        // Check if the feature has overridden this attribute
-        Optional<T> featureAttribute = getFromFeature(attributeGetter);
-        if (featureAttribute.isPresent()) {
-            return featureAttribute.get();
+    /**
+     * Resolves the attributes of a category level, given all definitions of the category and the resolved
+     * attributes of the parent category.
+     *
+     * <p>Mulitple providers might provide MapAttributes to the same category, but not all of them might provide
+     * the attribute we're actually looking for, so the first definition providing an attribute is used.
+     */
+    public static ResolvedMapAttributes resolveCategory(
+            List<MapAttributes> definitions, ResolvedMapAttributes parentAttributes) {
+        ResolvedMapAttributes resolved = parentAttributes;
+
+        // Merge the last definition first, so the earlier definitions take precedence
+        for (int i = definitions.size() - 1; i >= 0; i--) {
+            resolved = merge(definitions.get(i), resolved);
         }
 
-        // Then try to get it from the category
-        for (String id = getCategoryId(); id != null; id = getParentCategoryId(id)) {
-            Stream<T> attributes = getAttributesForCategoryId(attributeGetter, id);
-
-            Optional<T> attribute = attributes.findFirst();
-            if (attribute.isPresent()) {
-                return attribute.get();
-            }
-        }
-
-        // Otherwise return the fallback default value
-        return attributeGetter.apply(DefaultMapAttributes.INSTANCE).get();
+        return resolved;
     }
 
-    private ResolvedMapVisibility getResolvedMapVisibility(
-            Function<MapAttributes, Optional<MapVisibility>> attributeGetter) {
-        return new ResolvedMapVisibility(
-                getVisibilityValue(MapVisibility::getMin, attributeGetter),
-                getVisibilityValue(MapVisibility::getMax, attributeGetter),
-                getVisibilityValue(MapVisibility::getFade, attributeGetter));
-    }
-
-    private float getVisibilityValue(
-            Function<MapVisibility, Optional<Float>> valueGetter,
-            Function<MapAttributes, Optional<MapVisibility>> attributeGetter) {
-        // Check if the feature has overridden this attribute
-        Optional<MapVisibility> featureVisibility = getFromFeature(attributeGetter);
-        if (featureVisibility.isPresent()) {
-            // We got the attribute, but do we got the value?
-            Optional<Float> featureValue = valueGetter.apply(featureVisibility.get());
-            if (featureValue.isPresent()) {
-                return featureValue.get();
-            }
-        }
-
-        // Otherwise try to get it from the category
-        for (String id = getCategoryId(); id != null; id = getParentCategoryId(id)) {
-            Stream<MapVisibility> attributes = getAttributesForCategoryId(attributeGetter, id);
-
-            // Then check each visibility in turn for the value we're looking for
-            Optional<Float> attribute = attributes
-                    .map(valueGetter)
-                    .filter(Optional::isPresent)
-                    .map(Optional::get)
-                    .findFirst();
-            if (attribute.isPresent()) {
-                return attribute.get();
-            }
-        }
-
-        // Otherwise return the fallback default value
-        return valueGetter
-                .apply(attributeGetter.apply(DefaultMapAttributes.INSTANCE).get())
-                .get();
+    static String getParentCategoryId(String categoryId) {
+        int index = categoryId.lastIndexOf(':');
+        if (index == -1) return null;
+        return categoryId.substring(0, index);
     }
 
-    private String getCategoryId() {
-        return feature.getCategoryId();
+    private static ResolvedMapAttributes merge(MapAttributes attributes, ResolvedMapAttributes fallback) {
+        return new ResolvedMapAttributes(
+                attributes.getLabel().orElse(fallback.label()),
+                attributes.getIconId().orElse(fallback.iconId()),
+                attributes.getPriority().orElse(fallback.priority()),
+                attributes.getLevel().orElse(fallback.level()),
+                mergeVisibility(attributes.getLabelVisibility(), fallback.labelVisibility()),
+                attributes.getLabelColor().orElse(fallback.labelColor()),
+                attributes.getLabelShadow().orElse(fallback.labelShadow()),
+                mergeVisibility(attributes.getIconVisibility(), fallback.iconVisibility()),
+                attributes.getIconColor().orElse(fallback.iconColor()),
+                attributes.getIconDecoration().orElse(fallback.iconDecoration()));
     }
 
-    private <T> Optional<T> getFromFeature(Function<MapAttributes, Optional<T>> attributeGetter) {
-        Optional<MapAttributes> attributes = feature.getAttributes();
-        if (attributes.isEmpty()) return Optional.empty();
+    private static ResolvedMapVisibility mergeVisibility(
+            Optional<MapVisibility> visibility, ResolvedMapVisibility fallback) {
+        if (visibility.isEmpty()) return fallback;
 
-        return attributeGetter.apply(attributes.get());
+        // We got the attribute, but each value might still be missing
+        MapVisibility mapVisibility = visibility.get();
+        return new ResolvedMapVisibility(
+                mapVisibility.getMin().orElse(fallback.min()),
+                mapVisibility.getMax().orElse(fallback.max()),
+                mapVisibility.getFade().orElse(fallback.fade()));
     }
 
-    private <T> Stream<T> getAttributesForCategoryId(
-            Function<MapAttributes, Optional<T>> attributeGetter, String categoryId) {
-        // Find all provided MapAttributes for this category level
-        Stream<MapAttributes> allAttributes = Services.MapData.getCategoryDefinitions(categoryId)
-                .map(MapCategory::getAttributes)
-                .filter(Optional::isPresent)
-                .map(Optional::get);
-
-        // Mulitple providers might provide MapAttributes to the same category, but not
-        // all of them might provide the attribute we're actually looking for, so
-        // check all (in the arbitrary order that Services.MapData gave them to us).
-        return allAttributes.map(attributeGetter).filter(Optional::isPresent).map(Optional::get);
+    private static ResolvedMapAttributes resolveDefaults(MapAttributes defaults) {
+        return new ResolvedMapAttributes(
+                defaults.getLabel().get(),
+                defaults.getIconId().get(),
+                defaults.getPriority().get(),
+                defaults.getLevel().get(),
+                resolveDefaultVisibility(defaults.getLabelVisibility().get()),
+                defaults.getLabelColor().get(),
+                defaults.getLabelShadow().get(),
+                resolveDefaultVisibility(defaults.getIconVisibility().get()),
+                defaults.getIconColor().get(),
+                defaults.getIconDecoration().get());
     }
 
-    private String getParentCategoryId(String categoryId) {
-        int index = categoryId.lastIndexOf(':');
-        if (index == -1) return null;
-        return categoryId.substring(0, index);
+    private static ResolvedMapVisibility resolveDefaultVisibility(MapVisibility defaults) {
+        return new ResolvedMapVisibility(defaults.getMin().get(), defaults.getMax().get(), defaults.getFade().get());
     }
 }
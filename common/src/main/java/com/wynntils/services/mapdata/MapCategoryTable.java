@@ -0,0 +1,91 @@
+/*
+ * Copyright © Wynntils 2024.
+ * This file is released under LGPLv3. See LICENSE for full license details.
+ */
+package com.wynntils.services.mapdata;
+
+import com.wynntils.services.mapdata.attributes.type.MapAttributes;
+import com.wynntils.services.mapdata.attributes.type.ResolvedMapAttributes;
+import com.wynntils.services.mapdata.type.MapCategory;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+/**
+ * An immutable table of all category definitions of all providers, and the resolved attributes of every defined
+ * category.
+ *
+ * <p>The attributes of a category are resolved once, when the table is built, by putting the definitions of the
+ * category on top of the resolved attributes of its parent category. A category without any definition of its own
+ * shares the attributes of its closest defined parent.
+ */
+public final class MapCategoryTable {
+    private final Map<String, List<MapCategory>> definitions;
+    private final Map<String, ResolvedMapAttributes> attributes;
+
+    /**
+     * @param categories the categories of all providers, in provider order
+     */
+    public MapCategoryTable(Stream<MapCategory> categories) {
+        Map<String, List<MapCategory>> definitionLists = new HashMap<>();
+        categories
+                .filter(category -> category.getCategoryId() != null)
+                .forEach(category -> definitionLists
+                        .computeIfAbsent(category.getCategoryId(), id -> new ArrayList<>())
+                        .add(category));
+
+        Map<String, ResolvedMapAttributes> resolvedAttributes = new HashMap<>();
+        for (String categoryId : definitionLists.keySet()) {
+            resolveCategory(categoryId, definitionLists, resolvedAttributes);
+        }
+
+        definitionLists.replaceAll((categoryId, list) -> List.copyOf(list));
+        this.definitions = Map.copyOf(definitionLists);
+        this.attributes = Map.copyOf(resolvedAttributes);
+    }
+
+    public Stream<MapCategory> getDefinitions(String categoryId) {
+        if (categoryId == null) return Stream.empty();
+
+        return definitions.getOrDefault(categoryId, List.of()).stream();
+    }
+
+    public ResolvedMapAttributes getAttributes(String categoryId) {
+        for (String id = categoryId; id != null; id = MapAttributesResolver.getParentCategoryId(id)) {
+            ResolvedMapAttributes resolved = attributes.get(id);
+            if (resolved != null) return resolved;
+        }
+
+        return MapAttributesResolver.DEFAULT_ATTRIBUTES;
+    }
+
+    private static ResolvedMapAttributes resolveCategory(
+            String categoryId,
+            Map<String, List<MapCategory>> definitionLists,
+            Map<String, ResolvedMapAttributes> resolvedAttributes) {
+        if (categoryId == null) return MapAttributesResolver.DEFAULT_ATTRIBUTES;
+
+        ResolvedMapAttributes resolved = resolvedAttributes.get(categoryId);
+        if (resolved != null) return resolved;
+
+        // Parents are resolved first, so every level of the hierarchy is only resolved once
+        ResolvedMapAttributes parentAttributes = resolveCategory(
+                MapAttributesResolver.getParentCategoryId(categoryId), definitionLists, resolvedAttributes);
+
+        List<MapCategory> categoryDefinitions = definitionLists.get(categoryId);
+        if (categoryDefinitions == null) return parentAttributes;
+
+        List<MapAttributes> categoryAttributes = categoryDefinitions.stream()
+                .map(MapCategory::getAttributes)
+                .filter(Optional::isPresent)
+                .map(Optional::get)
+                .toList();
+        resolved = MapAttributesResolver.resolveCategory(categoryAttributes, parentAttributes);
+
+        resolvedAttributes.put(categoryId, resolved);
+        return resolved;
+    }
+}
@@ -28,6 +28,7 @@ import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Stream;
 
 public class MapDataService extends Service {
@@ -38,9 +39,12 @@ public class MapDataService extends Service {
     // Used for referencing the map data service before it is fully initialized in Services
     private final LinkedList<String> providerOrder = new LinkedList<>();
     private final Map<String, MapDataProvider> allProviders = new HashMap<>();
-    private final Map<MapFeature, ResolvedMapAttributes> resolvedAttributesCache = new HashMap<>();
+    private final Map<String, ProviderAttributesCache> resolvedAttributesCaches = new ConcurrentHashMap<>();
     private final Map<String, Optional<MapIcon>> iconCache = new HashMap<>();
 
+    // Rebuilt on the next lookup after the categories of any provider have changed
+    private volatile MapCategoryTable categoryTable = null;
+
     public MapDataService() {
         super(List.of());
 
@@ -52,18 +56,22 @@ public class MapDataService extends Service {
     }
 
     public Stream<Poi> getFeaturesAsPois() {
-        return getFeatures().map(feature -> new MapFeaturePoiWrapper(feature, resolveMapAttributes(feature)));
+        return providerOrder.stream()
+                .flatMap(providerId -> toPois(providerId, allProviders.get(providerId).getFeatures()));
     }
 
     // region Lookup features and resolve attributes
 
+    /**
+     * Resolves the attributes of a feature, without caching them. Features of a provider are resolved through
+     * {@link #getFeaturesAsPois()}, which caches the attributes until the provider changes.
+     */
     public ResolvedMapAttributes resolveMapAttributes(MapFeature feature) {
-        return resolvedAttributesCache.computeIfAbsent(feature, k -> MapAttributesResolver.resolve(feature));
+        return MapAttributesResolver.resolve(feature, getCategoryTable().getAttributes(feature.getCategoryId()));
     }
 
     public Stream<MapCategory> getCategoryDefinitions(String categoryId) {
-        return getProviders().flatMap(MapDataProvider::getCategories).filter(p -> p.getCategoryId()
-                .equals(categoryId));
+        return getCategoryTable().getDefinitions(categoryId);
     }
 
     public String getCategoryName(String categoryId) {
@@ -115,6 +123,15 @@ public class MapDataService extends Service {
         if (providerOrder.remove(providerId)) {
             // If it existed, put it back first
             providerOrder.addFirst(providerId);
+
+            // Its categories and icons now take precedence over those of other providers
+            MapDataProvider provider = allProviders.get(providerId);
+            if (hasCategories(provider)) {
+                categoryTable = null;
+            }
+            if (hasIcons(provider)) {
+                iconCache.clear();
+            }
         }
     }
 
@@ -145,17 +162,64 @@ public class MapDataService extends Service {
             providerOrder.addFirst(providerId);
         }
         // Add or update the provider
-        allProviders.put(providerId, provider);
+        MapDataProvider oldProvider = allProviders.put(providerId, provider);
+
+        // Invalidate caches. Categories and icons are shared by the features of all providers, so those are only
+        // invalidated if the old or the new provider has any; otherwise only the features of this provider changed.
+        if (hasCategories(oldProvider) || hasCategories(provider)) {
+            categoryTable = null;
+        }
+        if (hasIcons(oldProvider) || hasIcons(provider)) {
+            iconCache.clear();
+        }
+        resolvedAttributesCaches.remove(providerId);
+    }
+
+    private static boolean hasCategories(MapDataProvider provider) {
+        return provider != null && provider.getCategories().findAny().isPresent();
+    }
 
-        // Invalidate caches
-        resolvedAttributesCache.clear();
-        iconCache.clear();
+    private static boolean hasIcons(MapDataProvider provider) {
+        return provider != null && provider.getIcons().findAny().isPresent();
     }
 
     private Stream<MapDataProvider> getProviders() {
         return providerOrder.stream().map(allProviders::get);
     }
 
+    private MapCategoryTable getCategoryTable() {
+        MapCategoryTable table = categoryTable;
+        if (table == null) {
+            table = new MapCategoryTable(getProviders().flatMap(MapDataProvider::getCategories));
+            categoryTable = table;
+        }
+        return table;
+    }
+
+    private Stream<Poi> toPois(String providerId, Stream<MapFeature> features) {
+        ProviderAttributesCache attributesCache = getAttributesCache(providerId);
+        return features.map(feature -> new MapFeaturePoiWrapper(feature, attributesCache.resolve(feature)));
+    }
+
+    private ProviderAttributesCache getAttributesCache(String providerId) {
+        MapDataProvider provider = allProviders.get(providerId);
+        long revision = provider.getFeatureRevision();
+        MapCategoryTable table = getCategoryTable();
+
+        ProviderAttributesCache attributesCache = resolvedAttributesCaches.get(providerId);
+        if (attributesCache != null
+                && attributesCache.provider() == provider
+                && attributesCache.revision() == revision
+                && attributesCache.categoryTable() == table) {
+            return attributesCache;
+        }
+
+        // The provider was replaced, its features changed, or the categories changed, so resolve its features again
+        attributesCache = new ProviderAttributesCache(provider, revision, table, new ConcurrentHashMap<>());
+        resolvedAttributesCaches.put(providerId, attributesCache);
+        return attributesCache;
+    }
+
     // endregion
 
     /** This method requires a MapVisibility with all values non-empty to work correctly. */
@@ -207,6 +271,19 @@ public class MapDataService extends Service {
         return 0;
     }
 
+    private record ProviderAttributesCache(
+            MapDataProvider provider,
+            long revision,
+            MapCategoryTable categoryTable,
+            Map<MapFeature, ResolvedMapAttributes> attributes) {
+        private ResolvedMapAttributes resolve(MapFeature feature) {
+            return attributes.computeIfAbsent(feature, key -> {
+                ResolvedMapAttributes categoryAttributes = categoryTable.getAttributes(key.getCategoryId());
+                return MapAttributesResolver.resolve(key, categoryAttributes);
+            });
+        }
+    }
+
     private static final class PlaceholderProvider implements MapDataProvider {
         @Override
         public Stream<MapFeature> getFeatures() {
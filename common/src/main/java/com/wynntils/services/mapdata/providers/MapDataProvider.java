@@ -15,4 +15,12 @@ public interface MapDataProvider {
     Stream<MapCategory> getCategories();
 
     Stream<MapIcon> getIcons();
+
+    /**
+     * A value that changes whenever features are added or removed. Providers whose features never change
+     * after creation can keep the default.
+     */
+    default long getFeatureRevision() {
+        return 0L;
+    }
 }
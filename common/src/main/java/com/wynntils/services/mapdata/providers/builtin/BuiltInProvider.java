@@ -8,11 +8,29 @@ import com.wynntils.services.mapdata.attributes.type.MapIcon;
 import com.wynntils.services.mapdata.providers.MapDataProvider;
 import com.wynntils.services.mapdata.type.MapCategory;
 import com.wynntils.services.mapdata.type.MapFeature;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.stream.Stream;
 
 public abstract class BuiltInProvider implements MapDataProvider {
+    // Built-in providers keep their features in static lists, so the revision is kept per provider class
+    private static final ClassValue<AtomicLong> FEATURE_REVISIONS = new ClassValue<>() {
+        @Override
+        protected AtomicLong computeValue(Class<?> providerClass) {
+            return new AtomicLong();
+        }
+    };
+
     public abstract String getProviderId();
 
+    protected static void markFeaturesChanged(Class<? extends BuiltInProvider> providerClass) {
+        FEATURE_REVISIONS.get(providerClass).incrementAndGet();
+    }
+
+    @Override
+    public long getFeatureRevision() {
+        return FEATURE_REVISIONS.get(getClass()).get();
+    }
+
     @Override
     public Stream<MapFeature> getFeatures() {
         return Stream.empty();
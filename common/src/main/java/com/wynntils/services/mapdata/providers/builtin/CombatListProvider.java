@@ -31,6 +31,7 @@ public class CombatListProvider extends BuiltInProvider {
 
     public static void registerFeature(Location location, CombatKind kind, String name) {
         PROVIDED_FEATURES.add(new CombatLocation(location, kind, name));
+        markFeaturesChanged(CombatListProvider.class);
     }
 
     private static final class CombatLocation implements MapLocation {
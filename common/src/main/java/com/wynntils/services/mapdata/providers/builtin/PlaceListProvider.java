@@ -31,6 +31,7 @@ public class PlaceListProvider extends BuiltInProvider {
 
     public static void registerFeature(Label label) {
         PROVIDED_FEATURES.add(new PlaceLocation(label));
+        markFeaturesChanged(PlaceListProvider.class);
     }
 
     private static final class PlaceLocation implements MapLocation {
@@ -30,6 +30,7 @@ public class ServiceListProvider extends BuiltInProvider {
 
     public static void registerFeature(Location location, ServiceKind kind) {
         PROVIDED_FEATURES.add(new ServiceLocation(location, kind));
+        markFeaturesChanged(ServiceListProvider.class);
     }
 
     private static final class ServiceLocation implements MapLocation {
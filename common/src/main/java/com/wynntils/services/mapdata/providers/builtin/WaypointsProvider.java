@@ -34,6 +34,7 @@ public class WaypointsProvider extends BuiltInProvider {
 
     public static void resetFeatures() {
         PROVIDED_FEATURES.clear();
+        markFeaturesChanged(WaypointsProvider.class);
     }
 
     public static void registerFeature(CustomPoi customPoi) {
@@ -56,6 +57,7 @@ public class WaypointsProvider extends BuiltInProvider {
         } else {
             PROVIDED_FEATURES.add(new FoundChestLocation(customPoi.getLocation().asLocation(), tier));
         }
+        markFeaturesChanged(WaypointsProvider.class);
     }
 
     private static final class WaypointLocation implements MapLocation {
@@ -4,45 +4,56 @@
  */
 package com.wynntils.utils;
 
-import com.wynntils.utils.type.ArrayReader;
-import com.wynntils.utils.type.UnsignedByte;
-import java.util.ArrayList;
-import java.util.Arrays;
+import com.wynntils.utils.type.ByteReader;
+import com.wynntils.utils.type.ByteWriter;
 import java.util.Base64;
-import java.util.List;
-import java.util.Objects;
-import java.util.stream.Collectors;
 
 /**
  * A buffer of bytes that can be encoded and decoded to various formats.
  */
 public final class EncodedByteBuffer {
     private static final int PRIVATE_USE_AREA_A_START = 0xF0000;
+    private static final int PRIVATE_USE_AREA_A_END = 0xFFFFD;
     private static final int PRIVATE_USE_AREA_B_START = 0x100000;
+    private static final int PRIVATE_USE_AREA_B_END = 0x10FFFD;
 
-    private UnsignedByte[] bytes;
+    private final byte[] bytes;
 
-    private EncodedByteBuffer(UnsignedByte[] bytes) {
+    private EncodedByteBuffer(byte[] bytes) {
         this.bytes = bytes;
     }
 
-    public static EncodedByteBuffer fromBytes(UnsignedByte[] bytes) {
+    /**
+     * Creates a buffer backed by the given bytes. The array is not copied, so it must not be modified afterwards.
+     */
+    public static EncodedByteBuffer fromBytes(byte[] bytes) {
         return new EncodedByteBuffer(bytes);
     }
 
     public static EncodedByteBuffer fromUtf16String(String string) {
-        List<UnsignedByte> bytes = new ArrayList<>();
+        return fromUtf16String(string, 0, string.length());
+    }
+
+    /**
+     * Decodes the characters between start (inclusive) and end (exclusive) of the text,
+     * without copying them out of the text first.
+     */
+    public static EncodedByteBuffer fromUtf16String(CharSequence text, int start, int end) {
+        // Every code point is two chars, and decodes to at most two bytes
+        ByteWriter bytes = new ByteWriter(end - start);
 
-        int[] codePoints = string.codePoints().toArray();
+        int i = start;
+        while (i < end) {
+            int codePoint = Character.codePointAt(text, i);
+            i += Character.charCount(codePoint);
 
-        for (int codePoint : codePoints) {
             // Special cases
             if (codePoint >= PRIVATE_USE_AREA_B_START) {
                 // Single byte
                 int singleByteOffset = PRIVATE_USE_AREA_B_START + 0xEE;
                 if ((codePoint & 0xFF) == 0xEE) {
                     int actualValue = (codePoint - singleByteOffset) >> 8;
-                    bytes.add(UnsignedByte.of((byte) actualValue));
+                    bytes.write((byte) actualValue);
 
                     assert actualValue <= 255 : "Invalid code point: " + codePoint;
                     continue;
@@ -51,11 +62,8 @@ public final class EncodedByteBuffer {
                 // Two bytes
                 int values = codePoint - PRIVATE_USE_AREA_B_START;
 
-                UnsignedByte firstByte = UnsignedByte.of((byte) 255);
-                UnsignedByte secondByte = UnsignedByte.of((byte) (254 + (values & 0xFF)));
-
-                bytes.add(firstByte);
-                bytes.add(secondByte);
+                bytes.write((byte) 255);
+                bytes.write((byte) (254 + (values & 0xFF)));
 
                 // Only 0x100000-0x100001 are used
                 assert codePoint < 0x100002 : "Invalid code point: " + codePoint;
@@ -65,37 +73,72 @@ public final class EncodedByteBuffer {
             // Normal case
             int values = codePoint - PRIVATE_USE_AREA_A_START;
 
-            UnsignedByte firstByte = UnsignedByte.of((byte) (values >> 8));
-            UnsignedByte secondByte = UnsignedByte.of((byte) (values & 0xFF));
-
-            bytes.add(firstByte);
-            bytes.add(secondByte);
+            bytes.write((byte) (values >> 8));
+            bytes.write((byte) (values & 0xFF));
 
             // Only 0xF0000-0xFFFFD are used
             assert codePoint < 0xFFFFE : "Invalid code point: " + codePoint;
         }
 
-        return fromBytes(bytes.toArray(UnsignedByte[]::new));
+        return fromBytes(bytes.toByteArray());
     }
 
     public static EncodedByteBuffer fromBase64String(String string) {
-        byte[] decodedBytes = Base64.getDecoder().decode(string);
-        UnsignedByte[] bytes = UnsignedByte.of(decodedBytes);
-        return fromBytes(bytes);
+        return fromBytes(Base64.getDecoder().decode(string));
+    }
+
+    /**
+     * Finds the start of the next run of encoded data in the text, without allocating.
+     * @return the index of the first char of the encoded data, or -1 if there is none after the given index
+     */
+    public static int indexOfEncodedData(CharSequence text, int fromIndex) {
+        int i = fromIndex;
+        while (i < text.length()) {
+            int codePoint = Character.codePointAt(text, i);
+            if (isEncodedCodePoint(codePoint)) return i;
+
+            i += Character.charCount(codePoint);
+        }
+
+        return -1;
+    }
+
+    /**
+     * @return the index after the last char of the run of encoded data beginning at the given index
+     */
+    public static int endOfEncodedData(CharSequence text, int startIndex) {
+        int i = startIndex;
+        while (i < text.length()) {
+            int codePoint = Character.codePointAt(text, i);
+            if (!isEncodedCodePoint(codePoint)) return i;
+
+            i += Character.charCount(codePoint);
+        }
+
+        return text.length();
+    }
+
+    private static boolean isEncodedCodePoint(int codePoint) {
+        // Encoded data consists of characters from Unicode Supplementary Private Use Area-A and B
+        return (codePoint >= PRIVATE_USE_AREA_A_START && codePoint <= PRIVATE_USE_AREA_A_END)
+                || (codePoint >= PRIVATE_USE_AREA_B_START && codePoint <= PRIVATE_USE_AREA_B_END);
     }
 
     public String toUtf16String() {
-        StringBuilder builder = new StringBuilder(bytes.length / 2 + bytes.length % 2);
+        // Every code point is a surrogate pair
+        StringBuilder builder = new StringBuilder((bytes.length / 2 + bytes.length % 2) * 2);
 
         // 2 byte -> UTF-16
         for (int i = 0; i < bytes.length - 1; i += 2) {
+            int first = bytes[i] & 0xFF;
+            int second = bytes[i + 1] & 0xFF;
             int codePoint;
 
             // 0xFFFE-0xFFFF are using private use area B
-            if (bytes[i].value() == 255 && bytes[i + 1].value() >= 254) {
-                codePoint = PRIVATE_USE_AREA_B_START + (bytes[i + 1].value() - 254);
+            if (first == 255 && second >= 254) {
+                codePoint = PRIVATE_USE_AREA_B_START + (second - 254);
             } else {
-                codePoint = PRIVATE_USE_AREA_A_START + (bytes[i].value() << 8 | bytes[i + 1].value());
+                codePoint = PRIVATE_USE_AREA_A_START + (first << 8 | second);
             }
 
             builder.appendCodePoint(codePoint);
@@ -105,31 +148,34 @@ public final class EncodedByteBuffer {
         if (bytes.length % 2 == 1) {
             // Odd number of bytes, so we add a padding character
             // Pad with 0xEE to stay in the private use area
-            builder.appendCodePoint(PRIVATE_USE_AREA_B_START + (bytes[bytes.length - 1].value() << 8) + 238);
+            builder.appendCodePoint(PRIVATE_USE_AREA_B_START + ((bytes[bytes.length - 1] & 0xFF) << 8) + 238);
         }
 
         return builder.toString();
     }
 
     public String toBase64String() {
-        byte[] bytes = UnsignedByte.toPrimitive(this.bytes);
         return Base64.getEncoder().encodeToString(bytes);
     }
 
-    public UnsignedByte[] getBytes() {
+    /**
+     * @return the bytes of this buffer; the returned array is shared and must not be modified
+     */
+    public byte[] getBytes() {
         return bytes;
     }
 
-    public ArrayReader<UnsignedByte> getReader() {
-        return new ArrayReader<>(bytes);
+    public ByteReader getReader() {
+        return new ByteReader(bytes);
     }
 
     @Override
     public String toString() {
-        return "EncodedByteBuffer{" + "bytes="
-                + Arrays.stream(bytes)
-                        .map(UnsignedByte::value)
-                        .map(Objects::toString)
-                        .collect(Collectors.joining(", ")) + '}';
+        StringBuilder builder = new StringBuilder("EncodedByteBuffer{bytes=");
+        for (int i = 0; i < bytes.length; i++) {
+            if (i != 0) builder.append(", ");
+            builder.append(bytes[i] & 0xFF);
+        }
+        return builder.append('}').toString();
     }
 }
@@ -0,0 +1,79 @@
+/*
+ * Copyright © Wynntils 2024.
+ * This file is released under LGPLv3. See LICENSE for full license details.
+ */
+package com.wynntils.utils.type;
+
+import java.util.Arrays;
+
+/**
+ * A cursor over a byte array, reading the bytes as unsigned values.
+ * <p>
+ * The array is not copied, so it must not be modified while it is being read.
+ */
+public final class ByteReader {
+    private final byte[] bytes;
+    private final int end;
+    private int index;
+
+    public ByteReader(byte[] bytes) {
+        this(bytes, 0, bytes.length);
+    }
+
+    public ByteReader(byte[] bytes, int start, int end) {
+        if (start < 0 || end > bytes.length || start > end) {
+            throw new IndexOutOfBoundsException("Invalid range " + start + "-" + end + " for length " + bytes.length);
+        }
+
+        this.bytes = bytes;
+        this.index = start;
+        this.end = end;
+    }
+
+    /**
+     * @return the next byte, in the range 0 to 255, without advancing the cursor
+     */
+    public int peek() {
+        // Throw an exception if we try to read past the end of the array
+        if (index >= end) {
+            throw new ArrayIndexOutOfBoundsException("Tried to read past the end of the array");
+        }
+
+        return bytes[index] & 0xFF;
+    }
+
+    /**
+     * @return the next byte, in the range 0 to 255
+     */
+    public int read() {
+        // Throw an exception if we try to read past the end of the array
+        if (index >= end) {
+            throw new ArrayIndexOutOfBoundsException("Tried to read past the end of the array");
+        }
+
+        return bytes[index++] & 0xFF;
+    }
+
+    public byte[] read(int length) {
+        // Throw an exception if we try to read past the end of the array
+        if (length < 0 || index + length > end) {
+            throw new ArrayIndexOutOfBoundsException("Tried to read past the end of the array");
+        }
+
+        byte[] result = Arrays.copyOfRange(bytes, index, index + length);
+        index += length;
+        return result;
+    }
+
+    public byte[] readRemaining() {
+        return read(remaining());
+    }
+
+    public int remaining() {
+        return end - index;
+    }
+
+    public boolean hasRemaining() {
+        return index < end;
+    }
+}
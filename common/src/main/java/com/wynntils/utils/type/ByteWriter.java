@@ -0,0 +1,50 @@
+/*
+ * Copyright © Wynntils 2024.
+ * This file is released under LGPLv3. See LICENSE for full license details.
+ */
+package com.wynntils.utils.type;
+
+import java.util.Arrays;
+
+/**
+ * A growable byte array, written to sequentially.
+ */
+public final class ByteWriter {
+    private static final int DEFAULT_CAPACITY = 64;
+
+    private byte[] bytes;
+    private int size;
+
+    public ByteWriter() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    public ByteWriter(int initialCapacity) {
+        this.bytes = new byte[Math.max(initialCapacity, 1)];
+    }
+
+    public void write(byte value) {
+        ensureCapacity(size + 1);
+        bytes[size++] = value;
+    }
+
+    public void write(byte[] values) {
+        ensureCapacity(size + values.length);
+        System.arraycopy(values, 0, bytes, size, values.length);
+        size += values.length;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public byte[] toByteArray() {
+        return Arrays.copyOf(bytes, size);
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (capacity <= bytes.length) return;
+
+        bytes = Arrays.copyOf(bytes, Math.max(capacity, bytes.length * 2));
+    }
+}
@@ -0,0 +1,274 @@
+/*
+ * Copyright © Wynntils 2024.
+ * This file is released under LGPLv3. See LICENSE for full license details.
+ */
+package com.wynntils.utils.type;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A 2D spatial index over the x and z axes, backed by a uniform grid.
+ *
+ * <p>Every value is stored with its axis-aligned bounds, in all grid cells these bounds overlap. Queries only
+ * visit the cells overlapping the query shape, so their cost depends on the number of values nearby, not on the
+ * total number of values. Values with very large bounds are kept in a separate list that is checked by every query,
+ * so they do not have to be copied into thousands of cells.
+ *
+ * <p>Queries return all values whose bounds intersect or touch the query shape, in insertion order. Callers
+ * needing a stricter test (e.g. for non-rectangular values) should filter the returned candidates.
+ *
+ * <p>Values are compared by identity. All methods are thread safe.
+ */
+public final class SpatialIndex<T> {
+    private static final int MAX_CELLS_PER_ENTRY = 256;
+
+    private final float cellSize;
+
+    private final Map<Long, List<Entry<T>>> cells = new HashMap<>();
+    private final List<Entry<T>> oversizedEntries = new ArrayList<>();
+    private final Map<T, Entry<T>> entries = new IdentityHashMap<>();
+
+    private long insertionCounter = 0;
+    private int queryCounter = 0;
+
+    /**
+     * @param cellSize the width of a grid cell in blocks; should be in the order of the size of the stored values
+     */
+    public SpatialIndex(float cellSize) {
+        if (cellSize <= 0) {
+            throw new IllegalArgumentException("Cell size must be positive");
+        }
+
+        this.cellSize = cellSize;
+    }
+
+    public void put(T value, BoundingBox bounds) {
+        put(value, bounds.x1(), bounds.z1(), bounds.x2(), bounds.z2());
+    }
+
+    public void putPoint(T value, float x, float z) {
+        put(value, x, z, x, z);
+    }
+
+    /**
+     * Adds the value with the given bounds, replacing its previous bounds if it was already present.
+     * Unlike {@link BoundingBox}, the bounds may be empty, e.g. for a single point.
+     */
+    public synchronized void put(T value, float x1, float z1, float x2, float z2) {
+        remove(value);
+
+        Entry<T> entry = new Entry<>(
+                value, Math.min(x1, x2), Math.min(z1, z2), Math.max(x1, x2), Math.max(z1, z2), insertionCounter++);
+        entries.put(value, entry);
+
+        int minCellX = cellOf(entry.x1);
+        int minCellZ = cellOf(entry.z1);
+        int maxCellX = cellOf(entry.x2);
+        int maxCellZ = cellOf(entry.z2);
+
+        if (cellCount(minCellX, minCellZ, maxCellX, maxCellZ) > MAX_CELLS_PER_ENTRY) {
+            oversizedEntries.add(entry);
+            return;
+        }
+
+        for (int cellX = minCellX; cellX <= maxCellX; cellX++) {
+            for (int cellZ = minCellZ; cellZ <= maxCellZ; cellZ++) {
+                cells.computeIfAbsent(cellKey(cellX, cellZ), k -> new ArrayList<>(4))
+                        .add(entry);
+            }
+        }
+    }
+
+    public synchronized boolean remove(T value) {
+        Entry<T> entry = entries.remove(value);
+        if (entry == null) return false;
+
+        int minCellX = cellOf(entry.x1);
+        int minCellZ = cellOf(entry.z1);
+        int maxCellX = cellOf(entry.x2);
+        int maxCellZ = cellOf(entry.z2);
+
+        if (cellCount(minCellX, minCellZ, maxCellX, maxCellZ) > MAX_CELLS_PER_ENTRY) {
+            oversizedEntries.remove(entry);
+            return true;
+        }
+
+        for (int cellX = minCellX; cellX <= maxCellX; cellX++) {
+            for (int cellZ = minCellZ; cellZ <= maxCellZ; cellZ++) {
+                long key = cellKey(cellX, cellZ);
+                List<Entry<T>> cell = cells.get(key);
+                if (cell == null) continue;
+
+                cell.remove(entry);
+                if (cell.isEmpty()) {
+                    cells.remove(key);
+                }
+            }
+        }
+
+        return true;
+    }
+
+    public synchronized void clear() {
+        cells.clear();
+        oversizedEntries.clear();
+        entries.clear();
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    public synchronized boolean isEmpty() {
+        return entries.isEmpty();
+    }
+
+    public synchronized List<T> getAll() {
+        return entries.values().stream()
+                .sorted(Comparator.comparingLong(Entry::order))
+                .map(Entry::value)
+                .toList();
+    }
+
+    public List<T> queryPoint(float x, float z) {
+        return query(x, z, x, z, entry -> entry.contains(x, z));
+    }
+
+    public List<T> queryBox(BoundingBox box) {
+        return query(box.x1(), box.z1(), box.x2(), box.z2(), entry -> entry.intersects(box));
+    }
+
+    public List<T> queryCircle(BoundingCircle circle) {
+        return query(
+                circle.x() - circle.radius(),
+                circle.z() - circle.radius(),
+                circle.x() + circle.radius(),
+                circle.z() + circle.radius(),
+                entry -> entry.intersects(circle));
+    }
+
+    private synchronized List<T> query(float x1, float z1, float x2, float z2, EntryFilter<T> filter) {
+        List<Entry<T>> found = new ArrayList<>();
+
+        int minCellX = cellOf(x1);
+        int minCellZ = cellOf(z1);
+        int maxCellX = cellOf(x2);
+        int maxCellZ = cellOf(z2);
+
+        if (cellCount(minCellX, minCellZ, maxCellX, maxCellZ) > cells.size()) {
+            // Visiting every cell in the query would be more work than checking every value
+            for (Entry<T> entry : entries.values()) {
+                if (filter.test(entry)) {
+                    found.add(entry);
+                }
+            }
+        } else {
+            // Values spanning multiple cells should only be returned once
+            int stamp = ++queryCounter;
+
+            for (int cellX = minCellX; cellX <= maxCellX; cellX++) {
+                for (int cellZ = minCellZ; cellZ <= maxCellZ; cellZ++) {
+                    List<Entry<T>> cell = cells.get(cellKey(cellX, cellZ));
+                    if (cell == null) continue;
+
+                    for (Entry<T> entry : cell) {
+                        if (entry.queryStamp == stamp) continue;
+
+                        entry.queryStamp = stamp;
+                        if (filter.test(entry)) {
+                            found.add(entry);
+                        }
+                    }
+                }
+            }
+
+            for (Entry<T> entry : oversizedEntries) {
+                if (filter.test(entry)) {
+                    found.add(entry);
+                }
+            }
+        }
+
+        if (found.size() > 1) {
+            found.sort(Comparator.comparingLong(Entry::order));
+        }
+
+        List<T> result = new ArrayList<>(found.size());
+        for (Entry<T> entry : found) {
+            result.add(entry.value);
+        }
+        return result;
+    }
+
+    private int cellOf(float coordinate) {
+        return (int) Math.floor(coordinate / cellSize);
+    }
+
+    private static long cellCount(int minCellX, int minCellZ, int maxCellX, int maxCellZ) {
+        long width = (long) maxCellX - minCellX + 1;
+        long height = (long) maxCellZ - minCellZ + 1;
+
+        // Saturate instead of overflowing for unbounded shapes
+        if (width > Integer.MAX_VALUE || height > Integer.MAX_VALUE) return Long.MAX_VALUE;
+
+        return width * height;
+    }
+
+    private static long cellKey(int cellX, int cellZ) {
+        return ((long) cellX << 32) | (cellZ & 0xFFFFFFFFL);
+    }
+
+    @FunctionalInterface
+    private interface EntryFilter<T> {
+        boolean test(Entry<T> entry);
+    }
+
+    private static final class Entry<T> {
+        private final T value;
+        private final float x1;
+        private final float z1;
+        private final float x2;
+        private final float z2;
+        private final long order;
+
+        private int queryStamp;
+
+        private Entry(T value, float x1, float z1, float x2, float z2, long order) {
+            this.value = value;
+            this.x1 = x1;
+            this.z1 = z1;
+            this.x2 = x2;
+            this.z2 = z2;
+            this.order = order;
+        }
+
+        private T value() {
+            return value;
+        }
+
+        private long order() {
+            return order;
+        }
+
+        private boolean contains(float x, float z) {
+            return x1 <= x && x <= x2 && z1 <= z && z <= z2;
+        }
+
+        private boolean intersects(BoundingBox box) {
+            return x1 <= box.x2() && box.x1() <= x2 && z1 <= box.z2() && box.z1() <= z2;
+        }
+
+        private boolean intersects(BoundingCircle circle) {
+            // Nearest point of the bounds to the center of the circle
+            float deltaX = circle.x() - Math.max(x1, Math.min(x2, circle.x()));
+            float deltaZ = circle.z() - Math.max(z1, Math.min(z2, circle.z()));
+
+            return deltaX * deltaX + deltaZ * deltaZ <= circle.radius() * circle.radius();
+        }
+    }
+}
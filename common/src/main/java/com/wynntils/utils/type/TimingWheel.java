@@ -0,0 +1,116 @@
+/*
+ * Copyright © Wynntils 2024.
+ * This file is released under LGPLv3. See LICENSE for full license details.
+ */
+package com.wynntils.utils.type;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * A hierarchical timing wheel, mapping values to the tick they are due at.
+ *
+ * <p>Every level of the wheel has 64 slots, each covering 64 times as many ticks as a slot of the level below.
+ * Values are added to the lowest level that can hold their deadline, in O(1). When the wheel advances into the
+ * range of a higher level slot, its values are moved down, until they reach the lowest level and expire. Advancing
+ * the wheel only visits the values that are due, plus the values that are moved down, so the cost does not depend
+ * on the total number of values.
+ *
+ * <p>This class is not thread safe.
+ */
+public final class TimingWheel<T> {
+    private static final int SLOT_BITS = 6;
+    private static final int SLOTS = 1 << SLOT_BITS;
+    private static final int SLOT_MASK = SLOTS - 1;
+    private static final int LEVELS = 4;
+
+    private final List<List<Entry<T>>> slots = new ArrayList<>(LEVELS * SLOTS);
+
+    private List<Entry<T>> spareSlot = new ArrayList<>();
+    private long currentTick;
+    private int size = 0;
+
+    public TimingWheel(long startTick) {
+        this.currentTick = startTick;
+
+        for (int i = 0; i < LEVELS * SLOTS; i++) {
+            slots.add(new ArrayList<>());
+        }
+    }
+
+    /**
+     * Adds a value, due at the given tick. Values due at or before the current tick are due at the next tick.
+     */
+    public void add(T value, long deadlineTick) {
+        long deadline = Math.max(deadlineTick, currentTick + 1);
+        insert(new Entry<>(value, deadline));
+        size++;
+    }
+
+    /**
+     * Advances the wheel by one tick, passing all values due at the new tick to the consumer, in insertion order
+     * for values added to the same slot.
+     */
+    public void advance(Consumer<T> expired) {
+        long tick = ++currentTick;
+
+        // Move values down from the higher levels that are entered at this tick, highest level first,
+        // as values of a higher level can end up in a lower level slot that is entered at the same time
+        for (int level = LEVELS - 1; level > 0; level--) {
+            if ((tick & ((1L << (SLOT_BITS * level)) - 1)) != 0) continue;
+
+            for (Entry<T> entry : detachSlot(level, slotIndex(tick, level))) {
+                insert(entry);
+            }
+        }
+
+        for (Entry<T> entry : detachSlot(0, slotIndex(tick, 0))) {
+            if (entry.deadline() > tick) {
+                // Only possible for deadlines beyond the range of the wheel
+                insert(entry);
+                continue;
+            }
+
+            size--;
+            expired.accept(entry.value());
+        }
+    }
+
+    public long getCurrentTick() {
+        return currentTick;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    private void insert(Entry<T> entry) {
+        long delta = entry.deadline() - currentTick;
+
+        int level = 0;
+        while (level < LEVELS - 1 && delta >= 1L << (SLOT_BITS * (level + 1))) {
+            level++;
+        }
+
+        slots.get(level * SLOTS + slotIndex(entry.deadline(), level)).add(entry);
+    }
+
+    private List<Entry<T>> detachSlot(int level, int slot) {
+        int index = level * SLOTS + slot;
+        List<Entry<T>> entries = slots.get(index);
+        if (entries.isEmpty()) return List.of();
+
+        // Swap in an empty list, so values can be added to this slot while the detached ones are processed
+        spareSlot.clear();
+        slots.set(index, spareSlot);
+        spareSlot = entries;
+        return entries;
+    }
+
+    private static int slotIndex(long tick, int level) {
+        return (int) ((tick >>> (SLOT_BITS * level)) & SLOT_MASK);
+    }
+
+    private record Entry<T>(T value, long deadline) {}
+}
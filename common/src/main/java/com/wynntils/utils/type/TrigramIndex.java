@@ -0,0 +1,136 @@
+/*
+ * Copyright © Wynntils 2024.
+ * This file is released under LGPLv3. See LICENSE for full license details.
+ */
+package com.wynntils.utils.type;
+
+import it.unimi.dsi.fastutil.ints.IntArrayList;
+import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * An inverted index of the trigrams (substrings of three characters) of a fixed list of names, for case-insensitive
+ * substring searches.
+ *
+ * <p>A name can only contain the search text if it contains all trigrams of the search text, so intersecting the
+ * names of every trigram gives a small set of candidates, which are then checked with a plain substring search.
+ * Search texts shorter than a trigram are checked against all names.
+ *
+ * <p>The result of the last search is kept. If the next search text contains the previous one, like when the user
+ * keeps typing, only the previous matches are checked again.
+ */
+public final class TrigramIndex {
+    private static final int GRAM_LENGTH = 3;
+    private static final int[] NO_MATCHES = new int[0];
+
+    private final String[] names;
+    private final Long2ObjectMap<int[]> postings = new Long2ObjectOpenHashMap<>();
+    private final int[] allIds;
+
+    private String lastSearchText = null;
+    private int[] lastMatches = null;
+
+    /**
+     * @param names the names to index; the id of a name is its position in the list
+     */
+    public TrigramIndex(List<String> names) {
+        this.names = new String[names.size()];
+        this.allIds = new int[names.size()];
+
+        Long2ObjectMap<IntArrayList> builders = new Long2ObjectOpenHashMap<>();
+        for (int id = 0; id < names.size(); id++) {
+            String name = names.get(id).toLowerCase(Locale.ROOT);
+            this.names[id] = name;
+            this.allIds[id] = id;
+
+            for (int i = 0; i + GRAM_LENGTH <= name.length(); i++) {
+                IntArrayList ids = builders.computeIfAbsent(trigram(name, i), key -> new IntArrayList());
+
+                // Ids are added in ascending order, so a repeated trigram of a name is always the last id
+                if (ids.isEmpty() || ids.getInt(ids.size() - 1) != id) {
+                    ids.add(id);
+                }
+            }
+        }
+
+        builders.long2ObjectEntrySet()
+                .forEach(entry -> postings.put(entry.getLongKey(), entry.getValue().toIntArray()));
+    }
+
+    /**
+     * @return the ids of the names containing the search text, ignoring case, in ascending order
+     */
+    public synchronized int[] search(String searchText) {
+        String text = searchText.toLowerCase(Locale.ROOT);
+        if (text.isEmpty()) return allIds.clone();
+
+        int[] candidates;
+        if (lastSearchText != null && text.contains(lastSearchText)) {
+            // The search has been extended, so all matches must be among the previous ones
+            candidates = lastMatches;
+        } else if (text.length() < GRAM_LENGTH) {
+            candidates = allIds;
+        } else {
+            candidates = getCandidates(text);
+        }
+
+        int[] matches = Arrays.stream(candidates)
+                .filter(id -> names[id].contains(text))
+                .toArray();
+
+        lastSearchText = text;
+        lastMatches = matches;
+        return matches.clone();
+    }
+
+    public int size() {
+        return names.length;
+    }
+
+    private int[] getCandidates(String text) {
+        int[][] lists = new int[text.length() - GRAM_LENGTH + 1][];
+        for (int i = 0; i < lists.length; i++) {
+            int[] ids = postings.get(trigram(text, i));
+            if (ids == null) return NO_MATCHES;
+
+            lists[i] = ids;
+        }
+
+        // Start with the rarest trigram, so the candidates shrink as fast as possible
+        Arrays.sort(lists, Comparator.comparingInt(ids -> ids.length));
+
+        int[] candidates = lists[0];
+        for (int i = 1; i < lists.length && candidates.length > 0; i++) {
+            candidates = intersect(candidates, lists[i]);
+        }
+        return candidates;
+    }
+
+    private static int[] intersect(int[] smaller, int[] larger) {
+        int[] result = new int[smaller.length];
+        int count = 0;
+
+        int position = 0;
+        for (int id : smaller) {
+            int index = Arrays.binarySearch(larger, position, larger.length, id);
+            if (index >= 0) {
+                result[count++] = id;
+                position = index + 1;
+            } else {
+                position = -index - 1;
+            }
+
+            if (position >= larger.length) break;
+        }
+
+        return Arrays.copyOf(result, count);
+    }
+
+    private static long trigram(String text, int start) {
+        return ((long) text.charAt(start) << 32) | ((long) text.charAt(start + 1) << 16) | text.charAt(start + 2);
+    }
+}
@@ -0,0 +1,39 @@
+/*
+ * Copyright © Wynntils 2024.
+ * This file is released under LGPLv3. See LICENSE for full license details.
+ */
+package com.wynntils.benchmarks;
+
+import org.junit.jupiter.api.Test;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.runner.options.TimeValue;
+
+/**
+ * Entry point for the {@code jmh} Gradle task.
+ * <p>
+ * The benchmarks are not forked, since they need to run with the class loader set up by fabric-loader-junit,
+ * which bootstraps Minecraft and applies our mixins.
+ */
+public class BenchmarkLauncher {
+    @Test
+    public void runBenchmarks() throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(System.getProperty("wynntils.jmh.includes", ".*Benchmark"))
+                .addProfiler(GCProfiler.class)
+                .forks(0)
+                .warmupIterations(3)
+                .warmupTime(TimeValue.seconds(1))
+                .measurementIterations(5)
+                .measurementTime(TimeValue.seconds(1))
+                .resultFormat(ResultFormatType.JSON)
+                .result(System.getProperty("wynntils.jmh.results", "jmh-results.json"))
+                .build();
+
+        new Runner(options).run();
+    }
+}
@@ -0,0 +1,27 @@
+/*
+ * Copyright © Wynntils 2024.
+ * This file is released under LGPLv3. See LICENSE for full license details.
+ */
+package com.wynntils.benchmarks;
+
+import java.util.ArrayList;
+import java.util.List;
+import net.minecraft.SharedConstants;
+import net.minecraft.network.chat.Component;
+import net.minecraft.server.Bootstrap;
+
+public final class BenchmarkUtils {
+    private BenchmarkUtils() {}
+
+    public static void bootstrap() {
+        SharedConstants.tryDetectVersion();
+        Bootstrap.bootStrap();
+    }
+
+    public static List<Component> toComponents(String name, List<String> loreLines) {
+        List<Component> components = new ArrayList<>();
+        components.add(Component.literal(name));
+        loreLines.stream().map(Component::literal).forEach(components::add);
+        return components;
+    }
+}
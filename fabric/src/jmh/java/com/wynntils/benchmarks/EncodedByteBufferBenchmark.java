@@ -0,0 +1,61 @@
+/*
+ * Copyright © Wynntils 2024.
+ * This file is released under LGPLv3. See LICENSE for full license details.
+ */
+package com.wynntils.benchmarks;
+
+import com.wynntils.utils.EncodedByteBuffer;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class EncodedByteBufferBenchmark {
+    // Roughly the size of an encoded gear item, and of an encoded crafted item with many identifications
+    @Param({"64", "512"})
+    public int size;
+
+    private byte[] bytes;
+    private String utf16String;
+    private String chatMessage;
+
+    @Setup
+    public void setup() {
+        bytes = new byte[size];
+        new Random(size).nextBytes(bytes);
+
+        utf16String = EncodedByteBuffer.fromBytes(bytes).toUtf16String();
+        chatMessage = "§7[Player] §fCheck out my item " + utf16String + " §fwhat do you think?";
+    }
+
+    @Benchmark
+    public String encodeUtf16() {
+        return EncodedByteBuffer.fromBytes(bytes).toUtf16String();
+    }
+
+    @Benchmark
+    public EncodedByteBuffer decodeUtf16() {
+        return EncodedByteBuffer.fromUtf16String(utf16String);
+    }
+
+    @Benchmark
+    public String roundTripUtf16() {
+        return EncodedByteBuffer.fromUtf16String(utf16String).toUtf16String();
+    }
+
+    @Benchmark
+    public EncodedByteBuffer scanAndDecodeChatMessage() {
+        int start = EncodedByteBuffer.indexOfEncodedData(chatMessage, 0);
+        int end = EncodedByteBuffer.endOfEncodedData(chatMessage, start);
+        return EncodedByteBuffer.fromUtf16String(chatMessage, start, end);
+    }
+}
@@ -0,0 +1,57 @@
+/*
+ * Copyright © Wynntils 2024.
+ * This file is released under LGPLv3. See LICENSE for full license details.
+ */
+package com.wynntils.benchmarks;
+
+import com.wynntils.core.components.Managers;
+import com.wynntils.core.text.StyledText;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class FunctionTemplateBenchmark {
+    // These only use functions that do not need a player or a world
+    private static final String STOPWATCH_TEMPLATE =
+            "{if_str(stopwatch_zero;\"\";concat(if_str(stopwatch_running;\"\";\"&e\");leading_zeros(stopwatch_hours;2);\":\";leading_zeros(stopwatch_minutes;2);\":\";leading_zeros(stopwatch_seconds;2);\".\";leading_zeros(stopwatch_milliseconds;3)))}";
+    private static final String MULTI_LINE_TEMPLATE =
+            "&6Sum: &e{add(1;2;3):0}\\n&6Product: &e{mul(4;5):2}\\n&6Text: {concat(\"&a\";\"ab\";\"cd\")}";
+    private static final String PLAIN_TEMPLATE = "&cStatic text \\E with an escape and no functions";
+
+    private static boolean functionsRegistered = false;
+
+    @Param({"STOPWATCH", "MULTI_LINE", "PLAIN"})
+    public String template;
+
+    private String templateString;
+
+    @Setup
+    public void setup() {
+        BenchmarkUtils.bootstrap();
+
+        if (!functionsRegistered) {
+            Managers.Function.init();
+            functionsRegistered = true;
+        }
+
+        templateString = switch (template) {
+            case "STOPWATCH" -> STOPWATCH_TEMPLATE;
+            case "MULTI_LINE" -> MULTI_LINE_TEMPLATE;
+            default -> PLAIN_TEMPLATE;
+        };
+    }
+
+    @Benchmark
+    public StyledText[] doFormatLines() {
+        return Managers.Function.doFormatLines(templateString);
+    }
+}
@@ -0,0 +1,84 @@
+/*
+ * Copyright © Wynntils 2024.
+ * This file is released under LGPLv3. See LICENSE for full license details.
+ */
+package com.wynntils.benchmarks;
+
+import com.wynntils.core.components.Handlers;
+import com.wynntils.core.components.Models;
+import com.wynntils.core.components.Services;
+import com.wynntils.core.text.StyledText;
+import com.wynntils.models.elements.type.Powder;
+import com.wynntils.models.items.items.game.PowderItem;
+import com.wynntils.services.itemfilter.type.ItemProviderType;
+import com.wynntils.services.itemfilter.type.ItemSearchQuery;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import net.minecraft.network.chat.Component;
+import net.minecraft.world.item.ItemStack;
+import net.minecraft.world.item.Items;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ItemFilterBenchmark {
+    private static final String FILTER_QUERY = "tier:>=3 earth";
+    private static final String SORT_QUERY = "sort:^tier powder";
+
+    @Param({"1000", "5000"})
+    public int itemCount;
+
+    private List<ItemStack> items;
+    private ItemSearchQuery filterQuery;
+    private ItemSearchQuery sortQuery;
+
+    @Setup
+    public void setup() {
+        BenchmarkUtils.bootstrap();
+
+        items = new ArrayList<>(itemCount);
+        Powder[] powders = Powder.values();
+        for (int i = 0; i < itemCount; i++) {
+            Powder powder = powders[i % powders.length];
+            int tier = i % 6 + 1;
+
+            PowderItem powderItem = new PowderItem(Models.Element.getPowderTierInfo(powder, tier));
+            ItemStack itemStack = new ItemStack(Items.POTION);
+            itemStack.setHoverName(Component.literal(powderItem.getName()));
+            Handlers.Item.updateItem(itemStack, powderItem, StyledText.fromString(powderItem.getName()));
+
+            items.add(itemStack);
+        }
+
+        filterQuery = createSearchQuery(FILTER_QUERY);
+        sortQuery = createSearchQuery(SORT_QUERY);
+    }
+
+    @Benchmark
+    public ItemSearchQuery createSearchQuery() {
+        return createSearchQuery(FILTER_QUERY + " " + SORT_QUERY);
+    }
+
+    @Benchmark
+    public List<ItemStack> filter() {
+        return Services.ItemFilter.filterAndSort(filterQuery, items);
+    }
+
+    @Benchmark
+    public List<ItemStack> sort() {
+        return Services.ItemFilter.filterAndSort(sortQuery, items);
+    }
+
+    private static ItemSearchQuery createSearchQuery(String query) {
+        return Services.ItemFilter.createSearchQuery(query, true, List.of(ItemProviderType.values()));
+    }
+}
@@ -0,0 +1,79 @@
+/*
+ * Copyright © Wynntils 2024.
+ * This file is released under LGPLv3. See LICENSE for full license details.
+ */
+package com.wynntils.benchmarks;
+
+import com.wynntils.services.lootrunpaths.LootrunCompiler;
+import com.wynntils.services.lootrunpaths.LootrunPathInstance;
+import com.wynntils.services.lootrunpaths.LootrunPathSampler;
+import com.wynntils.services.lootrunpaths.UncompiledLootrunPath;
+import com.wynntils.services.lootrunpaths.type.ColoredPath;
+import com.wynntils.services.lootrunpaths.type.LootrunPath;
+import com.wynntils.services.lootrunpaths.type.LootrunPathColoring;
+import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import net.minecraft.world.phys.Vec3;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class LootrunCompilerBenchmark {
+    private static final LootrunPathColoring RAINBOW = new LootrunPathColoring(true, 20, 0);
+    private static final LootrunPathColoring SOLID = new LootrunPathColoring(false, 0, 0xFF00FFFF);
+
+    @Param({"2000", "20000"})
+    public int pointCount;
+
+    private UncompiledLootrunPath uncompiled;
+
+    @Setup
+    public void setup() {
+        BenchmarkUtils.bootstrap();
+
+        // A random walk with roughly the point spacing of a recorded lootrun
+        Random random = new Random(pointCount);
+        List<Vec3> points = new ArrayList<>(pointCount);
+        Vec3 position = new Vec3(-1500, 60, -1500);
+        for (int i = 0; i < pointCount; i++) {
+            position = position.add(random.nextDouble() * 2, random.nextDouble() - 0.5, random.nextDouble() * 2 - 0.5);
+            points.add(position);
+        }
+
+        uncompiled = new UncompiledLootrunPath(new LootrunPath(points), Set.of(), List.of(), null);
+    }
+
+    @Benchmark
+    public LootrunPathInstance compileRainbow() {
+        return LootrunCompiler.compile(uncompiled, false, RAINBOW);
+    }
+
+    @Benchmark
+    public LootrunPathInstance compileRecording() {
+        return LootrunCompiler.compile(uncompiled, true, SOLID);
+    }
+
+    @Benchmark
+    public Long2ObjectMap<List<ColoredPath>> recordIncrementally() {
+        // Every recorded point only samples and updates the chunks it changed
+        LootrunPathSampler sampler = new LootrunPathSampler();
+        Long2ObjectMap<List<ColoredPath>> points = null;
+        for (Vec3 point : uncompiled.path().points()) {
+            sampler.addPoint(point);
+            points = sampler.updatePointsByChunk(points, SOLID, true);
+        }
+        return points;
+    }
+}
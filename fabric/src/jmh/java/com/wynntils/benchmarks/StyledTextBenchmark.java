@@ -0,0 +1,75 @@
+/*
+ * Copyright © Wynntils 2024.
+ * This file is released under LGPLv3. See LICENSE for full license details.
+ */
+package com.wynntils.benchmarks;
+
+import com.wynntils.core.text.StyledText;
+import java.util.concurrent.TimeUnit;
+import net.minecraft.ChatFormatting;
+import net.minecraft.network.chat.ClickEvent;
+import net.minecraft.network.chat.Component;
+import net.minecraft.network.chat.HoverEvent;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class StyledTextBenchmark {
+    private Component chatMessage;
+    private Component label;
+    private StyledText chatText;
+
+    @Setup
+    public void setup() {
+        BenchmarkUtils.bootstrap();
+
+        chatMessage = Component.empty()
+                .append(Component.literal("[")
+                        .withStyle(ChatFormatting.DARK_AQUA)
+                        .append(Component.literal("★★")
+                                .withStyle(ChatFormatting.AQUA)
+                                .withStyle(style -> style.withHoverEvent(new HoverEvent(
+                                        HoverEvent.Action.SHOW_TEXT, Component.literal("Guild Chief")))))
+                        .append(Component.literal("Player123").withStyle(ChatFormatting.DARK_AQUA))
+                        .append(Component.literal("] ")))
+                .append(Component.literal("anyone up for a §craid§b tonight? meet at §e/ragni§b in 10")
+                        .withStyle(ChatFormatting.AQUA)
+                        .withStyle(style ->
+                                style.withClickEvent(new ClickEvent(ClickEvent.Action.SUGGEST_COMMAND, "/msg "))));
+        label = Component.literal("§c§lLv. 98 §4Corrupted Knight §c[§4❤ 12345§c]");
+
+        chatText = StyledText.fromComponent(chatMessage);
+    }
+
+    @Benchmark
+    public StyledText fromComponent_chatMessage() {
+        return StyledText.fromComponent(chatMessage);
+    }
+
+    @Benchmark
+    public StyledText fromComponent_label() {
+        return StyledText.fromComponent(label);
+    }
+
+    @Benchmark
+    public String getString() {
+        return chatText.getString();
+    }
+
+    @Benchmark
+    public String getStringWithoutFormatting() {
+        return chatText.getStringWithoutFormatting();
+    }
+
+    @Benchmark
+    public StyledText[] split() {
+        return chatText.split(" ");
+    }
+}
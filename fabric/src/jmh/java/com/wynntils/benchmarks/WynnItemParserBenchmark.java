@@ -0,0 +1,60 @@
+/*
+ * Copyright © Wynntils 2024.
+ * This file is released under LGPLv3. See LICENSE for full license details.
+ */
+package com.wynntils.benchmarks;
+
+import com.wynntils.models.wynnitem.parsing.WynnItemParseResult;
+import com.wynntils.models.wynnitem.parsing.WynnItemParser;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import net.minecraft.network.chat.Component;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class WynnItemParserBenchmark {
+    // Recorded from an identified Legendary wand
+    private static final String GEAR_NAME = "§bWarp";
+    private static final List<String> GEAR_LORE = List.of(
+            "§7Super Fast Attack Speed",
+            "",
+            "§6✣ Neutral Damage: 1-1",
+            "§f✦ Air§7 Damage: 1-1",
+            "",
+            "§a✔§7 Class Req: Mage/Dark Wizard",
+            "§a✔§7 Combat Lv. Min: 75",
+            "§a✔§7 Agility Min: 40",
+            "",
+            "§c-200§7 Health Regen",
+            "§a+20%§7 Air Damage",
+            "§a+180%§7 Walk Speed",
+            "§c-8%§7 Air Defence",
+            "§a+15%§7 Mana Regen",
+            "§a+2/5s§7 Mana Steal",
+            "",
+            "§7[0/1] Powder Slots",
+            "§bLegendary Wand");
+
+    private List<Component> gearTooltip;
+
+    @Setup
+    public void setup() {
+        BenchmarkUtils.bootstrap();
+
+        gearTooltip = BenchmarkUtils.toComponents(GEAR_NAME, GEAR_LORE);
+    }
+
+    @Benchmark
+    public WynnItemParseResult parseGear() {
+        return WynnItemParser.parseTooltip(GEAR_NAME, gearTooltip, Map.of());
+    }
+}
@@ -0,0 +1,95 @@
+/*
+ * Copyright © Wynntils 2024.
+ * This file is released under LGPLv3. See LICENSE for full license details.
+ */
+import com.wynntils.handlers.chat.ChatPatternRegistry;
+import com.wynntils.handlers.chat.type.ChatPatternClassification;
+import java.util.List;
+import java.util.regex.Pattern;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class TestChatPatternRegistry {
+    private static final List<Pattern> PATTERNS = List.of(
+            Pattern.compile("§4Your mana bank is empty!"),
+            Pattern.compile("^§c\\[\\+(\\d+) ❤\\]$"),
+            Pattern.compile("^§[47](\\d+) soul points? (has|have) been lost\\.\\.\\.$"),
+            Pattern.compile("^§b\\+([23]) minutes§7 speed boost\\.$"),
+            Pattern.compile("^§7\\[.* ➤ .*\\] §f.*$"),
+            Pattern.compile("^(§r)?§.\\[Info\\] .*$"),
+            Pattern.compile("^ +§6§lWelcome to Wynncraft!$"),
+            Pattern.compile("^§5(?<merchant>.*): §dThank you for your business\\. Come again!$"));
+
+    @Test
+    public void matchingMessages_shouldBeCandidates() {
+        ChatPatternRegistry registry = createRegistry();
+
+        assertMightMatch(registry, PATTERNS.get(0), "§4Your mana bank is empty!");
+        assertMightMatch(registry, PATTERNS.get(1), "§c[+120 ❤]");
+        assertMightMatch(registry, PATTERNS.get(2), "§41 soul point has been lost...");
+        assertMightMatch(registry, PATTERNS.get(3), "§b+3 minutes§7 speed boost.");
+        assertMightMatch(registry, PATTERNS.get(4), "§7[Player ➤ Other] §fhi");
+        assertMightMatch(registry, PATTERNS.get(5), "§r§c[Info] Server restarting");
+        assertMightMatch(registry, PATTERNS.get(6), "      §6§lWelcome to Wynncraft!");
+        assertMightMatch(registry, PATTERNS.get(7), "§5Emerald Merchant: §dThank you for your business. Come again!");
+    }
+
+    @Test
+    public void unrelatedMessage_shouldNotBeCandidate() {
+        ChatPatternRegistry registry = createRegistry();
+        ChatPatternClassification classification = registry.classify("§7Some completely unrelated message");
+
+        for (Pattern pattern : PATTERNS) {
+            if (pattern.matcher("§7Some completely unrelated message").find()) continue;
+
+            Assertions.assertFalse(
+                    classification.mightMatch(pattern), "Pattern " + pattern + " should have been filtered out.");
+        }
+    }
+
+    @Test
+    public void patternsWithoutLiteral_shouldAlwaysBeCandidates() {
+        ChatPatternRegistry registry = new ChatPatternRegistry();
+        Pattern alternation = Pattern.compile("foo|bar");
+        Pattern caseInsensitive = Pattern.compile("hello", Pattern.CASE_INSENSITIVE);
+        Pattern inlineFlag = Pattern.compile("(?i)hello");
+        registry.register(alternation);
+        registry.register(caseInsensitive);
+        registry.register(inlineFlag);
+
+        ChatPatternClassification classification = registry.classify("HELLO bar");
+        Assertions.assertTrue(classification.mightMatch(alternation));
+        Assertions.assertTrue(classification.mightMatch(caseInsensitive));
+        Assertions.assertTrue(classification.mightMatch(inlineFlag));
+    }
+
+    @Test
+    public void optionalCharacters_shouldNotBeRequired() {
+        ChatPatternRegistry registry = new ChatPatternRegistry();
+        Pattern pattern = Pattern.compile("colou?rs? of the sky");
+        registry.register(pattern);
+
+        assertMightMatch(registry, pattern, "color of the sky");
+        assertMightMatch(registry, pattern, "colours of the sky");
+    }
+
+    @Test
+    public void unregisteredPattern_shouldAlwaysBeCandidate() {
+        ChatPatternRegistry registry = createRegistry();
+
+        Assertions.assertTrue(registry.classify("anything").mightMatch(Pattern.compile("something else")));
+    }
+
+    private static ChatPatternRegistry createRegistry() {
+        ChatPatternRegistry registry = new ChatPatternRegistry();
+        PATTERNS.forEach(registry::register);
+        return registry;
+    }
+
+    private static void assertMightMatch(ChatPatternRegistry registry, Pattern pattern, String message) {
+        Assertions.assertTrue(pattern.matcher(message).find(), "Test message should match " + pattern);
+        Assertions.assertTrue(
+                registry.classify(message).mightMatch(pattern),
+                "Pattern " + pattern + " was filtered out for matching message: " + message);
+    }
+}
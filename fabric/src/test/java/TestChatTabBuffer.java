@@ -0,0 +1,90 @@
+/*
+ * Copyright © Wynntils 2024.
+ * This file is released under LGPLv3. See LICENSE for full license details.
+ */
+import com.wynntils.core.text.StyledText;
+import com.wynntils.services.chat.ChatTabBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import net.minecraft.SharedConstants;
+import net.minecraft.server.Bootstrap;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+public class TestChatTabBuffer {
+    @BeforeAll
+    public static void setup() {
+        SharedConstants.tryDetectVersion();
+        Bootstrap.bootStrap();
+    }
+
+    @Test
+    public void fullBuffer_shouldOverwriteOldestMessages() {
+        ChatTabBuffer buffer = new ChatTabBuffer();
+
+        for (int i = 0; i < ChatTabBuffer.CAPACITY + 10; i++) {
+            buffer.add(StyledText.fromString("Message " + i), i);
+        }
+
+        Assertions.assertEquals(ChatTabBuffer.CAPACITY, buffer.size());
+
+        List<String> expected = new ArrayList<>();
+        for (int i = 10; i < ChatTabBuffer.CAPACITY + 10; i++) {
+            expected.add("Message " + i + " at " + i);
+        }
+        Assertions.assertEquals(expected, getMessages(buffer));
+    }
+
+    @Test
+    public void remove_shouldCompactWrappedBufferAndKeepOrder() {
+        ChatTabBuffer buffer = new ChatTabBuffer();
+
+        // Wrap around, so the oldest message is no longer at the start of the array
+        List<String> expected = new ArrayList<>();
+        for (int i = 0; i < ChatTabBuffer.CAPACITY + 30; i++) {
+            String message = i % 3 == 0 ? "Duplicate" : "Message " + i;
+            buffer.add(StyledText.fromString(message), i);
+
+            if (i >= 30 && i % 3 != 0) {
+                expected.add(message + " at " + i);
+            }
+        }
+
+        buffer.remove(StyledText.fromString("Duplicate"));
+
+        Assertions.assertEquals(expected.size(), buffer.size());
+        Assertions.assertEquals(expected, getMessages(buffer));
+
+        // New messages go after the kept ones, and the buffer wraps around again once it is full
+        for (int i = 0; i < ChatTabBuffer.CAPACITY; i++) {
+            buffer.add(StyledText.fromString("New " + i), 1000 + i);
+            expected.add("New " + i + " at " + (1000 + i));
+        }
+        expected = expected.subList(expected.size() - ChatTabBuffer.CAPACITY, expected.size());
+
+        Assertions.assertEquals(ChatTabBuffer.CAPACITY, buffer.size());
+        Assertions.assertEquals(expected, getMessages(buffer));
+    }
+
+    @Test
+    public void removeAll_shouldEmptyBuffer() {
+        ChatTabBuffer buffer = new ChatTabBuffer();
+        for (int i = 0; i < ChatTabBuffer.CAPACITY + 5; i++) {
+            buffer.add(StyledText.fromString("Spam"), i);
+        }
+
+        buffer.remove(StyledText.fromString("Spam"));
+        Assertions.assertEquals(0, buffer.size());
+        Assertions.assertEquals(List.of(), getMessages(buffer));
+
+        buffer.add(StyledText.fromString("Hello"), 7);
+        Assertions.assertEquals(List.of("Hello at 7"), getMessages(buffer));
+    }
+
+    private static List<String> getMessages(ChatTabBuffer buffer) {
+        List<String> messages = new ArrayList<>();
+        buffer.forEach((message, addedTime) -> messages.add(message.getString() + " at " + addedTime));
+        return messages;
+    }
+}
@@ -0,0 +1,63 @@
+/*
+ * Copyright © Wynntils 2024.
+ * This file is released under LGPLv3. See LICENSE for full license details.
+ */
+import com.wynntils.core.text.StyledText;
+import com.wynntils.handlers.chat.type.RecipientType;
+import com.wynntils.services.chat.ChatTab;
+import com.wynntils.services.chat.ChatTabRouter;
+import java.util.List;
+import java.util.Set;
+import net.minecraft.SharedConstants;
+import net.minecraft.server.Bootstrap;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+public class TestChatTabRouter {
+    private static final ChatTab ALL = new ChatTab("All", false, null, null, null);
+    private static final ChatTab GLOBAL = new ChatTab("Global", false, null, Set.of(RecipientType.GLOBAL), null);
+    private static final ChatTab TRADE = new ChatTab("Trade", false, null, Set.of(), ".*\\bWT[BS]\\b.*");
+    private static final ChatTab GUILD = new ChatTab("Guild", true, null, Set.of(RecipientType.GUILD), null);
+    private static final ChatTab GUILD_TOO = new ChatTab("Guild 2", true, null, Set.of(RecipientType.GUILD), null);
+    private static final ChatTab WAR = new ChatTab("War", true, null, Set.of(RecipientType.INFO), ".*\\[WAR\\].*");
+
+    @BeforeAll
+    public static void setup() {
+        SharedConstants.tryDetectVersion();
+        Bootstrap.bootStrap();
+    }
+
+    @Test
+    public void consumingTab_shouldWinOverOtherTabs() {
+        ChatTabRouter router = new ChatTabRouter(List.of(ALL, GLOBAL, TRADE, GUILD, GUILD_TOO, WAR));
+
+        // Only the first matching consuming tab gets the message
+        Assertions.assertEquals(List.of(GUILD), router.route(RecipientType.GUILD, text("§3[★★Member] WTS sword")));
+        Assertions.assertEquals(List.of(WAR), router.route(RecipientType.INFO, text("§3[WAR]§c The war starts")));
+    }
+
+    @Test
+    public void nonConsumingTabs_shouldAllGetMatchingMessage() {
+        ChatTabRouter router = new ChatTabRouter(List.of(ALL, GLOBAL, TRADE, GUILD, GUILD_TOO, WAR));
+
+        Assertions.assertEquals(
+                List.of(ALL, GLOBAL, TRADE), router.route(RecipientType.GLOBAL, text("§7Player§r WTB helmet")));
+        Assertions.assertEquals(List.of(ALL, GLOBAL), router.route(RecipientType.GLOBAL, text("§7Player§r hello")));
+
+        // The consuming tab's regex does not match, so the message is not consumed
+        Assertions.assertEquals(List.of(ALL), router.route(RecipientType.INFO, text("§7You have 5 soul points")));
+        Assertions.assertEquals(List.of(ALL, TRADE), router.route(RecipientType.SHOUT, text("§5Player shouts: WTS")));
+    }
+
+    @Test
+    public void noMatchingTab_shouldRouteNowhere() {
+        ChatTabRouter router = new ChatTabRouter(List.of(GLOBAL, TRADE, WAR));
+
+        Assertions.assertEquals(List.of(), router.route(RecipientType.PARTY, text("§7[§eParty§7] §fhi")));
+    }
+
+    private static StyledText text(String codedString) {
+        return StyledText.fromString(codedString);
+    }
+}
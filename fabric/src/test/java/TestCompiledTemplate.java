@@ -0,0 +1,154 @@
+/*
+ * Copyright © Wynntils 2024.
+ * This file is released under LGPLv3. See LICENSE for full license details.
+ */
+import com.wynntils.core.consumers.functions.Function;
+import com.wynntils.core.consumers.functions.FunctionDependencies;
+import com.wynntils.core.consumers.functions.FunctionInvalidations;
+import com.wynntils.core.consumers.functions.arguments.FunctionArguments;
+import com.wynntils.core.consumers.functions.templates.CompiledTemplate;
+import com.wynntils.core.consumers.functions.templates.LiteralTemplatePart;
+import com.wynntils.core.consumers.functions.templates.Template;
+import com.wynntils.core.consumers.functions.templates.TemplatePart;
+import com.wynntils.core.text.StyledText;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import net.minecraft.SharedConstants;
+import net.minecraft.server.Bootstrap;
+import net.minecraftforge.eventbus.api.Event;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+public class TestCompiledTemplate {
+    @BeforeAll
+    public static void setup() {
+        SharedConstants.tryDetectVersion();
+        Bootstrap.bootStrap();
+    }
+
+    @Test
+    public void compiledTemplate_shouldBeReusedUntilDependentEventIsPosted() {
+        TestEventBus eventBus = new TestEventBus();
+        FunctionInvalidations invalidations = new FunctionInvalidations(eventBus::register);
+        CountingFunction function = new CountingFunction();
+        CompiledTemplate compiledTemplate = compile(function, invalidations);
+
+        StyledText[] lines = compiledTemplate.getLines();
+        Assertions.assertEquals("Value: 1", lines[0].getString());
+
+        // Nothing the function depends on has been posted, so the last result is reused
+        Assertions.assertSame(lines, compiledTemplate.getLines());
+        eventBus.post(new OtherEvent());
+        Assertions.assertSame(lines, compiledTemplate.getLines());
+        Assertions.assertEquals(1, function.calls);
+
+        eventBus.post(new ValueChangedEvent());
+        Assertions.assertEquals("Value: 2", compiledTemplate.getLines()[0].getString());
+        Assertions.assertEquals(2, function.calls);
+
+        // Subclasses of the event invalidate the template as well
+        eventBus.post(new ValueChangedEvent.Increased());
+        Assertions.assertEquals("Value: 3", compiledTemplate.getLines()[0].getString());
+        Assertions.assertEquals(3, function.calls);
+    }
+
+    @Test
+    public void invalidateAll_shouldReevaluateCompiledTemplate() {
+        FunctionInvalidations invalidations = new FunctionInvalidations(new TestEventBus()::register);
+        CountingFunction function = new CountingFunction();
+        CompiledTemplate compiledTemplate = compile(function, invalidations);
+
+        compiledTemplate.getLines();
+        compiledTemplate.getLines();
+        Assertions.assertEquals(1, function.calls);
+
+        invalidations.invalidateAll();
+        Assertions.assertEquals("Value: 2", compiledTemplate.getLines()[0].getString());
+    }
+
+    @Test
+    public void track_shouldRegisterOneListenerPerDependentEvent() {
+        TestEventBus eventBus = new TestEventBus();
+        FunctionInvalidations invalidations = new FunctionInvalidations(eventBus::register);
+
+        // Nothing is listened to until a template depends on it
+        Assertions.assertTrue(eventBus.listeners.isEmpty());
+
+        compile(new CountingFunction(), invalidations);
+        compile(new CountingFunction(), invalidations);
+
+        Assertions.assertEquals(List.of(ValueChangedEvent.class), List.copyOf(eventBus.listeners.keySet()));
+        Assertions.assertEquals(1, eventBus.listeners.get(ValueChangedEvent.class).size());
+    }
+
+    private static CompiledTemplate compile(Function<?> function, FunctionInvalidations invalidations) {
+        Template template = new Template(List.of(new LiteralTemplatePart("Value: "), new FunctionPart(function)));
+        CompiledTemplate compiledTemplate = new CompiledTemplate(template, invalidations);
+        invalidations.track(compiledTemplate.getDependencies());
+        return compiledTemplate;
+    }
+
+    public static class ValueChangedEvent extends Event {
+        public static class Increased extends ValueChangedEvent {}
+    }
+
+    public static class OtherEvent extends Event {}
+
+    // Delivers events to the listeners of their class and superclasses, like the real event bus
+    private static final class TestEventBus {
+        private final Map<Class<? extends Event>, List<Runnable>> listeners = new HashMap<>();
+
+        private void register(Class<? extends Event> eventClass, Runnable listener) {
+            listeners.computeIfAbsent(eventClass, k -> new ArrayList<>()).add(listener);
+        }
+
+        private void post(Event event) {
+            for (Class<?> eventClass = event.getClass();
+                    eventClass != Object.class;
+                    eventClass = eventClass.getSuperclass()) {
+                listeners.getOrDefault(eventClass, List.of()).forEach(Runnable::run);
+            }
+        }
+    }
+
+    private static final class CountingFunction extends Function<Integer> {
+        private int calls = 0;
+
+        @Override
+        public Integer getValue(FunctionArguments arguments) {
+            return ++calls;
+        }
+
+        @Override
+        public FunctionDependencies getDependencies() {
+            return FunctionDependencies.onEvents(ValueChangedEvent.class);
+        }
+    }
+
+    private static final class FunctionPart extends TemplatePart {
+        private final Function<?> function;
+
+        private FunctionPart(Function<?> function) {
+            super("{" + function.getName() + "}");
+            this.function = function;
+        }
+
+        @Override
+        public String getValue() {
+            return String.valueOf(function.getValue(null));
+        }
+
+        @Override
+        public List<Function<?>> getFunctions() {
+            return List.of(function);
+        }
+
+        @Override
+        public String toString() {
+            return "FunctionPart{" + "function='" + function.getName() + "'}";
+        }
+    }
+}
@@ -3,7 +3,6 @@
  * This file is released under LGPLv3. See LICENSE for full license details.
  */
 import com.wynntils.utils.EncodedByteBuffer;
-import com.wynntils.utils.type.UnsignedByte;
 import net.minecraft.SharedConstants;
 import net.minecraft.server.Bootstrap;
 import org.junit.jupiter.api.Assertions;
@@ -19,7 +18,7 @@ public class TestEncodedByteBuffer {
 
     @Test
     public void simpleByteArray_toUtf16Works() {
-        UnsignedByte[] bytes = UnsignedByte.of(new byte[] {(byte) 214, 121, 11, 49, 43, 75});
+        byte[] bytes = new byte[] {(byte) 214, 121, 11, 49, 43, 75};
 
         String result = EncodedByteBuffer.fromBytes(bytes).toUtf16String();
 
@@ -31,8 +30,7 @@ public class TestEncodedByteBuffer {
 
     @Test
     public void highBytes_toUtf16Works() {
-        UnsignedByte[] bytes = UnsignedByte.of(
-                new byte[] {(byte) 255, (byte) 254, (byte) 255, (byte) 255, 0, (byte) 255, (byte) 255, 0});
+        byte[] bytes = new byte[] {(byte) 255, (byte) 254, (byte) 255, (byte) 255, 0, (byte) 255, (byte) 255, 0};
 
         String result = EncodedByteBuffer.fromBytes(bytes).toUtf16String();
 
@@ -47,7 +45,7 @@ public class TestEncodedByteBuffer {
 
     @Test
     public void paddingBytesHighBytes_toUtf16Works() {
-        UnsignedByte[] bytes = UnsignedByte.of(new byte[] {(byte) 255, (byte) 254, (byte) 255, (byte) 255, (byte) 255});
+        byte[] bytes = new byte[] {(byte) 255, (byte) 254, (byte) 255, (byte) 255, (byte) 255};
 
         String result = EncodedByteBuffer.fromBytes(bytes).toUtf16String();
 
@@ -60,7 +58,7 @@ public class TestEncodedByteBuffer {
 
     @Test
     public void paddingByte_toUtf16Works() {
-        UnsignedByte[] bytes = UnsignedByte.of(new byte[] {(byte) 255, (byte) 254, (byte) 255, (byte) 255, 2});
+        byte[] bytes = new byte[] {(byte) 255, (byte) 254, (byte) 255, (byte) 255, 2};
 
         String result = EncodedByteBuffer.fromBytes(bytes).toUtf16String();
 
@@ -75,9 +73,9 @@ public class TestEncodedByteBuffer {
     public void simpleDecoding_fromUtf16Works() {
         String string = Character.toString(0xFD239) + Character.toString(0xF0F51) + Character.toString(0xFDD5B);
 
-        UnsignedByte[] result = EncodedByteBuffer.fromUtf16String(string).getBytes();
+        byte[] result = EncodedByteBuffer.fromUtf16String(string).getBytes();
 
-        UnsignedByte[] expected = UnsignedByte.of(new byte[] {(byte) 210, 57, 15, 81, (byte) 221, 91});
+        byte[] expected = new byte[] {(byte) 210, 57, 15, 81, (byte) 221, 91};
 
         Assertions.assertArrayEquals(expected, result, "fromUtf16String() did not return the correct byte array");
     }
@@ -86,10 +84,9 @@ public class TestEncodedByteBuffer {
     public void highBytes_fromUtf16Works() {
         String string = Character.toString(0x100000) + Character.toString(0x100001) + Character.toString(0xF00FF);
 
-        UnsignedByte[] result = EncodedByteBuffer.fromUtf16String(string).getBytes();
+        byte[] result = EncodedByteBuffer.fromUtf16String(string).getBytes();
 
-        UnsignedByte[] expected =
-                UnsignedByte.of(new byte[] {(byte) 255, (byte) 254, (byte) 255, (byte) 255, 0, (byte) 255});
+        byte[] expected = new byte[] {(byte) 255, (byte) 254, (byte) 255, (byte) 255, 0, (byte) 255};
 
         Assertions.assertArrayEquals(expected, result, "fromUtf16String() did not return the correct byte array");
     }
@@ -98,10 +95,28 @@ public class TestEncodedByteBuffer {
     public void padding_fromUtf16Works() {
         String string = Character.toString(0x100000) + Character.toString(0x100001) + Character.toString(0x1002EE);
 
-        UnsignedByte[] result = EncodedByteBuffer.fromUtf16String(string).getBytes();
+        byte[] result = EncodedByteBuffer.fromUtf16String(string).getBytes();
 
-        UnsignedByte[] expected = UnsignedByte.of(new byte[] {(byte) 255, (byte) 254, (byte) 255, (byte) 255, 2});
+        byte[] expected = new byte[] {(byte) 255, (byte) 254, (byte) 255, (byte) 255, 2};
 
         Assertions.assertArrayEquals(expected, result, "fromUtf16String() did not return the correct byte array");
     }
+
+    @Test
+    public void encodedRange_decodesWithoutSubstring() {
+        String encoded = EncodedByteBuffer.fromBytes(new byte[] {(byte) 214, 121, 11, 49, 43, 75})
+                .toUtf16String();
+        String message = "§fCheck out " + encoded + " §7please";
+
+        int start = EncodedByteBuffer.indexOfEncodedData(message, 0);
+        int end = EncodedByteBuffer.endOfEncodedData(message, start);
+
+        Assertions.assertEquals(message.indexOf(encoded), start, "indexOfEncodedData() did not find the data");
+        Assertions.assertEquals(start + encoded.length(), end, "endOfEncodedData() did not find the end of the data");
+        Assertions.assertEquals(-1, EncodedByteBuffer.indexOfEncodedData(message, end), "Found data after the end");
+        Assertions.assertArrayEquals(
+                EncodedByteBuffer.fromUtf16String(encoded).getBytes(),
+                EncodedByteBuffer.fromUtf16String(message, start, end).getBytes(),
+                "fromUtf16String() did not decode the range correctly");
+    }
 }
@@ -0,0 +1,262 @@
+/*
+ * Copyright © Wynntils 2024.
+ * This file is released under LGPLv3. See LICENSE for full license details.
+ */
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import com.wynntils.core.net.DownloadCacheIndex;
+import com.wynntils.core.net.FileDownloader;
+import com.wynntils.core.net.RequestLimiter;
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class TestFileDownloader {
+    private static final String ETAG = "\"v1\"";
+    private static final byte[] CONTENT = "{\"hello\":\"world\"}".getBytes(StandardCharsets.UTF_8);
+
+    @Test
+    public void unchangedFile_shouldBeRevalidatedWithoutDownloading() throws Exception {
+        AtomicInteger requests = new AtomicInteger();
+        HttpServer server = startServer(exchange -> {
+            requests.incrementAndGet();
+            if (ETAG.equals(exchange.getRequestHeaders().getFirst("If-None-Match"))) {
+                exchange.sendResponseHeaders(304, -1);
+            } else {
+                exchange.getResponseHeaders().add("ETag", ETAG);
+                sendContent(exchange);
+            }
+        });
+
+        Path directory = Files.createTempDirectory("wynntils-test");
+        File localFile = directory.resolve("data.json").toFile();
+        DownloadCacheIndex cacheIndex = new DownloadCacheIndex(directory.resolve("index.bin").toFile());
+        FileDownloader downloader = createDownloader(cacheIndex, 4);
+
+        URI uri = getUri(server);
+        HttpResponse<Path> first =
+                downloader.download(createRequest(uri, Map.of()), localFile).get(5, TimeUnit.SECONDS);
+        Assertions.assertEquals(200, first.statusCode());
+        Assertions.assertArrayEquals(CONTENT, Files.readAllBytes(localFile.toPath()));
+
+        Map<String, String> conditionalHeaders = cacheIndex.getConditionalHeaders(localFile);
+        Assertions.assertEquals(Map.of("If-None-Match", ETAG), conditionalHeaders);
+
+        HttpResponse<Path> second = downloader
+                .download(createRequest(uri, conditionalHeaders), localFile)
+                .get(5, TimeUnit.SECONDS);
+        Assertions.assertEquals(304, second.statusCode());
+        Assertions.assertEquals(localFile.toPath(), second.body());
+        Assertions.assertArrayEquals(CONTENT, Files.readAllBytes(localFile.toPath()));
+
+        Assertions.assertEquals(2, requests.get());
+        Assertions.assertEquals(1, downloader.getDownloadedCount());
+        Assertions.assertEquals(1, downloader.getNotModifiedCount());
+
+        server.stop(0);
+    }
+
+    @Test
+    public void changedFile_shouldNotBeRevalidated() throws Exception {
+        HttpServer server = startServer(exchange -> {
+            exchange.getResponseHeaders().add("ETag", ETAG);
+            sendContent(exchange);
+        });
+
+        Path directory = Files.createTempDirectory("wynntils-test");
+        File localFile = directory.resolve("data.json").toFile();
+        DownloadCacheIndex cacheIndex = new DownloadCacheIndex(directory.resolve("index.bin").toFile());
+        FileDownloader downloader = createDownloader(cacheIndex, 4);
+
+        downloader.download(createRequest(getUri(server), Map.of()), localFile).get(5, TimeUnit.SECONDS);
+        Files.writeString(localFile.toPath(), "changed");
+
+        Assertions.assertEquals(Map.of(), cacheIndex.getConditionalHeaders(localFile));
+
+        server.stop(0);
+    }
+
+    @Test
+    public void errorResponse_shouldKeepCachedFile() throws Exception {
+        AtomicInteger requests = new AtomicInteger();
+        HttpServer server = startServer(exchange -> {
+            if (requests.incrementAndGet() == 1) {
+                exchange.getResponseHeaders().add("ETag", ETAG);
+                sendContent(exchange);
+            } else {
+                byte[] errorPage = "Internal Server Error".getBytes(StandardCharsets.UTF_8);
+                exchange.sendResponseHeaders(500, errorPage.length);
+                try (OutputStream out = exchange.getResponseBody()) {
+                    out.write(errorPage);
+                }
+            }
+        });
+
+        Path directory = Files.createTempDirectory("wynntils-test");
+        File localFile = directory.resolve("data.json").toFile();
+        DownloadCacheIndex cacheIndex = new DownloadCacheIndex(directory.resolve("index.bin").toFile());
+        FileDownloader downloader = createDownloader(cacheIndex, 4);
+
+        URI uri = getUri(server);
+        downloader.download(createRequest(uri, Map.of()), localFile).get(5, TimeUnit.SECONDS);
+
+        ExecutionException exception = Assertions.assertThrows(ExecutionException.class, () -> downloader
+                .download(createRequest(uri, Map.of()), localFile)
+                .get(5, TimeUnit.SECONDS));
+        Assertions.assertInstanceOf(UncheckedIOException.class, exception.getCause());
+
+        Assertions.assertArrayEquals(CONTENT, Files.readAllBytes(localFile.toPath()));
+        Assertions.assertFalse(directory.resolve("data.json.part").toFile().exists());
+        Assertions.assertEquals(Map.of("If-None-Match", ETAG), cacheIndex.getConditionalHeaders(localFile));
+        Assertions.assertEquals(1, downloader.getDownloadedCount());
+
+        server.stop(0);
+    }
+
+    @Test
+    public void concurrentDownloads_shouldShareOneRequest() throws Exception {
+        AtomicInteger requests = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+        HttpServer server = startServer(exchange -> {
+            requests.incrementAndGet();
+            awaitQuietly(release);
+            sendContent(exchange);
+        });
+
+        Path directory = Files.createTempDirectory("wynntils-test");
+        File localFile = directory.resolve("data.json").toFile();
+        FileDownloader downloader =
+                createDownloader(new DownloadCacheIndex(directory.resolve("index.bin").toFile()), 4);
+
+        HttpRequest request = createRequest(getUri(server), Map.of());
+        CompletableFuture<HttpResponse<Path>> first = downloader.download(request, localFile);
+        CompletableFuture<HttpResponse<Path>> second = downloader.download(request, localFile);
+        release.countDown();
+
+        Assertions.assertSame(first.get(5, TimeUnit.SECONDS), second.get(5, TimeUnit.SECONDS));
+        Assertions.assertEquals(1, requests.get());
+        Assertions.assertEquals(1, downloader.getCoalescedCount());
+        Assertions.assertEquals(0, downloader.getInFlightCount());
+
+        server.stop(0);
+    }
+
+    @Test
+    public void downloads_shouldNotExceedConcurrencyLimit() throws Exception {
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger maxRunning = new AtomicInteger();
+        HttpServer server = startServer(exchange -> {
+            maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+            try {
+                Thread.sleep(20);
+            } catch (InterruptedException ignored) {
+            }
+            running.decrementAndGet();
+            sendContent(exchange);
+        });
+
+        Path directory = Files.createTempDirectory("wynntils-test");
+        RequestLimiter limiter = new RequestLimiter(2);
+        FileDownloader downloader = new FileDownloader(
+                HttpClient.newHttpClient(),
+                new DownloadCacheIndex(directory.resolve("index.bin").toFile()),
+                limiter);
+
+        CompletableFuture<?>[] futures = new CompletableFuture<?>[8];
+        for (int i = 0; i < futures.length; i++) {
+            URI uri = getUri(server).resolve("/tile" + i);
+            futures[i] = downloader.download(
+                    createRequest(uri, Map.of()),
+                    directory.resolve("tile" + i + ".png").toFile());
+        }
+        CompletableFuture.allOf(futures).get(10, TimeUnit.SECONDS);
+
+        Assertions.assertTrue(maxRunning.get() <= 2);
+        Assertions.assertEquals(2, limiter.getMaxRunning());
+        Assertions.assertEquals(8, limiter.getSubmittedCount());
+        Assertions.assertEquals(6, limiter.getQueuedCount());
+        Assertions.assertEquals(0, limiter.getRunningCount());
+
+        server.stop(0);
+    }
+
+    @Test
+    public void cacheIndex_shouldReuseHashesOfUnchangedFiles() throws Exception {
+        Path directory = Files.createTempDirectory("wynntils-test");
+        File localFile = directory.resolve("tile.png").toFile();
+        Files.write(localFile.toPath(), CONTENT);
+        DownloadCacheIndex cacheIndex = new DownloadCacheIndex(directory.resolve("index.bin").toFile());
+
+        String md5 = cacheIndex.getMd5(localFile);
+        Assertions.assertEquals(md5, cacheIndex.getMd5(localFile));
+        Assertions.assertEquals(1, cacheIndex.getHashHits());
+        Assertions.assertEquals(1, cacheIndex.getHashMisses());
+
+        Files.writeString(localFile.toPath(), "a different tile");
+        Assertions.assertNotEquals(md5, cacheIndex.getMd5(localFile));
+        Assertions.assertEquals(2, cacheIndex.getHashMisses());
+    }
+
+    private static FileDownloader createDownloader(DownloadCacheIndex cacheIndex, int maxConcurrentRequests) {
+        return new FileDownloader(HttpClient.newHttpClient(), cacheIndex, new RequestLimiter(maxConcurrentRequests));
+    }
+
+    private static HttpRequest createRequest(URI uri, Map<String, String> headers) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder().uri(uri);
+        headers.forEach(builder::header);
+        return builder.build();
+    }
+
+    private static HttpServer startServer(ExchangeHandler handler) throws IOException {
+        HttpServer server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/", exchange -> {
+            try (exchange) {
+                handler.handle(exchange);
+            }
+        });
+        server.setExecutor(Executors.newCachedThreadPool());
+        server.start();
+        return server;
+    }
+
+    private static URI getUri(HttpServer server) {
+        return URI.create("http://127.0.0.1:" + server.getAddress().getPort() + "/data.json");
+    }
+
+    private static void sendContent(HttpExchange exchange) throws IOException {
+        exchange.sendResponseHeaders(200, CONTENT.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(CONTENT);
+        }
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException ignored) {
+        }
+    }
+
+    @FunctionalInterface
+    private interface ExchangeHandler {
+        void handle(HttpExchange exchange) throws IOException;
+    }
+}
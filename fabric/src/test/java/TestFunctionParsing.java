@@ -0,0 +1,111 @@
+/*
+ * Copyright © Wynntils 2024.
+ * This file is released under LGPLv3. See LICENSE for full license details.
+ */
+import com.wynntils.core.consumers.functions.Function;
+import com.wynntils.core.consumers.functions.FunctionManager;
+import com.wynntils.core.consumers.functions.FunctionNameIndex;
+import com.wynntils.core.consumers.functions.arguments.FunctionArguments;
+import com.wynntils.core.consumers.functions.expressions.ConstantExpression;
+import com.wynntils.core.consumers.functions.expressions.Expression;
+import com.wynntils.core.consumers.functions.expressions.FunctionExpression;
+import com.wynntils.core.consumers.functions.expressions.parser.ExpressionParser;
+import com.wynntils.functions.generic.MathFunctions;
+import java.util.List;
+import net.minecraft.SharedConstants;
+import net.minecraft.server.Bootstrap;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+public class TestFunctionParsing {
+    private static final Function<?> ADD = new MathFunctions.AddFunction();
+    private static final Function<?> SUBTRACT = new MathFunctions.SubtractFunction();
+    private static final Function<?> RANDOM = new MathFunctions.RandomFunction();
+    private static final Function<?> COUNTER = new CounterFunction();
+
+    private static final FunctionNameIndex NAME_INDEX = new FunctionNameIndex(List.of(ADD, SUBTRACT, RANDOM, COUNTER));
+
+    @BeforeAll
+    public static void setup() {
+        SharedConstants.tryDetectVersion();
+        Bootstrap.bootStrap();
+    }
+
+    @Test
+    public void forName_shouldResolveNamesAndAliasesIgnoringCase() {
+        Assertions.assertSame(ADD, NAME_INDEX.forName("add").orElseThrow());
+        Assertions.assertSame(ADD, NAME_INDEX.forName("ADD").orElseThrow());
+        Assertions.assertSame(SUBTRACT, NAME_INDEX.forName("Sub").orElseThrow());
+        Assertions.assertSame(RANDOM, NAME_INDEX.forName("RaNd").orElseThrow());
+        Assertions.assertSame(RANDOM, NAME_INDEX.forName("random").orElseThrow());
+
+        // The counter function also uses "sub" as an alias, but the subtract function was registered first
+        Assertions.assertSame(COUNTER, NAME_INDEX.forName("COUNTER").orElseThrow());
+        Assertions.assertSame(SUBTRACT, NAME_INDEX.forName("sub").orElseThrow());
+
+        Assertions.assertTrue(NAME_INDEX.forName("unknown").isEmpty());
+    }
+
+    @Test
+    public void constantArguments_shouldFoldToConstant() {
+        ExpressionParser parser = new ExpressionParser(new FunctionManager(), NAME_INDEX);
+
+        Expression expression = parser.tryParse("add(1;2)").getValue();
+        Assertions.assertInstanceOf(ConstantExpression.class, expression);
+        Assertions.assertEquals(3.0, expression.calculate().getValue());
+
+        // Folding happens bottom-up, so nested calls fold as well
+        Expression nested = parser.tryParse("sub(add(1;2);4)").getValue();
+        Assertions.assertInstanceOf(ConstantExpression.class, nested);
+        Assertions.assertEquals(-1.0, nested.calculate().getValue());
+    }
+
+    @Test
+    public void foldedExpression_shouldKeepFormatting() {
+        ExpressionParser parser = new ExpressionParser(new FunctionManager(), NAME_INDEX);
+
+        Expression folded = parser.tryParse("add(1000;0.5):F1").getValue();
+        Expression unfolded = parser.tryParse("add(counter;1000.5):F1").getValue();
+
+        Assertions.assertInstanceOf(ConstantExpression.class, folded);
+        Assertions.assertInstanceOf(FunctionExpression.class, unfolded);
+        Assertions.assertEquals(
+                unfolded.calculateFormattedString().getValue(), folded.calculateFormattedString().getValue());
+    }
+
+    @Test
+    public void functionsWithOtherDependencies_shouldNotFold() {
+        ExpressionParser parser = new ExpressionParser(new FunctionManager(), NAME_INDEX);
+
+        Assertions.assertInstanceOf(FunctionExpression.class, parser.tryParse("rand(1;5)").getValue());
+        Assertions.assertInstanceOf(FunctionExpression.class, parser.tryParse("counter").getValue());
+    }
+
+    @Test
+    public void nonConstantArguments_shouldNotFold() {
+        ExpressionParser parser = new ExpressionParser(new FunctionManager(), NAME_INDEX);
+
+        Expression expression = parser.tryParse("add(rand(1;5);1)").getValue();
+        Assertions.assertInstanceOf(FunctionExpression.class, expression);
+
+        Expression counted = parser.tryParse("add(counter;1)").getValue();
+        Assertions.assertInstanceOf(FunctionExpression.class, counted);
+        Assertions.assertNotEquals(counted.calculate().getValue(), counted.calculate().getValue());
+    }
+
+    // Returns a new value every time, and uses an alias that is already taken
+    private static final class CounterFunction extends Function<Integer> {
+        private int count = 0;
+
+        @Override
+        public Integer getValue(FunctionArguments arguments) {
+            return count++;
+        }
+
+        @Override
+        protected List<String> getAliases() {
+            return List.of("sub");
+        }
+    }
+}
@@ -0,0 +1,46 @@
+/*
+ * Copyright © Wynntils 2024.
+ * This file is released under LGPLv3. See LICENSE for full license details.
+ */
+import com.google.gson.JsonDeserializer;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParseException;
+import com.wynntils.models.wynnitem.ItemDatabaseReader;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class TestItemDatabaseReader {
+    private static final JsonDeserializer<String> NAME_AND_LEVEL = (json, type, context) -> {
+        JsonObject item = json.getAsJsonObject();
+        return item.get("name").getAsString() + ":" + item.get("level").getAsInt();
+    };
+
+    @Test
+    public void readItems_shouldKeepDatabaseOrder() {
+        StringBuilder database = new StringBuilder("{");
+        List<String> expected = new ArrayList<>();
+        for (int i = 0; i < 500; i++) {
+            if (i > 0) database.append(',');
+            database.append("\"Item ").append(i).append("\":{\"level\":").append(i).append('}');
+            expected.add("Item " + i + ":" + i);
+        }
+        database.append('}');
+
+        Assertions.assertEquals(
+                expected, ItemDatabaseReader.readItems(new StringReader(database.toString()), NAME_AND_LEVEL));
+    }
+
+    @Test
+    public void readItems_shouldPropagateDeserializerErrors() {
+        JsonDeserializer<String> failing = (json, type, context) -> {
+            throw new JsonParseException("Invalid item");
+        };
+
+        Assertions.assertThrows(
+                JsonParseException.class,
+                () -> ItemDatabaseReader.readItems(new StringReader("{\"A\":{},\"B\":{}}"), failing));
+    }
+}
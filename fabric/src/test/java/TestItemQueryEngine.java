@@ -0,0 +1,234 @@
+/*
+ * Copyright © Wynntils 2024.
+ * This file is released under LGPLv3. See LICENSE for full license details.
+ */
+import com.wynntils.models.items.WynnItem;
+import com.wynntils.services.itemfilter.ItemQueryEngine;
+import com.wynntils.services.itemfilter.filters.AnyStatFilters;
+import com.wynntils.services.itemfilter.filters.RangedStatFilters;
+import com.wynntils.services.itemfilter.filters.StringStatFilter;
+import com.wynntils.services.itemfilter.type.ItemProviderType;
+import com.wynntils.services.itemfilter.type.ItemSearchQuery;
+import com.wynntils.services.itemfilter.type.ItemStatProvider;
+import com.wynntils.services.itemfilter.type.SortDirection;
+import com.wynntils.services.itemfilter.type.SortInfo;
+import com.wynntils.services.itemfilter.type.StatProviderFilterMap;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.Random;
+import java.util.function.ToIntFunction;
+import net.minecraft.SharedConstants;
+import net.minecraft.server.Bootstrap;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+public class TestItemQueryEngine {
+    private static final List<String> TIERS = List.of("Common", "Rare", "Legendary", "Mythic");
+
+    private static final LevelStatProvider LEVEL = new LevelStatProvider();
+    private static final TierStatProvider TIER = new TierStatProvider();
+    private static final PowerStatProvider POWER = new PowerStatProvider();
+
+    @BeforeAll
+    public static void setup() {
+        SharedConstants.tryDetectVersion();
+        Bootstrap.bootStrap();
+    }
+
+    @Test
+    public void rangedFilterWithMultiKeySort_shouldMatchItemByItemQuery() {
+        StatProviderFilterMap filters = new StatProviderFilterMap();
+        filters.put(LEVEL, new RangedStatFilters.RangedIntegerStatFilter(20, 60, false));
+        ItemSearchQuery query = query(
+                filters,
+                List.of(new SortInfo(SortDirection.DESCENDING, TIER), new SortInfo(SortDirection.ASCENDING, LEVEL)),
+                List.of());
+
+        assertSameResults(query, createItems(300));
+        assertSameResults(query, createItems(3000));
+    }
+
+    @Test
+    public void anyAndAlternativeFilters_shouldMatchItemByItemQuery() {
+        StatProviderFilterMap filters = new StatProviderFilterMap();
+        filters.put(POWER, new AnyStatFilters.AnyIntegerStatFilter());
+        // Filters of the same stat match if any of them matches
+        filters.put(LEVEL, new RangedStatFilters.RangedIntegerStatFilter(1, 10, false));
+        filters.put(LEVEL, new RangedStatFilters.RangedIntegerStatFilter(90, 100, false));
+        filters.put(TIER, new StringStatFilter.StringStatFilterFactory().create("r").orElseThrow());
+        ItemSearchQuery query = query(
+                filters,
+                List.of(new SortInfo(SortDirection.ASCENDING, POWER), new SortInfo(SortDirection.ASCENDING, TIER)),
+                List.of());
+
+        assertSameResults(query, createItems(300));
+        assertSameResults(query, createItems(3000));
+    }
+
+    @Test
+    public void plainTextWithSort_shouldMatchItemByItemQuery() {
+        ItemSearchQuery query = query(
+                new StatProviderFilterMap(), List.of(new SortInfo(SortDirection.DESCENDING, LEVEL)), List.of("sword"));
+
+        assertSameResults(query, createItems(300));
+        assertSameResults(query, createItems(3000));
+    }
+
+    @Test
+    public void sortOnly_shouldExcludeItemsWithoutSortStatAndKeepTiesInOrder() {
+        ItemSearchQuery query =
+                query(new StatProviderFilterMap(), List.of(new SortInfo(SortDirection.DESCENDING, POWER)), List.of());
+
+        for (int size : List.of(300, 3000)) {
+            List<TestEntry> items = createItems(size);
+            List<TestEntry> result = assertSameResults(query, items);
+
+            Assertions.assertFalse(result.isEmpty());
+            Assertions.assertTrue(
+                    result.stream().allMatch(entry -> entry.item() != null && entry.item().power != null));
+
+            for (int i = 1; i < result.size(); i++) {
+                TestEntry previous = result.get(i - 1);
+                TestEntry current = result.get(i);
+                Assertions.assertTrue(previous.item().power >= current.item().power);
+                if (previous.item().power.equals(current.item().power)) {
+                    Assertions.assertTrue(items.indexOf(previous) < items.indexOf(current));
+                }
+            }
+        }
+    }
+
+    private static List<TestEntry> assertSameResults(ItemSearchQuery query, List<TestEntry> items) {
+        List<TestEntry> expected = filterAndSortItemByItem(query, items);
+        List<TestEntry> actual = ItemQueryEngine.filterAndSort(query, items, TestEntry::item, TestEntry::name);
+
+        Assertions.assertEquals(expected, actual, "Results for " + items.size() + " items");
+        return actual;
+    }
+
+    /**
+     * Filters and sorts the items one by one, comparing them with the stat providers, like item lists were filtered
+     * and sorted before the query engine.
+     */
+    private static List<TestEntry> filterAndSortItemByItem(ItemSearchQuery query, List<TestEntry> items) {
+        String searchText = String.join(" ", query.plainTextTokens()).toLowerCase(Locale.ROOT);
+
+        List<TestEntry> result = new ArrayList<>();
+        for (TestEntry entry : items) {
+            if (!query.isEmpty()) {
+                if (entry.item() == null) continue;
+                if (!query.filters().matches(entry.item())) continue;
+                if (!entry.name().toLowerCase(Locale.ROOT).contains(searchText)) continue;
+            }
+
+            // Sorted stat providers must be filtered as "any" filters
+            if (query.sorts().stream()
+                    .anyMatch(sortInfo -> sortInfo.provider().getValue(entry.item()).isEmpty())) {
+                continue;
+            }
+
+            result.add(entry);
+        }
+
+        // List.sort is stable
+        result.sort((entry1, entry2) -> {
+            for (SortInfo sortInfo : query.sorts()) {
+                int compare = sortInfo.provider().compare(entry1.item(), entry2.item());
+                if (compare != 0) {
+                    return sortInfo.direction() == SortDirection.ASCENDING ? -compare : compare;
+                }
+            }
+            return 0;
+        });
+
+        return result;
+    }
+
+    private static ItemSearchQuery query(
+            StatProviderFilterMap filters, List<SortInfo> sorts, List<String> plainTextTokens) {
+        return new ItemSearchQuery("", filters, sorts, List.of(), List.of(), plainTextTokens);
+    }
+
+    private static List<TestEntry> createItems(int count) {
+        Random random = new Random(count);
+
+        List<TestEntry> items = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            String name = (random.nextInt(4) == 0 ? "Sword " : "Bow ") + i;
+
+            // Some items are not Wynncraft items, and some have no power
+            TestItem item = random.nextInt(20) == 0
+                    ? null
+                    : new TestItem(
+                            random.nextInt(100) + 1,
+                            TIERS.get(random.nextInt(TIERS.size())),
+                            random.nextInt(5) == 0 ? null : random.nextInt(10));
+            items.add(new TestEntry(name, item));
+        }
+        return items;
+    }
+
+    private record TestEntry(String name, TestItem item) {}
+
+    private static final class TestItem extends WynnItem {
+        private final int level;
+        private final String tier;
+        private final Integer power;
+
+        private TestItem(int level, String tier, Integer power) {
+            this.level = level;
+            this.tier = tier;
+            this.power = power;
+        }
+    }
+
+    private static final class LevelStatProvider extends ItemStatProvider<Integer> {
+        @Override
+        public Optional<Integer> getValue(WynnItem wynnItem) {
+            if (!(wynnItem instanceof TestItem testItem)) return Optional.empty();
+
+            return Optional.of(testItem.level);
+        }
+
+        @Override
+        public List<ItemProviderType> getFilterTypes() {
+            return List.of(ItemProviderType.GENERIC);
+        }
+    }
+
+    private static final class TierStatProvider extends ItemStatProvider<String> {
+        @Override
+        public Optional<String> getValue(WynnItem wynnItem) {
+            if (!(wynnItem instanceof TestItem testItem)) return Optional.empty();
+
+            return Optional.of(testItem.tier);
+        }
+
+        @Override
+        public List<ItemProviderType> getFilterTypes() {
+            return List.of(ItemProviderType.GENERIC);
+        }
+
+        @Override
+        public Optional<ToIntFunction<String>> getSortKey() {
+            return Optional.of(TIERS::indexOf);
+        }
+    }
+
+    private static final class PowerStatProvider extends ItemStatProvider<Integer> {
+        @Override
+        public Optional<Integer> getValue(WynnItem wynnItem) {
+            if (!(wynnItem instanceof TestItem testItem)) return Optional.empty();
+
+            return Optional.ofNullable(testItem.power);
+        }
+
+        @Override
+        public List<ItemProviderType> getFilterTypes() {
+            return List.of(ItemProviderType.GENERIC);
+        }
+    }
+}
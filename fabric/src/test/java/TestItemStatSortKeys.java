@@ -0,0 +1,52 @@
+/*
+ * Copyright © Wynntils 2024.
+ * This file is released under LGPLv3. See LICENSE for full license details.
+ */
+import com.wynntils.services.itemfilter.statproviders.RarityStatProvider;
+import com.wynntils.services.itemfilter.statproviders.territory.TerritoryDefenseStatProvider;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.ToIntFunction;
+import net.minecraft.SharedConstants;
+import net.minecraft.server.Bootstrap;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+public class TestItemStatSortKeys {
+    @BeforeAll
+    public static void setup() {
+        SharedConstants.tryDetectVersion();
+        Bootstrap.bootStrap();
+    }
+
+    @Test
+    public void sortByRarity_shouldFollowGearTierOrder() {
+        RarityStatProvider provider = new RarityStatProvider();
+        ToIntFunction<String> sortKey = provider.getSortKey().orElseThrow();
+
+        // Start from alphabetical order, which is what sorting by the value itself would give
+        List<String> rarities = new ArrayList<>(provider.getValidInputs());
+        Collections.sort(rarities);
+
+        // "sort:rarity" sorts in descending order
+        rarities.sort(Comparator.comparingInt(sortKey).reversed());
+
+        Assertions.assertEquals(
+                List.of("Crafted", "Mythic", "Fabled", "Legendary", "Set", "Rare", "Unique", "Normal"), rarities);
+    }
+
+    @Test
+    public void sortByTerritoryDefense_shouldFollowDifficultyOrder() {
+        TerritoryDefenseStatProvider provider = new TerritoryDefenseStatProvider();
+        ToIntFunction<String> sortKey = provider.getSortKey().orElseThrow();
+
+        List<String> defenses = new ArrayList<>(provider.getValidInputs());
+        Collections.sort(defenses);
+        defenses.sort(Comparator.comparingInt(sortKey));
+
+        Assertions.assertEquals(List.of("VeryLow", "Low", "Medium", "High", "VeryHigh"), defenses);
+    }
+}
@@ -0,0 +1,106 @@
+/*
+ * Copyright © Wynntils 2024.
+ * This file is released under LGPLv3. See LICENSE for full license details.
+ */
+import com.wynntils.services.lootrunpaths.LootrunPathSampler;
+import com.wynntils.services.lootrunpaths.type.ColoredPath;
+import com.wynntils.services.lootrunpaths.type.ColoredPosition;
+import com.wynntils.services.lootrunpaths.type.LootrunPathColoring;
+import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.TreeMap;
+import net.minecraft.SharedConstants;
+import net.minecraft.server.Bootstrap;
+import net.minecraft.world.phys.Vec3;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+public class TestLootrunPathSampler {
+    private static final LootrunPathColoring COLORING = new LootrunPathColoring(true, 5, 0);
+
+    @BeforeAll
+    public static void setup() {
+        SharedConstants.tryDetectVersion();
+        Bootstrap.bootStrap();
+    }
+
+    @Test
+    public void incrementalSampling_shouldMatchFullSampling() {
+        List<Vec3> points = createPath();
+
+        LootrunPathSampler incremental = new LootrunPathSampler();
+        Long2ObjectMap<List<ColoredPath>> incrementalPoints = null;
+        for (int i = 0; i < points.size(); i++) {
+            incremental.addPoint(points.get(i));
+            incrementalPoints = incremental.updatePointsByChunk(incrementalPoints, COLORING, true);
+
+            if (i % 50 == 0 || i == points.size() - 1) {
+                LootrunPathSampler full = sample(points.subList(0, i + 1));
+                Assertions.assertEquals(
+                        describe(full.getPointsByChunk(COLORING)),
+                        describe(incrementalPoints),
+                        "Incremental sampling differs after " + (i + 1) + " points");
+            }
+        }
+    }
+
+    @Test
+    public void packedSamples_shouldRestoreSameChunks() {
+        LootrunPathSampler sampler = sample(createPath());
+        LootrunPathSampler packed = LootrunPathSampler.fromPacked(
+                sampler.getSamples(), sampler.getRunChunks(), sampler.getRunStarts(), sampler.getRunEnds());
+
+        Assertions.assertEquals(sampler.getSampleCount(), packed.getSampleCount());
+        Assertions.assertEquals(
+                describe(sampler.getPointsByChunk(COLORING)), describe(packed.getPointsByChunk(COLORING)));
+    }
+
+    @Test
+    public void segmentBreaksAndDuplicates_shouldNotBeInterpolated() {
+        LootrunPathSampler sampler =
+                sample(List.of(new Vec3(0, 0, 0), new Vec3(1, 0, 0), new Vec3(1, 0, 0), new Vec3(100, 0, 0)));
+
+        // Only the first segment is sampled, the second one is a single point
+        Assertions.assertEquals(10, sampler.getSampleCount());
+    }
+
+    private static LootrunPathSampler sample(List<Vec3> points) {
+        LootrunPathSampler sampler = new LootrunPathSampler();
+        sampler.addPoints(points);
+        sampler.finishSegment();
+        return sampler;
+    }
+
+    private static List<Vec3> createPath() {
+        Random random = new Random(1);
+        List<Vec3> points = new ArrayList<>();
+        Vec3 position = new Vec3(-1500, 60, -1500);
+        for (int i = 0; i < 600; i++) {
+            // Teleport every now and then, which starts a new segment
+            double step = i % 200 == 199 ? 40 : 1;
+            position = position.add(
+                    random.nextDouble() * 2 * step, random.nextDouble() - 0.5, (random.nextDouble() * 2 - 0.5) * step);
+            points.add(position);
+        }
+        return points;
+    }
+
+    private static String describe(Long2ObjectMap<List<ColoredPath>> pointsByChunk) {
+        TreeMap<Long, List<List<String>>> sorted = new TreeMap<>();
+        for (Long2ObjectMap.Entry<List<ColoredPath>> entry : pointsByChunk.long2ObjectEntrySet()) {
+            List<List<String>> paths = new ArrayList<>();
+            for (ColoredPath path : entry.getValue()) {
+                List<String> positions = new ArrayList<>();
+                for (ColoredPosition position : path.points()) {
+                    positions.add(position.position() + "#" + Integer.toHexString(position.color()));
+                }
+                paths.add(positions);
+            }
+            sorted.put(entry.getLongKey(), paths);
+        }
+        return sorted.toString();
+    }
+}
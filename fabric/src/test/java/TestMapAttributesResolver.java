@@ -0,0 +1,244 @@
+/*
+ * Copyright © Wynntils 2024.
+ * This file is released under LGPLv3. See LICENSE for full license details.
+ */
+import com.wynntils.services.mapdata.MapAttributesResolver;
+import com.wynntils.services.mapdata.MapCategoryTable;
+import com.wynntils.services.mapdata.attributes.AbstractMapAttributes;
+import com.wynntils.services.mapdata.attributes.DefaultMapAttributes;
+import com.wynntils.services.mapdata.attributes.type.MapAttributes;
+import com.wynntils.services.mapdata.attributes.type.MapVisibility;
+import com.wynntils.services.mapdata.attributes.type.ResolvedMapAttributes;
+import com.wynntils.services.mapdata.attributes.type.ResolvedMapVisibility;
+import com.wynntils.services.mapdata.type.MapCategory;
+import com.wynntils.services.mapdata.type.MapFeature;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Function;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class TestMapAttributesResolver {
+    // The categories of two providers, in provider order. Both providers define "wynntils:service".
+    private static final List<MapCategory> CATEGORIES = List.of(
+            new TestCategory("wynntils", new TestAttributes(null, null, null, 3, null)),
+            new TestCategory(
+                    "wynntils:service",
+                    new TestAttributes(null, null, 700, null, MapVisibility.builder().withMin(20f))),
+            new TestCategory("wynntils:service:bank", null),
+            new TestCategory(
+                    "wynntils:service",
+                    new TestAttributes("Service", null, 600, null, MapVisibility.builder().withMax(80f))),
+            new TestCategory("wynntils:service:bank", new TestAttributes(null, "bank", null, null, null)));
+
+    private static final List<MapFeature> FEATURES = List.of(
+            new TestFeature("wynntils:service:bank", null),
+            // Categories without definitions of their own inherit from their closest defined parent
+            new TestFeature("wynntils:service:bank:vault", null),
+            new TestFeature(
+                    "wynntils:service:bank",
+                    new TestAttributes("Bank", null, null, null, MapVisibility.builder().withFade(2f))),
+            new TestFeature("wynntils:service", new TestAttributes(null, null, 100, 1, null)),
+            new TestFeature("other:feature", null));
+
+    @Test
+    public void resolveFromTable_shouldMatchPerAttributeWalk() {
+        MapCategoryTable table = new MapCategoryTable(CATEGORIES.stream());
+
+        for (MapFeature feature : FEATURES) {
+            ResolvedMapAttributes expected = new PerAttributeWalk(feature).resolve();
+            ResolvedMapAttributes actual =
+                    MapAttributesResolver.resolve(feature, table.getAttributes(feature.getCategoryId()));
+
+            Assertions.assertEquals(expected, actual, "Attributes of feature in " + feature.getCategoryId());
+        }
+    }
+
+    @Test
+    public void overlappingDefinitions_shouldPreferEarlierProviderPerAttribute() {
+        MapCategoryTable table = new MapCategoryTable(CATEGORIES.stream());
+
+        ResolvedMapAttributes attributes = table.getAttributes("wynntils:service:bank:vault");
+
+        Assertions.assertEquals("Service", attributes.label());
+        Assertions.assertEquals("bank", attributes.iconId());
+        Assertions.assertEquals(700, attributes.priority());
+        Assertions.assertEquals(3, attributes.level());
+        Assertions.assertEquals(20f, attributes.iconVisibility().min());
+        Assertions.assertEquals(80f, attributes.iconVisibility().max());
+        Assertions.assertEquals(
+                DefaultMapAttributes.INSTANCE
+                        .getIconVisibility()
+                        .get()
+                        .getFade()
+                        .get(),
+                attributes.iconVisibility().fade());
+
+        Assertions.assertEquals(MapAttributesResolver.DEFAULT_ATTRIBUTES, table.getAttributes("other:feature"));
+    }
+
+    /**
+     * Looks up every attribute on its own, by walking up the category hierarchy and checking the definitions of
+     * each level in provider order. This is how attributes were resolved before the category table existed.
+     */
+    private static final class PerAttributeWalk {
+        private final MapFeature feature;
+
+        private PerAttributeWalk(MapFeature feature) {
+            this.feature = feature;
+        }
+
+        private ResolvedMapAttributes resolve() {
+            return new ResolvedMapAttributes(
+                    getAttribute(MapAttributes::getLabel),
+                    getAttribute(MapAttributes::getIconId),
+                    getAttribute(MapAttributes::getPriority),
+                    getAttribute(MapAttributes::getLevel),
+                    getVisibility(MapAttributes::getLabelVisibility),
+                    getAttribute(MapAttributes::getLabelColor),
+                    getAttribute(MapAttributes::getLabelShadow),
+                    getVisibility(MapAttributes::getIconVisibility),
+                    getAttribute(MapAttributes::getIconColor),
+                    getAttribute(MapAttributes::getIconDecoration));
+        }
+
+        private <T> T getAttribute(Function<MapAttributes, Optional<T>> attributeGetter) {
+            Optional<T> featureAttribute = feature.getAttributes().flatMap(attributeGetter);
+            if (featureAttribute.isPresent()) return featureAttribute.get();
+
+            for (String id = feature.getCategoryId(); id != null; id = getParentCategoryId(id)) {
+                Optional<T> attribute = getCategoryAttributes(id).stream()
+                        .map(attributeGetter)
+                        .flatMap(Optional::stream)
+                        .findFirst();
+                if (attribute.isPresent()) return attribute.get();
+            }
+
+            return attributeGetter.apply(DefaultMapAttributes.INSTANCE).get();
+        }
+
+        private ResolvedMapVisibility getVisibility(Function<MapAttributes, Optional<MapVisibility>> attributeGetter) {
+            return new ResolvedMapVisibility(
+                    getVisibilityValue(MapVisibility::getMin, attributeGetter),
+                    getVisibilityValue(MapVisibility::getMax, attributeGetter),
+                    getVisibilityValue(MapVisibility::getFade, attributeGetter));
+        }
+
+        private float getVisibilityValue(
+                Function<MapVisibility, Optional<Float>> valueGetter,
+                Function<MapAttributes, Optional<MapVisibility>> attributeGetter) {
+            Optional<Float> featureValue =
+                    feature.getAttributes().flatMap(attributeGetter).flatMap(valueGetter);
+            if (featureValue.isPresent()) return featureValue.get();
+
+            for (String id = feature.getCategoryId(); id != null; id = getParentCategoryId(id)) {
+                Optional<Float> value = getCategoryAttributes(id).stream()
+                        .map(attributeGetter)
+                        .flatMap(Optional::stream)
+                        .map(valueGetter)
+                        .flatMap(Optional::stream)
+                        .findFirst();
+                if (value.isPresent()) return value.get();
+            }
+
+            return valueGetter
+                    .apply(attributeGetter.apply(DefaultMapAttributes.INSTANCE).get())
+                    .get();
+        }
+
+        private static List<MapAttributes> getCategoryAttributes(String categoryId) {
+            return CATEGORIES.stream()
+                    .filter(category -> category.getCategoryId().equals(categoryId))
+                    .map(MapCategory::getAttributes)
+                    .flatMap(Optional::stream)
+                    .toList();
+        }
+
+        private static String getParentCategoryId(String categoryId) {
+            int index = categoryId.lastIndexOf(':');
+            if (index == -1) return null;
+            return categoryId.substring(0, index);
+        }
+    }
+
+    private record TestCategory(String categoryId, MapAttributes attributes) implements MapCategory {
+        @Override
+        public String getCategoryId() {
+            return categoryId;
+        }
+
+        @Override
+        public Optional<String> getName() {
+            return Optional.empty();
+        }
+
+        @Override
+        public Optional<MapAttributes> getAttributes() {
+            return Optional.ofNullable(attributes);
+        }
+    }
+
+    private record TestFeature(String categoryId, MapAttributes attributes) implements MapFeature {
+        @Override
+        public String getFeatureId() {
+            return "test:" + categoryId;
+        }
+
+        @Override
+        public String getCategoryId() {
+            return categoryId;
+        }
+
+        @Override
+        public Optional<MapAttributes> getAttributes() {
+            return Optional.ofNullable(attributes);
+        }
+
+        @Override
+        public List<String> getTags() {
+            return List.of();
+        }
+    }
+
+    private static final class TestAttributes extends AbstractMapAttributes {
+        private final String label;
+        private final String iconId;
+        private final Integer priority;
+        private final Integer level;
+        private final MapVisibility iconVisibility;
+
+        private TestAttributes(
+                String label, String iconId, Integer priority, Integer level, MapVisibility iconVisibility) {
+            this.label = label;
+            this.iconId = iconId;
+            this.priority = priority;
+            this.level = level;
+            this.iconVisibility = iconVisibility;
+        }
+
+        @Override
+        public Optional<String> getLabel() {
+            return Optional.ofNullable(label);
+        }
+
+        @Override
+        public Optional<String> getIconId() {
+            return Optional.ofNullable(iconId);
+        }
+
+        @Override
+        public Optional<Integer> getPriority() {
+            return Optional.ofNullable(priority);
+        }
+
+        @Override
+        public Optional<Integer> getLevel() {
+            return Optional.ofNullable(level);
+        }
+
+        @Override
+        public Optional<MapVisibility> getIconVisibility() {
+            return Optional.ofNullable(iconVisibility);
+        }
+    }
+}
@@ -0,0 +1,111 @@
+/*
+ * Copyright © Wynntils 2024.
+ * This file is released under LGPLv3. See LICENSE for full license details.
+ */
+import com.wynntils.core.net.RequestCoalescer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class TestRequestCoalescer {
+    @Test
+    public void requestsInWindow_shouldBeFetchedInOneBatch() throws Exception {
+        ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor();
+        List<Set<String>> batches = new ArrayList<>();
+        RequestCoalescer<String, Integer> coalescer = new RequestCoalescer<>(
+                50,
+                10,
+                keys -> {
+                    batches.add(keys);
+                    return CompletableFuture.completedFuture(
+                            keys.stream().collect(Collectors.toMap(key -> key, String::length)));
+                },
+                executor);
+
+        CompletableFuture<Integer> first = coalescer.request("a");
+        CompletableFuture<Integer> second = coalescer.request("bb");
+        CompletableFuture<Integer> duplicate = coalescer.request("a");
+
+        Assertions.assertSame(first, duplicate);
+        Assertions.assertEquals(1, first.get(5, TimeUnit.SECONDS));
+        Assertions.assertEquals(2, second.get(5, TimeUnit.SECONDS));
+        Assertions.assertEquals(List.of(Set.of("a", "bb")), batches);
+
+        executor.shutdown();
+    }
+
+    @Test
+    public void largeBursts_shouldBeSplitIntoSequentialBatches() throws Exception {
+        ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor();
+        List<Integer> batchSizes = new ArrayList<>();
+        int[] concurrentBatches = new int[2];
+        RequestCoalescer<Integer, Integer> coalescer = new RequestCoalescer<>(
+                10,
+                4,
+                keys -> {
+                    synchronized (concurrentBatches) {
+                        batchSizes.add(keys.size());
+                        concurrentBatches[0]++;
+                        concurrentBatches[1] = Math.max(concurrentBatches[1], concurrentBatches[0]);
+                    }
+
+                    return CompletableFuture.supplyAsync(() -> {
+                        synchronized (concurrentBatches) {
+                            concurrentBatches[0]--;
+                        }
+                        return keys.stream().collect(Collectors.toMap(key -> key, key -> key * 2));
+                    });
+                },
+                executor);
+
+        List<CompletableFuture<Integer>> futures = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            futures.add(coalescer.request(i));
+        }
+
+        for (int i = 0; i < 10; i++) {
+            Assertions.assertEquals(i * 2, futures.get(i).get(5, TimeUnit.SECONDS));
+        }
+        Assertions.assertEquals(List.of(4, 4, 2), batchSizes);
+        Assertions.assertEquals(1, concurrentBatches[1]);
+
+        executor.shutdown();
+    }
+
+    @Test
+    public void missingAndFailedKeys_shouldCompleteExceptionally() throws Exception {
+        ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor();
+        RequestCoalescer<String, String> coalescer = new RequestCoalescer<>(
+                10,
+                10,
+                keys -> keys.contains("fail")
+                        ? CompletableFuture.failedFuture(new IllegalStateException("Server error"))
+                        : CompletableFuture.completedFuture(Map.of("found", "value")),
+                executor);
+
+        CompletableFuture<String> found = coalescer.request("found");
+        CompletableFuture<String> missing = coalescer.request("missing");
+
+        Assertions.assertEquals("value", found.get(5, TimeUnit.SECONDS));
+        ExecutionException missingException =
+                Assertions.assertThrows(ExecutionException.class, () -> missing.get(5, TimeUnit.SECONDS));
+        Assertions.assertInstanceOf(NoSuchElementException.class, missingException.getCause());
+
+        CompletableFuture<String> failed = coalescer.request("fail");
+        ExecutionException failedException =
+                Assertions.assertThrows(ExecutionException.class, () -> failed.get(5, TimeUnit.SECONDS));
+        Assertions.assertInstanceOf(IllegalStateException.class, failedException.getCause());
+
+        executor.shutdown();
+    }
+}
@@ -0,0 +1,99 @@
+/*
+ * Copyright © Wynntils 2024.
+ * This file is released under LGPLv3. See LICENSE for full license details.
+ */
+import com.wynntils.utils.type.BoundingBox;
+import com.wynntils.utils.type.BoundingCircle;
+import com.wynntils.utils.type.SpatialIndex;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class TestSpatialIndex {
+    @Test
+    public void pointQuery_shouldReturnContainingValues() {
+        SpatialIndex<String> index = new SpatialIndex<>(16);
+        index.put("a", new BoundingBox(0, 0, 10, 10));
+        index.put("b", new BoundingBox(5, 5, 40, 40));
+        index.put("c", new BoundingBox(100, 100, 110, 110));
+
+        Assertions.assertEquals(List.of("a", "b"), index.queryPoint(7, 7));
+        Assertions.assertEquals(List.of("b"), index.queryPoint(30, 30));
+        Assertions.assertEquals(List.of(), index.queryPoint(50, 50));
+
+        // Bounds are inclusive
+        Assertions.assertEquals(List.of("a"), index.queryPoint(0, 0));
+    }
+
+    @Test
+    public void boxAndCircleQueries_shouldMatchLinearScan() {
+        SpatialIndex<Integer> index = new SpatialIndex<>(32);
+        List<BoundingBox> boxes = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            float x = (i * 37) % 1000 - 500;
+            float z = (i * 91) % 1000 - 500;
+            BoundingBox box = new BoundingBox(x, z, x + 5 + (i % 60), z + 5 + (i % 45));
+            boxes.add(box);
+            index.put(i, box);
+        }
+
+        BoundingBox queryBox = new BoundingBox(-120, -80, 90, 130);
+        BoundingCircle queryCircle = new BoundingCircle(40, -60, 150);
+
+        List<Integer> expectedBox = new ArrayList<>();
+        List<Integer> expectedCircle = new ArrayList<>();
+        for (int i = 0; i < boxes.size(); i++) {
+            BoundingBox box = boxes.get(i);
+            if (box.x1() <= queryBox.x2()
+                    && queryBox.x1() <= box.x2()
+                    && box.z1() <= queryBox.z2()
+                    && queryBox.z1() <= box.z2()) {
+                expectedBox.add(i);
+            }
+
+            float nearestX = Math.max(box.x1(), Math.min(box.x2(), queryCircle.x()));
+            float nearestZ = Math.max(box.z1(), Math.min(box.z2(), queryCircle.z()));
+            if (queryCircle.contains(nearestX, nearestZ)) {
+                expectedCircle.add(i);
+            }
+        }
+
+        Assertions.assertEquals(expectedBox, index.queryBox(queryBox));
+        Assertions.assertEquals(expectedCircle, index.queryCircle(queryCircle));
+    }
+
+    @Test
+    public void multiCellValues_shouldBeReturnedOnce() {
+        SpatialIndex<String> index = new SpatialIndex<>(8);
+        index.put("wide", new BoundingBox(-50, -50, 50, 50));
+
+        Assertions.assertEquals(List.of("wide"), index.queryBox(new BoundingBox(-40, -40, 40, 40)));
+    }
+
+    @Test
+    public void oversizedValues_shouldMatchEveryOverlappingQuery() {
+        SpatialIndex<String> index = new SpatialIndex<>(1);
+        index.put("huge", -Float.MAX_VALUE, -Float.MAX_VALUE, Float.MAX_VALUE, Float.MAX_VALUE);
+        index.putPoint("point", 3, 3);
+
+        Assertions.assertEquals(List.of("huge", "point"), index.queryPoint(3, 3));
+        Assertions.assertEquals(List.of("huge"), index.queryCircle(new BoundingCircle(1000, 1000, 5)));
+    }
+
+    @Test
+    public void updatedAndRemovedValues_shouldMove() {
+        SpatialIndex<String> index = new SpatialIndex<>(16);
+        index.putPoint("moving", 0, 0);
+        index.putPoint("moving", 100, 100);
+
+        Assertions.assertEquals(1, index.size());
+        Assertions.assertEquals(List.of(), index.queryPoint(0, 0));
+        Assertions.assertEquals(List.of("moving"), index.queryPoint(100, 100));
+
+        Assertions.assertTrue(index.remove("moving"));
+        Assertions.assertFalse(index.remove("moving"));
+        Assertions.assertTrue(index.queryPoint(100, 100).isEmpty());
+        Assertions.assertTrue(index.isEmpty());
+    }
+}
@@ -0,0 +1,107 @@
+/*
+ * Copyright © Wynntils 2024.
+ * This file is released under LGPLv3. See LICENSE for full license details.
+ */
+import com.wynntils.core.text.StyledText;
+import com.wynntils.core.text.StyledTextCache;
+import net.minecraft.ChatFormatting;
+import net.minecraft.SharedConstants;
+import net.minecraft.network.chat.Component;
+import net.minecraft.network.chat.MutableComponent;
+import net.minecraft.server.Bootstrap;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+public class TestStyledTextCache {
+    @BeforeAll
+    public static void setup() {
+        SharedConstants.tryDetectVersion();
+        Bootstrap.bootStrap();
+    }
+
+    @Test
+    public void equalComponents_shouldHitCache() {
+        StyledTextCache cache = new StyledTextCache(16);
+
+        StyledText first = cache.fromComponent(
+                Component.literal("Hello ").append(Component.literal("World").withStyle(ChatFormatting.RED)));
+        StyledText second = cache.fromComponent(
+                Component.literal("Hello ").append(Component.literal("World").withStyle(ChatFormatting.RED)));
+
+        Assertions.assertSame(first, second, "Structurally equal components should share the cached StyledText.");
+        Assertions.assertEquals(1, cache.getHits());
+        Assertions.assertEquals(1, cache.getMisses());
+    }
+
+    @Test
+    public void cachedValue_shouldMatchUncachedParse() {
+        StyledTextCache cache = new StyledTextCache(16);
+        Component component =
+                Component.literal("§aGreen ").append(Component.literal("bold").withStyle(ChatFormatting.BOLD));
+
+        Assertions.assertEquals(StyledText.fromComponent(component), cache.fromComponent(component));
+        Assertions.assertEquals(StyledText.fromComponent(component), cache.fromComponent(component));
+    }
+
+    @Test
+    public void mutatedComponent_shouldNotReturnStaleValue() {
+        StyledTextCache cache = new StyledTextCache(16);
+        MutableComponent component = Component.literal("Before");
+
+        StyledText before = cache.fromComponent(component);
+        component.append(Component.literal(" after"));
+        StyledText after = cache.fromComponent(component);
+
+        Assertions.assertEquals("Before", before.getStringWithoutFormatting());
+        Assertions.assertEquals("Before after", after.getStringWithoutFormatting());
+        Assertions.assertEquals(2, cache.getMisses());
+    }
+
+    @Test
+    public void sameInstance_shouldHitIdentityTable() {
+        StyledTextCache cache = new StyledTextCache(16);
+        Component component =
+                Component.literal("Hello ").append(Component.literal("World").withStyle(ChatFormatting.RED));
+
+        StyledText first = cache.fromComponent(component);
+        StyledText second = cache.fromComponent(component);
+
+        Assertions.assertSame(first, second);
+        Assertions.assertEquals(1, cache.getHits());
+        Assertions.assertEquals(1, cache.getIdentityHits());
+    }
+
+    @Test
+    public void mutatedNestedComponent_shouldNotReturnStaleValue() {
+        StyledTextCache cache = new StyledTextCache(16);
+        MutableComponent child = Component.literal("World");
+        Component component = Component.literal("Hello ").append(child);
+
+        StyledText before = cache.fromComponent(component);
+        child.withStyle(ChatFormatting.RED);
+        StyledText after = cache.fromComponent(component);
+
+        Assertions.assertEquals(StyledText.fromComponent(component), after);
+        Assertions.assertNotEquals(before, after);
+        Assertions.assertEquals(0, cache.getIdentityHits());
+        Assertions.assertEquals(2, cache.getMisses());
+    }
+
+    @Test
+    public void fullCache_shouldEvictLeastRecentlyUsed() {
+        StyledTextCache cache = new StyledTextCache(2);
+
+        cache.fromComponent(Component.literal("a"));
+        cache.fromComponent(Component.literal("b"));
+        cache.fromComponent(Component.literal("a"));
+        cache.fromComponent(Component.literal("c"));
+
+        Assertions.assertEquals(2, cache.size());
+        Assertions.assertEquals(1, cache.getEvictions());
+
+        // "a" was used more recently than "b", so it should still be cached
+        cache.fromComponent(Component.literal("a"));
+        Assertions.assertEquals(2, cache.getHits());
+    }
+}
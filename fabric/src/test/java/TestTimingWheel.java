@@ -0,0 +1,84 @@
+/*
+ * Copyright © Wynntils 2024.
+ * This file is released under LGPLv3. See LICENSE for full license details.
+ */
+import com.wynntils.utils.type.TimingWheel;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class TestTimingWheel {
+    @Test
+    public void advance_shouldExpireValuesAtTheirDeadline() {
+        TimingWheel<String> wheel = new TimingWheel<>(0);
+        wheel.add("a", 1);
+        wheel.add("b", 3);
+        wheel.add("c", 3);
+
+        List<String> expired = new ArrayList<>();
+        wheel.advance(expired::add);
+        Assertions.assertEquals(List.of("a"), expired);
+
+        expired.clear();
+        wheel.advance(expired::add);
+        Assertions.assertEquals(List.of(), expired);
+
+        wheel.advance(expired::add);
+        Assertions.assertEquals(List.of("b", "c"), expired);
+        Assertions.assertEquals(0, wheel.size());
+    }
+
+    @Test
+    public void add_shouldMovePastDeadlinesToNextTick() {
+        TimingWheel<String> wheel = new TimingWheel<>(10);
+        wheel.add("late", 5);
+
+        List<String> expired = new ArrayList<>();
+        wheel.advance(expired::add);
+
+        Assertions.assertEquals(List.of("late"), expired);
+        Assertions.assertEquals(11, wheel.getCurrentTick());
+    }
+
+    @Test
+    public void advance_shouldExpireDistantDeadlinesAcrossLevels() {
+        // Start at an odd tick, so slot boundaries of the levels are not aligned with the start
+        TimingWheel<Long> wheel = new TimingWheel<>(37);
+        long[] deadlines = {38, 100, 101, 4096, 4133, 262_181, 300_000, 20_000_000};
+        for (long deadline : deadlines) {
+            wheel.add(deadline, deadline);
+        }
+
+        Map<Long, Long> expiredAt = new HashMap<>();
+        while (wheel.size() > 0) {
+            long tick = wheel.getCurrentTick() + 1;
+            wheel.advance(value -> expiredAt.put(value, tick));
+        }
+
+        for (long deadline : deadlines) {
+            Assertions.assertEquals(deadline, expiredAt.get(deadline));
+        }
+    }
+
+    @Test
+    public void add_shouldAllowAddingWhileAdvancing() {
+        TimingWheel<Integer> wheel = new TimingWheel<>(0);
+        wheel.add(0, 1);
+
+        List<Long> runs = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            wheel.advance(value -> {
+                runs.add(wheel.getCurrentTick());
+                if (value < 4) {
+                    // Reschedule 64 ticks later, which ends up in the same lowest level slot
+                    wheel.add(value + 1, wheel.getCurrentTick() + 64);
+                }
+            });
+        }
+
+        Assertions.assertEquals(List.of(1L, 65L, 129L, 193L), runs.subList(0, 4));
+    }
+}
@@ -0,0 +1,46 @@
+/*
+ * Copyright © Wynntils 2024.
+ * This file is released under LGPLv3. See LICENSE for full license details.
+ */
+import com.wynntils.utils.type.TrigramIndex;
+import java.util.List;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class TestTrigramIndex {
+    private static final List<String> NAMES =
+            List.of("Cataclysm", "Nirvana", "Crusade Sabatons", "Stardew", "Cracked Stone", "Moontower's Stride");
+
+    @Test
+    public void search_shouldMatchSubstringsIgnoringCase() {
+        TrigramIndex index = new TrigramIndex(NAMES);
+
+        Assertions.assertArrayEquals(new int[] {0}, index.search("CLYSM"));
+        Assertions.assertArrayEquals(new int[] {3, 4, 5}, index.search("st"));
+        Assertions.assertArrayEquals(new int[] {2, 4}, index.search("cr"));
+        Assertions.assertArrayEquals(new int[] {5}, index.search("'s str"));
+        Assertions.assertArrayEquals(new int[] {0, 1, 2, 3, 4, 5}, index.search(""));
+    }
+
+    @Test
+    public void search_shouldRequireTrigramsInOrder() {
+        TrigramIndex index = new TrigramIndex(List.of("abcxbcd", "abcd"));
+
+        // Both names contain the trigrams "abc" and "bcd", but only one contains them in sequence
+        Assertions.assertArrayEquals(new int[] {1}, index.search("abcd"));
+        Assertions.assertArrayEquals(new int[0], index.search("zzz"));
+    }
+
+    @Test
+    public void extendedSearch_shouldNarrowPreviousMatches() {
+        TrigramIndex index = new TrigramIndex(NAMES);
+
+        Assertions.assertArrayEquals(new int[] {2, 4}, index.search("cr"));
+        Assertions.assertArrayEquals(new int[] {4}, index.search("cra"));
+        Assertions.assertArrayEquals(new int[] {4}, index.search("crac"));
+
+        // Going back to a shorter search must not be limited to the previous matches
+        Assertions.assertArrayEquals(new int[] {2, 4}, index.search("cr"));
+        Assertions.assertArrayEquals(new int[] {3}, index.search("dew"));
+    }
+}
@@ -3,10 +3,7 @@
  * This file is released under LGPLv3. See LICENSE for full license details.
  */
 import com.wynntils.utils.UnsignedByteUtils;
-import com.wynntils.utils.type.ArrayReader;
-import com.wynntils.utils.type.UnsignedByte;
-import java.util.Arrays;
-import java.util.List;
+import com.wynntils.utils.type.ByteReader;
 import java.util.stream.Stream;
 import net.minecraft.SharedConstants;
 import net.minecraft.server.Bootstrap;
@@ -30,15 +27,15 @@ public class TestUnsignedByteUtils {
             true, true, false, false, false, true, true, false, false, false, true, true, true, true, true, true
         };
 
-        UnsignedByte[] expected = {UnsignedByte.of((byte) 0b11000110), UnsignedByte.of((byte) 0b00111111)};
-        UnsignedByte[] actual = UnsignedByteUtils.fromBitArray(bitArray);
+        byte[] expected = {(byte) 0b11000110, (byte) 0b00111111};
+        byte[] actual = UnsignedByteUtils.fromBitArray(bitArray);
 
         Assertions.assertArrayEquals(expected, actual, "fromBitArray did not return the expected value");
     }
 
     @Test
     public void toBitArrayReturnsCorrectBooleanArray_works() {
-        UnsignedByte[] unsignedBytes = {UnsignedByte.of((byte) 0b10101010)};
+        byte[] unsignedBytes = {(byte) 0b10101010};
 
         boolean[] expected = {true, false, true, false, true, false, true, false};
         boolean[] actual = UnsignedByteUtils.toBitArray(unsignedBytes);
@@ -50,95 +47,53 @@ public class TestUnsignedByteUtils {
     public void encodeStringReturnsCorrectUnsignedBytes_works() {
         String string = "Test";
 
-        UnsignedByte[] expected = {
-            UnsignedByte.of((byte) 'T'),
-            UnsignedByte.of((byte) 'e'),
-            UnsignedByte.of((byte) 's'),
-            UnsignedByte.of((byte) 't'),
-            UnsignedByte.of((byte) 0)
-        };
+        byte[] expected = {(byte) 'T', (byte) 'e', (byte) 's', (byte) 't', (byte) 0};
 
-        UnsignedByte[] actual = UnsignedByteUtils.encodeString(string);
+        byte[] actual = UnsignedByteUtils.encodeString(string);
         Assertions.assertArrayEquals(expected, actual, "encodeString did not return the expected value");
     }
 
     @Test
     public void decodeStringReturnsCorrectString_works() {
-        List<UnsignedByte> byteReader = Arrays.asList(
-                UnsignedByte.of((byte) 'T'),
-                UnsignedByte.of((byte) 'e'),
-                UnsignedByte.of((byte) 's'),
-                UnsignedByte.of((byte) 't'));
+        byte[] bytes = {(byte) 'T', (byte) 'e', (byte) 's', (byte) 't'};
 
         String expected = "Test";
-        String actual = UnsignedByteUtils.decodeString(byteReader);
+        String actual = UnsignedByteUtils.decodeString(bytes);
 
         Assertions.assertEquals(expected, actual, "decodeString did not return the expected value");
     }
 
     private static Stream<Arguments> provideEncodeDecodeTestData() {
         return Stream.of(
-                Arguments.of(0, new UnsignedByte[] {UnsignedByte.of((byte) 0)}),
-                Arguments.of(23, new UnsignedByte[] {UnsignedByte.of((byte) 46)}),
-                Arguments.of(-10, new UnsignedByte[] {UnsignedByte.of((byte) 19)}),
-                Arguments.of(321561, new UnsignedByte[] {
-                    UnsignedByte.of((byte) 178), UnsignedByte.of((byte) 160), UnsignedByte.of((byte) 39)
-                }),
-                Arguments.of(-858101, new UnsignedByte[] {
-                    UnsignedByte.of((byte) 233), UnsignedByte.of((byte) 223), UnsignedByte.of((byte) 104)
-                }),
-                Arguments.of(421581855L, new UnsignedByte[] {
-                    UnsignedByte.of((byte) 190),
-                    UnsignedByte.of((byte) 208),
-                    UnsignedByte.of((byte) 134),
-                    UnsignedByte.of((byte) 146),
-                    UnsignedByte.of((byte) 3)
-                }),
-                Arguments.of(-3426567157L, new UnsignedByte[] {
-                    UnsignedByte.of((byte) 233),
-                    UnsignedByte.of((byte) 143),
-                    UnsignedByte.of((byte) 234),
-                    UnsignedByte.of((byte) 195),
-                    UnsignedByte.of((byte) 25)
-                }),
-                Arguments.of(Long.MAX_VALUE, new UnsignedByte[] {
-                    UnsignedByte.of((byte) 254),
-                    UnsignedByte.of((byte) 255),
-                    UnsignedByte.of((byte) 255),
-                    UnsignedByte.of((byte) 255),
-                    UnsignedByte.of((byte) 255),
-                    UnsignedByte.of((byte) 255),
-                    UnsignedByte.of((byte) 255),
-                    UnsignedByte.of((byte) 255),
-                    UnsignedByte.of((byte) 255),
-                    UnsignedByte.of((byte) 1)
+                Arguments.of(0, new byte[] {(byte) 0}),
+                Arguments.of(23, new byte[] {(byte) 46}),
+                Arguments.of(-10, new byte[] {(byte) 19}),
+                Arguments.of(321561, new byte[] {(byte) 178, (byte) 160, (byte) 39}),
+                Arguments.of(-858101, new byte[] {(byte) 233, (byte) 223, (byte) 104}),
+                Arguments.of(421581855L, new byte[] {(byte) 190, (byte) 208, (byte) 134, (byte) 146, (byte) 3}),
+                Arguments.of(-3426567157L, new byte[] {(byte) 233, (byte) 143, (byte) 234, (byte) 195, (byte) 25}),
+                Arguments.of(Long.MAX_VALUE, new byte[] {
+                    (byte) 254, (byte) 255, (byte) 255, (byte) 255, (byte) 255, (byte) 255, (byte) 255, (byte) 255,
+                    (byte) 255, (byte) 1
                 }),
-                Arguments.of(Long.MIN_VALUE, new UnsignedByte[] {
-                    UnsignedByte.of((byte) 255),
-                    UnsignedByte.of((byte) 255),
-                    UnsignedByte.of((byte) 255),
-                    UnsignedByte.of((byte) 255),
-                    UnsignedByte.of((byte) 255),
-                    UnsignedByte.of((byte) 255),
-                    UnsignedByte.of((byte) 255),
-                    UnsignedByte.of((byte) 255),
-                    UnsignedByte.of((byte) 255),
-                    UnsignedByte.of((byte) 1)
+                Arguments.of(Long.MIN_VALUE, new byte[] {
+                    (byte) 255, (byte) 255, (byte) 255, (byte) 255, (byte) 255, (byte) 255, (byte) 255, (byte) 255,
+                    (byte) 255, (byte) 1
                 }));
     }
 
     @ParameterizedTest
     @MethodSource("provideEncodeDecodeTestData")
-    public void testEncodeVariableSizedInteger(long input, UnsignedByte[] expectedOutput) {
-        UnsignedByte[] actualOutput = UnsignedByteUtils.encodeVariableSizedInteger(input);
+    public void testEncodeVariableSizedInteger(long input, byte[] expectedOutput) {
+        byte[] actualOutput = UnsignedByteUtils.encodeVariableSizedInteger(input);
         Assertions.assertArrayEquals(
                 expectedOutput, actualOutput, "encodeVariableSizedInteger did not return the expected value");
     }
 
     @ParameterizedTest
     @MethodSource("provideEncodeDecodeTestData")
-    public void testDecodeVariableSizedInteger(long expectedOutput, UnsignedByte[] input) {
-        long actualOutput = UnsignedByteUtils.decodeVariableSizedInteger(new ArrayReader<>(input));
+    public void testDecodeVariableSizedInteger(long expectedOutput, byte[] input) {
+        long actualOutput = UnsignedByteUtils.decodeVariableSizedInteger(new ByteReader(input));
         Assertions.assertEquals(
                 expectedOutput, actualOutput, "decodeVariableSizedInteger did not return the expected value");
     }